@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -262,6 +263,30 @@ public interface DmnEngine {
    */
   DmnDecisionResult evaluateDecision(DmnDecision decision, VariableContext variableContext);
 
+  /**
+   * Evaluates a decision once for each of the given variable contexts. The decision can be
+   * implemented as any kind of supported decision logic (e.g., decision table, literal expression).
+   * By default, {@link #evaluateDecision(DmnDecision, VariableContext)} is called for each variable
+   * context. Implementations may resolve the required decisions and the evaluation context only once.
+   *
+   * @param decision the {@link DmnDecision} to evaluate
+   * @param variableContexts the variables contexts which are available during the evaluations
+   *                         of expressions in the decision
+   * @return the {@link DmnDecisionResult}s of the evaluations in the order of the variable contexts
+   *
+   * @throws DmnEngineException
+   *           if the decision logic is not supported
+   * @throws DmnEngineException
+   *           if an error occurs during an evaluation
+   */
+  default List<DmnDecisionResult> evaluateDecisions(DmnDecision decision, List<? extends VariableContext> variableContexts) {
+    List<DmnDecisionResult> decisionResults = new ArrayList<DmnDecisionResult>(variableContexts.size());
+    for (VariableContext variableContext : variableContexts) {
+      decisionResults.add(evaluateDecision(decision, variableContext));
+    }
+    return decisionResults;
+  }
+
   /**
    * Evaluates the decision with the given key in a DMN decision model.
    * The key is the {@code id} attribute of the decision in the DMN XML file.
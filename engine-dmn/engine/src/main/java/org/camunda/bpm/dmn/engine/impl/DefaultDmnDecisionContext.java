@@ -17,11 +17,15 @@
 package org.camunda.bpm.dmn.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
@@ -72,12 +76,106 @@ public class DefaultDmnDecisionContext {
     if(decision.getKey() == null) {
       throw LOG.unableToFindAnyDecisionTable();
     }
-    VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
 
     List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
     buildDecisionTree(decision, requiredDecisions);
 
     List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>();
+    DmnDecisionResult evaluatedResult = evaluateDecisionLogic(decision, requiredDecisions, variableContext, evaluatedEvents);
+
+    generateDecisionEvaluationEvent(evaluatedEvents);
+    return evaluatedResult;
+  }
+
+  /**
+   * Evaluate a decision once for each of the given {@link VariableContext}s. The required
+   * decisions are resolved only once. If an executor is given, the decision logic is evaluated
+   * by the given number of tasks submitted to the executor. The evaluation listeners are always
+   * notified by the calling thread in the order of the variable contexts.
+   *
+   * @param decision the decision to evaluate
+   * @param variableContexts the available variable context of each evaluation
+   * @param executor the executor to evaluate the decision logic in parallel or <code>null</code>
+   *   to evaluate it sequentially
+   * @param parallelism the number of tasks which evaluate the decision logic in parallel
+   * @return the results of the decision evaluations in the order of the variable contexts
+   */
+  public List<DmnDecisionResult> evaluateDecisions(final DmnDecision decision, final List<? extends VariableContext> variableContexts,
+                                                   ExecutorService executor, int parallelism) {
+
+    if(decision.getKey() == null) {
+      throw LOG.unableToFindAnyDecisionTable();
+    }
+
+    final List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
+    buildDecisionTree(decision, requiredDecisions);
+
+    final int evaluations = variableContexts.size();
+    final DmnDecisionResult[] evaluatedResults = new DmnDecisionResult[evaluations];
+    final List<List<DmnDecisionLogicEvaluationEvent>> evaluatedEvents = new ArrayList<List<DmnDecisionLogicEvaluationEvent>>(evaluations);
+    for (int i = 0; i < evaluations; i++) {
+      evaluatedEvents.add(new ArrayList<DmnDecisionLogicEvaluationEvent>());
+    }
+
+    if (executor == null || parallelism <= 1) {
+      for (int i = 0; i < evaluations; i++) {
+        evaluatedResults[i] = evaluateDecisionLogic(decision, requiredDecisions, variableContexts.get(i), evaluatedEvents.get(i));
+      }
+    }
+    else {
+      // each task evaluates every n-th variable context
+      final int tasks = Math.min(parallelism, evaluations);
+      List<Future<?>> futures = new ArrayList<Future<?>>(tasks);
+      for (int task = 0; task < tasks; task++) {
+        final int firstEvaluation = task;
+        futures.add(executor.submit(() -> {
+          for (int i = firstEvaluation; i < evaluations; i += tasks) {
+            evaluatedResults[i] = evaluateDecisionLogic(decision, requiredDecisions, variableContexts.get(i), evaluatedEvents.get(i));
+          }
+        }));
+      }
+
+      try {
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw LOG.decisionEvaluationInterrupted(decision, e);
+      }
+      catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        else {
+          throw LOG.decisionEvaluationFailed(decision, cause);
+        }
+      }
+      finally {
+        for (Future<?> future : futures) {
+          future.cancel(false);
+        }
+      }
+    }
+
+    for (List<DmnDecisionLogicEvaluationEvent> events : evaluatedEvents) {
+      generateDecisionEvaluationEvent(events);
+    }
+    return Arrays.asList(evaluatedResults);
+  }
+
+  /**
+   * Evaluate the decision logic of the decision and its required decisions without
+   * notifying the evaluation listeners.
+   *
+   * @return the result of the decision evaluation
+   */
+  protected DmnDecisionResult evaluateDecisionLogic(DmnDecision decision, List<DmnDecision> requiredDecisions,
+                                                    VariableContext variableContext, List<DmnDecisionLogicEvaluationEvent> evaluatedEvents) {
+    VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
+
     DmnDecisionResult evaluatedResult = null;
 
     for (DmnDecision evaluateDecision : requiredDecisions) {
@@ -91,7 +189,6 @@ public class DefaultDmnDecisionContext {
       }
     }
 
-    generateDecisionEvaluationEvent(evaluatedEvents);
     return evaluatedResult;
   }
 
@@ -19,15 +19,20 @@ package org.camunda.bpm.dmn.engine.impl;
 import static org.camunda.commons.utils.EnsureUtil.ensureNotNull;
 
 import java.io.InputStream;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
 import org.camunda.bpm.dmn.engine.DmnDecisionRequirementsGraph;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.DmnEngine;
 import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.evaluation.ExpressionEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformer;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.context.VariableContext;
@@ -171,6 +176,110 @@ public class DefaultDmnEngine implements DmnEngine {
     }
   }
 
+  public List<DmnDecisionResult> evaluateDecisions(DmnDecision decision, List<? extends VariableContext> variableContexts) {
+    return evaluateDecisions(decision, variableContexts, null, 1);
+  }
+
+  /**
+   * Evaluates a decision once for each of the given variable contexts like
+   * {@link #evaluateDecisions(DmnDecision, List)}. If an executor is given, the decision logic
+   * is evaluated by up to <code>parallelism</code> tasks of the executor. The decision evaluation
+   * listeners are notified by the calling thread in the order of the variable contexts after all
+   * evaluations are done.
+   *
+   * @param decision the decision to evaluate
+   * @param variableContexts the variables contexts of the evaluations
+   * @param executor the executor to evaluate the decision in parallel or <code>null</code> to evaluate it sequentially
+   * @param parallelism the maximum number of evaluations which run in parallel
+   * @return the results of the evaluations in the order of the variable contexts
+   */
+  public List<DmnDecisionResult> evaluateDecisions(DmnDecision decision, List<? extends VariableContext> variableContexts,
+                                                   ExecutorService executor, int parallelism) {
+    ensureNotNull("decision", decision);
+    ensureNotNull("variableContexts", variableContexts);
+
+    if (decision instanceof DmnDecisionImpl) {
+      DefaultDmnDecisionContext decisionContext = new DefaultDmnDecisionContext(dmnEngineConfiguration);
+      return decisionContext.evaluateDecisions(decision, variableContexts, executor, parallelism);
+    }
+    else {
+      throw LOG.decisionTypeNotSupported(decision);
+    }
+  }
+
+  /**
+   * Checks whether all expressions of the decision and its required decisions are evaluated
+   * by the FEEL engine, taking the default expression languages into account. Such decisions
+   * do not evaluate expressions with the configured EL provider or script engines.
+   *
+   * @param decision the decision to check
+   * @return true if the decision only contains FEEL expressions, false otherwise
+   */
+  public boolean isFeelOnlyDecision(DmnDecision decision) {
+    ensureNotNull("decision", decision);
+    ExpressionEvaluationHandler expressionEvaluationHandler = new ExpressionEvaluationHandler(dmnEngineConfiguration);
+
+    Set<DmnDecision> decisions = new HashSet<DmnDecision>();
+    collectDecisions(decision, decisions);
+
+    for (DmnDecision requiredDecision : decisions) {
+      DmnDecisionLogic decisionLogic = requiredDecision.getDecisionLogic();
+
+      if (decisionLogic instanceof DmnDecisionTableImpl) {
+        DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decisionLogic;
+        for (DmnDecisionTableInputImpl input : decisionTable.getInputs()) {
+          if (!isFeelExpression(expressionEvaluationHandler, input.getExpression(), dmnEngineConfiguration.getDefaultInputExpressionExpressionLanguage())) {
+            return false;
+          }
+        }
+        for (DmnDecisionTableRuleImpl rule : decisionTable.getRules()) {
+          for (DmnExpressionImpl condition : rule.getConditions()) {
+            if (!isFeelExpression(expressionEvaluationHandler, condition, dmnEngineConfiguration.getDefaultInputEntryExpressionLanguage())) {
+              return false;
+            }
+          }
+          for (DmnExpressionImpl conclusion : rule.getConclusions()) {
+            if (!isFeelExpression(expressionEvaluationHandler, conclusion, dmnEngineConfiguration.getDefaultOutputEntryExpressionLanguage())) {
+              return false;
+            }
+          }
+        }
+      }
+      else if (decisionLogic instanceof DmnDecisionLiteralExpressionImpl) {
+        DmnExpressionImpl expression = ((DmnDecisionLiteralExpressionImpl) decisionLogic).getExpression();
+        if (!isFeelExpression(expressionEvaluationHandler, expression, dmnEngineConfiguration.getDefaultLiteralExpressionLanguage())) {
+          return false;
+        }
+      }
+      else {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  protected void collectDecisions(DmnDecision decision, Set<DmnDecision> decisions) {
+    if (decisions.add(decision)) {
+      for (DmnDecision requiredDecision : decision.getRequiredDecisions()) {
+        collectDecisions(requiredDecision, decisions);
+      }
+    }
+  }
+
+  protected boolean isFeelExpression(ExpressionEvaluationHandler expressionEvaluationHandler, DmnExpressionImpl expression, String defaultExpressionLanguage) {
+    if (expression == null || expression.getExpression() == null || expression.getExpression().trim().isEmpty()) {
+      // empty expressions are not evaluated
+      return true;
+    }
+
+    String expressionLanguage = expression.getExpressionLanguage();
+    if (expressionLanguage == null) {
+      expressionLanguage = defaultExpressionLanguage;
+    }
+    return expressionLanguage != null && expressionEvaluationHandler.isFeelExpressionLanguage(expressionLanguage);
+  }
+
   public DmnDecisionResult evaluateDecision(String decisionKey, InputStream inputStream, Map<String, Object> variables) {
     ensureNotNull("variables", variables);
     return evaluateDecision(decisionKey, inputStream, Variables.fromMap(variables).asVariableContext());
@@ -36,6 +36,7 @@ import org.camunda.bpm.dmn.engine.spi.DmnEngineMetricCollector;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
 import org.camunda.bpm.dmn.feel.impl.FeelEngineFactory;
 import org.camunda.bpm.dmn.feel.impl.juel.FeelEngineFactoryImpl;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngine;
 import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngineFactory;
 import org.camunda.bpm.dmn.feel.impl.scala.function.FeelCustomFunctionProvider;
 import org.camunda.bpm.model.dmn.impl.DmnModelConstants;
@@ -74,6 +75,21 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
    */
   protected boolean enableFeelLegacyBehavior = false;
 
+  /**
+   * The maximum number of parsed expressions cached by the FEEL engine
+   */
+  protected int feelExpressionCacheSize = ScalaFeelEngine.DEFAULT_EXPRESSION_CACHE_SIZE;
+
+  /**
+   * Use the rule index of decision tables to find matching rules
+   */
+  protected boolean enableDecisionTableIndex = true;
+
+  /**
+   * Evaluate simple FEEL unary tests by their compiled predicates
+   */
+  protected boolean enableCompiledUnaryTests = true;
+
   protected String defaultInputExpressionExpressionLanguage = null;
   protected String defaultInputEntryExpressionLanguage = null;
   protected String defaultOutputEntryExpressionLanguage = null;
@@ -188,7 +204,7 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
   protected void initFeelEngine() {
     if (feelEngineFactory == null) {
       if (!enableFeelLegacyBehavior) {
-        feelEngineFactory = new ScalaFeelEngineFactory(feelCustomFunctionProviders);
+        feelEngineFactory = new ScalaFeelEngineFactory(feelCustomFunctionProviders, feelExpressionCacheSize);
 
       } else {
         feelEngineFactory = new FeelEngineFactoryImpl();
@@ -603,4 +619,101 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     return this;
   }
 
+  /**
+   * @return the maximum number of parsed expressions cached by the FEEL engine
+   */
+  public int getFeelExpressionCacheSize() {
+    return feelExpressionCacheSize;
+  }
+
+  /**
+   * Set the maximum number of parsed expressions and unary tests which are cached
+   * by the FEEL engine and reused across decision evaluations. A size of zero
+   * disables the cache. The size only applies to the default FEEL engine which is
+   * used if no FEEL engine factory is set and the FEEL legacy behavior is disabled.
+   *
+   * @param feelExpressionCacheSize the FEEL expression cache size
+   */
+  public void setFeelExpressionCacheSize(int feelExpressionCacheSize) {
+    this.feelExpressionCacheSize = feelExpressionCacheSize;
+  }
+
+  /**
+   * Set the maximum number of parsed expressions and unary tests which are cached
+   * by the FEEL engine and reused across decision evaluations. A size of zero
+   * disables the cache. The size only applies to the default FEEL engine which is
+   * used if no FEEL engine factory is set and the FEEL legacy behavior is disabled.
+   *
+   * @param feelExpressionCacheSize the FEEL expression cache size
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration feelExpressionCacheSize(int feelExpressionCacheSize) {
+    setFeelExpressionCacheSize(feelExpressionCacheSize);
+    return this;
+  }
+
+  /**
+   * @return whether matching rules of decision tables are looked up in the rule index
+   */
+  public boolean isEnableDecisionTableIndex() {
+    return enableDecisionTableIndex;
+  }
+
+  /**
+   * Controls whether matching rules of decision tables are looked up in the rule index
+   * which is built for literal, comparison and range input entries. The index should be
+   * disabled if a custom FEEL engine evaluates these input entries differently.
+   *
+   * @param enableDecisionTableIndex the decision table index usage
+   */
+  public void setEnableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    this.enableDecisionTableIndex = enableDecisionTableIndex;
+  }
+
+  /**
+   * Controls whether matching rules of decision tables are looked up in the rule index
+   * which is built for literal, comparison and range input entries. The index should be
+   * disabled if a custom FEEL engine evaluates these input entries differently.
+   *
+   * @param enableDecisionTableIndex the decision table index usage
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration enableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    setEnableDecisionTableIndex(enableDecisionTableIndex);
+    return this;
+  }
+
+  /**
+   * @return whether simple FEEL unary tests are evaluated by their compiled predicates
+   */
+  public boolean isEnableCompiledUnaryTests() {
+    return enableCompiledUnaryTests;
+  }
+
+  /**
+   * Controls whether input entries which consist of simple FEEL unary tests (e.g. literals,
+   * comparisons, ranges and their negations) are evaluated by predicates compiled on parsing
+   * instead of the FEEL engine. Compiled unary tests should be disabled if a custom FEEL engine
+   * evaluates these input entries differently.
+   *
+   * @param enableCompiledUnaryTests the compiled unary tests usage
+   */
+  public void setEnableCompiledUnaryTests(boolean enableCompiledUnaryTests) {
+    this.enableCompiledUnaryTests = enableCompiledUnaryTests;
+  }
+
+  /**
+   * Controls whether input entries which consist of simple FEEL unary tests (e.g. literals,
+   * comparisons, ranges and their negations) are evaluated by predicates compiled on parsing
+   * instead of the FEEL engine. Compiled unary tests should be disabled if a custom FEEL engine
+   * evaluates these input entries differently.
+   *
+   * @param enableCompiledUnaryTests the compiled unary tests usage
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration enableCompiledUnaryTests(boolean enableCompiledUnaryTests) {
+    setEnableCompiledUnaryTests(enableCompiledUnaryTests);
+    return this;
+  }
+
 }
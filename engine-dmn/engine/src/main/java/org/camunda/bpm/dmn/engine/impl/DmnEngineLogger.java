@@ -119,4 +119,20 @@ public class DmnEngineLogger extends DmnLogger {
     );
   }
 
+  public DmnEngineException decisionEvaluationInterrupted(DmnDecision decision, InterruptedException cause) {
+    return new DmnEngineException(exceptionMessage(
+      "014",
+      "The evaluation of decision '{}' was interrupted.", decision),
+      cause
+    );
+  }
+
+  public DmnEngineException decisionEvaluationFailed(DmnDecision decision, Throwable cause) {
+    return new DmnEngineException(exceptionMessage(
+      "015",
+      "Unable to evaluate decision '{}': {}", decision, cause.getMessage()),
+      cause
+    );
+  }
+
 }
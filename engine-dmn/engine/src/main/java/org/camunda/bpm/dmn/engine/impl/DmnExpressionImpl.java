@@ -20,6 +20,7 @@ import javax.script.CompiledScript;
 
 import org.camunda.bpm.dmn.engine.impl.spi.el.ElExpression;
 import org.camunda.bpm.dmn.engine.impl.spi.type.DmnTypeDefinition;
+import org.camunda.bpm.dmn.engine.impl.unarytest.UnaryTestPredicate;
 
 public class DmnExpressionImpl implements CachedCompiledScriptSupport, CachedExpressionSupport {
 
@@ -33,6 +34,8 @@ public class DmnExpressionImpl implements CachedCompiledScriptSupport, CachedExp
   protected CompiledScript cachedCompiledScript;
   protected ElExpression cachedExpression;
 
+  protected UnaryTestPredicate compiledUnaryTests;
+
   public String getId() {
     return id;
   }
@@ -99,4 +102,16 @@ public class DmnExpressionImpl implements CachedCompiledScriptSupport, CachedExp
   public void setCachedExpression(ElExpression expression) {
     this.cachedExpression = expression;
   }
+
+  /**
+   * @return the FEEL simple unary tests of this input entry compiled on parsing or
+   *   null if they can only be evaluated by the FEEL engine
+   */
+  public UnaryTestPredicate getCompiledUnaryTests() {
+    return compiledUnaryTests;
+  }
+
+  public void setCompiledUnaryTests(UnaryTestPredicate compiledUnaryTests) {
+    this.compiledUnaryTests = compiledUnaryTests;
+  }
 }
@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl.evaluation;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,9 @@ import org.camunda.bpm.dmn.engine.impl.delegate.DmnDecisionTableEvaluationEventI
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedDecisionRuleImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedInputImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedOutputImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndex;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableInputIndex;
+import org.camunda.bpm.dmn.engine.impl.unarytest.UnaryTestPredicate;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.context.VariableContext;
@@ -59,6 +63,9 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   protected final String inputEntryExpressionLanguage;
   protected final String outputEntryExpressionLanguage;
 
+  protected final boolean decisionTableIndexEnabled;
+  protected final boolean compiledUnaryTestsEnabled;
+
   public DecisionTableEvaluationHandler(DefaultDmnEngineConfiguration configuration) {
     expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
     feelEngine = configuration.getFeelEngine();
@@ -68,6 +75,9 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     inputExpressionExpressionLanguage = configuration.getDefaultInputExpressionExpressionLanguage();
     inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
     outputEntryExpressionLanguage = configuration.getDefaultOutputEntryExpressionLanguage();
+
+    decisionTableIndexEnabled = configuration.isEnableDecisionTableIndex();
+    compiledUnaryTestsEnabled = configuration.isEnableCompiledUnaryTests();
   }
 
   @Override
@@ -96,6 +106,11 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    if (decisionTableIndexEnabled && decisionTable.getIndex() != null) {
+      evaluateIndexedDecisionTable(decisionTable, variableContext, evaluationResult);
+      return;
+    }
+
     int inputSize = decisionTable.getInputs().size();
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
@@ -114,6 +129,73 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
   }
 
+  /**
+   * Evaluates the decision table like {@link #evaluateDecisionTable} but looks up the rules
+   * with indexed input entries instead of evaluating them. The matching rules keep their order.
+   */
+  protected void evaluateIndexedDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    DmnDecisionTableIndex index = decisionTable.getIndex();
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+
+    BitSet matchingRules = new BitSet(rules.size());
+    matchingRules.set(0, rules.size());
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      // evaluate input
+      DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
+      DmnEvaluatedInput evaluatedInput = evaluateInput(input, variableContext);
+      evaluationResult.getInputs().add(evaluatedInput);
+
+      // compose local variable context out of global variable context enhanced with the value of the current input.
+      VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInput, variableContext);
+
+      BitSet indexedRules = getIndexedMatchingRules(index.getInputIndex(inputIdx), evaluatedInput);
+      if (indexedRules != null) {
+        // only the input entries which are not indexed have to be evaluated
+        BitSet residualRules = (BitSet) index.getInputIndex(inputIdx).getResidualRules().clone();
+        residualRules.and(matchingRules);
+        matchingRules.and(indexedRules);
+
+        for (int ruleIdx = residualRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = residualRules.nextSetBit(ruleIdx + 1)) {
+          DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+          if (isConditionApplicable(input, condition, localVariableContext)) {
+            matchingRules.set(ruleIdx);
+          }
+        }
+      }
+      else {
+        for (int ruleIdx = matchingRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = matchingRules.nextSetBit(ruleIdx + 1)) {
+          DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+          if (!isConditionApplicable(input, condition, localVariableContext)) {
+            matchingRules.clear(ruleIdx);
+          }
+        }
+      }
+    }
+
+    List<DmnDecisionTableRuleImpl> matchingRuleList = new ArrayList<DmnDecisionTableRuleImpl>(matchingRules.cardinality());
+    for (int ruleIdx = matchingRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = matchingRules.nextSetBit(ruleIdx + 1)) {
+      matchingRuleList.add(rules.get(ruleIdx));
+    }
+
+    setEvaluationOutput(decisionTable, matchingRuleList, variableContext, evaluationResult);
+  }
+
+  /**
+   * @return the rules whose indexed input entries are satisfied by the input value or
+   *   null if the input entries have to be evaluated
+   */
+  protected BitSet getIndexedMatchingRules(DmnDecisionTableInputIndex inputIndex, DmnEvaluatedInput evaluatedInput) {
+    if (inputIndex == null) {
+      return null;
+    }
+    if (inputIndex.isDefaultExpressionLanguageUsed()
+        && (inputEntryExpressionLanguage == null || !expressionEvaluationHandler.isFeelExpressionLanguage(inputEntryExpressionLanguage))) {
+      return null;
+    }
+    return inputIndex.getMatchingRules(evaluatedInput.getValue().getValue());
+  }
+
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
 
@@ -243,12 +325,31 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   protected Object evaluateFeelSimpleUnaryTests(DmnDecisionTableInputImpl input, DmnExpressionImpl condition, VariableContext variableContext) {
     String expressionText = condition.getExpression();
     if (expressionText != null) {
+      Boolean result = evaluateCompiledUnaryTests(input, condition, variableContext);
+      if (result != null) {
+        return result;
+      }
       return feelEngine.evaluateSimpleUnaryTests(expressionText, input.getInputVariable(), variableContext);
     }
     else {
       return null;
     }
   }
+  /**
+   * @return the result of the compiled unary tests or <code>null</code> if the
+   *   input entry has to be evaluated by the FEEL engine
+   */
+  protected Boolean evaluateCompiledUnaryTests(DmnDecisionTableInputImpl input, DmnExpressionImpl condition, VariableContext variableContext) {
+    UnaryTestPredicate compiledUnaryTests = condition.getCompiledUnaryTests();
+    String inputVariable = input.getInputVariable();
+    if (!compiledUnaryTestsEnabled || compiledUnaryTests == null || !variableContext.containsVariable(inputVariable)) {
+      return null;
+    }
+
+    TypedValue inputValue = variableContext.resolve(inputVariable);
+    return compiledUnaryTests.test(inputValue != null ? inputValue.getValue() : null);
+  }
+
 
   @Override
   public DmnDecisionResult generateDecisionResult(DmnDecisionLogicEvaluationEvent event) {
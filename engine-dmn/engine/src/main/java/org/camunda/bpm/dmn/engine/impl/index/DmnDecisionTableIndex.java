@@ -0,0 +1,43 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.util.List;
+
+/**
+ * Index of the rules of a decision table which is built on transformation,
+ * so that matching rules can be found without evaluating every input entry.
+ *
+ * @see DmnDecisionTableIndexBuilder
+ */
+public class DmnDecisionTableIndex {
+
+  protected final List<DmnDecisionTableInputIndex> inputIndexes;
+
+  public DmnDecisionTableIndex(List<DmnDecisionTableInputIndex> inputIndexes) {
+    this.inputIndexes = inputIndexes;
+  }
+
+  /**
+   * @return the index of the input with the given position or <code>null</code>
+   *   if the input entries of the input are not indexed
+   */
+  public DmnDecisionTableInputIndex getInputIndex(int inputIdx) {
+    return inputIndexes.get(inputIdx);
+  }
+
+}
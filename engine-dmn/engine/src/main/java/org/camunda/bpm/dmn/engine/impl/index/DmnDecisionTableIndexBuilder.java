@@ -0,0 +1,248 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableInputIndex.LiteralType;
+import org.camunda.bpm.dmn.engine.impl.index.IntervalTree.Interval;
+import org.camunda.bpm.dmn.engine.impl.unarytest.AnyUnaryTest;
+import org.camunda.bpm.dmn.engine.impl.unarytest.DisjunctionUnaryTest;
+import org.camunda.bpm.dmn.engine.impl.unarytest.EqualUnaryTest;
+import org.camunda.bpm.dmn.engine.impl.unarytest.IntervalUnaryTest;
+import org.camunda.bpm.dmn.engine.impl.unarytest.NumberLiteral;
+import org.camunda.bpm.dmn.engine.impl.unarytest.UnaryTestPredicate;
+
+/**
+ * Builds the {@link DmnDecisionTableIndex} of a transformed decision table.
+ *
+ * <p>A FEEL input entry is indexed if its compiled unary tests are <code>-</code> or
+ * a comma separated list of string literals, or of number literals, numeric comparisons
+ * (e.g. <code>&lt; 10</code>) and numeric ranges (e.g. <code>[1..10[</code>).
+ * Empty input entries match any value in every expression language.</p>
+ */
+public class DmnDecisionTableIndexBuilder {
+
+  /**
+   * @return the index of the decision table or <code>null</code> if no input entry is indexable
+   */
+  public DmnDecisionTableIndex build(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+
+    boolean indexed = false;
+    List<DmnDecisionTableInputIndex> inputIndexes = new ArrayList<>();
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      DmnDecisionTableInputIndex inputIndex = buildInputIndex(rules, inputIdx);
+      inputIndexes.add(inputIndex);
+      indexed |= inputIndex != null;
+    }
+
+    return indexed ? new DmnDecisionTableIndex(inputIndexes) : null;
+  }
+
+  protected DmnDecisionTableInputIndex buildInputIndex(List<DmnDecisionTableRuleImpl> rules, int inputIdx) {
+    List<IndexedInputEntry> entries = new ArrayList<>();
+    int stringEntries = 0;
+    int numberEntries = 0;
+    for (DmnDecisionTableRuleImpl rule : rules) {
+      IndexedInputEntry entry = parseInputEntry(rule.getConditions().get(inputIdx));
+      entries.add(entry);
+
+      if (entry != null && entry.literalType == LiteralType.STRING) {
+        stringEntries++;
+      }
+      else if (entry != null && entry.literalType == LiteralType.NUMBER) {
+        numberEntries++;
+      }
+    }
+
+    if (stringEntries == 0 && numberEntries == 0) {
+      return null;
+    }
+    LiteralType literalType = stringEntries > numberEntries ? LiteralType.STRING : LiteralType.NUMBER;
+
+    boolean defaultExpressionLanguageUsed = false;
+    BitSet wildcardRules = new BitSet(rules.size());
+    BitSet residualRules = new BitSet(rules.size());
+    Map<Object, BitSet> equalityIndex = new HashMap<>();
+    List<Interval> intervals = new ArrayList<>();
+
+    for (int ruleIdx = 0; ruleIdx < entries.size(); ruleIdx++) {
+      IndexedInputEntry entry = entries.get(ruleIdx);
+
+      if (entry == null || (entry.literalType != null && entry.literalType != literalType)) {
+        residualRules.set(ruleIdx);
+        continue;
+      }
+
+      defaultExpressionLanguageUsed |= entry.defaultExpressionLanguageUsed;
+
+      if (entry.literalType == null) {
+        wildcardRules.set(ruleIdx);
+        continue;
+      }
+
+      for (Object value : entry.values) {
+        Object key = DmnDecisionTableInputIndex.toKey(literalType, value);
+        BitSet equalRules = equalityIndex.get(key);
+        if (equalRules == null) {
+          equalRules = new BitSet(rules.size());
+          equalityIndex.put(key, equalRules);
+        }
+        equalRules.set(ruleIdx);
+      }
+
+      for (IndexedInterval interval : entry.intervals) {
+        intervals.add(new Interval(ruleIdx, interval.low, interval.lowInclusive, interval.high, interval.highInclusive));
+      }
+    }
+
+    IntervalTree intervalTree = intervals.isEmpty() ? null : new IntervalTree(intervals);
+    return new DmnDecisionTableInputIndex(literalType, defaultExpressionLanguageUsed, wildcardRules, residualRules, equalityIndex, intervalTree);
+  }
+
+  /**
+   * @return the parsed input entry or <code>null</code> if the input entry is not indexable
+   */
+  protected IndexedInputEntry parseInputEntry(DmnExpressionImpl condition) {
+    String expression = condition != null ? condition.getExpression() : null;
+    if (expression == null || expression.trim().isEmpty()) {
+      // input entries without expression match any value
+      return new IndexedInputEntry(null, false);
+    }
+
+    String expressionLanguage = condition.getExpressionLanguage();
+    if (expressionLanguage != null && !isFeelExpressionLanguage(expressionLanguage)) {
+      return null;
+    }
+
+    UnaryTestPredicate unaryTests = condition.getCompiledUnaryTests();
+    if (unaryTests == null) {
+      return null;
+    }
+
+    IndexedInputEntry entry = new IndexedInputEntry(null, expressionLanguage == null);
+    if (unaryTests instanceof AnyUnaryTest) {
+      return entry;
+    }
+
+    UnaryTestPredicate[] disjunction = unaryTests instanceof DisjunctionUnaryTest ?
+        ((DisjunctionUnaryTest) unaryTests).getUnaryTests() : new UnaryTestPredicate[] { unaryTests };
+
+    for (UnaryTestPredicate unaryTest : disjunction) {
+      if (!addUnaryTest(unaryTest, entry)) {
+        return null;
+      }
+    }
+    return entry;
+  }
+
+  protected boolean addUnaryTest(UnaryTestPredicate unaryTest, IndexedInputEntry entry) {
+    if (unaryTest instanceof EqualUnaryTest) {
+      EqualUnaryTest equalTest = (EqualUnaryTest) unaryTest;
+      if (equalTest.getStringLiteral() != null) {
+        return entry.addValue(LiteralType.STRING, equalTest.getStringLiteral());
+      }
+      else {
+        return entry.addValue(LiteralType.NUMBER, equalTest.getNumberLiteral().getValue());
+      }
+    }
+    else if (unaryTest instanceof IntervalUnaryTest) {
+      IntervalUnaryTest intervalTest = (IntervalUnaryTest) unaryTest;
+      return entry.addInterval(new IndexedInterval(
+          getValue(intervalTest.getLow()), intervalTest.isLowInclusive(),
+          getValue(intervalTest.getHigh()), intervalTest.isHighInclusive()));
+    }
+    else {
+      return false;
+    }
+  }
+
+  protected BigDecimal getValue(NumberLiteral literal) {
+    return literal != null ? literal.getValue() : null;
+  }
+
+  protected boolean isFeelExpressionLanguage(String expressionLanguage) {
+    return expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE)
+        || expressionLanguage.toLowerCase().equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_ALTERNATIVE)
+        || expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_DMN12)
+        || expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_DMN13);
+  }
+
+  /**
+   * An indexable input entry; matches any value if it has no literal type.
+   */
+  protected static class IndexedInputEntry {
+
+    protected LiteralType literalType;
+    protected final boolean defaultExpressionLanguageUsed;
+    protected final List<Object> values = new ArrayList<>();
+    protected final List<IndexedInterval> intervals = new ArrayList<>();
+
+    protected IndexedInputEntry(LiteralType literalType, boolean defaultExpressionLanguageUsed) {
+      this.literalType = literalType;
+      this.defaultExpressionLanguageUsed = defaultExpressionLanguageUsed;
+    }
+
+    protected boolean addValue(LiteralType valueType, Object value) {
+      values.add(value);
+      return setLiteralType(valueType);
+    }
+
+    protected boolean addInterval(IndexedInterval interval) {
+      intervals.add(interval);
+      return setLiteralType(LiteralType.NUMBER);
+    }
+
+    /**
+     * @return false if the unary tests of the input entry have different types
+     */
+    protected boolean setLiteralType(LiteralType valueType) {
+      if (literalType != null && literalType != valueType) {
+        return false;
+      }
+      literalType = valueType;
+      return true;
+    }
+  }
+
+  protected static class IndexedInterval {
+
+    protected final BigDecimal low;
+    protected final boolean lowInclusive;
+    protected final BigDecimal high;
+    protected final boolean highInclusive;
+
+    protected IndexedInterval(BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive) {
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.high = high;
+      this.highInclusive = highInclusive;
+    }
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.impl.unarytest.NumberLiteral;
+
+/**
+ * Index of the input entries of a decision table input which are literal values,
+ * numeric comparisons or ranges, or match any value. The rules of all other input
+ * entries are residual and have to be evaluated by the FEEL engine.
+ *
+ * <p>The index only answers for input values of its literal type, i.e. strings for
+ * string literals and numbers for numeric literals, comparisons and ranges. For other
+ * values, including <code>null</code>, all input entries have to be evaluated, so that
+ * the evaluation behaves exactly like without index.</p>
+ */
+public class DmnDecisionTableInputIndex {
+
+  public enum LiteralType {
+    STRING,
+    NUMBER
+  }
+
+  protected final LiteralType literalType;
+  protected final boolean defaultExpressionLanguageUsed;
+  protected final BitSet wildcardRules;
+  protected final BitSet residualRules;
+  protected final Map<Object, BitSet> equalityIndex;
+  protected final IntervalTree intervalTree;
+
+  public DmnDecisionTableInputIndex(LiteralType literalType, boolean defaultExpressionLanguageUsed, BitSet wildcardRules,
+                                    BitSet residualRules, Map<Object, BitSet> equalityIndex, IntervalTree intervalTree) {
+    this.literalType = literalType;
+    this.defaultExpressionLanguageUsed = defaultExpressionLanguageUsed;
+    this.wildcardRules = wildcardRules;
+    this.residualRules = residualRules;
+    this.equalityIndex = new HashMap<>(equalityIndex);
+    this.intervalTree = intervalTree;
+  }
+
+  /**
+   * @return the indexes of the rules whose indexed input entry is satisfied by the value,
+   *   or <code>null</code> if the value cannot be looked up in this index
+   */
+  public BitSet getMatchingRules(Object value) {
+    Object key = toKey(literalType, value);
+    if (key == null) {
+      return null;
+    }
+
+    BitSet matchingRules = (BitSet) wildcardRules.clone();
+
+    BitSet equalRules = equalityIndex.get(key);
+    if (equalRules != null) {
+      matchingRules.or(equalRules);
+    }
+
+    if (intervalTree != null) {
+      intervalTree.addContainingIntervals((BigDecimal) key, matchingRules);
+    }
+
+    return matchingRules;
+  }
+
+  /**
+   * @return the indexes of the rules whose input entry is not indexed
+   */
+  public BitSet getResidualRules() {
+    return residualRules;
+  }
+
+  public LiteralType getLiteralType() {
+    return literalType;
+  }
+
+  /**
+   * @return true if an indexed input entry has no expression language set and
+   *   is therefore only indexable if the default input entry expression language is FEEL
+   */
+  public boolean isDefaultExpressionLanguageUsed() {
+    return defaultExpressionLanguageUsed;
+  }
+
+  /**
+   * @return the key of the value in an index of the given type or <code>null</code>
+   *   if the value is not of the type
+   */
+  public static Object toKey(LiteralType literalType, Object value) {
+    if (literalType == LiteralType.STRING) {
+      return value instanceof String ? value : null;
+    }
+    else {
+      BigDecimal number = NumberLiteral.toBigDecimal(value);
+      if (number == null) {
+        return null;
+      }
+      // numbers are equal regardless of their scale
+      return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+    }
+  }
+
+}
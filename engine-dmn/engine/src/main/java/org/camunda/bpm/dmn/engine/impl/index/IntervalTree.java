@@ -0,0 +1,208 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Centered interval tree of the numeric intervals of decision table rules. Finds
+ * all intervals containing a value in O(log n + k) for k matching intervals.
+ */
+public class IntervalTree {
+
+  protected static final Comparator<Interval> BY_LOW_ASCENDING = (first, second) -> {
+    if (first.low == null) {
+      return second.low == null ? 0 : -1;
+    }
+    return second.low == null ? 1 : first.low.compareTo(second.low);
+  };
+
+  protected static final Comparator<Interval> BY_HIGH_DESCENDING = (first, second) -> {
+    if (first.high == null) {
+      return second.high == null ? 0 : -1;
+    }
+    return second.high == null ? 1 : second.high.compareTo(first.high);
+  };
+
+  protected final Node root;
+
+  public IntervalTree(List<Interval> intervals) {
+    List<Interval> nonEmptyIntervals = new ArrayList<>();
+    for (Interval interval : intervals) {
+      if (!interval.isEmpty()) {
+        nonEmptyIntervals.add(interval);
+      }
+    }
+    root = createNode(nonEmptyIntervals);
+  }
+
+  /**
+   * Sets the rule indexes of all intervals containing the given value in the result.
+   */
+  public void addContainingIntervals(BigDecimal value, BitSet result) {
+    Node node = root;
+    while (node != null) {
+      int comparison = value.compareTo(node.center);
+
+      if (comparison < 0) {
+        // all intervals of the node end at or after the center
+        for (Interval interval : node.byLow) {
+          if (interval.low != null && interval.low.compareTo(value) > 0) {
+            break;
+          }
+          if (interval.containsLow(value)) {
+            result.set(interval.ruleIndex);
+          }
+        }
+        node = node.left;
+      }
+      else if (comparison > 0) {
+        // all intervals of the node start at or before the center
+        for (Interval interval : node.byHigh) {
+          if (interval.high != null && interval.high.compareTo(value) < 0) {
+            break;
+          }
+          if (interval.containsHigh(value)) {
+            result.set(interval.ruleIndex);
+          }
+        }
+        node = node.right;
+      }
+      else {
+        for (Interval interval : node.byLow) {
+          if (interval.contains(value)) {
+            result.set(interval.ruleIndex);
+          }
+        }
+        node = null;
+      }
+    }
+  }
+
+  protected Node createNode(List<Interval> intervals) {
+    if (intervals.isEmpty()) {
+      return null;
+    }
+
+    List<BigDecimal> endpoints = new ArrayList<>();
+    for (Interval interval : intervals) {
+      if (interval.low != null) {
+        endpoints.add(interval.low);
+      }
+      if (interval.high != null) {
+        endpoints.add(interval.high);
+      }
+    }
+    Collections.sort(endpoints);
+    BigDecimal center = endpoints.get(endpoints.size() / 2);
+
+    List<Interval> leftIntervals = new ArrayList<>();
+    List<Interval> rightIntervals = new ArrayList<>();
+    List<Interval> centerIntervals = new ArrayList<>();
+    for (Interval interval : intervals) {
+      if (interval.high != null && interval.high.compareTo(center) < 0) {
+        leftIntervals.add(interval);
+      }
+      else if (interval.low != null && interval.low.compareTo(center) > 0) {
+        rightIntervals.add(interval);
+      }
+      else {
+        centerIntervals.add(interval);
+      }
+    }
+
+    Node node = new Node(center);
+    node.byLow = new ArrayList<>(centerIntervals);
+    Collections.sort(node.byLow, BY_LOW_ASCENDING);
+    node.byHigh = new ArrayList<>(centerIntervals);
+    Collections.sort(node.byHigh, BY_HIGH_DESCENDING);
+    node.left = createNode(leftIntervals);
+    node.right = createNode(rightIntervals);
+    return node;
+  }
+
+  protected static class Node {
+
+    protected final BigDecimal center;
+    protected List<Interval> byLow;
+    protected List<Interval> byHigh;
+    protected Node left;
+    protected Node right;
+
+    protected Node(BigDecimal center) {
+      this.center = center;
+    }
+  }
+
+  /**
+   * An interval of a rule; a <code>null</code> endpoint is unbounded.
+   */
+  public static class Interval {
+
+    protected final int ruleIndex;
+    protected final BigDecimal low;
+    protected final boolean lowInclusive;
+    protected final BigDecimal high;
+    protected final boolean highInclusive;
+
+    public Interval(int ruleIndex, BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive) {
+      this.ruleIndex = ruleIndex;
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.high = high;
+      this.highInclusive = highInclusive;
+    }
+
+    public boolean contains(BigDecimal value) {
+      return containsLow(value) && containsHigh(value);
+    }
+
+    protected boolean containsLow(BigDecimal value) {
+      if (low == null) {
+        return true;
+      }
+      int comparison = low.compareTo(value);
+      return comparison < 0 || (comparison == 0 && lowInclusive);
+    }
+
+    protected boolean containsHigh(BigDecimal value) {
+      if (high == null) {
+        return true;
+      }
+      int comparison = high.compareTo(value);
+      return comparison > 0 || (comparison == 0 && highInclusive);
+    }
+
+    protected boolean isEmpty() {
+      if (low == null || high == null) {
+        return false;
+      }
+      int comparison = low.compareTo(high);
+      return comparison > 0 || (comparison == 0 && !(lowInclusive && highInclusive));
+    }
+
+    public int getRuleIndex() {
+      return ruleIndex;
+    }
+  }
+
+}
@@ -40,6 +40,7 @@ import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
 import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
 import org.camunda.bpm.dmn.engine.impl.DmnLogger;
 import org.camunda.bpm.dmn.engine.impl.DmnVariableImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndexBuilder;
 import org.camunda.bpm.dmn.engine.impl.spi.hitpolicy.DmnHitPolicyHandlerRegistry;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnElementTransformContext;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnElementTransformHandler;
@@ -329,6 +330,8 @@ public class DefaultDmnTransform implements DmnTransform, DmnElementTransformCon
       }
     }
 
+    dmnDecisionTable.setIndex(new DmnDecisionTableIndexBuilder().build(dmnDecisionTable));
+
     return dmnDecisionTable;
   }
 
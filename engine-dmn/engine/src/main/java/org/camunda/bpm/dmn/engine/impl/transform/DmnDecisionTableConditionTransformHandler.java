@@ -22,10 +22,13 @@ import static org.camunda.bpm.dmn.engine.impl.transform.DmnExpressionTransformHe
 import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnElementTransformContext;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnElementTransformHandler;
+import org.camunda.bpm.dmn.engine.impl.unarytest.UnaryTestsCompiler;
 import org.camunda.bpm.model.dmn.instance.InputEntry;
 
 public class DmnDecisionTableConditionTransformHandler implements DmnElementTransformHandler<InputEntry, DmnExpressionImpl> {
 
+  protected UnaryTestsCompiler unaryTestsCompiler = new UnaryTestsCompiler();
+
   public DmnExpressionImpl handleElement(DmnElementTransformContext context, InputEntry inputEntry) {
     return createFromInputEntry(context, inputEntry);
   }
@@ -37,6 +40,7 @@ public class DmnDecisionTableConditionTransformHandler implements DmnElementTran
     condition.setName(inputEntry.getLabel());
     condition.setExpressionLanguage(getExpressionLanguage(context, inputEntry));
     condition.setExpression(getExpression(inputEntry));
+    condition.setCompiledUnaryTests(unaryTestsCompiler.compile(condition.getExpression()));
 
     return condition;
   }
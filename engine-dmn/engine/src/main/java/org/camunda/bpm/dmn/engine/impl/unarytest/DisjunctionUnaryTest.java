@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.unarytest;
+
+import java.util.List;
+
+/**
+ * A comma separated list of unary tests which is satisfied if one of them is satisfied.
+ */
+public class DisjunctionUnaryTest implements UnaryTestPredicate {
+
+  protected final UnaryTestPredicate[] unaryTests;
+
+  public DisjunctionUnaryTest(List<UnaryTestPredicate> unaryTests) {
+    this.unaryTests = unaryTests.toArray(new UnaryTestPredicate[0]);
+  }
+
+  public Boolean test(Object value) {
+    boolean satisfied = false;
+    for (UnaryTestPredicate unaryTest : unaryTests) {
+      Boolean result = unaryTest.test(value);
+      if (result == null) {
+        // the FEEL engine may fail on the other unary tests
+        return null;
+      }
+      satisfied |= result;
+    }
+    return satisfied;
+  }
+
+  public UnaryTestPredicate[] getUnaryTests() {
+    return unaryTests;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (UnaryTestPredicate unaryTest : unaryTests) {
+      if (builder.length() > 0) {
+        builder.append(", ");
+      }
+      builder.append(unaryTest);
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.unarytest;
+
+/**
+ * A unary test which is satisfied by values equal to a string or number literal.
+ */
+public class EqualUnaryTest implements UnaryTestPredicate {
+
+  protected final String stringLiteral;
+  protected final NumberLiteral numberLiteral;
+
+  protected EqualUnaryTest(String stringLiteral, NumberLiteral numberLiteral) {
+    this.stringLiteral = stringLiteral;
+    this.numberLiteral = numberLiteral;
+  }
+
+  public static EqualUnaryTest equalString(String literal) {
+    return new EqualUnaryTest(literal, null);
+  }
+
+  public static EqualUnaryTest equalNumber(NumberLiteral literal) {
+    return new EqualUnaryTest(null, literal);
+  }
+
+  public Boolean test(Object value) {
+    if (stringLiteral != null) {
+      return value instanceof String ? stringLiteral.equals(value) : null;
+    }
+
+    Integer comparison = numberLiteral.compareFrom(value);
+    return comparison != null ? comparison == 0 : null;
+  }
+
+  /**
+   * @return the string literal or <code>null</code> if the literal is a number
+   */
+  public String getStringLiteral() {
+    return stringLiteral;
+  }
+
+  /**
+   * @return the number literal or <code>null</code> if the literal is a string
+   */
+  public NumberLiteral getNumberLiteral() {
+    return numberLiteral;
+  }
+
+  @Override
+  public String toString() {
+    return stringLiteral != null ? "\"" + stringLiteral + "\"" : numberLiteral.toString();
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.unarytest;
+
+/**
+ * A numeric comparison or range, e.g. <code>&lt; 10</code> or <code>[1..10[</code>.
+ * A <code>null</code> endpoint is unbounded.
+ */
+public class IntervalUnaryTest implements UnaryTestPredicate {
+
+  protected final NumberLiteral low;
+  protected final boolean lowInclusive;
+  protected final NumberLiteral high;
+  protected final boolean highInclusive;
+
+  public IntervalUnaryTest(NumberLiteral low, boolean lowInclusive, NumberLiteral high, boolean highInclusive) {
+    this.low = low;
+    this.lowInclusive = lowInclusive;
+    this.high = high;
+    this.highInclusive = highInclusive;
+  }
+
+  public Boolean test(Object value) {
+    if (low != null) {
+      Integer comparison = low.compareFrom(value);
+      if (comparison == null) {
+        return null;
+      }
+      if (comparison < 0 || (comparison == 0 && !lowInclusive)) {
+        return Boolean.FALSE;
+      }
+    }
+
+    if (high != null) {
+      Integer comparison = high.compareFrom(value);
+      if (comparison == null) {
+        return null;
+      }
+      if (comparison > 0 || (comparison == 0 && !highInclusive)) {
+        return Boolean.FALSE;
+      }
+    }
+
+    return Boolean.TRUE;
+  }
+
+  public NumberLiteral getLow() {
+    return low;
+  }
+
+  public boolean isLowInclusive() {
+    return lowInclusive;
+  }
+
+  public NumberLiteral getHigh() {
+    return high;
+  }
+
+  public boolean isHighInclusive() {
+    return highInclusive;
+  }
+
+  @Override
+  public String toString() {
+    if (low == null) {
+      return (highInclusive ? "<= " : "< ") + high;
+    }
+    else if (high == null) {
+      return (lowInclusive ? ">= " : "> ") + low;
+    }
+    else {
+      return (lowInclusive ? "[" : "]") + low + ".." + high + (highInclusive ? "]" : "[");
+    }
+  }
+
+}
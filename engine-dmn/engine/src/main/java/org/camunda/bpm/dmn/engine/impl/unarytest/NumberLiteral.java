@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.unarytest;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A number literal of a unary test which is compared with input values exactly, like the
+ * FEEL engine does. Integral values are compared without allocating a {@link BigDecimal}
+ * if the literal is integral, too.
+ */
+public class NumberLiteral {
+
+  protected final BigDecimal value;
+  protected final boolean integral;
+  protected final long longValue;
+
+  public NumberLiteral(BigDecimal value) {
+    this.value = value;
+
+    long longValue = 0;
+    boolean integral;
+    try {
+      longValue = value.longValueExact();
+      integral = true;
+    }
+    catch (ArithmeticException e) {
+      integral = false;
+    }
+    this.integral = integral;
+    this.longValue = longValue;
+  }
+
+  /**
+   * @return the result of comparing the input value with this literal or <code>null</code>
+   *   if the value is not a number with exact decimal representation
+   */
+  public Integer compareFrom(Object inputValue) {
+    if (integral && isIntegral(inputValue)) {
+      return Long.compare(((Number) inputValue).longValue(), longValue);
+    }
+
+    BigDecimal number = toBigDecimal(inputValue);
+    if (number == null) {
+      return null;
+    }
+    return number.compareTo(value);
+  }
+
+  public BigDecimal getValue() {
+    return value;
+  }
+
+  protected static boolean isIntegral(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+  }
+
+  /**
+   * @return the value as {@link BigDecimal} or <code>null</code> if it is not a number
+   *   with exact decimal representation
+   */
+  public static BigDecimal toBigDecimal(Object value) {
+    if (isIntegral(value)) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    }
+    else if (value instanceof Double) {
+      Double doubleValue = (Double) value;
+      return doubleValue.isNaN() || doubleValue.isInfinite() ? null : BigDecimal.valueOf(doubleValue);
+    }
+    else if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    else if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    else {
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return value.toPlainString();
+  }
+
+}
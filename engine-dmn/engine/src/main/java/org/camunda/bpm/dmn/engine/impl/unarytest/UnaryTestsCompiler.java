@@ -0,0 +1,155 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.unarytest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles FEEL simple unary tests into {@link UnaryTestPredicate}s. Supported are
+ * <code>-</code>, string literals without escape sequences, number literals, numeric
+ * comparisons and ranges, comma separated lists of these and their negation with
+ * <code>not(...)</code>. All other expressions, e.g. tests of dates or variables,
+ * are left to the FEEL engine.
+ */
+public class UnaryTestsCompiler {
+
+  protected static final String NUMBER = "-?\\d+(?:\\.\\d+)?";
+
+  protected static final Pattern NEGATION_PATTERN = Pattern.compile("^not\\s*\\((.*)\\)$");
+  protected static final Pattern STRING_PATTERN = Pattern.compile("^\"([^\"\\\\]*)\"$");
+  protected static final Pattern NUMBER_PATTERN = Pattern.compile("^" + NUMBER + "$");
+  protected static final Pattern COMPARISON_PATTERN = Pattern.compile("^(<=|>=|<|>)\\s*(" + NUMBER + ")$");
+  protected static final Pattern INTERVAL_PATTERN = Pattern.compile("^([\\[\\]\\(])\\s*(" + NUMBER + ")\\s*\\.\\.\\s*(" + NUMBER + ")\\s*([\\[\\]\\)])$");
+
+  /**
+   * @return the compiled unary tests or <code>null</code> if the expression is not supported
+   */
+  public UnaryTestPredicate compile(String expression) {
+    if (expression == null) {
+      return null;
+    }
+
+    expression = expression.trim();
+    if ("-".equals(expression)) {
+      return AnyUnaryTest.INSTANCE;
+    }
+
+    Matcher matcher = NEGATION_PATTERN.matcher(expression);
+    if (matcher.matches()) {
+      UnaryTestPredicate unaryTests = compileUnaryTests(matcher.group(1));
+      return unaryTests != null ? new NegationUnaryTest(unaryTests) : null;
+    }
+
+    return compileUnaryTests(expression);
+  }
+
+  protected UnaryTestPredicate compileUnaryTests(String expression) {
+    List<String> unaryTestExpressions = splitUnaryTests(expression);
+    if (unaryTestExpressions == null) {
+      return null;
+    }
+
+    List<UnaryTestPredicate> unaryTests = new ArrayList<>();
+    for (String unaryTestExpression : unaryTestExpressions) {
+      UnaryTestPredicate unaryTest = compileUnaryTest(unaryTestExpression.trim());
+      if (unaryTest == null) {
+        return null;
+      }
+      unaryTests.add(unaryTest);
+    }
+
+    return unaryTests.size() == 1 ? unaryTests.get(0) : new DisjunctionUnaryTest(unaryTests);
+  }
+
+  protected UnaryTestPredicate compileUnaryTest(String unaryTest) {
+    Matcher matcher = STRING_PATTERN.matcher(unaryTest);
+    if (matcher.matches()) {
+      return EqualUnaryTest.equalString(matcher.group(1));
+    }
+
+    matcher = NUMBER_PATTERN.matcher(unaryTest);
+    if (matcher.matches()) {
+      return EqualUnaryTest.equalNumber(numberLiteral(unaryTest));
+    }
+
+    matcher = COMPARISON_PATTERN.matcher(unaryTest);
+    if (matcher.matches()) {
+      String operator = matcher.group(1);
+      NumberLiteral endpoint = numberLiteral(matcher.group(2));
+      boolean inclusive = operator.endsWith("=");
+      if (operator.startsWith("<")) {
+        return new IntervalUnaryTest(null, false, endpoint, inclusive);
+      }
+      else {
+        return new IntervalUnaryTest(endpoint, inclusive, null, false);
+      }
+    }
+
+    matcher = INTERVAL_PATTERN.matcher(unaryTest);
+    if (matcher.matches()) {
+      boolean lowInclusive = "[".equals(matcher.group(1));
+      boolean highInclusive = "]".equals(matcher.group(4));
+      return new IntervalUnaryTest(numberLiteral(matcher.group(2)), lowInclusive, numberLiteral(matcher.group(3)), highInclusive);
+    }
+
+    return null;
+  }
+
+  protected NumberLiteral numberLiteral(String literal) {
+    return new NumberLiteral(new BigDecimal(literal));
+  }
+
+  /**
+   * Splits the expression at the commas which are neither part of a string nor of a range.
+   *
+   * @return the unary tests or <code>null</code> if the expression is malformed
+   */
+  protected List<String> splitUnaryTests(String expression) {
+    List<String> unaryTests = new ArrayList<>();
+    boolean inString = false;
+    boolean inRange = false;
+    int start = 0;
+
+    for (int i = 0; i < expression.length(); i++) {
+      char c = expression.charAt(i);
+      if (c == '"') {
+        inString = !inString;
+      }
+      else if (!inString && !inRange && (c == '[' || c == ']' || c == '(')) {
+        inRange = true;
+      }
+      else if (!inString && inRange && (c == '[' || c == ']' || c == ')')) {
+        inRange = false;
+      }
+      else if (!inString && !inRange && c == ',') {
+        unaryTests.add(expression.substring(start, i));
+        start = i + 1;
+      }
+    }
+
+    if (inString || inRange) {
+      return null;
+    }
+    unaryTests.add(expression.substring(start));
+    return unaryTests;
+  }
+
+}
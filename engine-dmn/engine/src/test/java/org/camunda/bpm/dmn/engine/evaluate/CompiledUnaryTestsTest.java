@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.unarytest.AnyUnaryTest;
+import org.camunda.bpm.dmn.engine.impl.unarytest.UnaryTestPredicate;
+import org.camunda.bpm.dmn.engine.impl.unarytest.UnaryTestsCompiler;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.junit.Test;
+
+public class CompiledUnaryTestsTest extends DmnEngineTest {
+
+  protected static final List<Object> CUSTOMER_TYPES = Arrays.<Object>asList("gold", "silver", "bronze", "other", 1, null);
+  protected static final List<Object> AMOUNTS = Arrays.<Object>asList(
+      -20, -10, -5, -5.0, 0, 0L, 10, 11, 15, new BigDecimal("15.00"), 19.99, 20, 21, 30, 50, 50L, 100, 100.5, 101, "50", null);
+
+  protected UnaryTestsCompiler compiler = new UnaryTestsCompiler();
+
+  @Test
+  public void shouldCompileLiterals() {
+    // when
+    UnaryTestPredicate stringTest = compiler.compile("\"gold\"");
+    UnaryTestPredicate numberTest = compiler.compile("15.0");
+
+    // then
+    assertThat(stringTest.test("gold")).isTrue();
+    assertThat(stringTest.test("silver")).isFalse();
+    assertThat(stringTest.test(1)).isNull();
+    assertThat(numberTest.test(15)).isTrue();
+    assertThat(numberTest.test(15L)).isTrue();
+    assertThat(numberTest.test(new BigDecimal("15.00"))).isTrue();
+    assertThat(numberTest.test(15.5)).isFalse();
+    assertThat(numberTest.test("15")).isNull();
+    assertThat(numberTest.test(null)).isNull();
+  }
+
+  @Test
+  public void shouldCompileComparisonsAndRanges() {
+    // when
+    UnaryTestPredicate comparison = compiler.compile("<= -10");
+    UnaryTestPredicate range = compiler.compile("]10..20[");
+
+    // then
+    assertThat(comparison.test(-10)).isTrue();
+    assertThat(comparison.test(-9.5)).isFalse();
+    assertThat(range.test(10)).isFalse();
+    assertThat(range.test(10.01)).isTrue();
+    assertThat(range.test(20)).isFalse();
+  }
+
+  @Test
+  public void shouldCompileListsAndNegations() {
+    // when
+    UnaryTestPredicate list = compiler.compile("\"gold\", \"silver\"");
+    UnaryTestPredicate negation = compiler.compile("not((20..50], <= -10)");
+
+    // then
+    assertThat(list.test("silver")).isTrue();
+    assertThat(list.test("bronze")).isFalse();
+    assertThat(negation.test(30)).isFalse();
+    assertThat(negation.test(-20)).isFalse();
+    assertThat(negation.test(0)).isTrue();
+    assertThat(negation.test("0")).isNull();
+  }
+
+  @Test
+  public void shouldCompileAnyValue() {
+    assertThat(compiler.compile("-")).isSameAs(AnyUnaryTest.INSTANCE);
+  }
+
+  @Test
+  public void shouldNotCompileOtherExpressions() {
+    assertThat(compiler.compile(">= limit")).isNull();
+    assertThat(compiler.compile("date(\"2015-11-30\")")).isNull();
+    assertThat(compiler.compile("\"escaped \\\" quote\"")).isNull();
+    assertThat(compiler.compile("[1..2")).isNull();
+    assertThat(compiler.compile("1 + 2")).isNull();
+  }
+
+  @Test
+  @DecisionResource(resource = DmnDecisionTableIndexTest.DMN_FILE)
+  public void shouldMatchSameRulesAsFeelEngine() {
+    // given
+    DmnEngine engineWithCompiledUnaryTests = new DefaultDmnEngineConfiguration()
+      .enableDecisionTableIndex(false)
+      .buildEngine();
+    DmnEngine engineWithoutCompiledUnaryTests = new DefaultDmnEngineConfiguration()
+      .enableDecisionTableIndex(false)
+      .enableCompiledUnaryTests(false)
+      .buildEngine();
+
+    for (Object customerType : CUSTOMER_TYPES) {
+      for (Object amount : AMOUNTS) {
+        variables.putValue("customerType", customerType);
+        variables.putValue("amount", amount);
+        variables.putValue("limit", 30);
+
+        // when
+        Object compiledResult = evaluateMatchingRules(engineWithCompiledUnaryTests);
+        Object result = evaluateMatchingRules(engineWithoutCompiledUnaryTests);
+
+        // then
+        assertThat(compiledResult)
+          .as("customerType=%s, amount=%s", customerType, amount)
+          .isEqualTo(result);
+      }
+    }
+  }
+
+  /**
+   * @return the matching rules or the class of the exception thrown on evaluation
+   */
+  protected Object evaluateMatchingRules(DmnEngine engine) {
+    try {
+      return evaluateDecisionTable(engine).collectEntries("rule");
+    }
+    catch (RuntimeException e) {
+      return e.getClass();
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndex;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableInputIndex.LiteralType;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.junit.Test;
+
+public class DmnDecisionTableIndexTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "org/camunda/bpm/dmn/engine/evaluate/DmnDecisionTableIndexTest.dmn";
+
+  protected static final List<Object> CUSTOMER_TYPES = Arrays.<Object>asList("gold", "silver", "bronze", "other", null);
+  protected static final List<Object> AMOUNTS = Arrays.<Object>asList(
+      -20, -10, -5, -5.0, 0, 0L, 10, 11, 15, new BigDecimal("15.00"), 19.99, 20, 21, 30, 50, 50L, 100, 100.5, 101, null);
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldIndexLiteralInputEntries() {
+    // when
+    DmnDecisionTableIndex index = ((DmnDecisionTableImpl) decision.getDecisionLogic()).getIndex();
+
+    // then
+    assertThat(index).isNotNull();
+    assertThat(index.getInputIndex(0).getLiteralType()).isEqualTo(LiteralType.STRING);
+    assertThat(index.getInputIndex(0).getResidualRules().stream().toArray()).containsExactly(6);
+    assertThat(index.getInputIndex(1).getLiteralType()).isEqualTo(LiteralType.NUMBER);
+    assertThat(index.getInputIndex(1).getResidualRules().stream().toArray()).containsExactly(5);
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchRulesInOrder() {
+    // given
+    variables.putValue("customerType", "silver");
+    variables.putValue("amount", 50);
+    variables.putValue("limit", 30);
+
+    // when
+    DmnDecisionTableResult result = evaluateDecisionTable();
+
+    // then
+    assertThat(result.collectEntries("rule")).containsExactly("rule5", "rule6", "rule7");
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchSameRulesAsWithoutIndex() {
+    // given
+    DmnEngine engineWithoutIndex = new DefaultDmnEngineConfiguration()
+      .enableDecisionTableIndex(false)
+      .buildEngine();
+
+    for (Object customerType : CUSTOMER_TYPES) {
+      for (Object amount : AMOUNTS) {
+        variables.putValue("customerType", customerType);
+        variables.putValue("amount", amount);
+        variables.putValue("limit", 30);
+
+        // when
+        Object indexedResult = evaluateMatchingRules(dmnEngine);
+        Object result = evaluateMatchingRules(engineWithoutIndex);
+
+        // then
+        assertThat(indexedResult)
+          .as("customerType=%s, amount=%s", customerType, amount)
+          .isEqualTo(result);
+      }
+    }
+  }
+
+  /**
+   * @return the matching rules or the class of the exception thrown on evaluation
+   */
+  protected Object evaluateMatchingRules(DmnEngine engine) {
+    try {
+      return evaluateDecisionTable(engine).collectEntries("rule");
+    }
+    catch (RuntimeException e) {
+      return e.getClass();
+    }
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.scala;
+
+public class ParsedExpressionCacheKey {
+
+  protected final String expression;
+  protected final boolean unaryTests;
+
+  public ParsedExpressionCacheKey(String expression, boolean unaryTests) {
+    this.expression = expression;
+    this.unaryTests = unaryTests;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + ((expression == null) ? 0 : expression.hashCode());
+    result = prime * result + (unaryTests ? 1231 : 1237);
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null)
+      return false;
+    if (getClass() != obj.getClass())
+      return false;
+    ParsedExpressionCacheKey other = (ParsedExpressionCacheKey) obj;
+    if (expression == null) {
+      if (other.expression != null)
+        return false;
+    } else if (!expression.equals(other.expression))
+      return false;
+    if (unaryTests != other.unaryTests)
+      return false;
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedExpressionCacheKey [expression=" + expression + ", unaryTests=" + unaryTests + "]";
+  }
+
+}
@@ -21,6 +21,8 @@ import org.camunda.bpm.dmn.feel.impl.scala.function.CustomFunctionTransformer;
 import org.camunda.bpm.dmn.feel.impl.scala.function.FeelCustomFunctionProvider;
 import org.camunda.bpm.dmn.feel.impl.scala.spin.SpinValueMapperFactory;
 import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
 import org.camunda.feel.FeelEngine.Builder;
 import org.camunda.feel.FeelEngine.Failure;
 import org.camunda.feel.FeelEngine.UnaryTests$;
@@ -28,6 +30,7 @@ import org.camunda.feel.context.CustomContext;
 import org.camunda.feel.context.VariableProvider;
 import org.camunda.feel.context.VariableProvider.StaticVariableProvider;
 import org.camunda.feel.impl.JavaValueMapper;
+import org.camunda.feel.syntaxtree.ParsedExpression;
 import org.camunda.feel.valuemapper.CustomValueMapper;
 import org.camunda.feel.valuemapper.ValueMapper.CompositeValueMapper;
 import scala.collection.immutable.List;
@@ -38,6 +41,7 @@ import scala.util.Left;
 import scala.util.Right;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
 import static org.camunda.feel.context.VariableProvider.CompositeVariableProvider;
 import static scala.jdk.CollectionConverters.ListHasAsScala;
@@ -46,9 +50,27 @@ public class ScalaFeelEngine implements FeelEngine {
 
   protected static final ScalaFeelLogger LOGGER = ScalaFeelLogger.LOGGER;
 
+  public static final int DEFAULT_EXPRESSION_CACHE_SIZE = 1000;
+
   protected org.camunda.feel.FeelEngine feelEngine;
 
+  /**
+   * Parsed expressions and unary tests; <code>null</code> if caching is disabled
+   */
+  protected Cache<ParsedExpressionCacheKey, ParsedExpression> parsedExpressionCache;
+
+  protected final LongAdder parsedExpressionCacheHits = new LongAdder();
+  protected final LongAdder parsedExpressionCacheMisses = new LongAdder();
+
   public ScalaFeelEngine(java.util.List<FeelCustomFunctionProvider> functionProviders) {
+    this(functionProviders, DEFAULT_EXPRESSION_CACHE_SIZE);
+  }
+
+  /**
+   * @param expressionCacheSize the maximum number of cached parsed expressions;
+   *   a size of zero or less disables the cache
+   */
+  public ScalaFeelEngine(java.util.List<FeelCustomFunctionProvider> functionProviders, int expressionCacheSize) {
     List<CustomValueMapper> valueMappers = getValueMappers();
 
     CompositeValueMapper compositeValueMapper = new CompositeValueMapper(valueMappers);
@@ -57,6 +79,10 @@ public class ScalaFeelEngine implements FeelEngine {
       new CustomFunctionTransformer(functionProviders, compositeValueMapper);
 
     feelEngine = buildFeelEngine(customFunctionTransformer, compositeValueMapper);
+
+    if (expressionCacheSize > 0) {
+      parsedExpressionCache = new ConcurrentLruCache<>(expressionCacheSize);
+    }
   }
 
   public <T> T evaluateSimpleExpression(String expression, VariableContext variableContext) {
@@ -67,7 +93,7 @@ public class ScalaFeelEngine implements FeelEngine {
       }
     };
 
-    Either either = feelEngine.evalExpression(expression, context);
+    Either either = evaluate(expression, false, context);
 
     if (either instanceof Right) {
       Right right = (Right) either;
@@ -99,7 +125,7 @@ public class ScalaFeelEngine implements FeelEngine {
       }
     };
 
-    Either either = feelEngine.evalUnaryTests(expression, context);
+    Either either = evaluate(expression, true, context);
 
     if (either instanceof Right) {
       Right right = (Right) either;
@@ -117,6 +143,54 @@ public class ScalaFeelEngine implements FeelEngine {
     }
   }
 
+  protected Either evaluate(String expression, boolean unaryTests, CustomContext context) {
+    if (parsedExpressionCache == null) {
+      return unaryTests ? feelEngine.evalUnaryTests(expression, context) : feelEngine.evalExpression(expression, context);
+    }
+
+    ParsedExpressionCacheKey cacheKey = new ParsedExpressionCacheKey(expression, unaryTests);
+    ParsedExpression parsedExpression = parsedExpressionCache.get(cacheKey);
+
+    if (parsedExpression != null) {
+      parsedExpressionCacheHits.increment();
+
+    } else {
+      parsedExpressionCacheMisses.increment();
+
+      Either parseResult = unaryTests ? feelEngine.parseUnaryTests(expression) : feelEngine.parseExpression(expression);
+      if (parseResult instanceof Left) {
+        // failures are not cached
+        return parseResult;
+      }
+
+      parsedExpression = (ParsedExpression) ((Right) parseResult).value();
+      parsedExpressionCache.put(cacheKey, parsedExpression);
+    }
+
+    return feelEngine.eval(parsedExpression, context);
+  }
+
+  /**
+   * @return the number of evaluations which reused a cached parsed expression
+   */
+  public long getParsedExpressionCacheHits() {
+    return parsedExpressionCacheHits.sum();
+  }
+
+  /**
+   * @return the number of evaluations which had to parse the expression
+   */
+  public long getParsedExpressionCacheMisses() {
+    return parsedExpressionCacheMisses.sum();
+  }
+
+  /**
+   * @return the number of cached parsed expressions
+   */
+  public int getParsedExpressionCacheSize() {
+    return parsedExpressionCache != null ? parsedExpressionCache.size() : 0;
+  }
+
   protected List<CustomValueMapper> getValueMappers() {
     SpinValueMapperFactory spinValueMapperFactory = new SpinValueMapperFactory();
 
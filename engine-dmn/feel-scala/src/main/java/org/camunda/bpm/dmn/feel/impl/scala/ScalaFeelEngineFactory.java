@@ -25,6 +25,7 @@ import java.util.List;
 public class ScalaFeelEngineFactory implements FeelEngineFactory {
 
   protected List<FeelCustomFunctionProvider> customFunctionProviders;
+  protected int expressionCacheSize = ScalaFeelEngine.DEFAULT_EXPRESSION_CACHE_SIZE;
 
   public ScalaFeelEngineFactory() {
   }
@@ -33,8 +34,13 @@ public class ScalaFeelEngineFactory implements FeelEngineFactory {
     this.customFunctionProviders = customFunctionProviders;
   }
 
+  public ScalaFeelEngineFactory(List<FeelCustomFunctionProvider> customFunctionProviders, int expressionCacheSize) {
+    this.customFunctionProviders = customFunctionProviders;
+    this.expressionCacheSize = expressionCacheSize;
+  }
+
   public FeelEngine createInstance() {
-      return new ScalaFeelEngine(customFunctionProviders);
+      return new ScalaFeelEngine(customFunctionProviders, expressionCacheSize);
    }
 
   public void setCustomFunctionProviders(List<FeelCustomFunctionProvider> customFunctionProviders) {
@@ -45,5 +51,13 @@ public class ScalaFeelEngineFactory implements FeelEngineFactory {
     return customFunctionProviders;
   }
 
+  public void setExpressionCacheSize(int expressionCacheSize) {
+    this.expressionCacheSize = expressionCacheSize;
+  }
+
+  public int getExpressionCacheSize() {
+    return expressionCacheSize;
+  }
+
 }
 
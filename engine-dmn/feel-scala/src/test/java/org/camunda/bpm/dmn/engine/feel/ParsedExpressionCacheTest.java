@@ -0,0 +1,102 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.feel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.camunda.bpm.dmn.feel.impl.FeelException;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngine;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.junit.Test;
+
+public class ParsedExpressionCacheTest {
+
+  @Test
+  public void shouldReuseParsedExpression() {
+    // given
+    ScalaFeelEngine feelEngine = new ScalaFeelEngine(null);
+
+    // when
+    Object firstResult = feelEngine.evaluateSimpleExpression("variable + 1", context(1));
+    Object secondResult = feelEngine.evaluateSimpleExpression("variable + 1", context(2));
+
+    // then
+    assertThat(firstResult).isEqualTo(2L);
+    assertThat(secondResult).isEqualTo(3L);
+    assertThat(feelEngine.getParsedExpressionCacheMisses()).isEqualTo(1);
+    assertThat(feelEngine.getParsedExpressionCacheHits()).isEqualTo(1);
+    assertThat(feelEngine.getParsedExpressionCacheSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCacheUnaryTestsSeparately() {
+    // given
+    ScalaFeelEngine feelEngine = new ScalaFeelEngine(null);
+    feelEngine.evaluateSimpleExpression("5", context(1));
+
+    // when
+    boolean firstResult = feelEngine.evaluateSimpleUnaryTests("5", "variable", context(5));
+    boolean secondResult = feelEngine.evaluateSimpleUnaryTests("5", "otherVariable", context(4));
+
+    // then
+    assertThat(firstResult).isTrue();
+    assertThat(secondResult).isFalse();
+    assertThat(feelEngine.getParsedExpressionCacheMisses()).isEqualTo(2);
+    assertThat(feelEngine.getParsedExpressionCacheHits()).isEqualTo(1);
+    assertThat(feelEngine.getParsedExpressionCacheSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotCacheInvalidExpression() {
+    // given
+    ScalaFeelEngine feelEngine = new ScalaFeelEngine(null);
+
+    // when
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> feelEngine.evaluateSimpleExpression("variable +", context(1)))
+        .isInstanceOf(FeelException.class);
+    }
+
+    // then
+    assertThat(feelEngine.getParsedExpressionCacheMisses()).isEqualTo(2);
+    assertThat(feelEngine.getParsedExpressionCacheSize()).isZero();
+  }
+
+  @Test
+  public void shouldEvaluateWithoutCache() {
+    // given
+    ScalaFeelEngine feelEngine = new ScalaFeelEngine(null, 0);
+
+    // when
+    Object result = feelEngine.evaluateSimpleExpression("variable + 1", context(1));
+
+    // then
+    assertThat(result).isEqualTo(2L);
+    assertThat(feelEngine.getParsedExpressionCacheMisses()).isZero();
+    assertThat(feelEngine.getParsedExpressionCacheSize()).isZero();
+  }
+
+  protected VariableContext context(Object value) {
+    return Variables.createVariables()
+      .putValue("variable", value)
+      .putValue("otherVariable", value)
+      .asVariableContext();
+  }
+
+}
@@ -17,10 +17,16 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,9 +40,11 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -48,11 +56,14 @@ import org.camunda.bpm.engine.rest.util.EngineUtil;
 /**
  * @author Tassilo Weidner
  */
-public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
+public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler, ExternalTaskAvailableListener {
 
   private final static Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String QUEUE_CAPACITY_PARAM_NAME = "fetch-and-lock-queue-capacity";
+
+  protected static final int DEFAULT_QUEUE_CAPACITY = 200;
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -60,10 +71,15 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected SingleConsumerCondition condition;
 
-  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(200);
+  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
   protected List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
   protected List<FetchAndLockRequest> newRequests = new ArrayList<>();
 
+  /** topics of external tasks which became available since the last acquisition */
+  protected Set<String> availableTopics = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  protected volatile boolean allTopicsAvailable = false;
+  protected long lastFetchForAllRequests = 0;
+
   protected Thread handlerThread = new Thread(this, this.getClass().getSimpleName());
 
   protected volatile boolean isRunning = false;
@@ -93,6 +109,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     queue.drainTo(newRequests);
 
+    Set<FetchAndLockRequest> addedRequests = new HashSet<>(newRequests);
     if (!newRequests.isEmpty()) {
       if (isUniqueWorkerRequest) {
         removeDuplicates();
@@ -104,16 +121,36 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
 
+    // if only new requests were added or external tasks of certain topics became
+    // available, only the new requests and the pending requests for these topics
+    // are fetched again
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+    Set<String> topics = takeAvailableTopics(!addedRequests.isEmpty());
+    boolean fetchForAllRequests = topics == null || currentTime - lastFetchForAllRequests >= PENDING_REQUEST_FETCH_INTERVAL;
+    if (fetchForAllRequests) {
+      lastFetchForAllRequests = currentTime;
+    }
+
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
-    Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
-    while (iterator.hasNext()) {
+    List<FetchAndLockRequest> requestsToFetch = new ArrayList<>();
+    for (FetchAndLockRequest pendingRequest : pendingRequests) {
+      if (fetchForAllRequests || addedRequests.contains(pendingRequest)
+          || isExpired(pendingRequest) || isRequestForTopics(pendingRequest, topics)) {
+        requestsToFetch.add(pendingRequest);
+      }
+      else {
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - currentTime;
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+      }
+    }
 
-      FetchAndLockRequest pendingRequest = iterator.next();
+    Map<FetchAndLockRequest, FetchAndLockResult> results = fetchAndLock(requestsToFetch);
 
-      LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
+    Set<FetchAndLockRequest> completedRequests = new HashSet<>();
+    for (FetchAndLockRequest pendingRequest : requestsToFetch) {
 
-      FetchAndLockResult result = tryFetchAndLock(pendingRequest);
+      FetchAndLockResult result = results.get(pendingRequest);
 
       LOG.log(Level.FINEST, "Fetch and lock result: {0}", result);
 
@@ -127,7 +164,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
           LOG.log(Level.FINEST, "resume and remove request with {0}", lockedTasks);
 
-          iterator.remove();
+          completedRequests.add(pendingRequest);
         }
         else {
           final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
@@ -141,10 +178,12 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
         LOG.log(Level.FINEST, "Resume and remove request with error {0}", processEngineException);
 
-        iterator.remove();
+        completedRequests.add(pendingRequest);
       }
     }
 
+    pendingRequests.removeAll(completedRequests);
+
     final long waitTime = Math.max(0, backoffTime);
 
     if (pendingRequests.isEmpty()) {
@@ -153,8 +192,54 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     else {
       // if there are pending requests, try fetch periodically to ensure tasks created on other
       // cluster nodes and tasks with expired timeouts can be fetched in a timely manner
-      suspend(Math.min(PENDING_REQUEST_FETCH_INTERVAL, waitTime));
+      long msUntilFetchForAllRequests = lastFetchForAllRequests + PENDING_REQUEST_FETCH_INTERVAL - currentTime;
+      suspend(Math.min(msUntilFetchForAllRequests, waitTime));
+    }
+  }
+
+  /**
+   * @param requestsAdded whether new requests were added since the last acquisition
+   *
+   * @return the topics of the external tasks which became available since the last call or
+   * <code>null</code> if the pending requests of all topics have to be fetched, e.g. because
+   * the acquisition was woken up neither by available external tasks nor by new requests
+   */
+  protected Set<String> takeAvailableTopics(boolean requestsAdded) {
+    if (allTopicsAvailable || (availableTopics.isEmpty() && !requestsAdded)) {
+      allTopicsAvailable = false;
+      availableTopics.clear();
+      return null;
+    }
+
+    Set<String> topics = new HashSet<>();
+    Iterator<String> iterator = availableTopics.iterator();
+    while (iterator.hasNext()) {
+      topics.add(iterator.next());
+      iterator.remove();
+    }
+    return topics;
+  }
+
+  protected boolean isRequestForTopics(FetchAndLockRequest request, Set<String> topics) {
+    List<FetchExternalTaskTopicDto> requestedTopics = request.getDto().getTopics();
+    if (requestedTopics != null) {
+      for (FetchExternalTaskTopicDto requestedTopic : requestedTopics) {
+        if (topics.contains(requestedTopic.getTopicName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void externalTasksAvailable(Set<String> topicNames) {
+    if (topicNames == null) {
+      allTopicsAvailable = true;
+    } else {
+      availableTopics.addAll(topicNames);
     }
+    condition.signal();
   }
 
   protected void removeDuplicates() {
@@ -183,13 +268,13 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     isRunning = true;
     handlerThread.start();
 
-    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.add(this);
   }
 
   @Override
   public void shutdown() {
     try {
-      ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.remove(this);
     }
     finally {
       isRunning = false;
@@ -235,6 +320,21 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     condition.signal();
   }
 
+  /**
+   * Fetches and locks the external tasks of the given requests.
+   *
+   * @return the result per request
+   */
+  protected Map<FetchAndLockRequest, FetchAndLockResult> fetchAndLock(List<FetchAndLockRequest> requests) {
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+    for (FetchAndLockRequest request : requests) {
+      LOG.log(Level.FINEST, "Fetching tasks for request {0}", request);
+
+      results.put(request, tryFetchAndLock(request));
+    }
+    return results;
+  }
+
   protected FetchAndLockResult tryFetchAndLock(FetchAndLockRequest request) {
 
     ProcessEngine processEngine = null;
@@ -345,6 +445,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseQueueCapacityParam(servletContext.getInitParameter(QUEUE_CAPACITY_PARAM_NAME));
       }
     }
   }
@@ -357,6 +458,13 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseQueueCapacityParam(String queueCapacityParam) {
+    if (queueCapacityParam != null) {
+      // invoked before the handler is started, so no requests are queued yet
+      queue = new ArrayBlockingQueue<>(Integer.parseInt(queueCapacityParam));
+    }
+  }
+
   public List<FetchAndLockRequest> getPendingRequests() {
     return pendingRequests;
   }
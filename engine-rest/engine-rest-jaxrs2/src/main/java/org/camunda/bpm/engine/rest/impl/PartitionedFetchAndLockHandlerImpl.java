@@ -0,0 +1,305 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
+
+/**
+ * <p>{@link FetchAndLockHandlerImpl} which partitions the pending requests by their fetch
+ * instructions. Requests of the same process engine and authentication with the same topics,
+ * lock durations, filters and priority setting form a group, whose external tasks are
+ * fetched with a single query and distributed across the workers of the group. The groups
+ * are fetched in parallel by a pool of threads.</p>
+ *
+ * <p>The handler is used if it is registered in a file
+ * <code>META-INF/services/org.camunda.bpm.engine.rest.spi.FetchAndLockHandler</code> of the
+ * web application. The size of the thread pool is configured by the servlet context parameter
+ * <code>fetch-and-lock-worker-pool-size</code> and defaults to the number of available
+ * processors.</p>
+ */
+public class PartitionedFetchAndLockHandlerImpl extends FetchAndLockHandlerImpl {
+
+  private final static Logger LOG = Logger.getLogger(PartitionedFetchAndLockHandlerImpl.class.getName());
+
+  protected static final String WORKER_POOL_SIZE_PARAM_NAME = "fetch-and-lock-worker-pool-size";
+
+  protected int workerPoolSize = Runtime.getRuntime().availableProcessors();
+  protected ExecutorService workerPool;
+
+  @Override
+  public void start() {
+    if (isRunning) {
+      return;
+    }
+
+    workerPool = Executors.newFixedThreadPool(workerPoolSize, new ThreadFactory() {
+      protected final AtomicInteger threadNumber = new AtomicInteger();
+
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "camunda-fetch-and-lock-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+
+    super.start();
+  }
+
+  @Override
+  public void shutdown() {
+    try {
+      super.shutdown();
+    }
+    finally {
+      if (workerPool != null) {
+        workerPool.shutdownNow();
+      }
+    }
+  }
+
+  @Override
+  protected Map<FetchAndLockRequest, FetchAndLockResult> fetchAndLock(List<FetchAndLockRequest> requests) {
+    Map<String, List<FetchAndLockRequest>> groups = groupRequests(requests);
+
+    if (workerPool == null || groups.size() <= 1) {
+      // not worth handing over to another thread
+      Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+      for (List<FetchAndLockRequest> group : groups.values()) {
+        results.putAll(fetchAndLockGroup(group));
+      }
+      return results;
+    }
+
+    List<Future<Map<FetchAndLockRequest, FetchAndLockResult>>> futures = new ArrayList<>();
+    for (final List<FetchAndLockRequest> group : groups.values()) {
+      futures.add(workerPool.submit(new Callable<Map<FetchAndLockRequest, FetchAndLockResult>>() {
+        public Map<FetchAndLockRequest, FetchAndLockResult> call() {
+          return fetchAndLockGroup(group);
+        }
+      }));
+    }
+
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+    Iterator<List<FetchAndLockRequest>> groupIterator = groups.values().iterator();
+    for (Future<Map<FetchAndLockRequest, FetchAndLockResult>> future : futures) {
+      List<FetchAndLockRequest> group = groupIterator.next();
+      try {
+        results.putAll(future.get());
+      }
+      catch (ExecutionException e) {
+        putFailedResults(results, group, e.getCause());
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        putFailedResults(results, group, e);
+      }
+    }
+    return results;
+  }
+
+  protected Map<String, List<FetchAndLockRequest>> groupRequests(List<FetchAndLockRequest> requests) {
+    Map<String, List<FetchAndLockRequest>> groups = new LinkedHashMap<>();
+    for (FetchAndLockRequest request : requests) {
+      String groupKey = getGroupKey(request);
+
+      List<FetchAndLockRequest> group = groups.get(groupKey);
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.put(groupKey, group);
+      }
+      group.add(request);
+    }
+    return groups;
+  }
+
+  /**
+   * @return a key which is equal for requests which can be fetched with the same query
+   */
+  protected String getGroupKey(FetchAndLockRequest request) {
+    StringBuilder key = new StringBuilder();
+    key.append(request.getProcessEngineName());
+
+    Authentication authentication = request.getAuthentication();
+    if (authentication != null) {
+      key.append('|').append(authentication.getUserId())
+        .append('|').append(authentication.getGroupIds())
+        .append('|').append(authentication.getTenantIds());
+    }
+
+    FetchExternalTasksExtendedDto dto = request.getDto();
+    key.append('|').append(dto.isUsePriority());
+
+    List<FetchExternalTaskTopicDto> topics = dto.getTopics();
+    if (topics != null) {
+      for (FetchExternalTaskTopicDto topic : topics) {
+        key.append("|topic:").append(topic.getTopicName())
+          .append(',').append(topic.getLockDuration())
+          .append(',').append(topic.getBusinessKey())
+          .append(',').append(topic.getProcessDefinitionId())
+          .append(',').append(Arrays.toString(topic.getProcessDefinitionIdIn()))
+          .append(',').append(topic.getProcessDefinitionKey())
+          .append(',').append(Arrays.toString(topic.getProcessDefinitionKeyIn()))
+          .append(',').append(topic.getProcessDefinitionVersionTag())
+          .append(',').append(topic.getVariables())
+          .append(',').append(topic.getProcessVariables())
+          .append(',').append(topic.isDeserializeValues())
+          .append(',').append(topic.isLocalVariables())
+          .append(',').append(topic.isWithoutTenantId())
+          .append(',').append(Arrays.toString(topic.getTenantIdIn()));
+      }
+    }
+
+    return key.toString();
+  }
+
+  protected Map<FetchAndLockRequest, FetchAndLockResult> fetchAndLockGroup(List<FetchAndLockRequest> group) {
+    if (group.size() == 1) {
+      FetchAndLockRequest request = group.get(0);
+      LOG.log(Level.FINEST, "Fetching tasks for request {0}", request);
+
+      return Collections.singletonMap(request, tryFetchAndLock(request));
+    }
+
+    LOG.log(Level.FINEST, "Fetching tasks for group of {0} requests", group.size());
+
+    FetchAndLockRequest firstRequest = group.get(0);
+    IdentityService identityService = null;
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+
+    try {
+      ProcessEngine processEngine = getProcessEngine(firstRequest);
+
+      identityService = processEngine.getIdentityService();
+      identityService.setAuthentication(firstRequest.getAuthentication());
+
+      ExternalTaskQueryBuilder fetchBuilder = firstRequest.getDto().buildQuery(processEngine);
+      if (!(fetchBuilder instanceof ExternalTaskQueryTopicBuilderImpl)) {
+        // the tasks cannot be fetched for multiple workers at once
+        for (FetchAndLockRequest request : group) {
+          results.put(request, tryFetchAndLock(request));
+        }
+        return results;
+      }
+
+      Map<String, Integer> maxTasksPerWorker = new LinkedHashMap<>();
+      for (FetchAndLockRequest request : group) {
+        String workerId = request.getDto().getWorkerId();
+        Integer maxTasks = maxTasksPerWorker.get(workerId);
+        maxTasksPerWorker.put(workerId, (maxTasks != null ? maxTasks : 0) + request.getDto().getMaxTasks());
+      }
+
+      Map<String, List<LockedExternalTask>> tasksPerWorker = ((ExternalTaskQueryTopicBuilderImpl) fetchBuilder)
+          .executeForWorkers(maxTasksPerWorker);
+
+      distributeTasks(group, tasksPerWorker, results);
+    }
+    catch (Exception e) {
+      putFailedResults(results, group, e);
+    }
+    finally {
+      if (identityService != null) {
+        identityService.clearAuthentication();
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Assigns the locked tasks of each worker to its requests in the order of the group.
+   */
+  protected void distributeTasks(List<FetchAndLockRequest> group, Map<String, List<LockedExternalTask>> tasksPerWorker,
+                                 Map<FetchAndLockRequest, FetchAndLockResult> results) {
+    Map<String, Integer> assignedTasksPerWorker = new HashMap<>();
+
+    for (FetchAndLockRequest request : group) {
+      String workerId = request.getDto().getWorkerId();
+
+      List<LockedExternalTask> workerTasks = tasksPerWorker.get(workerId);
+      if (workerTasks == null) {
+        workerTasks = Collections.emptyList();
+      }
+
+      Integer assignedTasks = assignedTasksPerWorker.get(workerId);
+      int fromIndex = assignedTasks != null ? assignedTasks : 0;
+      int toIndex = Math.min(fromIndex + request.getDto().getMaxTasks(), workerTasks.size());
+      assignedTasksPerWorker.put(workerId, toIndex);
+
+      List<LockedExternalTask> requestTasks = workerTasks.subList(Math.min(fromIndex, toIndex), toIndex);
+      results.put(request, FetchAndLockResult.successful(LockedExternalTaskDto.fromLockedExternalTasks(requestTasks)));
+    }
+  }
+
+  protected void putFailedResults(Map<FetchAndLockRequest, FetchAndLockResult> results, List<FetchAndLockRequest> group, Throwable throwable) {
+    for (FetchAndLockRequest request : group) {
+      results.put(request, FetchAndLockResult.failed(throwable));
+    }
+  }
+
+  @Override
+  public void contextInitialized(ServletContextEvent servletContextEvent) {
+    super.contextInitialized(servletContextEvent);
+
+    if (servletContextEvent != null) {
+      ServletContext servletContext = servletContextEvent.getServletContext();
+
+      if (servletContext != null) {
+        parseWorkerPoolSizeParam(servletContext.getInitParameter(WORKER_POOL_SIZE_PARAM_NAME));
+      }
+    }
+  }
+
+  protected void parseWorkerPoolSizeParam(String workerPoolSizeParam) {
+    if (workerPoolSizeParam != null) {
+      workerPoolSize = Integer.parseInt(workerPoolSizeParam);
+    }
+  }
+
+  public int getWorkerPoolSize() {
+    return workerPoolSize;
+  }
+
+}
@@ -52,6 +52,7 @@ import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -312,6 +313,100 @@ public class FetchAndLockHandlerTest {
     verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
   }
 
+  @Test
+  public void shouldFetchOnlyRequestsOfAvailableTopics() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    // assume
+    verify(fetchTopicBuilder, times(2)).topic(eq("aTopicName"), anyLong());
+    verify(fetchTopicBuilder, times(2)).topic(eq("anotherTopicName"), anyLong());
+
+    addSecondsToClock(1);
+
+    // when
+    handler.externalTasksAvailable(Collections.singleton("aTopicName"));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).topic(eq("aTopicName"), anyLong());
+    verify(fetchTopicBuilder, times(2)).topic(eq("anotherTopicName"), anyLong());
+    verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL - 1000L);
+  }
+
+  @Test
+  public void shouldFetchOnlyNewRequests() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    addSecondsToClock(1);
+
+    // when
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "newWorkerId", "newTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).topic(eq("aTopicName"), anyLong());
+    verify(fetchTopicBuilder, times(2)).topic(eq("anotherTopicName"), anyLong());
+    verify(fetchTopicBuilder, times(2)).topic(eq("newTopicName"), anyLong());
+    assertThat(handler.getPendingRequests().size(), is(3));
+  }
+
+  @Test
+  public void shouldFetchAllRequestsIfTopicsUnknown() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    // when
+    handler.externalTasksAvailable(null);
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).topic(eq("aTopicName"), anyLong());
+    verify(fetchTopicBuilder, times(3)).topic(eq("anotherTopicName"), anyLong());
+  }
+
+  @Test
+  public void shouldFetchAllRequestsPeriodicallyDespiteAvailableTopics() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId", "aTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId", "anotherTopicName"),
+        mock(AsyncResponse.class), processEngine);
+    handler.acquire();
+
+    addSecondsToClock((int) (FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL / 1000));
+
+    // when
+    handler.externalTasksAvailable(Collections.singleton("aTopicName"));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).topic(eq("aTopicName"), anyLong());
+    verify(fetchTopicBuilder, times(3)).topic(eq("anotherTopicName"), anyLong());
+  }
+
   @Test
   public void shouldNotPollPeriodicallyWhenNotRequestsPending() {
     // given
@@ -434,6 +529,12 @@ public class FetchAndLockHandlerTest {
     return externalTask;
   }
 
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId, String topicName) {
+    FetchExternalTasksExtendedDto dto = createDto(responseTimeout, workerId);
+    dto.getTopics().get(0).setTopicName(topicName);
+    return dto;
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout) {
     return createDto(responseTimeout, "aWorkerId");
   }
@@ -0,0 +1,243 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
+import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.hamcrest.collection.IsCollectionWithSize;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.ws.rs.container.AsyncResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartitionedFetchAndLockHandlerTest {
+
+  @Mock
+  protected ProcessEngine processEngine;
+
+  @Mock
+  protected IdentityService identityService;
+
+  @Mock
+  protected ExternalTaskService externalTaskService;
+
+  @Mock
+  protected ExternalTaskQueryTopicBuilderImpl fetchTopicBuilder;
+
+  @Spy
+  protected PartitionedFetchAndLockHandlerImpl handler;
+
+  protected static final Date START_DATE = new Date(1457326800000L);
+
+  @Before
+  public void initMocks() {
+    when(processEngine.getIdentityService()).thenReturn(identityService);
+    when(processEngine.getExternalTaskService()).thenReturn(externalTaskService);
+    when(processEngine.getName()).thenReturn("default");
+
+    when(externalTaskService.fetchAndLock(anyInt(), any(String.class), any(Boolean.class)))
+      .thenReturn(fetchTopicBuilder);
+    when(fetchTopicBuilder.topic(any(String.class), anyLong()))
+      .thenReturn(fetchTopicBuilder);
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    doNothing().when(handler).suspend(anyLong());
+    doReturn(processEngine).when(handler).getProcessEngine(any(FetchAndLockRequest.class));
+  }
+
+  @Before
+  public void setClock() {
+    ClockUtil.setCurrentTime(START_DATE);
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldGroupRequestsWithSameFetchInstructions() {
+    // given
+    FetchAndLockRequest firstRequest = createRequest(createDto("aWorkerId", "aTopicName"));
+    FetchAndLockRequest secondRequest = createRequest(createDto("anotherWorkerId", "aTopicName"));
+    FetchAndLockRequest thirdRequest = createRequest(createDto("aWorkerId", "anotherTopicName"));
+
+    // when
+    Map<String, List<FetchAndLockRequest>> groups = handler.groupRequests(Arrays.asList(firstRequest, secondRequest, thirdRequest));
+
+    // then
+    assertThat(groups.size(), is(2));
+    assertThat(groups.get(handler.getGroupKey(firstRequest)), is(Arrays.asList(firstRequest, secondRequest)));
+    assertThat(groups.get(handler.getGroupKey(thirdRequest)), is(Collections.singletonList(thirdRequest)));
+  }
+
+  @Test
+  public void shouldNotGroupRequestsWithDifferentLockDuration() {
+    // given
+    FetchExternalTasksExtendedDto otherLockDuration = createDto("anotherWorkerId", "aTopicName");
+    otherLockDuration.getTopics().get(0).setLockDuration(1000L);
+
+    FetchAndLockRequest firstRequest = createRequest(createDto("aWorkerId", "aTopicName"));
+    FetchAndLockRequest secondRequest = createRequest(otherLockDuration);
+
+    // when
+    Map<String, List<FetchAndLockRequest>> groups = handler.groupRequests(Arrays.asList(firstRequest, secondRequest));
+
+    // then
+    assertThat(groups.size(), is(2));
+  }
+
+  @Test
+  public void shouldFetchTasksOfGroupWithSingleQuery() {
+    // given
+    LockedExternalTask lockedExternalTask = MockProvider.createMockLockedExternalTask();
+
+    Map<String, List<LockedExternalTask>> tasksPerWorker = new HashMap<>();
+    tasksPerWorker.put("aWorkerId", Collections.singletonList(lockedExternalTask));
+    tasksPerWorker.put("anotherWorkerId", Collections.<LockedExternalTask>emptyList());
+    doReturn(tasksPerWorker).when(fetchTopicBuilder).executeForWorkers(anyMapOf(String.class, Integer.class));
+
+    AsyncResponse firstResponse = mock(AsyncResponse.class);
+    AsyncResponse secondResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto("aWorkerId", "aTopicName"), firstResponse, processEngine);
+    handler.addPendingRequest(createDto("anotherWorkerId", "aTopicName"), secondResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    ArgumentCaptor<Map> maxTasksPerWorker = ArgumentCaptor.forClass(Map.class);
+    verify(fetchTopicBuilder, times(1)).executeForWorkers(maxTasksPerWorker.capture());
+    assertThat(maxTasksPerWorker.getValue().get("aWorkerId"), is((Object) 5));
+    assertThat(maxTasksPerWorker.getValue().get("anotherWorkerId"), is((Object) 5));
+
+    verify(firstResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    verify(secondResponse, never()).resume(any());
+    assertThat(handler.getPendingRequests().size(), is(1));
+    assertThat(handler.getPendingRequests().get(0).getDto().getWorkerId(), is("anotherWorkerId"));
+  }
+
+  @Test
+  public void shouldResumeAllRequestsOfGroupWithError() {
+    // given
+    ProcessEngineException exception = new ProcessEngineException();
+    when(fetchTopicBuilder.executeForWorkers(anyMapOf(String.class, Integer.class))).thenThrow(exception);
+
+    AsyncResponse firstResponse = mock(AsyncResponse.class);
+    AsyncResponse secondResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto("aWorkerId", "aTopicName"), firstResponse, processEngine);
+    handler.addPendingRequest(createDto("anotherWorkerId", "aTopicName"), secondResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(firstResponse).resume(exception);
+    verify(secondResponse).resume(exception);
+    assertThat(handler.getPendingRequests().isEmpty(), is(true));
+  }
+
+  @Test
+  public void shouldFetchSingleRequestOfGroupSeparately() {
+    // given
+    AsyncResponse firstResponse = mock(AsyncResponse.class);
+    AsyncResponse secondResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto("aWorkerId", "aTopicName"), firstResponse, processEngine);
+    handler.addPendingRequest(createDto("anotherWorkerId", "anotherTopicName"), secondResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, never()).executeForWorkers(anyMapOf(String.class, Integer.class));
+    // once on adding and once on acquisition per request
+    verify(fetchTopicBuilder, times(4)).execute();
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
+  @Test
+  public void shouldParseWorkerPoolSize() {
+    // when
+    handler.parseWorkerPoolSizeParam("3");
+
+    // then
+    assertThat(handler.getWorkerPoolSize(), is(3));
+  }
+
+  protected FetchAndLockRequest createRequest(FetchExternalTasksExtendedDto dto) {
+    return new FetchAndLockRequest()
+      .setProcessEngineName("default")
+      .setAsyncResponse(mock(AsyncResponse.class))
+      .setDto(dto);
+  }
+
+  protected FetchExternalTasksExtendedDto createDto(String workerId, String topicName) {
+    FetchExternalTasksExtendedDto dto = new FetchExternalTasksExtendedDto();
+
+    FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto topic = new FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto();
+    topic.setTopicName(topicName);
+    topic.setLockDuration(12354L);
+
+    List<FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto> topics = new ArrayList<>();
+    topics.add(topic);
+
+    dto.setMaxTasks(5);
+    dto.setWorkerId(workerId);
+    dto.setTopics(topics);
+    dto.setAsyncResponseTimeout(5000L);
+
+    return dto;
+  }
+
+}
@@ -0,0 +1,11 @@
+  <@lib.parameter
+      name = "cursor"
+      location = "query"
+      type = "string"
+      last = last
+      desc = "Pagination of results by cursor, only supported with the `Accept` header
+              `application/x-ndjson`. Returns the results following the page the cursor belongs to,
+              an empty value returns the first page. If `maxResults` is at most 1000 and the
+              response contains `maxResults` results, the response header `X-Next-Cursor` contains
+              the cursor of the next page. Cannot be combined with `firstResult`. The results are
+              ordered by id, sorting parameters are not supported."/>
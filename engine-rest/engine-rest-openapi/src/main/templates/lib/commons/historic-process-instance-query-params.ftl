@@ -0,0 +1,278 @@
+  <@lib.parameter name = "processInstanceId"
+      location = "query"
+      type = "string"
+      desc = "Filter by process instance id."/>
+
+  <@lib.parameter name = "processInstanceIds"
+      location = "query"
+      type = "string"
+      desc = "Filter by a comma-separated list of process instance ids."/>
+
+  <@lib.parameter name = "processDefinitionId"
+      location = "query"
+      type = "string"
+      desc = "Filter by the process definition the instances run on."/>
+
+  <@lib.parameter name = "processDefinitionKey"
+      location = "query"
+      type = "string"
+      desc = "Filter by the key of the process definition the instances run on."/>
+
+  <@lib.parameter name = "processDefinitionKeyIn"
+      location = "query"
+      type = "string"
+      desc = "Filter by a comma-separated list of process definition keys.
+              A process instance must have one of the given process definition keys."/>
+
+  <@lib.parameter name = "processDefinitionName"
+      location = "query"
+      type = "string"
+      desc = "Filter by the name of the process definition the instances run on."/>
+
+  <@lib.parameter name = "processDefinitionNameLike"
+      location = "query"
+      type = "string"
+      desc = "Filter by process definition names that the parameter is a substring of."/>
+
+  <@lib.parameter name = "processDefinitionKeyNotIn"
+      location = "query"
+      type = "string"
+      desc = "Exclude instances that belong to a set of process definitions.
+              Filter by a comma-separated list of process definition keys."/>
+
+  <@lib.parameter name = "processInstanceBusinessKey"
+      location = "query"
+      type = "string"
+      desc = "Filter by process instance business key."/>
+
+  <@lib.parameter name = "processInstanceBusinessKeyLike"
+      location = "query"
+      type = "string"
+      desc = "Filter by process instance business key that the parameter is a substring of."/>
+
+  <@lib.parameter name = "rootProcessInstances"
+      location = "query"
+      type = "boolean"
+      desc = "Restrict the query to all process instances that are top level process instances."/>
+
+  <@lib.parameter name = "finished"
+      location = "query"
+      type = "boolean"
+      desc = "Only include finished process instances. Value may only be true, as false is the default behavior."/>
+
+  <@lib.parameter name = "unfinished"
+      location = "query"
+      type = "boolean"
+      desc = "Only include unfinished process instances. Value may only be true, as false is the default behavior."/>
+
+  <@lib.parameter name = "withIncidents"
+      location = "query"
+      type = "boolean"
+      desc = "Only include process instances which have an incident. Value may only be true, as false is the default behavior."/>
+
+  <@lib.parameter name = "withRootIncidents"
+      location = "query"
+      type = "boolean"
+      desc = "Only include process instances which have a root incident. Value may only be true, as false is the default behavior."/>
+
+  <@lib.parameter name = "incidentType"
+      location = "query"
+      type = "string"
+      desc = "Filter by the incident type.
+              See the [User Guide](${docsUrl}/user-guide/process-engine/incidents/#incident-types) for a list of incident types."/>
+
+  <@lib.parameter name = "incidentStatus"
+      location = "query"
+      type = "string"
+      enumValues = ['"open"', '"resolved"']
+      desc = "Only include process instances which have an incident in status either open or resolved.
+              To get all process instances, use the query parameter withIncidents."/>
+
+  <@lib.parameter name = "incidentMessage"
+      location = "query"
+      type = "string"
+      desc = "Filter by the incident message. Exact match."/>
+
+  <@lib.parameter name = "incidentMessageLike"
+      location = "query"
+      type = "string"
+      desc = "Filter by the incident message that the parameter is a substring of."/>
+
+  <@lib.parameter name = "startedBefore"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that were started before the given date.
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "startedAfter"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that were started after the given date.
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "finishedBefore"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that were finished before the given date.
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "finishedAfter"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that were finished after the given date.
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "executedActivityAfter"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that executed an activity after the given date (inclusive).
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "executedActivityBefore"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that executed an activity before the given date (inclusive).
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "executedJobAfter"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that executed an job after the given date (inclusive).
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "executedJobBefore"
+      location = "query"
+      type = "string"
+      format = "date-time"
+      desc = "Restrict to instances that executed an job before the given date (inclusive).
+              By [default](${docsUrl}/reference/rest/overview/date-format/),
+              the date must have the format `yyyy-MM-dd'T'HH:mm:ss.SSSZ`, e.g., `2013-01-23T14:42:45.000+0200`."/>
+
+  <@lib.parameter name = "startedBy"
+      location = "query"
+      type = "string"
+      desc = "Only include process instances that were started by the given user."/>
+
+  <@lib.parameter name = "superProcessInstanceId"
+      location = "query"
+      type = "string"
+      desc = "Restrict query to all process instances that are sub process instances of the given process instance.
+              Takes a process instance id."/>
+
+  <@lib.parameter name = "subProcessInstanceId"
+      location = "query"
+      type = "string"
+      desc = "Restrict query to one process instance that has a sub process instance with the given id."/>
+
+  <@lib.parameter name = "superCaseInstanceId"
+      location = "query"
+      type = "string"
+      desc = "Restrict query to all process instances that are sub process instances of the given case instance.
+              Takes a case instance id."/>
+
+  <@lib.parameter name = "subCaseInstanceId"
+      location = "query"
+      type = "string"
+      desc = "Restrict query to one process instance that has a sub case instance with the given id."/>
+
+  <@lib.parameter name = "caseInstanceId"
+      location = "query"
+      type = "string"
+      desc = "Restrict query to all process instances that are sub process instances of the given case instance.
+              Takes a case instance id."/>
+
+  <@lib.parameter name = "tenantIdIn"
+      location = "query"
+      type = "string"
+      desc = "Filter by a comma-separated list of tenant ids. A process instance must have one of the given tenant ids."/>
+
+  <@lib.parameter name = "withoutTenantId"
+      location = "query"
+      type = "boolean"
+      desc = "Only include historic process instances which belong to no tenant.
+              Value may only be true, as false is the default behavior."/>
+
+  <@lib.parameter name = "executedActivityIdIn"
+      location = "query"
+      type = "string"
+      desc = "Restrict to instances that executed an activity with one of given ids.
+              Filter by a comma-separated list of activity ids."/>
+
+  <@lib.parameter name = "activeActivityIdIn"
+      location = "query"
+      type = "string"
+      desc = "Restrict to instances that have an active activity with one of given ids.
+              Filter by a comma-separated list of activity ids."/>
+
+  <@lib.parameter name = "active"
+      location = "query"
+      type = "boolean"
+      desc = "Restrict to instances that are active."/>
+
+  <@lib.parameter name = "suspended"
+      location = "query"
+      type = "boolean"
+      desc = "Restrict to instances that are suspended."/>
+
+  <@lib.parameter name = "completed"
+      location = "query"
+      type = "boolean"
+      desc = "Restrict to instances that are completed."/>
+
+  <@lib.parameter name = "externallyTerminated"
+      location = "query"
+      type = "boolean"
+      desc = "Restrict to instances that are externallyTerminated."/>
+
+  <@lib.parameter name = "internallyTerminated"
+      location = "query"
+      type = "boolean"
+      desc = "Restrict to instances that are internallyTerminated."/>
+
+  <@lib.parameter name = "variables"
+      location = "query"
+      type = "string"
+      desc = "Only include process instances that have/had variables with certain values.
+              Variable filtering expressions are comma-separated and are structured as follows:
+
+              A valid parameter value has the form `key_operator_value`. `key` is the variable name,
+              `operator` is the comparison operator to be used and `value` the variable value.
+
+              **Note**: Values are always treated as String objects on server side.
+
+              Valid `operator` values are:
+              `eq` - equal to;
+              `neq` - not equal to;
+              `gt` - greater than;
+              `gteq` - greater than or equal to;
+              `lt` - lower than;
+              `lteq` - lower than or equal to;
+              `like`.
+              `key` and `value` may not contain underscore or comma characters."/>
+
+  <@lib.parameter name = "variableNamesIgnoreCase"
+      location = "query"
+      type = "boolean"
+      desc = "Match all variable names provided in variables case-insensitively.
+              If set to true variableName and variablename are treated as equal."/>
+
+  <@lib.parameter name = "variableValuesIgnoreCase"
+      location = "query"
+      type = "boolean"
+      last = last
+      desc = "Match all variable values provided in variables case-insensitively.
+              If set to true variableValue and variablevalue are treated as equal."/>
@@ -0,0 +1,120 @@
+<#assign sortByValues = [
+  '"variableName"',
+  '"variableType"',
+  '"activityInstanceId"',
+  '"tenantId"'
+]>
+
+<#if requestMethod == "GET">
+  <#assign listTypeDescription = "Filter by a comma-separated list of ids">
+<#elseif requestMethod == "POST">
+  <#assign listTypeDescription = "Must be a JSON array of Strings">
+</#if>
+
+<#assign params = {
+  "variableName": {
+    "type": "string",
+    "desc": "Filter by variable instance name."
+  },
+  "variableNameLike": {
+    "type": "string",
+    "desc": "Filter by the variable instance name. The parameter can include the wildcard `%` to express
+             like-strategy such as: starts with (`%`name), ends with (name`%`) or contains (`%`name`%`)."
+  },
+  "processInstanceIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed process instance ids."
+  },
+  "executionIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed execution ids."
+  },
+  "caseInstanceIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed case instance ids."
+  },
+  "caseExecutionIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed case execution ids."
+  },
+  "taskIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed task ids."
+  },
+  "variableScopeIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed scope ids."
+  },
+  "activityInstanceIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed activity instance ids."
+  },
+  "tenantIdIn": {
+    "type": "array",
+    "itemType": "string",
+    "desc": "${listTypeDescription}. Only include variable instances which belong to one of the passed tenant ids."
+  },
+  "variableNamesIgnoreCase": {
+    "type": "boolean",
+    "desc": "Match all variable names provided in `variableValues` case-insensitively.
+             If set to `true` **variableName** and **variablename** are treated as equal."
+  },
+  "variableValuesIgnoreCase": {
+    "type": "boolean",
+    "desc": "Match all variable values provided in `variableValues` case-insensitively.
+             If set to `true` **variableValue** and **variablevalue** are treated as equal."
+  }
+}>
+
+<#if requestMethod == "GET">
+  <#assign params = params + {
+    "variableValues": {
+      "type": "string",
+      "desc": "Only include variable instances that have the certain values.
+               Value filtering expressions are comma-separated and are structured as follows:
+
+               A valid parameter value has the form `key_operator_value`.
+               `key` is the variable name, `operator` is the comparison operator to be used
+               and `value` the variable value.
+
+               **Note:** Values are always treated as `String` objects on server side.
+
+               Valid operator values are:
+               `eq` - equal to;
+               `neq` - not equal to;
+               `gt` - greater than;
+               `gteq` - greater than or equal to;
+               `lt` - lower than;
+               `lteq` - lower than or equal to;
+               `like`.
+               `key` and `value` may not contain underscore or comma characters."
+    }
+  }>
+<#elseif requestMethod == "POST">
+  <#assign params = params + {
+    "variableValues": {
+      "type": "array",
+      "dto": "VariableQueryParameterDto",
+      "desc": "A JSON array to only include variable instances that have the certain values.
+               The array consists of objects with the three properties `name`, `operator` and `value`.
+               `name (String)` is the variable name, `operator (String)` is the comparison operator to be used
+               and `value` the variable value. `value` may be of type `String`, `Number` or `Boolean`.
+
+               Valid operator values are:
+               `eq` - equal to;
+               `neq` - not equal to;
+               `gt` - greater than;
+               `gteq` - greater than or equal to;
+               `lt` - lower than;
+               `lteq` - lower than or equal to;
+               `like`."
+    }
+  }>
+</#if>
@@ -37,6 +37,7 @@
     {"name": "Event Subscription"},
     {"name": "External Task"},
     {"name": "Historic Activity Instance"},
+    {"name": "Historic Process Instance"},
     {"name": "Message"},
     {"name": "Metrics"},
     {"name": "Process Definition"},
@@ -50,6 +51,7 @@
     {"name": "Task Local Variable"},
     {"name": "Task Variable"},
     {"name": "User"},
+    {"name": "Variable Instance"},
     {"name": "Version"}
   ],
   "paths": {
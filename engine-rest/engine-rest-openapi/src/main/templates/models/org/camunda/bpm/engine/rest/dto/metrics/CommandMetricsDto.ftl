@@ -0,0 +1,72 @@
+<@lib.dto>
+
+    <@lib.property
+        name = "commandName"
+        type = "string"
+        desc = "The fully qualified class name of the command."/>
+
+    <@lib.property
+        name = "count"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The number of executions of the command."/>
+
+    <@lib.property
+        name = "executionTimeTotal"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The sum of all execution times in milliseconds."/>
+
+    <@lib.property
+        name = "executionTimeMax"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The longest execution time in milliseconds."/>
+
+    <@lib.property
+        name = "executionTimeMedian"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The estimated median execution time in milliseconds."/>
+
+    <@lib.property
+        name = "executionTime99thPercentile"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The estimated 99th percentile of execution times in milliseconds."/>
+
+    <@lib.property
+        name = "flushTimeTotal"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The sum of the times spent flushing the database session in milliseconds."/>
+
+    <@lib.property
+        name = "flushTimeMax"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The longest time spent flushing the database session in milliseconds."/>
+
+    <@lib.property
+        name = "sqlStatementCountTotal"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        desc = "The number of SQL statements executed by all executions of the command."/>
+
+    <@lib.property
+        name = "sqlStatementCountMax"
+        type = "integer"
+        format = "int64"
+        nullable = false
+        last = true
+        desc = "The highest number of SQL statements executed by a single execution of the command."/>
+
+</@lib.dto>
@@ -0,0 +1,16 @@
+<@lib.dto>
+
+  <@lib.property
+      name = "workerId"
+      type = "string"
+      desc = "The id of the worker that executes the operations. Must match the id of the worker who has most recently
+              locked the tasks." />
+
+  <@lib.property
+      name = "operations"
+      type = "array"
+      dto = "ExternalTaskOperationDto"
+      last = true
+      desc = "A JSON array of operations to execute. The results are returned in the same order." />
+
+</@lib.dto>
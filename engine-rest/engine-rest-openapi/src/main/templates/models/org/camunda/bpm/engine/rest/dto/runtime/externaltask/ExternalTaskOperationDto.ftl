@@ -0,0 +1,63 @@
+<@lib.dto>
+
+  <@lib.property
+      name = "externalTaskId"
+      type = "string"
+      desc = "The id of the external task to execute the operation on." />
+
+  <@lib.property
+      name = "type"
+      type = "string"
+      enumValues = ['"complete"', '"failure"', '"extendLock"']
+      desc = "The type of the operation. Determines which of the other properties are used." />
+
+  <@lib.property
+      name = "variables"
+      type = "object"
+      additionalProperties = true
+      dto = "VariableValueDto"
+      desc = "For `complete`: A JSON object containing variable key-value pairs." />
+
+  <@lib.property
+      name = "localVariables"
+      type = "object"
+      additionalProperties = true
+      dto = "VariableValueDto"
+      desc = "For `complete`: A JSON object containing local variable key-value pairs. Local variables are set only in
+              the scope of external task." />
+
+  <@lib.property
+      name = "errorMessage"
+      type = "string"
+      desc = "For `failure`: An message indicating the reason of the failure." />
+
+  <@lib.property
+      name = "errorDetails"
+      type = "string"
+      desc = "For `failure`: A detailed error description." />
+
+  <@lib.property
+      name = "retries"
+      type = "integer"
+      format = "int32"
+      nullable = false
+      desc = "For `failure`: A number of how often the task should be retried. Must be >= 0." />
+
+  <@lib.property
+      name = "retryTimeout"
+      type = "integer"
+      format = "int64"
+      nullable = false
+      desc = "For `failure`: A timeout in milliseconds before the external task becomes available again for fetching.
+              Must be >= 0." />
+
+  <@lib.property
+      name = "newDuration"
+      type = "integer"
+      format = "int64"
+      nullable = false
+      last = true
+      desc = "For `extendLock`: An amount of time (in milliseconds). This is the new lock duration starting from the
+              current moment." />
+
+</@lib.dto>
@@ -0,0 +1,21 @@
+<@lib.dto>
+
+  <@lib.property
+      name = "externalTaskId"
+      type = "string"
+      desc = "The id of the external task the operation was executed on." />
+
+  <@lib.property
+      name = "successful"
+      type = "boolean"
+      nullable = false
+      desc = "`true` if the operation was executed successfully." />
+
+  <@lib.property
+      name = "error"
+      type = "ref"
+      dto = "ExceptionDto"
+      last = true
+      desc = "The error which caused the operation to fail or `null` if it was successful." />
+
+</@lib.dto>
@@ -0,0 +1,72 @@
+{
+
+  <@lib.endpointInfo
+      id = "executeExternalTaskBulkOperation"
+      tag = "External Task"
+      desc = "Completes external tasks, reports their failures and extends their locks on behalf of a worker in a
+              single request. The operations are executed in a single transaction. If the transaction fails, the
+              operations are executed again in one transaction per process instance and, if that fails as well, in
+              one transaction per operation. A failing operation does not fail the other operations, instead its
+              error is returned in its result." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "ExternalTaskBulkOperationDto"
+      examples = ['"example-1": {
+                     "summary": "POST /external-task/bulk",
+                     "value": {
+                       "workerId": "aWorker",
+                       "operations": [
+                         {
+                           "externalTaskId": "anExternalTaskId",
+                           "type": "complete",
+                           "variables": {"aVariable": {"value": "aStringValue"}}
+                         },
+                         {
+                           "externalTaskId": "anotherExternalTaskId",
+                           "type": "failure",
+                           "errorMessage": "Does not compute",
+                           "retries": 3,
+                           "retryTimeout": 60000
+                         }
+                       ]
+                     }
+                   }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "ExternalTaskOperationResultDto"
+        array = true
+        desc = "Request successful. The results of the operations in the order of the request."
+        examples = ['"example-1": {
+                       "summary": "Status 200 Response",
+                       "value": [
+                         {
+                           "externalTaskId": "anExternalTaskId",
+                           "successful": true,
+                           "error": null
+                         },
+                         {
+                           "externalTaskId": "anotherExternalTaskId",
+                           "successful": false,
+                           "error": {
+                             "type": "NotFoundException",
+                             "message": "Cannot find external task with id anotherExternalTaskId: externalTask is null"
+                           }
+                         }
+                       ]
+                     }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "In case an operation type is unknown or a new lock duration is not positive, an exception of type
+                `InvalidRequestException` is returned. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
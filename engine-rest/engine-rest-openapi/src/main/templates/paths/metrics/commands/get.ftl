@@ -0,0 +1,46 @@
+{
+  <@lib.endpointInfo
+      id = "getCommandMetrics"
+      tag = "Metrics"
+      desc = "Retrieves the execution statistics of all commands executed by the process engine since it was
+              started, ordered by descending total execution time. The statistics are kept in memory and are
+              only available if the process engine configuration property `commandMetricsEnabled` is set.
+              Times are given in milliseconds; percentiles are estimated." />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "CommandMetricsDto"
+        array = true
+        desc = "Request successful."
+        examples = ['"example-1": {
+                       "summary": "GET /metrics/commands",
+                       "value": [
+                                  {
+                                    "commandName": "org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd",
+                                    "count": 42,
+                                    "executionTimeTotal": 840,
+                                    "executionTimeMax": 110,
+                                    "executionTimeMedian": 25,
+                                    "executionTime99thPercentile": 100,
+                                    "flushTimeTotal": 210,
+                                    "flushTimeMax": 30,
+                                    "sqlStatementCountTotal": 504,
+                                    "sqlStatementCountMax": 12
+                                  }
+                                ]
+                     }']/>
+
+    <@lib.response
+        code = "403"
+        dto = "ExceptionDto"
+        desc = "Returned if the user is not a member of the group `camunda-admin`." />
+
+    <@lib.response
+        code = "500"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if command metrics are disabled." />
+  }
+}
@@ -6,6 +6,9 @@
       desc = "Queries for tasks that fulfill a given filter. The size of the result set can be
               retrieved by using the Get Task Count method.
 
+              With the `Accept` header `application/x-ndjson`, the tasks are streamed as newline
+              delimited JSON (one task per line) while they are read from the database.
+
               **Security Consideration:** There are several query parameters (such as
               assigneeExpression) for specifying an EL expression. These are disabled by default to
               prevent remote code execution. See the section on
@@ -23,9 +26,12 @@
                               '"caseExecutionVariable"', '"caseInstanceVariable"' ] >
     <#include "/lib/commons/sort-params.ftl" >
 
-    <#assign last = true >
+    <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign last = true >
+    <#include "/lib/commons/cursor-param.ftl" >
+
   ],
 
   "responses" : {
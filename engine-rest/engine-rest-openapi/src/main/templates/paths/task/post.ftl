@@ -9,6 +9,9 @@
               or `Boolean`. The size of the result set can be retrieved by using the
               [Get Task Count (POST)](${docsUrl}/reference/rest/task/post-query-count/) method.
 
+              With the `Accept` header `application/x-ndjson`, the tasks are streamed as newline
+              delimited JSON (one task per line) while they are read from the database.
+
               **Security Consideration**:
               There are several parameters (such as `assigneeExpression`) for specifying an EL
               expression. These are disabled by default to prevent remote code execution. See the
@@ -18,9 +21,12 @@
 
   "parameters" : [
 
-    <#assign last = true >
+    <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign last = true >
+    <#include "/lib/commons/cursor-param.ftl" >
+
   ],
 
   <@lib.requestBody
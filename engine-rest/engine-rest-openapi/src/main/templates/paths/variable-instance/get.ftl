@@ -0,0 +1,90 @@
+{
+  <@lib.endpointInfo
+      id = "getVariableInstances"
+      tag = "Variable Instance"
+      summary = "Get Variable Instances"
+      desc = "Query for variable instances that fulfill given parameters. Parameters may be the
+              properties of variable instances, such as the name or type. The size of the result
+              set can be retrieved by using the
+              [Get Variable Instance Count](${docsUrl}/reference/rest/variable-instance/get-query-count/) method.
+
+              With the `Accept` header `application/x-ndjson`, the variable instances are streamed as
+              newline delimited JSON (one variable instance per line) while they are read from the
+              database." />
+
+  "parameters" : [
+
+    <#assign requestMethod="GET"/>
+    <#include "/lib/commons/variable-instance-query-params.ftl" >
+    <@lib.parameters
+        object = params
+        last = false />
+
+    <#assign last = false >
+    <#include "/lib/commons/sort-params.ftl" >
+
+    <#include "/lib/commons/pagination-params.ftl" >
+
+    <@lib.parameter
+        name = "deserializeValues"
+        location = "query"
+        type = "boolean"
+        defaultValue = "true"
+        desc = "Determines whether serializable variable values (typically variables that store custom Java objects)
+                should be deserialized on the server side (default `true`).
+
+                If set to `true`, a serializable variable will be deserialized on server side and transformed to JSON
+                using [Jackson's](https://github.com/FasterXML/jackson) POJO/bean property introspection feature.
+                Note that this requires the Java classes of the variable value to be on the REST API's classpath.
+
+                If set to `false`, a serializable variable will be returned in its serialized format.
+                For example, a variable that is serialized as XML will be returned as a JSON string containing XML.
+
+                **Note:** While `true` is the default value for reasons of backward compatibility, we recommend setting this
+                parameter to `false` when developing web applications that are independent of the Java process
+                applications deployed to the engine." />
+
+    <#assign last = true >
+    <#include "/lib/commons/cursor-param.ftl" >
+
+  ],
+
+  "responses" : {
+    <@lib.response
+        code = "200"
+        dto = "VariableInstanceDto"
+        array = true
+        desc = "Request successful."
+        examples = ['"example-1": {
+                       "summary": "Status 200 response",
+                       "description": "Response for GET `/variable-instance?processInstanceIdIn=aProcessInstanceId&variableName=amount`",
+                       "value": [
+                         {
+                           "id": "someId",
+                           "name": "amount",
+                           "type": "Integer",
+                           "value": 5,
+                           "valueInfo": {},
+                           "processDefinitionId": "aProcessDefinitionId",
+                           "processInstanceId": "aProcessInstanceId",
+                           "executionId": "b68b71c9-e310-11e2-beb0-f0def1557726",
+                           "taskId": null,
+                           "activityInstanceId": "Task_1:b68b71ca-e310-11e2-beb0-f0def1557726",
+                           "caseExecutionId": null,
+                           "caseInstanceId": null,
+                           "tenantId": null,
+                           "errorMessage": null
+                         }
+                       ]
+                     }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Bad Request
+                Returned if some of the query parameters are invalid, for example if a sortOrder parameter is supplied, but no sortBy,
+                if an invalid operator for variable comparison is used or if a cursor is combined with firstResult.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format."/>
+  }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+{
+
+  <@lib.endpointInfo
+      id = "queryVariableInstances"
+      tag = "Variable Instance"
+      summary = "Get Variable Instances (POST)"
+      desc = "Query for variable instances that fulfill given parameters through a JSON object.
+              This method is slightly more powerful than the
+              [Get Variable Instances](${docsUrl}/reference/rest/variable-instance/get-query/) method
+              because it allows filtering by multiple variable instances of types `String`, `Number` or `Boolean`.
+
+              With the `Accept` header `application/x-ndjson`, the variable instances are streamed as
+              newline delimited JSON (one variable instance per line) while they are read from the
+              database." />
+
+  "parameters" : [
+
+    <#assign last = false >
+    <#include "/lib/commons/pagination-params.ftl" >
+
+    <@lib.parameter
+        name = "deserializeValues"
+        location = "query"
+        type = "boolean"
+        defaultValue = "true"
+        desc = "Determines whether serializable variable values (typically variables that store custom Java objects)
+                should be deserialized on the server side (default `true`).
+
+                If set to `true`, a serializable variable will be deserialized on server side and transformed to JSON
+                using [Jackson's](https://github.com/FasterXML/jackson) POJO/bean property introspection feature.
+                Note that this requires the Java classes of the variable value to be on the REST API's classpath.
+
+                If set to `false`, a serializable variable will be returned in its serialized format.
+                For example, a variable that is serialized as XML will be returned as a JSON string containing XML.
+
+                **Note:** While `true` is the default value for reasons of backward compatibility, we recommend setting this
+                parameter to `false` when developing web applications that are independent of the Java process
+                applications deployed to the engine." />
+
+    <#assign last = true >
+    <#include "/lib/commons/cursor-param.ftl" >
+
+  ],
+
+  <#assign requestMethod="POST"/>
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "VariableInstanceQueryDto"
+      examples = ['"example-1": {
+                     "summary": "POST `/variable-instance`",
+                     "value": {
+                                "variableValues": [
+                                  {
+                                    "name": "amount",
+                                    "operator": "gteq",
+                                    "value": 5
+                                  }
+                                ],
+                                "processInstanceIdIn": [
+                                  "aProcessInstanceId"
+                                ],
+                                "sorting": [
+                                  {
+                                    "sortBy": "variableType",
+                                    "sortOrder": "asc"
+                                  }
+                                ]
+                              }
+                   }'] />
+
+  "responses" : {
+    <@lib.response
+        code = "200"
+        dto = "VariableInstanceDto"
+        array = true
+        desc = "Request successful."
+        examples = ['"example-1": {
+                       "summary": "Status 200 response",
+                       "description": "Response for POST `/variable-instance`",
+                       "value": [
+                         {
+                           "id": "someId",
+                           "name": "amount",
+                           "type": "Integer",
+                           "value": 5,
+                           "valueInfo": {},
+                           "processDefinitionId": "aProcessDefinitionId",
+                           "processInstanceId": "aProcessInstanceId",
+                           "executionId": "b68b71c9-e310-11e2-beb0-f0def1557726",
+                           "taskId": null,
+                           "activityInstanceId": "Task_1:b68b71ca-e310-11e2-beb0-f0def1557726",
+                           "caseExecutionId": null,
+                           "caseInstanceId": null,
+                           "tenantId": null,
+                           "errorMessage": null
+                         }
+                       ]
+                     }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Bad Request
+                Returned if some of the query parameters are invalid, for example if a sortOrder parameter is supplied, but no sortBy,
+                if an invalid operator for variable comparison is used or if a cursor is combined with firstResult.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format."/>
+  }
+}
\ No newline at end of file
@@ -24,6 +24,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
+import org.camunda.bpm.engine.rest.dto.metrics.CommandMetricsDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
 
 import org.camunda.bpm.engine.rest.sub.metrics.MetricsResource;
@@ -40,6 +41,11 @@ public interface MetricsRestService {
   @Path("/{name}")
   MetricsResource getMetrics(@PathParam("name") String name);
 
+  @GET
+  @Path("/commands")
+  @Produces(MediaType.APPLICATION_JSON)
+  List<CommandMetricsDto> getCommandMetrics();
+
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   List<MetricsIntervalResultDto> interval(@Context UriInfo uriInfo);
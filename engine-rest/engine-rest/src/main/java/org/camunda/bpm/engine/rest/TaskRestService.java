@@ -22,11 +22,14 @@ import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.sub.task.TaskReportResource;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -57,6 +60,37 @@ public interface TaskRestService {
   List<TaskDto> queryTasks(TaskQueryDto query,
       @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same parameters as {@link TaskRestService#getTasks(Request, UriInfo, Integer, Integer)}
+   * and writes the tasks as newline delimited JSON while they are read.
+   * @param uriInfo
+   * @param firstResult
+   * @param maxResults
+   * @param cursor
+   * @return
+   */
+  @GET
+  @Produces(QueryResultStreamingOutput.APPLICATION_NDJSON_STREAM)
+  Response getTaskStream(@Context UriInfo uriInfo,
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(QueryCursorUtil.CURSOR_QUERY_PARAM) String cursor);
+
+  /**
+   * Expects the same parameters as {@link TaskRestService#queryTasks(TaskQueryDto, Integer, Integer)}
+   * and writes the tasks as newline delimited JSON while they are read.
+   * @param query
+   * @param firstResult
+   * @param maxResults
+   * @param cursor
+   * @return
+   */
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(QueryResultStreamingOutput.APPLICATION_NDJSON_STREAM)
+  Response queryTaskStream(TaskQueryDto query,
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(QueryCursorUtil.CURSOR_QUERY_PARAM) String cursor);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
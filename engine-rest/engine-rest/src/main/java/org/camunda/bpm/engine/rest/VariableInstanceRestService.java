@@ -21,11 +21,14 @@ import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceDto;
 import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.VariableResource;
 import org.camunda.bpm.engine.rest.sub.runtime.VariableInstanceResource;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -73,6 +76,45 @@ public interface VariableInstanceRestService {
       @QueryParam("maxResults") Integer maxResults,
       @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeObjectValues);
 
+  /**
+   * Expects the same parameters as
+   * {@link VariableInstanceRestService#getVariableInstances(UriInfo, Integer, Integer, boolean)}
+   * and writes the variable instances as newline delimited JSON while they are read.
+   *
+   * @param uriInfo
+   * @param firstResult
+   * @param maxResults
+   * @param cursor
+   * @return
+   */
+  @GET
+  @Produces(QueryResultStreamingOutput.APPLICATION_NDJSON_STREAM)
+  Response getVariableInstanceStream(@Context UriInfo uriInfo,
+      @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeObjectValues,
+      @QueryParam(QueryCursorUtil.CURSOR_QUERY_PARAM) String cursor);
+
+  /**
+   * Expects the same parameters as
+   * {@link VariableInstanceRestService#queryVariableInstances(VariableInstanceQueryDto, Integer, Integer, boolean)}
+   * and writes the variable instances as newline delimited JSON while they are read.
+   *
+   * @param queryDto
+   * @param firstResult
+   * @param maxResults
+   * @param cursor
+   * @return
+   */
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(QueryResultStreamingOutput.APPLICATION_NDJSON_STREAM)
+  Response queryVariableInstanceStream(VariableInstanceQueryDto queryDto,
+      @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeObjectValues,
+      @QueryParam(QueryCursorUtil.CURSOR_QUERY_PARAM) String cursor);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
@@ -95,6 +95,13 @@ public abstract class AbstractQueryDto<T extends Query<?, ?>>  extends AbstractS
 
   protected abstract boolean isValidSortByValue(String value);
 
+  /**
+   * @return true if the results are sorted by the given parameters rather than by id
+   */
+  public boolean hasSorting() {
+    return sortBy != null || (sortings != null && !sortings.isEmpty());
+  }
+
   protected boolean sortOptionsValid() {
     return (sortBy != null && sortOrder != null) || (sortBy == null && sortOrder == null);
   }
@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.externaltask;
+
+import java.util.List;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkOperationBuilder;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.variable.VariableMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ExternalTaskBulkOperationDto {
+
+  protected String workerId;
+  protected List<ExternalTaskOperationDto> operations;
+
+  public String getWorkerId() {
+    return workerId;
+  }
+
+  public void setWorkerId(String workerId) {
+    this.workerId = workerId;
+  }
+
+  public List<ExternalTaskOperationDto> getOperations() {
+    return operations;
+  }
+
+  public void setOperations(List<ExternalTaskOperationDto> operations) {
+    this.operations = operations;
+  }
+
+  public ExternalTaskBulkOperationBuilder buildOperation(ProcessEngine processEngine, ObjectMapper objectMapper) {
+    ExternalTaskBulkOperationBuilder builder = processEngine.getExternalTaskService().bulkOperation(workerId);
+
+    if (operations != null) {
+      for (ExternalTaskOperationDto operation : operations) {
+        String type = operation.getType();
+
+        if (ExternalTaskOperationDto.TYPE_COMPLETE.equals(type)) {
+          VariableMap variables = VariableValueDto.toMap(operation.getVariables(), processEngine, objectMapper);
+          VariableMap localVariables = VariableValueDto.toMap(operation.getLocalVariables(), processEngine, objectMapper);
+          builder.complete(operation.getExternalTaskId(), variables, localVariables);
+        }
+        else if (ExternalTaskOperationDto.TYPE_FAILURE.equals(type)) {
+          builder.handleFailure(operation.getExternalTaskId(), operation.getErrorMessage(), operation.getErrorDetails(),
+              operation.getRetries(), operation.getRetryTimeout());
+        }
+        else if (ExternalTaskOperationDto.TYPE_EXTEND_LOCK.equals(type)) {
+          builder.extendLock(operation.getExternalTaskId(), operation.getNewDuration());
+        }
+        else {
+          throw new InvalidRequestException(Status.BAD_REQUEST, "Invalid operation type '" + type + "' for external task "
+              + operation.getExternalTaskId() + ". Supported types are '" + ExternalTaskOperationDto.TYPE_COMPLETE + "', '"
+              + ExternalTaskOperationDto.TYPE_FAILURE + "' and '" + ExternalTaskOperationDto.TYPE_EXTEND_LOCK + "'.");
+        }
+      }
+    }
+
+    return builder;
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+public class CommandMetricsDto {
+
+  protected String commandName;
+  protected long count;
+  protected long executionTimeTotal;
+  protected long executionTimeMax;
+  protected long executionTimeMedian;
+  protected long executionTime99thPercentile;
+  protected long flushTimeTotal;
+  protected long flushTimeMax;
+  protected long sqlStatementCountTotal;
+  protected long sqlStatementCountMax;
+
+  public static CommandMetricsDto fromCommandMetrics(CommandMetrics commandMetrics) {
+    CommandMetricsDto dto = new CommandMetricsDto();
+    dto.commandName = commandMetrics.getCommandName();
+    dto.count = commandMetrics.getCount();
+    dto.executionTimeTotal = commandMetrics.getExecutionTimeTotal();
+    dto.executionTimeMax = commandMetrics.getExecutionTimeMax();
+    dto.executionTimeMedian = commandMetrics.getExecutionTimeMedian();
+    dto.executionTime99thPercentile = commandMetrics.getExecutionTime99thPercentile();
+    dto.flushTimeTotal = commandMetrics.getFlushTimeTotal();
+    dto.flushTimeMax = commandMetrics.getFlushTimeMax();
+    dto.sqlStatementCountTotal = commandMetrics.getSqlStatementCountTotal();
+    dto.sqlStatementCountMax = commandMetrics.getSqlStatementCountMax();
+    return dto;
+  }
+
+  public static List<CommandMetricsDto> fromCommandMetrics(List<CommandMetrics> commandMetrics) {
+    List<CommandMetricsDto> dtos = new ArrayList<>();
+    for (CommandMetrics metrics : commandMetrics) {
+      dtos.add(fromCommandMetrics(metrics));
+    }
+    return dtos;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getExecutionTimeTotal() {
+    return executionTimeTotal;
+  }
+
+  public long getExecutionTimeMax() {
+    return executionTimeMax;
+  }
+
+  public long getExecutionTimeMedian() {
+    return executionTimeMedian;
+  }
+
+  public long getExecutionTime99thPercentile() {
+    return executionTime99thPercentile;
+  }
+
+  public long getFlushTimeTotal() {
+    return flushTimeTotal;
+  }
+
+  public long getFlushTimeMax() {
+    return flushTimeMax;
+  }
+
+  public long getSqlStatementCountTotal() {
+    return sqlStatementCountTotal;
+  }
+
+  public long getSqlStatementCountMax() {
+    return sqlStatementCountMax;
+  }
+
+}
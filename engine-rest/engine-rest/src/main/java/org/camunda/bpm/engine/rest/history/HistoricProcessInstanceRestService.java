@@ -40,6 +40,8 @@ import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.batch.removaltime.SetRemovalTimeToHistoricProcessInstancesDto;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 
 @Path(HistoricProcessInstanceRestService.PATH)
 @Produces(MediaType.APPLICATION_JSON)
@@ -76,6 +78,37 @@ public interface HistoricProcessInstanceRestService {
   List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
+  /**
+   * Expects the same parameters as {@link #getHistoricProcessInstances(UriInfo, Integer, Integer)}
+   * and writes the historic process instances as newline delimited JSON while they are read.
+   *
+   * @param uriInfo
+   * @param firstResult
+   * @param maxResults
+   * @param cursor
+   * @return
+   */
+  @GET
+  @Produces(QueryResultStreamingOutput.APPLICATION_NDJSON_STREAM)
+  Response getHistoricProcessInstanceStream(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults, @QueryParam(QueryCursorUtil.CURSOR_QUERY_PARAM) String cursor);
+
+  /**
+   * Expects the same parameters as {@link #queryHistoricProcessInstances(HistoricProcessInstanceQueryDto, Integer, Integer)}
+   * and writes the historic process instances as newline delimited JSON while they are read.
+   *
+   * @param query
+   * @param firstResult
+   * @param maxResults
+   * @param cursor
+   * @return
+   */
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(QueryResultStreamingOutput.APPLICATION_NDJSON_STREAM)
+  Response queryHistoricProcessInstanceStream(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults, @QueryParam(QueryCursorUtil.CURSOR_QUERY_PARAM) String cursor);
+
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
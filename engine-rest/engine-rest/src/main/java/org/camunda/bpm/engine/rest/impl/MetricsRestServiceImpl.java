@@ -27,6 +27,7 @@ import java.util.List;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
 import org.camunda.bpm.engine.management.MetricsQuery;
+import org.camunda.bpm.engine.rest.dto.metrics.CommandMetricsDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsIntervalResultDto;
 import org.camunda.bpm.engine.management.MetricIntervalValue;
 import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
@@ -57,6 +58,11 @@ public class MetricsRestServiceImpl extends AbstractRestProcessEngineAware imple
     return new MetricsResourceImpl(name, processEngine, objectMapper);
   }
 
+  @Override
+  public List<CommandMetricsDto> getCommandMetrics() {
+    return CommandMetricsDto.fromCommandMetrics(processEngine.getManagementService().getCommandMetrics());
+  }
+
   @Override
   public List<MetricsIntervalResultDto> interval(UriInfo uriInfo) {
     MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
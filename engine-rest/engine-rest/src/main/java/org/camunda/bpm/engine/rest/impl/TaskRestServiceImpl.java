@@ -40,6 +40,8 @@ import org.camunda.bpm.engine.rest.sub.task.TaskReportResource;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskReportResourceImpl;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 
@@ -104,6 +106,39 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return tasks;
   }
 
+  @Override
+  public Response getTaskStream(UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor) {
+    TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
+    return queryTaskStream(queryDto, firstResult, maxResults, cursor);
+  }
+
+  @Override
+  public Response queryTaskStream(TaskQueryDto queryDto, Integer firstResult, Integer maxResults, String cursor) {
+    queryDto.setObjectMapper(getObjectMapper());
+    TaskQuery query = queryDto.toQuery(getProcessEngine());
+
+    // enable initialization of form key:
+    query.initializeFormKeys();
+
+    QueryResultStreamingOutput<Task> output = new QueryResultStreamingOutput<Task>(query, getObjectMapper(), firstResult, maxResults) {
+      protected Object toDto(Task task) {
+        return TaskDto.fromEntity(task);
+      }
+      protected String getId(Task task) {
+        return task.getId();
+      }
+    };
+
+    if (cursor != null) {
+      output.keysetPagination(QueryCursorUtil.toLastId(cursor, firstResult));
+    }
+    else if (firstResult == null && !queryDto.hasSorting()) {
+      output.keysetPagination(null);
+    }
+
+    return output.toResponse();
+  }
+
   protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, TaskQuery query) {
 
     // enable initialization of form key:
@@ -24,9 +24,12 @@ import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceDto;
 import org.camunda.bpm.engine.rest.dto.runtime.VariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.runtime.VariableInstanceResource;
 import org.camunda.bpm.engine.rest.sub.runtime.impl.VariableInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
 
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -50,17 +53,7 @@ public class VariableInstanceRestServiceImpl extends AbstractRestProcessEngineAw
 
   @Override
   public List<VariableInstanceDto> queryVariableInstances(VariableInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, boolean deserializeObjectValues) {
-    ProcessEngine engine = getProcessEngine();
-    queryDto.setObjectMapper(getObjectMapper());
-    VariableInstanceQuery query = queryDto.toQuery(engine);
-
-    // disable binary fetching by default.
-    query.disableBinaryFetching();
-
-    // disable custom object fetching by default. Cannot be done to not break existing API
-    if (!deserializeObjectValues) {
-      query.disableCustomObjectDeserialization();
-    }
+    VariableInstanceQuery query = createVariableInstanceQuery(queryDto, deserializeObjectValues);
 
     List<VariableInstance> matchingInstances;
     if (firstResult != null || maxResults != null) {
@@ -77,6 +70,51 @@ public class VariableInstanceRestServiceImpl extends AbstractRestProcessEngineAw
     return instanceResults;
   }
 
+  @Override
+  public Response getVariableInstanceStream(UriInfo uriInfo, Integer firstResult, Integer maxResults, boolean deserializeObjectValues, String cursor) {
+    VariableInstanceQueryDto queryDto = new VariableInstanceQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
+    return queryVariableInstanceStream(queryDto, firstResult, maxResults, deserializeObjectValues, cursor);
+  }
+
+  @Override
+  public Response queryVariableInstanceStream(VariableInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, boolean deserializeObjectValues, String cursor) {
+    VariableInstanceQuery query = createVariableInstanceQuery(queryDto, deserializeObjectValues);
+
+    QueryResultStreamingOutput<VariableInstance> output = new QueryResultStreamingOutput<VariableInstance>(query, getObjectMapper(), firstResult, maxResults) {
+      protected Object toDto(VariableInstance instance) {
+        return VariableInstanceDto.fromVariableInstance(instance);
+      }
+      protected String getId(VariableInstance instance) {
+        return instance.getId();
+      }
+    };
+
+    if (cursor != null) {
+      output.keysetPagination(QueryCursorUtil.toLastId(cursor, firstResult));
+    }
+    else if (firstResult == null && !queryDto.hasSorting()) {
+      output.keysetPagination(null);
+    }
+
+    return output.toResponse();
+  }
+
+  protected VariableInstanceQuery createVariableInstanceQuery(VariableInstanceQueryDto queryDto, boolean deserializeObjectValues) {
+    ProcessEngine engine = getProcessEngine();
+    queryDto.setObjectMapper(getObjectMapper());
+    VariableInstanceQuery query = queryDto.toQuery(engine);
+
+    // disable binary fetching by default.
+    query.disableBinaryFetching();
+
+    // disable custom object fetching by default. Cannot be done to not break existing API
+    if (!deserializeObjectValues) {
+      query.disableCustomObjectDeserialization();
+    }
+
+    return query;
+  }
+
   private List<VariableInstance> executePaginatedQuery(VariableInstanceQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
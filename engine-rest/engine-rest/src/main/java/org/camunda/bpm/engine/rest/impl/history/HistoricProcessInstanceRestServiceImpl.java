@@ -39,6 +39,8 @@ import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.history.HistoricProcessInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricProcessInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -96,6 +98,36 @@ import java.util.List;
     return historicProcessInstanceDtoResults;
   }
 
+  @Override
+  public Response getHistoricProcessInstanceStream(UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor) {
+    HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
+    return queryHistoricProcessInstanceStream(queryDto, firstResult, maxResults, cursor);
+  }
+
+  @Override
+  public Response queryHistoricProcessInstanceStream(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, String cursor) {
+    queryDto.setObjectMapper(objectMapper);
+    HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
+
+    QueryResultStreamingOutput<HistoricProcessInstance> output = new QueryResultStreamingOutput<HistoricProcessInstance>(query, objectMapper, firstResult, maxResults) {
+      protected Object toDto(HistoricProcessInstance historicProcessInstance) {
+        return HistoricProcessInstanceDto.fromHistoricProcessInstance(historicProcessInstance);
+      }
+      protected String getId(HistoricProcessInstance historicProcessInstance) {
+        return historicProcessInstance.getId();
+      }
+    };
+
+    if (cursor != null) {
+      output.keysetPagination(QueryCursorUtil.toLastId(cursor, firstResult));
+    }
+    else if (firstResult == null && !queryDto.hasSorting()) {
+      output.keysetPagination(null);
+    }
+
+    return output.toResponse();
+  }
+
   private List<HistoricProcessInstance> executePaginatedQuery(HistoricProcessInstanceQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
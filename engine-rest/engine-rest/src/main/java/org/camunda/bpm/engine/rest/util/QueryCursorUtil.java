@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.util.Base64;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+
+/**
+ * <p>Translates between the id of the last result of a page, which a query continues after with
+ * {@link KeysetPaginatedQuery#listAfter(String, int)}, and the opaque cursor exchanged with the client.</p>
+ *
+ * <p>A client requests the first page of a stream of newline delimited JSON with an empty
+ * <code>cursor</code> query parameter and <code>maxResults</code>. If a page is full, the response
+ * references the next page with the header {@value #NEXT_CURSOR_HEADER}.</p>
+ */
+public class QueryCursorUtil {
+
+  public static final String CURSOR_QUERY_PARAM = "cursor";
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public static String toCursor(String lastId) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(EncodingUtil.DEFAULT_ENCODING));
+  }
+
+  /**
+   * @return the id of the last result of the previous page or null if the cursor requests the first page
+   *
+   * @throws InvalidRequestException if the cursor is invalid or combined with an index of the first result
+   */
+  public static String toLastId(String cursor, Integer firstResult) {
+    if (firstResult != null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'firstResult' cannot be combined with parameter '" + CURSOR_QUERY_PARAM + "'");
+    }
+    if (cursor.isEmpty()) {
+      return null;
+    }
+
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), EncodingUtil.DEFAULT_ENCODING);
+    }
+    catch (IllegalArgumentException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, "Invalid cursor '" + cursor + "'");
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * <p>Writes the results of a query as newline delimited JSON (one JSON object per line) while
+ * they are read. The query is executed page by page, so that only a single page of results is
+ * held in memory regardless of the total number of results.</p>
+ *
+ * <p>With {@link #keysetPagination(String)}, each page continues after the id of the last result
+ * of the previous page (see {@link KeysetPaginatedQuery#listAfter(String, int)}). Otherwise, the
+ * pages are read by index, which requires the query to return its results in a stable order. This
+ * is the case for the engine queries as they are ordered by id unless a different order is
+ * specified.</p>
+ *
+ * <p>The first page is read by {@link #toResponse()}, so that an invalid query results in an
+ * error response rather than in an interrupted stream.</p>
+ *
+ * @param <T> the type of the query results
+ */
+public abstract class QueryResultStreamingOutput<T> implements StreamingOutput {
+
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+  public static final MediaType APPLICATION_NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+  /**
+   * The media type produced by resource methods which stream query results. Its lower server side
+   * quality makes requests which accept any media type select the JSON array representation.
+   */
+  public static final String APPLICATION_NDJSON_STREAM = APPLICATION_NDJSON + ";qs=0.5";
+
+  public static final int DEFAULT_PAGE_SIZE = 1000;
+
+  protected KeysetPaginatedQuery<?, T> query;
+  protected ObjectMapper objectMapper;
+  protected int firstResult;
+  protected int maxResults;
+  protected int pageSize = DEFAULT_PAGE_SIZE;
+
+  protected boolean keysetPagination;
+  protected String lastId;
+  protected List<T> firstPage;
+
+  /**
+   * @param firstResult the index of the first result to write or null to start with the first result
+   * @param maxResults the maximum number of results to write or null to write all results
+   */
+  public QueryResultStreamingOutput(KeysetPaginatedQuery<?, T> query, ObjectMapper objectMapper, Integer firstResult, Integer maxResults) {
+    this.query = query;
+    this.objectMapper = objectMapper;
+    this.firstResult = firstResult != null ? firstResult : 0;
+    this.maxResults = maxResults != null ? maxResults : Integer.MAX_VALUE;
+  }
+
+  public void write(OutputStream output) throws IOException {
+    // flush once per page rather than after each result
+    ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+
+    try {
+      int position = firstResult;
+      int remaining = maxResults;
+      List<T> page = firstPage != null ? firstPage : readPage(position, remaining);
+
+      while (true) {
+        for (T result : page) {
+          writer.writeValue(generator, toDto(result));
+          generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        if (page.size() < getPageSize(remaining)) {
+          break;
+        }
+        position += page.size();
+        remaining -= page.size();
+        if (remaining <= 0) {
+          break;
+        }
+        page = readPage(position, remaining);
+      }
+    }
+    finally {
+      generator.close();
+    }
+  }
+
+  protected List<T> readPage(int position, int remaining) {
+    int currentPageSize = getPageSize(remaining);
+    if (!keysetPagination) {
+      return query.listPage(position, currentPageSize);
+    }
+
+    List<T> page = query.listAfter(lastId, currentPageSize);
+    if (!page.isEmpty()) {
+      lastId = getId(page.get(page.size() - 1));
+    }
+    return page;
+  }
+
+  protected int getPageSize(int remaining) {
+    return Math.min(pageSize, remaining);
+  }
+
+  /**
+   * @return the object which is written as JSON for the given query result
+   */
+  protected abstract Object toDto(T result);
+
+  /**
+   * @return the id of the given query result, which the next page continues after with keyset pagination
+   */
+  protected abstract String getId(T result);
+
+  public QueryResultStreamingOutput<T> pageSize(int pageSize) {
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * Reads the pages with {@link KeysetPaginatedQuery#listAfter(String, int)} instead of by index.
+   * The index of the first result must not be specified.
+   *
+   * @param lastId the id after which the results start or null to start with the first result
+   */
+  public QueryResultStreamingOutput<T> keysetPagination(String lastId) {
+    this.keysetPagination = true;
+    this.lastId = lastId;
+    return this;
+  }
+
+  /**
+   * If the response is limited to a single page by keyset pagination and the page is full, the
+   * header {@value QueryCursorUtil#NEXT_CURSOR_HEADER} references the next page.
+   */
+  public Response toResponse() {
+    firstPage = readPage(firstResult, maxResults);
+
+    ResponseBuilder response = Response.ok(this, APPLICATION_NDJSON_TYPE);
+    if (keysetPagination && maxResults <= pageSize && !firstPage.isEmpty() && firstPage.size() == maxResults) {
+      response.header(QueryCursorUtil.NEXT_CURSOR_HEADER, QueryCursorUtil.toCursor(lastId));
+    }
+    return response.build();
+  }
+
+}
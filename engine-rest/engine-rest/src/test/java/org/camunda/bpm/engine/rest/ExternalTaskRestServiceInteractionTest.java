@@ -51,6 +51,8 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkOperationBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -64,6 +66,7 @@ import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -104,6 +107,7 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String RETRIES_EXTERNAL_TASKS_ASYNC_URL = EXTERNAL_TASK_URL + "/retries-async";
   protected static final String PRIORITY_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/priority";
   protected static final String EXTEND_LOCK_ON_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String BULK_EXTERNAL_TASK_URL = EXTERNAL_TASK_URL + "/bulk";
 
 
   protected ExternalTaskService externalTaskService;
@@ -1648,6 +1652,132 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
       .post(EXTEND_LOCK_ON_EXTERNAL_TASK);
   }
 
+  @Test
+  public void testBulkOperation() {
+    ExternalTaskBulkOperationBuilder bulkOperation = mock(ExternalTaskBulkOperationBuilder.class);
+    when(externalTaskService.bulkOperation(anyString())).thenReturn(bulkOperation);
+
+    ExternalTaskOperationResult successfulResult = mock(ExternalTaskOperationResult.class);
+    when(successfulResult.getExternalTaskId()).thenReturn("firstTaskId");
+    when(successfulResult.isSuccessful()).thenReturn(true);
+
+    ExternalTaskOperationResult failedResult = mock(ExternalTaskOperationResult.class);
+    when(failedResult.getExternalTaskId()).thenReturn("secondTaskId");
+    when(failedResult.isSuccessful()).thenReturn(false);
+    when(failedResult.getException()).thenReturn(new NotFoundException("not found"));
+
+    ExternalTaskOperationResult extendLockResult = mock(ExternalTaskOperationResult.class);
+    when(extendLockResult.getExternalTaskId()).thenReturn("thirdTaskId");
+    when(extendLockResult.isSuccessful()).thenReturn(true);
+
+    when(bulkOperation.execute()).thenReturn(Arrays.asList(successfulResult, failedResult, extendLockResult));
+
+    Map<String, Object> complete = new HashMap<String, Object>();
+    complete.put("externalTaskId", "firstTaskId");
+    complete.put("type", "complete");
+    complete.put("variables", VariablesBuilder.create().variable("var", "val", "String").getVariables());
+
+    Map<String, Object> failure = new HashMap<String, Object>();
+    failure.put("externalTaskId", "secondTaskId");
+    failure.put("type", "failure");
+    failure.put("errorMessage", "anErrorMessage");
+    failure.put("errorDetails", "anErrorDetails");
+    failure.put("retries", 5);
+    failure.put("retryTimeout", 12345);
+
+    Map<String, Object> extendLock = new HashMap<String, Object>();
+    extendLock.put("externalTaskId", "thirdTaskId");
+    extendLock.put("type", "extendLock");
+    extendLock.put("newDuration", 1000);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("operations", Arrays.asList(complete, failure, extendLock));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(3))
+      .body("[0].externalTaskId", equalTo("firstTaskId"))
+      .body("[0].successful", equalTo(true))
+      .body("[1].externalTaskId", equalTo("secondTaskId"))
+      .body("[1].successful", equalTo(false))
+      .body("[1].error.type", equalTo(NotFoundException.class.getSimpleName()))
+      .body("[1].error.message", equalTo("not found"))
+      .body("[2].externalTaskId", equalTo("thirdTaskId"))
+      .body("[2].successful", equalTo(true))
+    .when()
+      .post(BULK_EXTERNAL_TASK_URL);
+
+    InOrder inOrder = inOrder(externalTaskService, bulkOperation);
+    inOrder.verify(externalTaskService).bulkOperation("aWorkerId");
+    inOrder.verify(bulkOperation).complete(eq("firstTaskId"),
+        argThat(EqualsVariableMap.matches().matcher("var", EqualsPrimitiveValue.stringValue("val"))),
+        eq((Map<String, Object>) null));
+    inOrder.verify(bulkOperation).handleFailure("secondTaskId", "anErrorMessage", "anErrorDetails", 5, 12345);
+    inOrder.verify(bulkOperation).extendLock("thirdTaskId", 1000);
+    inOrder.verify(bulkOperation).execute();
+  }
+
+  @Test
+  public void testBulkOperationWithInvalidType() {
+    ExternalTaskBulkOperationBuilder bulkOperation = mock(ExternalTaskBulkOperationBuilder.class);
+    when(externalTaskService.bulkOperation(anyString())).thenReturn(bulkOperation);
+
+    Map<String, Object> operation = new HashMap<String, Object>();
+    operation.put("externalTaskId", "aTaskId");
+    operation.put("type", "unknown");
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("operations", Arrays.asList(operation));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+    .when()
+      .post(BULK_EXTERNAL_TASK_URL);
+
+    verify(bulkOperation, never()).execute();
+  }
+
+  @Test
+  public void testBulkOperationWithInvalidLockDuration() {
+    ExternalTaskBulkOperationBuilder bulkOperation = mock(ExternalTaskBulkOperationBuilder.class);
+    when(externalTaskService.bulkOperation(anyString())).thenReturn(bulkOperation);
+    doThrow(new BadUserRequestException("lockTime is not greater than 0"))
+      .when(bulkOperation).extendLock(anyString(), anyLong());
+
+    Map<String, Object> operation = new HashMap<String, Object>();
+    operation.put("externalTaskId", "aTaskId");
+    operation.put("type", "extendLock");
+    operation.put("newDuration", -1);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("operations", Arrays.asList(operation));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("message", equalTo("lockTime is not greater than 0"))
+    .when()
+      .post(BULK_EXTERNAL_TASK_URL);
+
+    verify(bulkOperation, never()).execute();
+  }
+
   protected void executePost(Map<String, Object> parameters) {
     given()
         .contentType(POST_JSON_CONTENT_TYPE)
@@ -27,11 +27,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.Date;
 import javax.ws.rs.core.Response.Status;
 
 
+import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -51,6 +54,7 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   public static final String METRICS_URL = TEST_RESOURCE_ROOT_PATH + MetricsRestService.PATH;
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String COMMANDS_URL = METRICS_URL + "/commands";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -318,5 +322,51 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
 
   }
 
+  @Test
+  public void testGetCommandMetrics() {
+    CommandMetrics commandMetrics = mock(CommandMetrics.class);
+    when(commandMetrics.getCommandName()).thenReturn("aCommandName");
+    when(commandMetrics.getCount()).thenReturn(3L);
+    when(commandMetrics.getExecutionTimeTotal()).thenReturn(30L);
+    when(commandMetrics.getExecutionTimeMax()).thenReturn(20L);
+    when(commandMetrics.getExecutionTimeMedian()).thenReturn(5L);
+    when(commandMetrics.getExecutionTime99thPercentile()).thenReturn(20L);
+    when(commandMetrics.getFlushTimeTotal()).thenReturn(6L);
+    when(commandMetrics.getFlushTimeMax()).thenReturn(4L);
+    when(commandMetrics.getSqlStatementCountTotal()).thenReturn(12L);
+    when(commandMetrics.getSqlStatementCountMax()).thenReturn(5L);
+    when(managementServiceMock.getCommandMetrics()).thenReturn(Collections.singletonList(commandMetrics));
+
+    given()
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(1))
+      .body("[0].commandName", equalTo("aCommandName"))
+      .body("[0].count", equalTo(3))
+      .body("[0].executionTimeTotal", equalTo(30))
+      .body("[0].executionTimeMax", equalTo(20))
+      .body("[0].executionTimeMedian", equalTo(5))
+      .body("[0].executionTime99thPercentile", equalTo(20))
+      .body("[0].flushTimeTotal", equalTo(6))
+      .body("[0].flushTimeMax", equalTo(4))
+      .body("[0].sqlStatementCountTotal", equalTo(12))
+      .body("[0].sqlStatementCountMax", equalTo(5))
+    .when()
+      .get(COMMANDS_URL);
+
+    verify(managementServiceMock).getCommandMetrics();
+  }
+
+  @Test
+  public void testGetCommandMetricsThrowsAuthorizationException() {
+    when(managementServiceMock.getCommandMetrics()).thenThrow(new AuthorizationException("expected exception"));
+
+    given()
+    .then().expect()
+      .statusCode(Status.FORBIDDEN.getStatusCode())
+      .body("type", equalTo(AuthorizationException.class.getSimpleName()))
+    .when()
+      .get(COMMANDS_URL);
+  }
 
 }
@@ -22,11 +22,15 @@ import static io.restassured.path.json.JsonPath.from;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -53,6 +57,8 @@ import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
+import org.camunda.bpm.engine.rest.util.QueryCursorUtil;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.junit.Assert;
 import org.junit.Before;
@@ -2267,4 +2273,189 @@ public class HistoricProcessInstanceRestServiceQueryTest extends AbstractRestSer
     verify(mockedQuery).rootProcessInstances();
   }
 
+  @Test
+  public void testStreamHistoricProcessInstances() {
+    List<HistoricProcessInstance> instances = MockProvider.createMockHistoricProcessInstances();
+    when(mockedQuery.listAfter(null, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE)).thenReturn(instances);
+
+    Response response = given()
+        .queryParam("processInstanceId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID)
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+          .contentType(QueryResultStreamingOutput.APPLICATION_NDJSON)
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).processInstanceId(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+    inOrder.verify(mockedQuery).listAfter(null, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE);
+    verify(mockedQuery, never()).list();
+
+    String[] lines = response.asString().split("\\n");
+    assertThat(lines).hasSize(instances.size());
+    assertThat(from(lines[0]).getString("id")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+    assertThat(from(lines[0]).getString("businessKey")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_BUSINESS_KEY);
+  }
+
+  @Test
+  public void testStreamHistoricProcessInstancesAsPost() {
+    when(mockedQuery.listPage(2, 1)).thenReturn(MockProvider.createMockHistoricProcessInstances());
+
+    Response response = given()
+        .contentType(POST_JSON_CONTENT_TYPE)
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+        .queryParam("firstResult", 2)
+        .queryParam("maxResults", 1)
+        .body(Collections.singletonMap("processInstanceId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID))
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+          .contentType(QueryResultStreamingOutput.APPLICATION_NDJSON)
+        .when()
+          .post(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listPage(2, 1);
+    verify(mockedQuery, never()).list();
+
+    String[] lines = response.asString().split("\\n");
+    assertThat(lines).hasSize(1);
+    assertThat(from(lines[0]).getString("id")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+  }
+
+  @Test
+  public void testStreamHistoricProcessInstancesPageByPage() {
+    List<HistoricProcessInstance> fullPage = new ArrayList<>();
+    for (int i = 0; i < QueryResultStreamingOutput.DEFAULT_PAGE_SIZE; i++) {
+      fullPage.add(MockProvider.createMockHistoricProcessInstance());
+    }
+    when(mockedQuery.listAfter(null, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE)).thenReturn(fullPage);
+    when(mockedQuery.listAfter(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE))
+      .thenReturn(MockProvider.createMockHistoricProcessInstances());
+
+    Response response = given()
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(mockedQuery);
+    inOrder.verify(mockedQuery).listAfter(null, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE);
+    inOrder.verify(mockedQuery).listAfter(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE);
+    verify(mockedQuery, times(2)).listAfter(anyString(), anyInt());
+
+    assertThat(response.asString().split("\\n")).hasSize(QueryResultStreamingOutput.DEFAULT_PAGE_SIZE + 1);
+  }
+
+  @Test
+  public void testStreamSortedHistoricProcessInstancesByIndex() {
+    when(mockedQuery.listPage(0, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE)).thenReturn(MockProvider.createMockHistoricProcessInstances());
+
+    given()
+        .queryParam("sortBy", "businessKey")
+        .queryParam("sortOrder", "asc")
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_PAGE_SIZE);
+    verify(mockedQuery, never()).listAfter(anyString(), anyInt());
+  }
+
+  @Test
+  public void testStreamFirstPageWithCursor() {
+    when(mockedQuery.listAfter(null, 1)).thenReturn(MockProvider.createMockHistoricProcessInstances());
+
+    Response response = given()
+        .queryParam("cursor", "")
+        .queryParam("maxResults", 1)
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+          .header(QueryCursorUtil.NEXT_CURSOR_HEADER, QueryCursorUtil.toCursor(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID))
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listAfter(null, 1);
+    verify(mockedQuery, never()).listPage(anyInt(), anyInt());
+
+    String[] lines = response.asString().split("\\n");
+    assertThat(lines).hasSize(1);
+    assertThat(from(lines[0]).getString("id")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+  }
+
+  @Test
+  public void testStreamNextPageWithCursorAsPost() {
+    when(mockedQuery.listAfter(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, 2)).thenReturn(MockProvider.createMockHistoricProcessInstances());
+
+    Response response = given()
+        .contentType(POST_JSON_CONTENT_TYPE)
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+        .queryParam("cursor", QueryCursorUtil.toCursor(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID))
+        .queryParam("maxResults", 2)
+        .body(Collections.emptyMap())
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+        .when()
+          .post(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listAfter(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, 2);
+    // the last page is not full
+    assertThat(response.getHeader(QueryCursorUtil.NEXT_CURSOR_HEADER)).isNull();
+    assertThat(from(response.asString().trim()).getString("id")).isEqualTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+  }
+
+  @Test
+  public void testStreamWithCursorAndFirstResult() {
+    given()
+        .queryParam("cursor", "")
+        .queryParam("firstResult", 1)
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+      .then()
+        .expect()
+          .statusCode(Status.BAD_REQUEST.getStatusCode())
+          .contentType(ContentType.JSON)
+          .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testStreamWithInvalidCursor() {
+    given()
+        .queryParam("cursor", "not a cursor!")
+        .accept(QueryResultStreamingOutput.APPLICATION_NDJSON)
+      .then()
+        .expect()
+          .statusCode(Status.BAD_REQUEST.getStatusCode())
+          .contentType(ContentType.JSON)
+          .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+          .body("message", containsString("Invalid cursor"))
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testQueryWithoutAcceptHeaderReturnsJsonArray() {
+    given()
+      .then()
+        .expect()
+          .statusCode(Status.OK.getStatusCode())
+          .contentType(ContentType.JSON)
+          .body("[0].id", equalTo(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID))
+        .when()
+          .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).list();
+    verify(mockedQuery, never()).listAfter(anyString(), anyInt());
+  }
+
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.dmn.DecisionBulkEvaluationBuilder;
 import org.camunda.bpm.engine.dmn.DecisionEvaluationBuilder;
 import org.camunda.bpm.engine.dmn.DecisionsEvaluationBuilder;
 import org.camunda.bpm.engine.exception.NotFoundException;
@@ -154,4 +155,28 @@ public interface DecisionService {
    */
   DecisionsEvaluationBuilder evaluateDecisionById(String decisionDefinitionId);
 
+  /**
+   * Returns a fluent builder to evaluate the decision with the given key for
+   * many inputs at once. The builder can be used to set further properties and
+   * specify evaluation instructions.
+   *
+   * @param decisionDefinitionKey
+   *          the key of the decision definition, cannot be <code>null</code>.
+   *
+   * @return a builder to evaluate a decision for many inputs
+   */
+  DecisionBulkEvaluationBuilder evaluateDecisionBulkByKey(String decisionDefinitionKey);
+
+  /**
+   * Returns a fluent builder to evaluate the decision with the given id for
+   * many inputs at once. The builder can be used to set further properties and
+   * specify evaluation instructions.
+   *
+   * @param decisionDefinitionId
+   *          the id of the decision definition, cannot be <code>null<code>.
+   *
+   * @return a builder to evaluate a decision for many inputs
+   */
+  DecisionBulkEvaluationBuilder evaluateDecisionBulkById(String decisionDefinitionId);
+
 }
@@ -25,6 +25,8 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkOperationBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
@@ -167,6 +169,28 @@ public interface ExternalTaskService {
    */
   public void extendLock(String externalTaskId, String workerId, long newLockDuration);
 
+  /**
+   * <p>Defines operations on multiple external tasks on behalf of a worker, which are
+   * executed in a single transaction where possible. Each operation can be
+   * {@link ExternalTaskBulkOperationBuilder#complete(String, Map, Map) complete},
+   * {@link ExternalTaskBulkOperationBuilder#handleFailure(String, String, String, int, long) handleFailure}
+   * or {@link ExternalTaskBulkOperationBuilder#extendLock(String, long) extendLock}. The given tasks
+   * must be assigned to the worker.</p>
+   *
+   * <p>A failing operation does not fail the other operations, instead it is reported by
+   * its {@link ExternalTaskOperationResult}, e.g. with a {@link NotFoundException}, a
+   * {@link BadUserRequestException} or an {@link AuthorizationException} if the current user
+   * does not possess any of the following permissions:
+   *   <ul>
+   *     <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *     <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   *   </ul>
+   * </p>
+   *
+   * @param workerId the id of the worker that executes the operations
+   */
+  public ExternalTaskBulkOperationBuilder bulkOperation(String workerId);
+
   /**
    * <p>Signals that an external task could not be successfully executed.
    * The task must be assigned to the given worker. The number of retries left can be specified. In addition, a timeout can be
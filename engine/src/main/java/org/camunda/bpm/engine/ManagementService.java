@@ -36,12 +36,14 @@ import org.camunda.bpm.engine.batch.BatchStatisticsQuery;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
 import org.camunda.bpm.engine.management.SchemaLogQuery;
+import org.camunda.bpm.engine.management.SqlStatementMetrics;
 import org.camunda.bpm.engine.management.TableMetaData;
 import org.camunda.bpm.engine.management.TablePage;
 import org.camunda.bpm.engine.management.TablePageQuery;
@@ -1271,6 +1273,30 @@ public interface ManagementService {
    */
   void reportDbMetricsNow();
 
+  /**
+   * Returns the execution statistics of all commands executed by this engine since it was
+   * started, ordered by descending total execution time. The statistics are kept in memory
+   * and are not shared with other engines of a cluster.
+   *
+   * @throws ProcessEngineException if command metrics are not enabled in the process engine configuration
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  List<CommandMetrics> getCommandMetrics();
+
+  /**
+   * Returns the execution statistics of the MyBatis statements with the highest total
+   * execution time since this engine was started, ordered by descending total execution time.
+   * The statistics are kept in memory and are not shared with other engines of a cluster.
+   *
+   * @param maxResults the maximum number of statements to return
+   *
+   * @throws ProcessEngineException if SQL statement metrics are not enabled in the process engine configuration
+   * @throws AuthorizationException
+   *          If the user is not a member of the group {@link Groups#CAMUNDA_ADMIN}.
+   */
+  List<SqlStatementMetrics> getSqlStatementMetrics(int maxResults);
+
   /**
    * Creates a query to search for {@link org.camunda.bpm.engine.batch.Batch} instances.
    *
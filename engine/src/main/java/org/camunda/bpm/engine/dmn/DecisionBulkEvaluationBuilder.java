@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.dmn;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NotValidException;
+
+/**
+ * Fluent builder to evaluate a decision for many inputs at once. The decision
+ * definition is resolved once and all evaluations are performed in a single
+ * transaction, so that the historic decision instances are written in bulk.
+ */
+public interface DecisionBulkEvaluationBuilder {
+
+  /**
+   * Specify the id of the tenant the decision definition belongs to. Can only be
+   * used when the definition is referenced by <code>key</code> and not by <code>id</code>.
+   */
+  DecisionBulkEvaluationBuilder decisionDefinitionTenantId(String tenantId);
+
+  /**
+   * Specify that the decision definition belongs to no tenant. Can only be
+   * used when the definition is referenced by <code>key</code> and not by <code>id</code>.
+   */
+  DecisionBulkEvaluationBuilder decisionDefinitionWithoutTenantId();
+
+  /**
+   * Set the version of the decision definition. If <code>null</code> then
+   * the latest version is taken.
+   */
+  DecisionBulkEvaluationBuilder version(Integer version);
+
+  /**
+   * Set the number of threads which evaluate the decision in parallel. If the
+   * parallelism is greater than one, the decision logic is evaluated by a pool which
+   * is shared by all bulk evaluations while the history is written by the calling
+   * thread. The parallelism is capped by the number of available processors. Only
+   * decisions whose expressions are all FEEL expressions are evaluated in parallel,
+   * decisions with other expression languages, e.g. JUEL or scripts, are evaluated
+   * sequentially. By default, the decision is evaluated sequentially by the calling thread.
+   */
+  DecisionBulkEvaluationBuilder parallelism(int parallelism);
+
+  /**
+   * Do not write historic decision instances for the evaluations. Requires
+   * the user to be a camunda admin.
+   */
+  DecisionBulkEvaluationBuilder skipHistory();
+
+  /**
+   * Evaluates the decision once for each of the given input values.
+   *
+   * @return the results of the evaluations in the order of the input values.
+   *
+   * @throws NotFoundException
+   *           when no decision definition is deployed with the given id / key.
+   *
+   * @throws NotValidException
+   *           when the given decision definition id / key is null.
+   *
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE_INSTANCE} permission
+   *           on {@link Resources#DECISION_DEFINITION} or if the history should
+   *           be skipped and the user is no camunda admin.
+   */
+  List<DmnDecisionResult> evaluate(List<? extends Map<String, Object>> variables);
+
+  /**
+   * Evaluates the decision once for each of the given input values. The stream is
+   * consumed completely before the evaluation starts. Split large inputs into
+   * several calls to limit the size of a single transaction.
+   *
+   * @return the results of the evaluations in the order of the input values.
+   *
+   * @see #evaluate(List)
+   */
+  List<DmnDecisionResult> evaluate(Stream<? extends Map<String, Object>> variables);
+
+}
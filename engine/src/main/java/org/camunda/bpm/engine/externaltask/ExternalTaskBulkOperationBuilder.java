@@ -0,0 +1,63 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+
+/**
+ * Collects operations on external tasks locked by a worker, which are executed together by
+ * {@link #execute()}. The operations are executed in a single transaction. If the transaction
+ * fails, the operations are executed again in one transaction per process instance and, if that
+ * fails as well, in one transaction per operation, so that a failing operation does not prevent
+ * the other operations from being executed.
+ */
+public interface ExternalTaskBulkOperationBuilder {
+
+  /**
+   * Completes the external task with the given id.
+   *
+   * @see org.camunda.bpm.engine.ExternalTaskService#complete(String, String, Map, Map)
+   */
+  ExternalTaskBulkOperationBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables);
+
+  /**
+   * Reports a failure of the external task with the given id.
+   *
+   * @see org.camunda.bpm.engine.ExternalTaskService#handleFailure(String, String, String, String, int, long)
+   */
+  ExternalTaskBulkOperationBuilder handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryDuration);
+
+  /**
+   * Extends the lock of the external task with the given id.
+   *
+   * @see org.camunda.bpm.engine.ExternalTaskService#extendLock(String, String, long)
+   *
+   * @throws BadUserRequestException if the new lock duration is not positive
+   */
+  ExternalTaskBulkOperationBuilder extendLock(String externalTaskId, long newLockDuration);
+
+  /**
+   * Executes the operations.
+   *
+   * @return the result of each operation in the order in which the operations were added
+   */
+  List<ExternalTaskOperationResult> execute();
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+/**
+ * The result of an operation of an {@link ExternalTaskBulkOperationBuilder}.
+ */
+public interface ExternalTaskOperationResult {
+
+  /**
+   * @return the id of the external task the operation was executed on
+   */
+  String getExternalTaskId();
+
+  /**
+   * @return true if the operation was executed and committed successfully
+   */
+  boolean isSuccessful();
+
+  /**
+   * @return the exception which caused the operation to fail or null if it was successful
+   */
+  RuntimeException getException();
+
+}
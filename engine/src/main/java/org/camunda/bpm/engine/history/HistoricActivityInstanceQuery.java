@@ -18,7 +18,7 @@ package org.camunda.bpm.engine.history;
 
 import java.util.Date;
 
-import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 
 
@@ -27,7 +27,7 @@ import org.camunda.bpm.engine.runtime.ProcessInstance;
  *
  * @author Tom Baeyens
  */
-public interface HistoricActivityInstanceQuery extends Query<HistoricActivityInstanceQuery, HistoricActivityInstance>{
+public interface HistoricActivityInstanceQuery extends KeysetPaginatedQuery<HistoricActivityInstanceQuery, HistoricActivityInstance>{
 
   /** Only select historic activity instances with the given id (primary key within history tables). */
   HistoricActivityInstanceQuery activityInstanceId(String activityInstanceId);
@@ -23,7 +23,7 @@ import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
-import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 
 /**
@@ -33,7 +33,7 @@ import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
  * @author Joram Barrez
  * @author Falko Menge
  */
-public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInstanceQuery, HistoricProcessInstance> {
+public interface HistoricProcessInstanceQuery extends KeysetPaginatedQuery<HistoricProcessInstanceQuery, HistoricProcessInstance> {
 
   /** Only select historic process instances with the given process instance.
    * {@link ProcessInstance) ids and {@link HistoricProcessInstance} ids match. */
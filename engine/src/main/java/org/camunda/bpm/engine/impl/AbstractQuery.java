@@ -39,6 +39,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.impl.util.QueryMaxResultsLimitUtil;
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.query.QueryProperty;
 import org.joda.time.DateTime;
@@ -69,6 +70,11 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   protected boolean maxResultsLimitEnabled;
 
+  /**
+   * The id after which the results of a keyset paginated query start, see {@link #listPageAfter(String, int)}
+   */
+  protected String keysetAfterId;
+
   protected AbstractQuery() {
   }
 
@@ -150,6 +156,33 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return (List<U>) executeResult(resultType);
   }
 
+  /**
+   * Implements {@link KeysetPaginatedQuery#listAfter(String, int)} for queries which restrict
+   * their results with the condition <code>Commons.keysetPaginationCondition</code>.
+   */
+  @SuppressWarnings("unchecked")
+  protected List<U> listPageAfter(String lastId, int maxResults) {
+    if (!orderingProperties.isEmpty()) {
+      throw new NotValidException("Invalid query: keyset pagination does not support orderByXX(), the results are ordered by id");
+    }
+
+    this.keysetAfterId = lastId;
+    this.firstResult = 0;
+    this.maxResults = maxResults;
+    this.resultType = ResultType.LIST_PAGE;
+    try {
+      return (List<U>) executeResult(resultType);
+    }
+    finally {
+      // the condition must not apply to later executions of the query, e.g. count()
+      this.keysetAfterId = null;
+    }
+  }
+
+  public String getKeysetAfterId() {
+    return keysetAfterId;
+  }
+
   public Object executeResult(ResultType resultType) {
 
     if (commandExecutor != null) {
@@ -70,6 +70,10 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
       .findHistoricActivityInstanceCountByQueryCriteria(this);
   }
 
+  public List<HistoricActivityInstance> listAfter(String lastId, int maxResults) {
+    return listPageAfter(lastId, maxResults);
+  }
+
   @Override
   public List<HistoricActivityInstance> executeList(CommandContext commandContext, Page page) {
     checkQueryOk();
@@ -369,6 +369,10 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstanceCountByQueryCriteria(this);
   }
 
+  public List<HistoricProcessInstance> listAfter(String lastId, int maxResults) {
+    return listPageAfter(lastId, maxResults);
+  }
+
   public List<HistoricProcessInstance> executeList(CommandContext commandContext, Page page) {
     checkQueryOk();
     ensureVariablesInitialized();
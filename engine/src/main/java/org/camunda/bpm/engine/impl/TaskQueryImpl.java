@@ -1355,6 +1355,10 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
 
   //results ////////////////////////////////////////////////////////////////
 
+  public List<Task> listAfter(String lastId, int maxResults) {
+    return listPageAfter(lastId, maxResults);
+  }
+
   @Override
   public List<Task> executeList(CommandContext commandContext, Page page) {
     ensureOrExpressionsEvaluated();
@@ -171,6 +171,10 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
       .findVariableInstanceCountByQueryCriteria(this);
   }
 
+  public List<VariableInstance> listAfter(String lastId, int maxResults) {
+    return listPageAfter(lastId, maxResults);
+  }
+
   @Override
   public List<VariableInstance> executeList(CommandContext commandContext, Page page) {
     checkQueryOk();
@@ -110,4 +110,9 @@ public class ConfigurationLogger extends ProcessEngineLogger {
             "batch type", batchType);
   }
 
+  public void debugDatabaseSkipLockedSupported(String databaseProductVersion, boolean supported) {
+    logDebug(
+        "015", "Database version {} supports SELECT ... FOR UPDATE SKIP LOCKED: {}", databaseProductVersion, supported);
+  }
+
 }
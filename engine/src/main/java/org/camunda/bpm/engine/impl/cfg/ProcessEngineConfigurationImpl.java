@@ -29,6 +29,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
@@ -40,6 +41,8 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
 
@@ -135,9 +138,12 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SecondLevelEntityCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -184,10 +190,14 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.HistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.event.HostnameProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBuffer;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventSpillFile;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventWriter;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -206,6 +216,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContextFactory;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.camunda.bpm.engine.impl.interceptor.CommandMetricsInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
@@ -219,6 +230,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.SkipLockedAcquireJobsCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHandler;
@@ -234,8 +246,11 @@ import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatc
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
@@ -387,6 +402,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public static final int DEFAULT_INVOCATIONS_PER_BATCH_JOB = 1;
 
+  /** execution tree prefetching fetches the executions of the process instance only */
+  public static final String EXECUTION_TREE_PREFETCH_PROFILE_EXECUTIONS = "executions";
+  /** execution tree prefetching fetches the executions of the process instance and the entities they reference */
+  public static final String EXECUTION_TREE_PREFETCH_PROFILE_FULL = "full";
+
   public static SqlSessionFactory cachedSqlSessionFactory;
 
   // SERVICES /////////////////////////////////////////////////////////////////
@@ -466,9 +486,76 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
+  /**
+   * If true, the job executor acquires jobs with <code>SELECT ... FOR UPDATE SKIP LOCKED</code>
+   * on databases that support it, so that acquisitions on different nodes do not compete for
+   * the same jobs. Only applied if no custom acquire jobs command factory is set on the job executor.
+   */
+  protected boolean jobExecutorAcquireWithSkipLocked = false;
+
+  /**
+   * If true, jobs that can be executed right away are locked when they are inserted and
+   * handed to the job executor of this node after the transaction commits, instead of being
+   * acquired from the database by the job executor.
+   */
+  protected boolean jobExecutorHandOffJobs = false;
+
+  /**
+   * If true, the job executor selects more candidates than it acquires and distributes the
+   * acquired jobs across job definitions by weighted round robin, so that a large number of
+   * jobs of one job definition does not delay the jobs of other job definitions.
+   */
+  protected boolean jobExecutorFairAcquisition = false;
+
+  /**
+   * Weights of the job handler types for the fair acquisition. Job definitions of handler types
+   * without weight have weight 1.
+   */
+  protected Map<String, Integer> jobExecutorFairAcquisitionWeights = new HashMap<>();
+
+  /**
+   * Factor of the number of jobs to acquire which are selected as candidates if the fair
+   * acquisition or concurrency limits are enabled.
+   */
+  protected int jobExecutorAcquisitionCandidateFactor = 4;
+
+  /**
+   * Maximum number of locked jobs per job definition or 0 if unlimited. Jobs of a job definition
+   * which reached the limit are not acquired.
+   *
+   * <p>The limit is best-effort: each acquisition cycle reads the number of locked jobs without
+   * locking and checks the limit against it. Concurrent acquisitions of other job executors
+   * do not see each other's jobs, so together they can exceed the limit by up to the number
+   * of jobs they acquire per cycle.</p>
+   */
+  protected int jobExecutorMaxLockedJobsPerJobDefinition = 0;
+
+  /**
+   * Maximum number of locked jobs per job handler type. Jobs of a handler type which
+   * reached the limit are not acquired. Like {@link #jobExecutorMaxLockedJobsPerJobDefinition},
+   * the limit is best-effort per acquisition cycle.
+   */
+  protected Map<String, Integer> jobExecutorMaxLockedJobsPerHandlerType = new HashMap<>();
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
+  /**
+   * If true, fetch and lock requests whose topics have no filters besides the topic name
+   * select the external tasks by exact topic name and lock them with
+   * <code>SELECT ... FOR UPDATE SKIP LOCKED</code> on databases that support it, so that
+   * concurrent workers do not compete for the same tasks. The topic names of these requests
+   * are compared for equality instead of with <code>LIKE</code>.
+   */
+  protected boolean externalTaskFetchWithSkipLocked = false;
+
+  /**
+   * Whether the database supports <code>SELECT ... FOR UPDATE SKIP LOCKED</code>. Determined
+   * from the database type and version on initialization, MySQL requires 8.0.1 and MariaDB 10.6.
+   * Job acquisition and external task fetching fall back to their default queries otherwise.
+   */
+  protected Boolean databaseSkipLockedSupported;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -480,6 +567,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, blocks of ids are fetched from the database in the background before the
+   * current block is exhausted and their size adapts to the consumption rate between
+   * {@link #idBlockSize} and {@link #maxIdBlockSize}.
+   */
+  protected boolean idBlockPrefetch = false;
+  protected int maxIdBlockSize = 10000;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -676,6 +771,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * Determines which entities are fetched when the execution tree is prefetched, either
+   * {@link #EXECUTION_TREE_PREFETCH_PROFILE_EXECUTIONS} or {@link #EXECUTION_TREE_PREFETCH_PROFILE_FULL}.
+   */
+  protected String executionTreePrefetchProfile = EXECUTION_TREE_PREFETCH_PROFILE_EXECUTIONS;
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -707,6 +808,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected DbEntityCacheKeyMapping dbEntityCacheKeyMapping = DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping();
 
+  /**
+   * If true, entities of the {@link #secondLevelEntityCacheTypes} selected by id are cached
+   * across commands, see {@link SecondLevelEntityCache}.
+   */
+  protected boolean secondLevelEntityCacheEnabled = false;
+  protected Set<Class<? extends DbEntity>> secondLevelEntityCacheTypes;
+  protected int secondLevelEntityCacheCapacity = 10000;
+
+  /** time in milliseconds after which updates of other process engines become visible */
+  protected long secondLevelEntityCacheTimeToLive = 30000;
+
+  protected SecondLevelEntityCache secondLevelEntityCache;
+
   /**
    * the metrics registry
    */
@@ -719,6 +833,37 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
+  /**
+   * in-memory metrics tagged by process definition key, activity type, job handler
+   * type and tenant; never reported to the database
+   */
+  protected DimensionalMetricsRegistry dimensionalMetricsRegistry;
+  protected boolean isDimensionalMetricsEnabled = false;
+
+  /**
+   * execution statistics per command class, recorded by the {@link CommandMetricsInterceptor}
+   */
+  protected CommandMetricsRegistry commandMetricsRegistry;
+  protected boolean isCommandMetricsEnabled = false;
+
+  /**
+   * commands taking longer than this number of milliseconds are logged if command
+   * metrics are enabled; a value less than or equal to 0 disables the logging
+   */
+  protected long slowCommandThreshold = 10000;
+
+  /**
+   * execution statistics per MyBatis statement, recorded by the {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSession}
+   */
+  protected SqlStatementMetricsRegistry sqlStatementMetricsRegistry;
+  protected boolean isSqlStatementMetricsEnabled = false;
+
+  /**
+   * execution time and row count are recorded for one out of this number of
+   * statement executions on average; 1 records every execution
+   */
+  protected int sqlStatementMetricsSampleRate = 1;
+
   /**
    * the historic job log host name
    */
@@ -782,8 +927,46 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableHistoricInstancePermissions = false;
 
+  /**
+   * If true, the inputs and outputs of an evaluated decision are persisted together in a single
+   * byte array referenced by the historic decision instance instead of one row per input and output.
+   */
+  protected boolean isCompactDecisionHistoryEnabled = false;
+
   protected boolean isUseSharedSqlSessionFactory = false;
 
+  /**
+   * If true and jdbc batch processing is enabled, INSERTs of the same entity type are combined
+   * into multi-row INSERT statements where a multi-row statement is available for the entity
+   * and the database supports it.
+   */
+  protected boolean jdbcBatchMultiRowInserts = false;
+
+  /**
+   * If true, the history events of committed transactions are written to the database
+   * by a dedicated thread in large batches instead of within the transaction that produced them.
+   * History data then becomes visible with a delay. Requires the history removal time strategy
+   * 'none', which is the default in this case, so history is cleaned up based on end time.
+   */
+  protected boolean historyEventAsyncWrite = false;
+
+  /** maximum number of committed transactions whose history events wait to be written */
+  protected int historyEventWriterQueueSize = 1000;
+
+  /** maximum number of history events written by the history event writer in one transaction */
+  protected int historyEventWriterBatchSize = 1000;
+
+  /**
+   * Path of the file in which the history events are kept until they are written. The events
+   * of a transaction are forced to disk before it commits. If null, events which are not yet
+   * written are lost when the process terminates.
+   */
+  protected String historyEventSpillFile;
+
+  protected int historyEventSpillFileSize = 64 * 1024 * 1024;
+
+  protected HistoryEventWriter historyEventWriter;
+
   //History cleanup configuration
   protected String historyCleanupBatchWindowStartTime;
   protected String historyCleanupBatchWindowEndTime = "00:00";
@@ -908,6 +1091,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initSqlSessionFactory();
     initIdentityProviderSessionFactory();
     initSessionFactories();
+    initSecondLevelEntityCache();
     initValueTypeResolver();
     initTypeValidator();
     initSerialization();
@@ -937,6 +1121,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     invokePostInit();
   }
 
+  protected void initSecondLevelEntityCache() {
+    if (secondLevelEntityCacheEnabled && secondLevelEntityCache == null) {
+      if (secondLevelEntityCacheTypes == null) {
+        secondLevelEntityCacheTypes = SecondLevelEntityCache.defaultCacheableEntityTypes();
+      }
+      secondLevelEntityCache = new SecondLevelEntityCache(secondLevelEntityCacheTypes,
+          secondLevelEntityCacheCapacity, secondLevelEntityCacheTimeToLive);
+    }
+  }
+
   protected void initTypeValidator() {
     if (deserializationTypeValidator == null) {
       deserializationTypeValidator = new DefaultDeserializationTypeValidator();
@@ -955,7 +1149,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initHistoryRemovalTimeStrategy() {
     if (historyRemovalTimeStrategy == null) {
-      historyRemovalTimeStrategy = HISTORY_REMOVAL_TIME_STRATEGY_END;
+      if (isHistoryEventAsyncWriteEnabled()) {
+        historyRemovalTimeStrategy = HISTORY_REMOVAL_TIME_STRATEGY_NONE;
+      } else {
+        historyRemovalTimeStrategy = HISTORY_REMOVAL_TIME_STRATEGY_END;
+      }
     }
 
     if (!HISTORY_REMOVAL_TIME_STRATEGY_START.equals(historyRemovalTimeStrategy) &&
@@ -964,6 +1162,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       throw LOG.invalidPropertyValue("historyRemovalTimeStrategy", String.valueOf(historyRemovalTimeStrategy),
         String.format("history removal time strategy must be set to '%s', '%s' or '%s'", HISTORY_REMOVAL_TIME_STRATEGY_START, HISTORY_REMOVAL_TIME_STRATEGY_END, HISTORY_REMOVAL_TIME_STRATEGY_NONE));
     }
+
+    // the removal time is calculated from and added to history rows within the transaction
+    // that produces the history events, which are not yet written if they are written asynchronously
+    if (isHistoryEventAsyncWriteEnabled() && !HISTORY_REMOVAL_TIME_STRATEGY_NONE.equals(historyRemovalTimeStrategy)) {
+      throw LOG.invalidPropertyValue("historyRemovalTimeStrategy", String.valueOf(historyRemovalTimeStrategy),
+        String.format("history removal time strategy must be set to '%s' if history events are written asynchronously", HISTORY_REMOVAL_TIME_STRATEGY_NONE));
+    }
   }
 
   public void initHistoryRemovalTimeProvider() {
@@ -1008,7 +1213,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryCleanupStrategy() {
     if (historyCleanupStrategy == null) {
-      historyCleanupStrategy = HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED;
+      if (isHistoryEventAsyncWriteEnabled()) {
+        historyCleanupStrategy = HISTORY_CLEANUP_STRATEGY_END_TIME_BASED;
+      } else {
+        historyCleanupStrategy = HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED;
+      }
     }
 
     if (!HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED.equals(historyCleanupStrategy) &&
@@ -1242,6 +1451,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initCommandExecutors() {
     initActualCommandExecutor();
+    initCommandMetrics();
     initCommandInterceptorsTxRequired();
     initCommandExecutorTxRequired();
     initCommandInterceptorsTxRequiresNew();
@@ -1253,6 +1463,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     actualCommandExecutor = new CommandExecutorImpl();
   }
 
+  protected void initCommandMetrics() {
+    if (isCommandMetricsEnabled && commandMetricsRegistry == null) {
+      commandMetricsRegistry = new CommandMetricsRegistry();
+    }
+  }
+
   protected void initCommandInterceptorsTxRequired() {
     if (commandInterceptorsTxRequired == null) {
       if (customPreCommandInterceptorsTxRequired != null) {
@@ -1260,6 +1476,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequired = new ArrayList<>();
       }
+      if (isCommandMetricsEnabled) {
+        commandInterceptorsTxRequired.add(0, new CommandMetricsInterceptor(this));
+      }
       commandInterceptorsTxRequired.addAll(getDefaultCommandInterceptorsTxRequired());
       if (customPostCommandInterceptorsTxRequired != null) {
         commandInterceptorsTxRequired.addAll(customPostCommandInterceptorsTxRequired);
@@ -1275,6 +1494,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequiresNew = new ArrayList<>();
       }
+      if (isCommandMetricsEnabled) {
+        commandInterceptorsTxRequiresNew.add(0, new CommandMetricsInterceptor(this));
+      }
       commandInterceptorsTxRequiresNew.addAll(getDefaultCommandInterceptorsTxRequiresNew());
       if (customPostCommandInterceptorsTxRequiresNew != null) {
         commandInterceptorsTxRequiresNew.addAll(customPostCommandInterceptorsTxRequiresNew);
@@ -1391,11 +1613,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (databaseType == null) {
       initDatabaseType();
     }
+
+    if (databaseSkipLockedSupported == null) {
+      initDatabaseSkipLockedSupported();
+    }
   }
 
   protected static Properties databaseTypeMappings = getDefaultDatabaseTypeMappings();
   protected static final String MY_SQL_PRODUCT_NAME = "MySQL";
   protected static final String MARIA_DB_PRODUCT_NAME = "MariaDB";
+  protected static final Pattern DATABASE_VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d+)(?:\\.(\\d+))?");
 
   protected static Properties getDefaultDatabaseTypeMappings() {
     Properties databaseTypeMappings = new Properties();
@@ -1484,6 +1711,78 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return databaseName;
   }
 
+  protected void initDatabaseSkipLockedSupported() {
+    databaseSkipLockedSupported = false;
+
+    if (!Arrays.asList(DbSqlSessionFactory.SKIP_LOCKED_SUPPORTING_DATABASES).contains(databaseType)) {
+      return;
+    }
+
+    if (!DbSqlSessionFactory.MYSQL.equals(databaseType) && !DbSqlSessionFactory.MARIADB.equals(databaseType)) {
+      databaseSkipLockedSupported = true;
+      return;
+    }
+
+    Connection connection = null;
+    try {
+      connection = dataSource.getConnection();
+      String databaseProductVersion = connection.getMetaData().getDatabaseProductVersion();
+
+      if (DbSqlSessionFactory.MYSQL.equals(databaseType)) {
+        databaseSkipLockedSupported = isVersionAtLeast(databaseProductVersion, 8, 0, 1);
+      }
+      else {
+        databaseSkipLockedSupported = isVersionAtLeast(databaseProductVersion, 10, 6, 0);
+      }
+      LOG.debugDatabaseSkipLockedSupported(databaseProductVersion, databaseSkipLockedSupported);
+
+    } catch (SQLException e) {
+      LOG.databaseConnectionAccessException(e);
+    } finally {
+      try {
+        if (connection != null) {
+          connection.close();
+        }
+      } catch (SQLException e) {
+        LOG.databaseConnectionCloseException(e);
+      }
+    }
+  }
+
+  /**
+   * Compares the leading <code>major.minor.patch</code> numbers of a database product version
+   * like <code>8.0.23-log</code> or <code>10.6.4-MariaDB</code>. MariaDB servers accessed through
+   * the MySQL driver report a <code>5.5.5-</code> prefix, which is skipped.
+   */
+  protected boolean isVersionAtLeast(String databaseProductVersion, int major, int minor, int patch) {
+    if (databaseProductVersion == null) {
+      return false;
+    }
+
+    String version = databaseProductVersion;
+    if (version.startsWith("5.5.5-")) {
+      version = version.substring("5.5.5-".length());
+    }
+
+    Matcher matcher = DATABASE_VERSION_PATTERN.matcher(version);
+    if (!matcher.find()) {
+      return false;
+    }
+
+    int[] actual = {
+        Integer.parseInt(matcher.group(1)),
+        Integer.parseInt(matcher.group(2)),
+        matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0 };
+    int[] required = { major, minor, patch };
+
+    for (int i = 0; i < actual.length; i++) {
+      if (actual[i] != required[i]) {
+        return actual[i] > required[i];
+      }
+    }
+    return true;
+  }
+
   // myBatis SqlSessionFactory ////////////////////////////////////////////////
 
   protected void initTransactionFactory() {
@@ -1636,6 +1935,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(HistoricIncidentManager.class));
       addSessionFactory(new GenericManagerFactory(HistoricIdentityLinkLogManager.class));
       addSessionFactory(new GenericManagerFactory(HistoricJobLogManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryEventBuffer.class));
       addSessionFactory(new GenericManagerFactory(HistoricExternalTaskLogManager.class));
       addSessionFactory(new GenericManagerFactory(IdentityInfoManager.class));
       addSessionFactory(new GenericManagerFactory(IdentityLinkManager.class));
@@ -1691,6 +1991,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected void initPersistenceProviders() {
     ensurePrefixAndSchemaFitToegether(databaseTablePrefix, databaseSchema);
     dbSqlSessionFactory = new DbSqlSessionFactory(jdbcBatchProcessing);
+    dbSqlSessionFactory.setJdbcBatchMultiRowInserts(jdbcBatchMultiRowInserts);
     dbSqlSessionFactory.setDatabaseType(databaseType);
     dbSqlSessionFactory.setIdGenerator(idGenerator);
     dbSqlSessionFactory.setSqlSessionFactory(sqlSessionFactory);
@@ -1700,6 +2001,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
 
+    if (isSqlStatementMetricsEnabled && sqlStatementMetricsRegistry == null) {
+      sqlStatementMetricsRegistry = new SqlStatementMetricsRegistry(sqlStatementMetricsSampleRate);
+    }
+    dbSqlSessionFactory.setSqlStatementMetricsRegistry(sqlStatementMetricsRegistry);
+
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
     if (databaseTablePrefix != null && databaseSchema == null && databaseTablePrefix.contains(".")) {
       databaseSchema = databaseTablePrefix.split("\\.")[0];
@@ -2019,6 +2325,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     jobExecutor.setAutoActivate(jobExecutorActivate);
 
+    if (jobExecutorAcquireWithSkipLocked && jobExecutor.getAcquireJobsCmdFactory() == null) {
+      jobExecutor.setAcquireJobsCmdFactory(new SkipLockedAcquireJobsCommandFactory(jobExecutor));
+    }
+
     if (jobExecutor.getRejectedJobsHandler() == null) {
       if (customRejectedJobsHandler != null) {
         jobExecutor.setRejectedJobsHandler(customRejectedJobsHandler);
@@ -2100,7 +2410,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idBlockPrefetch) {
+        PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingDbIdGenerator.setMaxIdBlockSize(maxIdBlockSize);
+        dbIdGenerator = prefetchingDbIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2149,6 +2466,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       if (dbMetricsReporter == null) {
         dbMetricsReporter = new DbMetricsReporter(metricsRegistry, commandExecutorTxRequired);
       }
+
+      if (isDimensionalMetricsEnabled && dimensionalMetricsRegistry == null) {
+        dimensionalMetricsRegistry = new DimensionalMetricsRegistry();
+      }
     }
   }
 
@@ -2171,7 +2492,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
     metricsRegistry.createMeter(Metrics.JOB_FAILED);
     metricsRegistry.createMeter(Metrics.JOB_LOCKED_EXCLUSIVE);
+    metricsRegistry.createMeter(Metrics.JOB_HANDED_OFF);
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
+    metricsRegistry.createMeter(Metrics.JOB_ACQUISITION_THROTTLED);
+
+    metricsRegistry.createMeter(Metrics.HISTORY_EVENT_WRITTEN);
+    metricsRegistry.createMeter(Metrics.HISTORY_EVENT_WRITE_LAG);
 
     metricsRegistry.createMeter(Metrics.ROOT_PROCESS_INSTANCE_START);
 
@@ -2452,7 +2778,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      if (enableDefaultDbHistoryEventHandler) {
+      if (enableDefaultDbHistoryEventHandler && historyEventAsyncWrite) {
+        initHistoryEventWriter();
+        CompositeHistoryEventHandler compositeHistoryEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHistoryEventHandler.add(new AsyncDbHistoryEventHandler(historyEventWriter));
+        historyEventHandler = compositeHistoryEventHandler;
+      } else if (enableDefaultDbHistoryEventHandler) {
         historyEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
       } else {
         historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
@@ -2460,6 +2791,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected boolean isHistoryEventAsyncWriteEnabled() {
+    return enableDefaultDbHistoryEventHandler && historyEventAsyncWrite;
+  }
+
+  protected void initHistoryEventWriter() {
+    if (historyEventWriter == null) {
+      HistoryEventSpillFile spillFile = null;
+      if (historyEventSpillFile != null) {
+        spillFile = new HistoryEventSpillFile(historyEventSpillFile, historyEventSpillFileSize);
+      }
+      historyEventWriter = new HistoryEventWriter(this, historyEventWriterQueueSize, historyEventWriterBatchSize, spillFile);
+    }
+  }
+
   // password digest //////////////////////////////////////////////////////////
 
   protected void initPasswordDigest() {
@@ -2773,6 +3118,69 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJobExecutorAcquireWithSkipLocked() {
+    return jobExecutorAcquireWithSkipLocked;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquireWithSkipLocked(boolean jobExecutorAcquireWithSkipLocked) {
+    this.jobExecutorAcquireWithSkipLocked = jobExecutorAcquireWithSkipLocked;
+    return this;
+  }
+
+  public boolean isJobExecutorHandOffJobs() {
+    return jobExecutorHandOffJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorHandOffJobs(boolean jobExecutorHandOffJobs) {
+    this.jobExecutorHandOffJobs = jobExecutorHandOffJobs;
+    return this;
+  }
+
+  public boolean isJobExecutorFairAcquisition() {
+    return jobExecutorFairAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorFairAcquisition(boolean jobExecutorFairAcquisition) {
+    this.jobExecutorFairAcquisition = jobExecutorFairAcquisition;
+    return this;
+  }
+
+  public Map<String, Integer> getJobExecutorFairAcquisitionWeights() {
+    return jobExecutorFairAcquisitionWeights;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorFairAcquisitionWeights(Map<String, Integer> jobExecutorFairAcquisitionWeights) {
+    this.jobExecutorFairAcquisitionWeights = jobExecutorFairAcquisitionWeights;
+    return this;
+  }
+
+  public int getJobExecutorAcquisitionCandidateFactor() {
+    return jobExecutorAcquisitionCandidateFactor;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquisitionCandidateFactor(int jobExecutorAcquisitionCandidateFactor) {
+    this.jobExecutorAcquisitionCandidateFactor = jobExecutorAcquisitionCandidateFactor;
+    return this;
+  }
+
+  public int getJobExecutorMaxLockedJobsPerJobDefinition() {
+    return jobExecutorMaxLockedJobsPerJobDefinition;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorMaxLockedJobsPerJobDefinition(int jobExecutorMaxLockedJobsPerJobDefinition) {
+    this.jobExecutorMaxLockedJobsPerJobDefinition = jobExecutorMaxLockedJobsPerJobDefinition;
+    return this;
+  }
+
+  public Map<String, Integer> getJobExecutorMaxLockedJobsPerHandlerType() {
+    return jobExecutorMaxLockedJobsPerHandlerType;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorMaxLockedJobsPerHandlerType(Map<String, Integer> jobExecutorMaxLockedJobsPerHandlerType) {
+    this.jobExecutorMaxLockedJobsPerHandlerType = jobExecutorMaxLockedJobsPerHandlerType;
+    return this;
+  }
+
   public PriorityProvider<JobDeclaration<?, ?>> getJobPriorityProvider() {
     return jobPriorityProvider;
   }
@@ -2789,6 +3197,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public boolean isDatabaseSkipLockedSupported() {
+    return Boolean.TRUE.equals(databaseSkipLockedSupported);
+  }
+
+  /**
+   * Overrides the detection of <code>SKIP LOCKED</code> support from the database version.
+   */
+  public ProcessEngineConfigurationImpl setDatabaseSkipLockedSupported(boolean databaseSkipLockedSupported) {
+    this.databaseSkipLockedSupported = databaseSkipLockedSupported;
+    return this;
+  }
+
+  public boolean isExternalTaskFetchWithSkipLocked() {
+    return externalTaskFetchWithSkipLocked;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchWithSkipLocked(boolean externalTaskFetchWithSkipLocked) {
+    this.externalTaskFetchWithSkipLocked = externalTaskFetchWithSkipLocked;
+    return this;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -2943,6 +3372,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return enableHistoricInstancePermissions;
   }
 
+  public boolean isCompactDecisionHistoryEnabled() {
+    return isCompactDecisionHistoryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setCompactDecisionHistoryEnabled(boolean isCompactDecisionHistoryEnabled) {
+    this.isCompactDecisionHistoryEnabled = isCompactDecisionHistoryEnabled;
+    return this;
+  }
+
   public Map<String, JobHandler> getJobHandlers() {
     return jobHandlers;
   }
@@ -3425,6 +3863,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdBlockPrefetch() {
+    return idBlockPrefetch;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetch(boolean idBlockPrefetch) {
+    this.idBlockPrefetch = idBlockPrefetch;
+    return this;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3682,6 +4138,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public String getExecutionTreePrefetchProfile() {
+    return executionTreePrefetchProfile;
+  }
+
+  public ProcessEngineConfigurationImpl setExecutionTreePrefetchProfile(String executionTreePrefetchProfile) {
+    if (!EXECUTION_TREE_PREFETCH_PROFILE_EXECUTIONS.equals(executionTreePrefetchProfile)
+        && !EXECUTION_TREE_PREFETCH_PROFILE_FULL.equals(executionTreePrefetchProfile)) {
+      throw LOG.invalidPropertyValue("executionTreePrefetchProfile", String.valueOf(executionTreePrefetchProfile),
+          "execution tree prefetch profile must be either '" + EXECUTION_TREE_PREFETCH_PROFILE_EXECUTIONS
+          + "' or '" + EXECUTION_TREE_PREFETCH_PROFILE_FULL + "'");
+    }
+    this.executionTreePrefetchProfile = executionTreePrefetchProfile;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3864,6 +4335,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isSecondLevelEntityCacheEnabled() {
+    return secondLevelEntityCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCacheEnabled(boolean secondLevelEntityCacheEnabled) {
+    this.secondLevelEntityCacheEnabled = secondLevelEntityCacheEnabled;
+    return this;
+  }
+
+  public Set<Class<? extends DbEntity>> getSecondLevelEntityCacheTypes() {
+    return secondLevelEntityCacheTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCacheTypes(Set<Class<? extends DbEntity>> secondLevelEntityCacheTypes) {
+    this.secondLevelEntityCacheTypes = secondLevelEntityCacheTypes;
+    return this;
+  }
+
+  public int getSecondLevelEntityCacheCapacity() {
+    return secondLevelEntityCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCacheCapacity(int secondLevelEntityCacheCapacity) {
+    this.secondLevelEntityCacheCapacity = secondLevelEntityCacheCapacity;
+    return this;
+  }
+
+  public long getSecondLevelEntityCacheTimeToLive() {
+    return secondLevelEntityCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCacheTimeToLive(long secondLevelEntityCacheTimeToLive) {
+    this.secondLevelEntityCacheTimeToLive = secondLevelEntityCacheTimeToLive;
+    return this;
+  }
+
+  public SecondLevelEntityCache getSecondLevelEntityCache() {
+    return secondLevelEntityCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelEntityCache(SecondLevelEntityCache secondLevelEntityCache) {
+    this.secondLevelEntityCache = secondLevelEntityCache;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setCustomHistoryLevels(List<HistoryLevel> customHistoryLevels) {
     this.customHistoryLevels = customHistoryLevels;
     return this;
@@ -3893,6 +4409,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       // ACT-233: connection pool of Ibatis is not properely initialized if this is not called!
       ((PooledDataSource) dataSource).forceCloseAll();
     }
+
+    if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).close();
+    }
   }
 
   public MetricsRegistry getMetricsRegistry() {
@@ -3913,6 +4433,78 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isMetricsEnabled;
   }
 
+  public DimensionalMetricsRegistry getDimensionalMetricsRegistry() {
+    return dimensionalMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setDimensionalMetricsRegistry(DimensionalMetricsRegistry dimensionalMetricsRegistry) {
+    this.dimensionalMetricsRegistry = dimensionalMetricsRegistry;
+    return this;
+  }
+
+  public boolean isDimensionalMetricsEnabled() {
+    return isDimensionalMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDimensionalMetricsEnabled(boolean isDimensionalMetricsEnabled) {
+    this.isDimensionalMetricsEnabled = isDimensionalMetricsEnabled;
+    return this;
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+    return this;
+  }
+
+  public boolean isCommandMetricsEnabled() {
+    return isCommandMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsEnabled(boolean isCommandMetricsEnabled) {
+    this.isCommandMetricsEnabled = isCommandMetricsEnabled;
+    return this;
+  }
+
+  public long getSlowCommandThreshold() {
+    return slowCommandThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setSlowCommandThreshold(long slowCommandThreshold) {
+    this.slowCommandThreshold = slowCommandThreshold;
+    return this;
+  }
+
+  public SqlStatementMetricsRegistry getSqlStatementMetricsRegistry() {
+    return sqlStatementMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementMetricsRegistry(SqlStatementMetricsRegistry sqlStatementMetricsRegistry) {
+    this.sqlStatementMetricsRegistry = sqlStatementMetricsRegistry;
+    return this;
+  }
+
+  public boolean isSqlStatementMetricsEnabled() {
+    return isSqlStatementMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementMetricsEnabled(boolean isSqlStatementMetricsEnabled) {
+    this.isSqlStatementMetricsEnabled = isSqlStatementMetricsEnabled;
+    return this;
+  }
+
+  public int getSqlStatementMetricsSampleRate() {
+    return sqlStatementMetricsSampleRate;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementMetricsSampleRate(int sqlStatementMetricsSampleRate) {
+    this.sqlStatementMetricsSampleRate = sqlStatementMetricsSampleRate;
+    return this;
+  }
+
   public DbMetricsReporter getDbMetricsReporter() {
     return dbMetricsReporter;
   }
@@ -4196,6 +4788,69 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isUseSharedSqlSessionFactory;
   }
 
+  public boolean isJdbcBatchMultiRowInserts() {
+    return jdbcBatchMultiRowInserts;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchMultiRowInserts(boolean jdbcBatchMultiRowInserts) {
+    this.jdbcBatchMultiRowInserts = jdbcBatchMultiRowInserts;
+    return this;
+  }
+
+  public boolean isHistoryEventAsyncWrite() {
+    return historyEventAsyncWrite;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventAsyncWrite(boolean historyEventAsyncWrite) {
+    this.historyEventAsyncWrite = historyEventAsyncWrite;
+    return this;
+  }
+
+  public int getHistoryEventWriterQueueSize() {
+    return historyEventWriterQueueSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventWriterQueueSize(int historyEventWriterQueueSize) {
+    this.historyEventWriterQueueSize = historyEventWriterQueueSize;
+    return this;
+  }
+
+  public int getHistoryEventWriterBatchSize() {
+    return historyEventWriterBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventWriterBatchSize(int historyEventWriterBatchSize) {
+    this.historyEventWriterBatchSize = historyEventWriterBatchSize;
+    return this;
+  }
+
+  public String getHistoryEventSpillFile() {
+    return historyEventSpillFile;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventSpillFile(String historyEventSpillFile) {
+    this.historyEventSpillFile = historyEventSpillFile;
+    return this;
+  }
+
+  public int getHistoryEventSpillFileSize() {
+    return historyEventSpillFileSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventSpillFileSize(int historyEventSpillFileSize) {
+    this.historyEventSpillFileSize = historyEventSpillFileSize;
+    return this;
+  }
+
+  public HistoryEventWriter getHistoryEventWriter() {
+    return historyEventWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventWriter(HistoryEventWriter historyEventWriter) {
+    this.historyEventWriter = historyEventWriter;
+    return this;
+  }
+
   public boolean getDisableStrictCallActivityValidation() {
     return disableStrictCallActivityValidation;
   }
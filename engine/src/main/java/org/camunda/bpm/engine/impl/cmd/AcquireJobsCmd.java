@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
@@ -24,9 +25,12 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.FairJobSelector;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 import java.util.*;
 
@@ -55,9 +59,11 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
-    List<AcquirableJobEntity> jobs = commandContext
-      .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    List<AcquirableJobEntity> jobs = findNextJobsToExecute(commandContext);
+
+    if (isSelectionRequired(commandContext)) {
+      jobs = selectJobs(commandContext, jobs);
+    }
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
@@ -92,6 +98,67 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  protected List<AcquirableJobEntity> findNextJobsToExecute(CommandContext commandContext) {
+    return commandContext
+      .getJobManager()
+      .findNextJobsToExecute(new Page(0, getNumJobsToSelect(commandContext)));
+  }
+
+  /**
+   * @return the number of candidates to select, more than the number of jobs to acquire
+   * if jobs are skipped by the fair acquisition or the concurrency limits
+   */
+  protected int getNumJobsToSelect(CommandContext commandContext) {
+    if (isSelectionRequired(commandContext)) {
+      int candidateFactor = commandContext.getProcessEngineConfiguration().getJobExecutorAcquisitionCandidateFactor();
+      return numJobsToAcquire * Math.max(candidateFactor, 1);
+    }
+    return numJobsToAcquire;
+  }
+
+  protected boolean isSelectionRequired(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    if (configuration == null) {
+      return false;
+    }
+    return configuration.isJobExecutorFairAcquisition()
+        || configuration.getJobExecutorMaxLockedJobsPerJobDefinition() > 0
+        || !isEmpty(configuration.getJobExecutorMaxLockedJobsPerHandlerType());
+  }
+
+  protected List<AcquirableJobEntity> selectJobs(CommandContext commandContext, List<AcquirableJobEntity> candidates) {
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    JobManager jobManager = commandContext.getJobManager();
+
+    Map<String, Long> lockedJobsPerJobDefinition = null;
+    if (configuration.getJobExecutorMaxLockedJobsPerJobDefinition() > 0) {
+      lockedJobsPerJobDefinition = jobManager.findLockedJobCountsByJobDefinition();
+    }
+
+    Map<String, Long> lockedJobsPerHandlerType = null;
+    if (!isEmpty(configuration.getJobExecutorMaxLockedJobsPerHandlerType())) {
+      lockedJobsPerHandlerType = jobManager.findLockedJobCountsByHandlerType();
+    }
+
+    FairJobSelector selector = new FairJobSelector(configuration.isJobExecutorFairAcquisition(),
+        configuration.getJobExecutorFairAcquisitionWeights(),
+        configuration.getJobExecutorMaxLockedJobsPerJobDefinition(), lockedJobsPerJobDefinition,
+        configuration.getJobExecutorMaxLockedJobsPerHandlerType(), lockedJobsPerHandlerType);
+
+    List<AcquirableJobEntity> selectedJobs = selector.selectJobs(candidates, numJobsToAcquire);
+
+    if (selector.getNumThrottledJobs() > 0 && configuration.isMetricsEnabled()) {
+      configuration.getMetricsRegistry()
+        .markOccurrence(Metrics.JOB_ACQUISITION_THROTTLED, selector.getNumThrottledJobs());
+    }
+
+    return selectedJobs;
+  }
+
+  protected boolean isEmpty(Map<?, ?> map) {
+    return map == null || map.isEmpty();
+  }
+
   protected void lockJob(AcquirableJobEntity job) {
     String lockOwner = jobExecutor.getLockOwner();
     job.setLockOwner(lockOwner);
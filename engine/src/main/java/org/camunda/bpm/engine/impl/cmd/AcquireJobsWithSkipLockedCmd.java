@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+
+/**
+ * Acquires jobs by selecting them with <code>FOR UPDATE SKIP LOCKED</code>. The selected
+ * rows are locked by the acquiring transaction right away and concurrent acquisitions
+ * skip them, so competing job executors do not select (and then fail to lock) the
+ * same jobs.
+ *
+ * <p>On databases without support for skipping locked rows, the jobs are acquired
+ * in the same way as by {@link AcquireJobsCmd}.
+ */
+public class AcquireJobsWithSkipLockedCmd extends AcquireJobsCmd {
+
+  public AcquireJobsWithSkipLockedCmd(JobExecutor jobExecutor) {
+    super(jobExecutor);
+  }
+
+  public AcquireJobsWithSkipLockedCmd(JobExecutor jobExecutor, int numJobsToAcquire) {
+    super(jobExecutor, numJobsToAcquire);
+  }
+
+  @Override
+  protected List<AcquirableJobEntity> findNextJobsToExecute(CommandContext commandContext) {
+    return commandContext
+      .getJobManager()
+      .findNextJobsToExecuteSkipLocked(new Page(0, getNumJobsToSelect(commandContext)));
+  }
+
+}
@@ -302,4 +302,14 @@ public class CommandLogger extends ProcessEngineLogger {
       "Propagation of escalation {} failed. ",
       escalationCode), cause);
   }
+
+  public void slowCommand(String commandName, long executionMillis, long sqlStatementCount, String bpmnStackTrace) {
+    logWarn(
+        "045",
+        "Command '{}' took {} ms and executed {} SQL statements{}",
+        commandName,
+        executionMillis,
+        sqlStatementCount,
+        bpmnStackTrace != null ? ":\n" + bpmnStackTrace : "");
+  }
 }
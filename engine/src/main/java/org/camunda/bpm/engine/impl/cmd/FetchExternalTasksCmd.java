@@ -69,19 +69,15 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
       .getExternalTaskManager()
       .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
 
-    final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
-
     for (ExternalTaskEntity entity : externalTasks) {
 
       TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
       entity.lock(workerId, fetchInstruction.getLockDuration());
-
-      LockedExternalTaskImpl resultTask = LockedExternalTaskImpl.fromEntity(entity,
-          fetchInstruction.getVariablesToFetch(), fetchInstruction.isLocalVariables() , fetchInstruction.isDeserializeVariables());
-
-      result.add(resultTask);
     }
 
+    // the variables of all tasks are selected at once
+    final List<LockedExternalTask> result = LockedExternalTaskImpl.fromEntities(externalTasks, fetchInstructions);
+
     filterOnOptimisticLockingFailure(commandContext, result);
 
     return result;
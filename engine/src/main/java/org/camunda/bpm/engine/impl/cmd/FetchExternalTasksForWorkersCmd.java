@@ -0,0 +1,176 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.externaltask.LockedExternalTaskImpl;
+import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.util.EnsureUtil;
+
+/**
+ * Fetches and locks external tasks for multiple workers with the same fetch instructions.
+ * The tasks are selected with a single query and distributed round robin across the
+ * workers, each task is locked for the worker it is assigned to.
+ */
+public class FetchExternalTasksForWorkersCmd implements Command<Map<String, List<LockedExternalTask>>> {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected Map<String, Integer> maxResultsPerWorker;
+  protected boolean usePriority;
+  protected Map<String, TopicFetchInstruction> fetchInstructions;
+
+  /**
+   * @param maxResultsPerWorker the maximum number of tasks to lock per worker id,
+   * the tasks are distributed in the iteration order of the map
+   */
+  public FetchExternalTasksForWorkersCmd(Map<String, Integer> maxResultsPerWorker, Map<String, TopicFetchInstruction> instructions, boolean usePriority) {
+    this.maxResultsPerWorker = maxResultsPerWorker;
+    this.fetchInstructions = instructions;
+    this.usePriority = usePriority;
+  }
+
+  @Override
+  public Map<String, List<LockedExternalTask>> execute(CommandContext commandContext) {
+    validateInput();
+
+    for (TopicFetchInstruction instruction : fetchInstructions.values()) {
+      instruction.ensureVariablesInitialized();
+    }
+
+    int maxResults = 0;
+    Map<String, List<LockedExternalTask>> result = new LinkedHashMap<String, List<LockedExternalTask>>();
+    for (Entry<String, Integer> worker : maxResultsPerWorker.entrySet()) {
+      maxResults += worker.getValue();
+      result.put(worker.getKey(), new ArrayList<LockedExternalTask>());
+    }
+
+    List<ExternalTaskEntity> externalTasks = commandContext
+      .getExternalTaskManager()
+      .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
+
+    Map<String, List<ExternalTaskEntity>> lockedTasksPerWorker = new LinkedHashMap<String, List<ExternalTaskEntity>>();
+    for (String workerId : maxResultsPerWorker.keySet()) {
+      lockedTasksPerWorker.put(workerId, new ArrayList<ExternalTaskEntity>());
+    }
+
+    List<ExternalTaskEntity> lockedTasks = new ArrayList<ExternalTaskEntity>();
+    Iterator<ExternalTaskEntity> taskIterator = externalTasks.iterator();
+    while (taskIterator.hasNext()) {
+      boolean taskAssigned = false;
+
+      // one task per worker and round, so that the tasks are spread across the workers
+      for (Entry<String, List<ExternalTaskEntity>> worker : lockedTasksPerWorker.entrySet()) {
+        if (!taskIterator.hasNext()) {
+          break;
+        }
+
+        List<ExternalTaskEntity> workerTasks = worker.getValue();
+        if (workerTasks.size() < maxResultsPerWorker.get(worker.getKey())) {
+          ExternalTaskEntity task = taskIterator.next();
+          lock(task, worker.getKey());
+          workerTasks.add(task);
+          lockedTasks.add(task);
+          taskAssigned = true;
+        }
+      }
+
+      if (!taskAssigned) {
+        break;
+      }
+    }
+
+    // the variables of all tasks are selected at once
+    Map<String, LockedExternalTask> lockedTasksById = new HashMap<String, LockedExternalTask>();
+    for (LockedExternalTask lockedTask : LockedExternalTaskImpl.fromEntities(lockedTasks, fetchInstructions)) {
+      lockedTasksById.put(lockedTask.getId(), lockedTask);
+    }
+
+    for (Entry<String, List<ExternalTaskEntity>> worker : lockedTasksPerWorker.entrySet()) {
+      List<LockedExternalTask> workerTasks = result.get(worker.getKey());
+      for (ExternalTaskEntity task : worker.getValue()) {
+        workerTasks.add(lockedTasksById.get(task.getId()));
+      }
+    }
+
+    filterOnOptimisticLockingFailure(commandContext, result);
+
+    return result;
+  }
+
+  protected void lock(ExternalTaskEntity entity, String workerId) {
+    TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
+    entity.lock(workerId, fetchInstruction.getLockDuration());
+  }
+
+  protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final Map<String, List<LockedExternalTask>> tasksPerWorker) {
+    commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
+
+      public Class<? extends DbEntity> getEntityType() {
+        return ExternalTaskEntity.class;
+      }
+
+      public void failedOperation(DbOperation operation) {
+        if (operation instanceof DbEntityOperation) {
+          DbEntity dbEntity = ((DbEntityOperation) operation).getEntity();
+
+          for (List<LockedExternalTask> tasks : tasksPerWorker.values()) {
+            Iterator<LockedExternalTask> it = tasks.iterator();
+            while (it.hasNext()) {
+              if (it.next().getId().equals(dbEntity.getId())) {
+                it.remove();
+                return;
+              }
+            }
+          }
+
+          throw LOG.concurrentUpdateDbEntityException(operation);
+        }
+      }
+    });
+  }
+
+  protected void validateInput() {
+    EnsureUtil.ensureNotEmpty("maxResultsPerWorker", maxResultsPerWorker);
+    for (Entry<String, Integer> worker : maxResultsPerWorker.entrySet()) {
+      EnsureUtil.ensureNotNull("workerId", worker.getKey());
+      EnsureUtil.ensureGreaterThanOrEqual("maxResults", worker.getValue(), 0);
+    }
+
+    for (TopicFetchInstruction instruction : fetchInstructions.values()) {
+      EnsureUtil.ensureNotNull("topicName", instruction.getTopicName());
+      EnsureUtil.ensurePositive("lockTime", instruction.getLockDuration());
+    }
+  }
+}
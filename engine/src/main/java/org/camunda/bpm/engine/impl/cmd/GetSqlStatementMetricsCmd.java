@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
+import org.camunda.bpm.engine.management.SqlStatementMetrics;
+
+public class GetSqlStatementMetricsCmd implements Command<List<SqlStatementMetrics>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected int maxResults;
+
+  public GetSqlStatementMetricsCmd(int maxResults) {
+    this.maxResults = maxResults;
+  }
+
+  public List<SqlStatementMetrics> execute(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().checkCamundaAdmin();
+
+    SqlStatementMetricsRegistry sqlStatementMetricsRegistry = commandContext.getProcessEngineConfiguration().getSqlStatementMetricsRegistry();
+    if (sqlStatementMetricsRegistry == null) {
+      throw new ProcessEngineException("SQL statement metrics are disabled");
+    }
+
+    return sqlStatementMetricsRegistry.getTopStatementMetrics(maxResults);
+  }
+
+}
@@ -42,6 +42,19 @@ public abstract class HandleExternalTaskCmd extends ExternalTaskCmd {
 
   @Override
   public Void execute(CommandContext commandContext) {
+    ExternalTaskEntity externalTask = findAndValidateExternalTask(commandContext);
+
+    execute(externalTask);
+
+    return null;
+  }
+
+  /**
+   * Validates the input, the worker and the authorization without modifying the external task.
+   *
+   * @return the external task to execute the command on
+   */
+  protected ExternalTaskEntity findAndValidateExternalTask(CommandContext commandContext) {
     validateInput();    
 
     ExternalTaskEntity externalTask = commandContext.getExternalTaskManager().findExternalTaskById(externalTaskId);
@@ -55,10 +68,12 @@ public abstract class HandleExternalTaskCmd extends ExternalTaskCmd {
     for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
       checker.checkUpdateProcessInstanceById(externalTask.getProcessInstanceId());
     }
-    
-    execute(externalTask);
-    
-    return null;
+
+    return externalTask;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
   }
   
   /**
@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskOperationResultImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+
+/**
+ * Executes multiple {@link HandleExternalTaskCmd}s in one command. An operation which fails
+ * its validation, e.g. because the external task does not exist or is locked by another worker,
+ * is reported as failed without affecting the other operations. Any other exception fails the
+ * whole command.
+ */
+public class HandleExternalTasksBulkCmd implements Command<List<ExternalTaskOperationResult>> {
+
+  protected List<HandleExternalTaskCmd> operations;
+
+  /**
+   * The process instance ids of the validated operations, kept if the command fails
+   * so that the operations can be executed again per process instance.
+   */
+  protected Map<HandleExternalTaskCmd, String> processInstanceIds = new HashMap<HandleExternalTaskCmd, String>();
+
+  public HandleExternalTasksBulkCmd(List<HandleExternalTaskCmd> operations) {
+    this.operations = operations;
+  }
+
+  @Override
+  public List<ExternalTaskOperationResult> execute(CommandContext commandContext) {
+    List<ExternalTaskOperationResult> results = new ArrayList<ExternalTaskOperationResult>();
+
+    for (HandleExternalTaskCmd operation : operations) {
+      ExternalTaskEntity externalTask;
+      try {
+        externalTask = operation.findAndValidateExternalTask(commandContext);
+      }
+      catch (ProcessEngineException e) {
+        // nothing was modified yet
+        results.add(ExternalTaskOperationResultImpl.failed(operation.getExternalTaskId(), e));
+        continue;
+      }
+
+      processInstanceIds.put(operation, externalTask.getProcessInstanceId());
+      operation.execute(externalTask);
+      results.add(ExternalTaskOperationResultImpl.successful(operation.getExternalTaskId()));
+    }
+
+    return results;
+  }
+
+  /**
+   * @return the id of the process instance of the operation's external task or null
+   * if the operation was not validated
+   */
+  public String getProcessInstanceId(HandleExternalTaskCmd operation) {
+    return processInstanceIds.get(operation);
+  }
+
+  public List<HandleExternalTaskCmd> getOperations() {
+    return operations;
+  }
+
+}
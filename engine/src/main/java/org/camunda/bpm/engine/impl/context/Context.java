@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.core.instance.CoreExecution;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandInvocationContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandInvocationMetrics;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 
@@ -47,6 +48,7 @@ public class Context {
   protected static ThreadLocal<Deque<ProcessEngineConfigurationImpl>> processEngineConfigurationStackThreadLocal = new ThreadLocal<Deque<ProcessEngineConfigurationImpl>>();
   protected static ThreadLocal<Deque<CoreExecutionContext<? extends CoreExecution>>> executionContextStackThreadLocal = new ThreadLocal<Deque<CoreExecutionContext<? extends CoreExecution>>>();
   protected static ThreadLocal<JobExecutorContext> jobExecutorContextThreadLocal = new ThreadLocal<JobExecutorContext>();
+  protected static ThreadLocal<CommandInvocationMetrics> commandInvocationMetricsThreadLocal = new ThreadLocal<CommandInvocationMetrics>();
   protected static ThreadLocal<Deque<ProcessApplicationReference>> processApplicationContext = new ThreadLocal<Deque<ProcessApplicationReference>>();
 
   public static CommandContext getCommandContext() {
@@ -165,6 +167,18 @@ public class Context {
     jobExecutorContextThreadLocal.remove();
   }
 
+  public static CommandInvocationMetrics getCommandInvocationMetrics() {
+    return commandInvocationMetricsThreadLocal.get();
+  }
+
+  public static void setCommandInvocationMetrics(CommandInvocationMetrics commandInvocationMetrics) {
+    commandInvocationMetricsThreadLocal.set(commandInvocationMetrics);
+  }
+
+  public static void removeCommandInvocationMetrics() {
+    commandInvocationMetricsThreadLocal.remove();
+  }
+
 
   public static ProcessApplicationReference getCurrentProcessApplication() {
     Deque<ProcessApplicationReference> stack = getStack(processApplicationContext);
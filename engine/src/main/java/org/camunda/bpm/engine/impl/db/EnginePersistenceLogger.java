@@ -739,4 +739,91 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     ));
   }
 
+
+  public void historyEventSpillFileFull(String spillFile) {
+    logWarn(
+        "091",
+        "History event spill file '{}' is full. Committing transactions wait until history events "
+        + "are written to the database.", spillFile);
+  }
+
+  public ProcessEngineException historyEventSpillException(String spillFile, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "092",
+        "Could not write history events to spill file '{}'. The transaction is rolled back: {}",
+        spillFile, cause.getMessage()), cause);
+  }
+
+  public void historyEventsRecovered(int numberOfEvents, String spillFile) {
+    logInfo(
+        "093",
+        "Recovered {} unwritten history events from spill file '{}'", numberOfEvents, spillFile);
+  }
+
+  public void historyEventsWriteFailed(int numberOfEvents, Exception cause) {
+    logError(
+        "094",
+        "Could not write {} history events to the database. The events are discarded: {}",
+        numberOfEvents, cause.getMessage(), cause);
+  }
+
+  public ProcessEngineException historyEventSpillFileException(String spillFile, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "095",
+        "Could not access history event spill file '{}'", spillFile), cause);
+  }
+
+  public void idBlockPrefetchFailed(Exception e) {
+    logWarn(
+        "096",
+        "Could not prefetch block of ids, the next block is fetched when the current one is exhausted: {}", e.getMessage(), e);
+  }
+
+  public void secondLevelCacheSnapshotFailed(Class<?> entityType, String id, Exception e) {
+    logDebug(
+        "097",
+        "Could not create or read snapshot of entity '{}' with id '{}' in second level cache: {}", entityType.getName(), id, e.getMessage());
+  }
+
+  public ProcessEngineException writeHistoricDecisionValuesException(Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "098",
+        "Could not write inputs and outputs of historic decision instance in compact format: {}", cause.getMessage()), cause);
+  }
+
+  public ProcessEngineException readHistoricDecisionValuesException(String decisionInstanceId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "099",
+        "Could not read inputs and outputs of historic decision instance '{}' in compact format: {}", decisionInstanceId, cause.getMessage()), cause);
+  }
+
+  public ProcessEngineException historyEventSpillFileCorrupted(String spillFile, long position, String reason) {
+    return new ProcessEngineException(exceptionMessage(
+        "100",
+        "History event spill file '{}' is corrupted at position {}: {}. Move the file to start the "
+        + "process engine; the history events which it contains are not written to the database.",
+        spillFile, position, reason));
+  }
+
+  public void historyEventSpillRecordIncomplete(String spillFile, long position) {
+    logWarn(
+        "101",
+        "Discarding incomplete record at position {} of history event spill file '{}'. "
+        + "The transaction which appended it was not committed.", position, spillFile);
+  }
+
+  public ProcessEngineException historyEventSpillRecordTooLarge(String spillFile, long recordSize, long capacity) {
+    return new ProcessEngineException(exceptionMessage(
+        "102",
+        "History events of {} bytes do not fit into history event spill file '{}' with a capacity of {} bytes. "
+        + "Increase the historyEventSpillFileSize.", recordSize, spillFile, capacity));
+  }
+
+  public void historyEventSpillMarkDoneFailed(String spillFile, Exception cause) {
+    logWarn(
+        "103",
+        "Could not mark history events as done in spill file '{}'. They are written again when "
+        + "the spill file is recovered: {}", spillFile, cause.getMessage(), cause);
+  }
+
 }
@@ -58,6 +58,12 @@ public interface PersistenceSession extends Session {
 
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Selects like {@link #selectList(String, Object)} but stops fetching rows from the
+   * result set once <code>maxRows</code> rows have been read.
+   */
+  List<?> selectList(String statement, Object parameter, int maxRows);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
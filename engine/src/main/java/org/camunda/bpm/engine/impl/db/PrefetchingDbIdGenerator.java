@@ -0,0 +1,223 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out the ids of the current block through an
+ * {@link AtomicLong} instead of a monitor.</p>
+ *
+ * <p>Once half of the current block is used, the next block is fetched from the
+ * database by a background thread, so that command threads only wait for the
+ * database if the ids are consumed faster than a block can be fetched.</p>
+ *
+ * <p>The size of the fetched blocks adapts to the consumption rate: if a block is
+ * exhausted in less than half of the {@link #targetBlockDuration}, the next block is
+ * twice as large (up to {@link #maxIdBlockSize}); if it takes more than twice the target
+ * duration, the next block is half as large (down to {@link #getIdBlockSize()}).</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected int maxIdBlockSize = 10000;
+  protected long targetBlockDuration = TimeUnit.SECONDS.toMillis(1);
+
+  protected volatile IdRange currentRange;
+  protected volatile IdBlock prefetchedBlock;
+  protected volatile int currentBlockSize;
+
+  protected final AtomicBoolean prefetching = new AtomicBoolean(false);
+  protected ExecutorService prefetchExecutor;
+
+  @Override
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange;
+      long id = range.next.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (id == range.prefetchId) {
+          // exactly one thread reaches the prefetch id of a range
+          prefetchNewBlock();
+        }
+        return Long.toString(id);
+      }
+
+      switchRange(range);
+    }
+  }
+
+  /**
+   * Replaces the exhausted range by the prefetched block or, if it is not yet available,
+   * by a block fetched in the calling thread.
+   */
+  protected synchronized void switchRange(IdRange exhaustedRange) {
+    if (currentRange != exhaustedRange) {
+      // another thread already switched the range
+      return;
+    }
+
+    adaptBlockSize(exhaustedRange);
+
+    IdBlock idBlock = prefetchedBlock;
+    prefetchedBlock = null;
+    if (idBlock == null) {
+      idBlock = fetchNewBlock();
+    }
+
+    currentRange = new IdRange(idBlock);
+  }
+
+  @Override
+  protected synchronized void getNewBlock() {
+    currentRange = new IdRange(fetchNewBlock());
+  }
+
+  protected IdBlock fetchNewBlock() {
+    return commandExecutor.execute(new GetNextIdBlockCmd(currentBlockSize));
+  }
+
+  protected void prefetchNewBlock() {
+    if (!prefetching.compareAndSet(false, true)) {
+      return;
+    }
+
+    getPrefetchExecutor().execute(new Runnable() {
+      public void run() {
+        try {
+          if (prefetchedBlock == null) {
+            IdBlock idBlock = fetchNewBlock();
+            synchronized (PrefetchingDbIdGenerator.this) {
+              if (prefetchedBlock == null) {
+                prefetchedBlock = idBlock;
+              }
+            }
+          }
+        } catch (RuntimeException e) {
+          LOG.idBlockPrefetchFailed(e);
+        } finally {
+          prefetching.set(false);
+        }
+      }
+    });
+  }
+
+  protected void adaptBlockSize(IdRange exhaustedRange) {
+    if (exhaustedRange.size == 0) {
+      // initial range
+      return;
+    }
+
+    long duration = System.currentTimeMillis() - exhaustedRange.startTime;
+    if (duration < targetBlockDuration / 2) {
+      currentBlockSize = Math.min(currentBlockSize * 2, Math.max(maxIdBlockSize, idBlockSize));
+    } else if (duration > targetBlockDuration * 2) {
+      currentBlockSize = Math.max(currentBlockSize / 2, idBlockSize);
+    }
+  }
+
+  protected synchronized ExecutorService getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-id-block-prefetcher");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return prefetchExecutor;
+  }
+
+  @Override
+  public void setIdBlockSize(int idBlockSize) {
+    super.setIdBlockSize(idBlockSize);
+    this.currentBlockSize = idBlockSize;
+  }
+
+  public int getCurrentBlockSize() {
+    return currentBlockSize;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetBlockDuration() {
+    return targetBlockDuration;
+  }
+
+  /**
+   * @param targetBlockDuration the time in milliseconds in which a block of ids should be used up
+   */
+  public void setTargetBlockDuration(long targetBlockDuration) {
+    this.targetBlockDuration = targetBlockDuration;
+  }
+
+  /**
+   * Discards the current and the prefetched block so that the generator fetches a new block
+   * of ids from the database when the next ID generation request is received.
+   */
+  @Override
+  public synchronized void reset() {
+    // invoked by the super constructor, too
+    currentRange = new IdRange(new IdBlock(0, -1));
+    prefetchedBlock = null;
+    currentBlockSize = idBlockSize;
+  }
+
+  /**
+   * Shuts down the thread prefetching blocks of ids.
+   */
+  public synchronized void close() {
+    if (prefetchExecutor != null) {
+      prefetchExecutor.shutdownNow();
+      prefetchExecutor = null;
+    }
+  }
+
+  protected static class IdRange {
+
+    protected final AtomicLong next;
+    protected final long lastId;
+    protected final long prefetchId;
+    protected final long size;
+    protected final long startTime = System.currentTimeMillis();
+
+    public IdRange(IdBlock idBlock) {
+      this.next = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+      this.size = lastId - idBlock.getNextId() + 1;
+      this.prefetchId = idBlock.getNextId() + size / 2;
+    }
+  }
+
+}
@@ -30,7 +30,9 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -52,6 +54,8 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -65,6 +69,7 @@ import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SecondLevelEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -73,6 +78,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
@@ -98,6 +104,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected DbEntityCache dbEntityCache;
 
+  protected SecondLevelEntityCache secondLevelEntityCache;
+  protected List<DbEntity> secondLevelCacheInvalidatedEntities;
+  protected Set<Class<? extends DbEntity>> secondLevelCacheInvalidatedTypes;
+
   protected DbOperationManager dbOperationManager;
 
   protected PersistenceSession persistenceSession;
@@ -111,6 +121,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
     initializeEntityCache();
     initializeOperationManager();
+    initializeSecondLevelEntityCache();
   }
 
   protected void initializeOperationManager() {
@@ -143,6 +154,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  protected void initializeSecondLevelEntityCache() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      secondLevelEntityCache = processEngineConfiguration.getSecondLevelEntityCache();
+    }
+  }
+
   // selects /////////////////////////////////////////////////
 
   public List selectList(String statement) {
@@ -182,6 +200,21 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Selects like {@link #selectList(String, ListQueryParameterObject)} but limits the result
+   * by reading at most {@link ListQueryParameterObject#getMaxResults()} rows from the result set.
+   * Used for statements which cannot limit their rows in SQL, e.g. because rows are locked
+   * as they are fetched.
+   */
+  @SuppressWarnings("unchecked")
+  public List selectListFetchingMaxResults(String statement, ListQueryParameterObject parameter) {
+    if (parameter.getFirstResult() == -1 || parameter.getMaxResults() == -1) {
+      return Collections.EMPTY_LIST;
+    }
+    List loadedObjects = persistenceSession.selectList(statement, parameter, parameter.getMaxResults());
+    return filterLoadedObjects(loadedObjects);
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -207,11 +240,27 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return persistentObject;
     }
 
+    boolean isSecondLevelCacheable = isSecondLevelCacheable(entityClass);
+    long invalidationStamp = 0;
+    if (isSecondLevelCacheable) {
+      persistentObject = secondLevelEntityCache.get(entityClass, id);
+      if (persistentObject != null) {
+        onEntityLoaded(persistentObject);
+        return persistentObject;
+      }
+      // taken before the select, so that the entity is not cached if it is invalidated meanwhile
+      invalidationStamp = secondLevelEntityCache.getInvalidationStamp(entityClass);
+    }
+
     persistentObject = persistenceSession.selectById(entityClass, id);
 
     if (persistentObject==null) {
       return null;
     }
+
+    if (isSecondLevelCacheable) {
+      secondLevelEntityCache.put(persistentObject, invalidationStamp);
+    }
     // don't have to put object into the cache now. See onEntityLoaded() callback
     return persistentObject;
   }
@@ -264,6 +313,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
         DbEntityLifecycleAware lifecycleAware = (DbEntityLifecycleAware) entity;
         lifecycleAware.postLoad();
       }
+
+      if (isSecondLevelCacheable(entity.getClass())) {
+        secondLevelEntityCache.validate(entity);
+      }
     }
 
   }
@@ -400,6 +453,11 @@ public class DbEntityManager implements Session, EntityLoadListener {
       }
     }
 
+    if (dbOperation instanceof DbEntityOperation && isSecondLevelCacheable(dbOperation.getEntityType())) {
+      // the cached entity is outdated, e.g. it was updated by another process engine
+      secondLevelEntityCache.invalidate(dbOperation.getEntityType(), ((DbEntityOperation) dbOperation).getEntity().getId());
+    }
+
     if (!isHandled && Context.getProcessEngineConfiguration().isSkipHistoryOptimisticLockingExceptions()) {
       DbEntity dbEntity = ((DbEntityOperation) dbOperation).getEntity();
       if (dbEntity instanceof HistoricEntity || isHistoricByteArray(dbEntity)) {
@@ -553,6 +611,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
   protected DbBulkOperation performBulkOperation(Class<? extends DbEntity> entityType, String statement, Object parameter, DbOperationType operationType) {
     // create operation
     DbBulkOperation bulkOperation = createDbBulkOperation(entityType, statement, parameter, operationType);
+    invalidateSecondLevelCache(entityType);
 
     // schedule operation
     dbOperationManager.addOperation(bulkOperation);
@@ -561,6 +620,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected DbBulkOperation performBulkOperationPreserveOrder(Class<? extends DbEntity> entityType, String statement, Object parameter, DbOperationType operationType) {
     DbBulkOperation bulkOperation = createDbBulkOperation(entityType, statement, parameter, operationType);
+    invalidateSecondLevelCache(entityType);
 
     // schedule operation
     dbOperationManager.addOperationPreserveOrder(bulkOperation);
@@ -585,6 +645,69 @@ public class DbEntityManager implements Session, EntityLoadListener {
     dbOperation.setFlushRelevantEntityReferences(cachedDbEntity.getFlushRelevantEntityReferences());
     dbOperation.setOperationType(type);
     dbOperationManager.addOperation(dbOperation);
+
+    if (type != INSERT) {
+      invalidateSecondLevelCache(cachedDbEntity);
+    }
+  }
+
+  // second level cache ////////////////////////////////////////
+
+  protected boolean isSecondLevelCacheable(Class<?> entityType) {
+    return secondLevelEntityCache != null && secondLevelEntityCache.isCacheable(entityType);
+  }
+
+  protected void invalidateSecondLevelCache(Class<? extends DbEntity> entityType) {
+    if (isSecondLevelCacheable(entityType)) {
+      secondLevelEntityCache.invalidateType(entityType);
+      if (registerSecondLevelCacheInvalidation()) {
+        secondLevelCacheInvalidatedTypes.add(entityType);
+      }
+    }
+  }
+
+  protected void invalidateSecondLevelCache(CachedDbEntity cachedDbEntity) {
+    DbEntity entity = cachedDbEntity.getEntity();
+    if (isSecondLevelCacheable(entity.getClass())) {
+      secondLevelEntityCache.invalidate(entity.getClass(), entity.getId());
+      if (registerSecondLevelCacheInvalidation()) {
+        secondLevelCacheInvalidatedEntities.add(entity);
+      }
+    }
+  }
+
+  /**
+   * Invalidates the entries again once the transaction committed since other commands
+   * may have cached the previous state of the entities in the meantime.
+   *
+   * @return false if there is no transaction to register the invalidation with
+   */
+  protected boolean registerSecondLevelCacheInvalidation() {
+    if (secondLevelCacheInvalidatedEntities == null) {
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext == null) {
+        return false;
+      }
+
+      final List<DbEntity> invalidatedEntities = new ArrayList<>();
+      final Set<Class<? extends DbEntity>> invalidatedTypes = new HashSet<>();
+      final SecondLevelEntityCache cache = secondLevelEntityCache;
+
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          for (Class<? extends DbEntity> invalidatedType : invalidatedTypes) {
+            cache.invalidateType(invalidatedType);
+          }
+          for (DbEntity invalidatedEntity : invalidatedEntities) {
+            cache.invalidate(invalidatedEntity.getClass(), invalidatedEntity.getId());
+          }
+        }
+      });
+
+      secondLevelCacheInvalidatedEntities = invalidatedEntities;
+      secondLevelCacheInvalidatedTypes = invalidatedTypes;
+    }
+    return true;
   }
 
   public void close() {
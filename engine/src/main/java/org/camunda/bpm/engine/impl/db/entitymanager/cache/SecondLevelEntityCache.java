@@ -0,0 +1,268 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantEntity;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Process engine wide cache of entities which are rarely updated. It is consulted by
+ * {@link org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager#selectById(Class, String)}
+ * for the cacheable entity types before the entity is selected from the database.</p>
+ *
+ * <p>The cache holds a snapshot of each entity and every lookup returns a new copy of it,
+ * so that commands can modify the returned entities like entities loaded from the database.
+ * Snapshots and copies are created by copying the non-transient fields of the entity, which
+ * requires the entity type to have a default constructor. Entries are</p>
+ * <ul>
+ *   <li>evicted in least recently used order once the capacity is reached,</li>
+ *   <li>invalidated when the entity is updated or deleted by this process engine,</li>
+ *   <li>not created if the entity was invalidated while it was selected from the database,</li>
+ *   <li>invalidated when the entity is loaded from the database with a higher revision and</li>
+ *   <li>expire after the time to live, which bounds the staleness caused by updates of other
+ *   process engines sharing the database.</li>
+ * </ul>
+ */
+public class SecondLevelEntityCache {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected Set<Class<? extends DbEntity>> cacheableEntityTypes;
+  protected long timeToLive;
+
+  protected Cache<String, CacheEntry> cache;
+
+  /** incremented when all entries of a type are invalidated */
+  protected ConcurrentMap<Class<?>, AtomicLong> typeVersions = new ConcurrentHashMap<>();
+
+  /** incremented when any entry of a type is invalidated */
+  protected ConcurrentMap<Class<?>, AtomicLong> invalidationStamps = new ConcurrentHashMap<>();
+
+  protected ConcurrentMap<Class<?>, List<Field>> copiedFields = new ConcurrentHashMap<>();
+
+  public SecondLevelEntityCache(Set<Class<? extends DbEntity>> cacheableEntityTypes, int capacity, long timeToLive) {
+    this.cacheableEntityTypes = cacheableEntityTypes;
+    this.timeToLive = timeToLive;
+    this.cache = new ConcurrentLruCache<>(capacity);
+  }
+
+  public static Set<Class<? extends DbEntity>> defaultCacheableEntityTypes() {
+    Set<Class<? extends DbEntity>> entityTypes = new HashSet<>();
+    entityTypes.add(JobDefinitionEntity.class);
+    entityTypes.add(TenantEntity.class);
+    entityTypes.add(AuthorizationEntity.class);
+    return entityTypes;
+  }
+
+  public boolean isCacheable(Class<?> entityType) {
+    return cacheableEntityTypes.contains(entityType);
+  }
+
+  /**
+   * @return a copy of the cached entity or null if the entity is not cached or expired
+   */
+  public <T extends DbEntity> T get(Class<T> entityType, String id) {
+    String key = getKey(entityType, id);
+    CacheEntry entry = cache.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.expiresAt < System.currentTimeMillis() || entry.typeVersion != getTypeVersion(entityType).get()) {
+      cache.remove(key);
+      return null;
+    }
+
+    try {
+      return entityType.cast(copy(entry.snapshot));
+    } catch (ProcessEngineException | IllegalAccessException e) {
+      LOG.secondLevelCacheSnapshotFailed(entityType, id, e);
+      cache.remove(key);
+      return null;
+    }
+  }
+
+  /**
+   * Caches a snapshot of the entity. Must be invoked before the entity is modified.
+   */
+  public void put(DbEntity entity) {
+    put(entity, getInvalidationStamp(entity.getClass()));
+  }
+
+  /**
+   * Caches a snapshot of the entity unless an entity of the same type was invalidated
+   * since the given stamp was taken. Must be invoked before the entity is modified.
+   *
+   * @param invalidationStamp the stamp returned by {@link #getInvalidationStamp(Class)}
+   *   before the entity was selected from the database
+   */
+  public void put(DbEntity entity, long invalidationStamp) {
+    Class<? extends DbEntity> entityType = entity.getClass();
+    long typeVersion = getTypeVersion(entityType).get();
+    if (getInvalidationStamp(entityType) != invalidationStamp) {
+      return;
+    }
+
+    String key = getKey(entityType, entity.getId());
+    try {
+      DbEntity snapshot = copy(entity);
+      cache.put(key, new CacheEntry(snapshot, getRevision(entity), typeVersion, System.currentTimeMillis() + timeToLive));
+    } catch (ProcessEngineException | IllegalAccessException e) {
+      LOG.secondLevelCacheSnapshotFailed(entityType, entity.getId(), e);
+      return;
+    }
+
+    // the entity may have been invalidated after the stamp was compared
+    if (getInvalidationStamp(entityType) != invalidationStamp) {
+      cache.remove(key);
+    }
+  }
+
+  /**
+   * @return a stamp which changes whenever an entity of the given type is invalidated
+   */
+  public long getInvalidationStamp(Class<?> entityType) {
+    return getCounter(invalidationStamps, entityType).get();
+  }
+
+  /**
+   * Invalidates the cached entity if the given entity was loaded with a higher revision,
+   * e.g. because it was updated by another process engine.
+   */
+  public void validate(DbEntity loadedEntity) {
+    String key = getKey(loadedEntity.getClass(), loadedEntity.getId());
+    CacheEntry entry = cache.get(key);
+    if (entry != null && entry.revision < getRevision(loadedEntity)) {
+      cache.remove(key);
+    }
+  }
+
+  public void invalidate(Class<?> entityType, String id) {
+    getCounter(invalidationStamps, entityType).incrementAndGet();
+    cache.remove(getKey(entityType, id));
+  }
+
+  public void invalidateType(Class<?> entityType) {
+    getCounter(invalidationStamps, entityType).incrementAndGet();
+    getTypeVersion(entityType).incrementAndGet();
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public Set<Class<? extends DbEntity>> getCacheableEntityTypes() {
+    return cacheableEntityTypes;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  protected AtomicLong getTypeVersion(Class<?> entityType) {
+    return getCounter(typeVersions, entityType);
+  }
+
+  protected AtomicLong getCounter(ConcurrentMap<Class<?>, AtomicLong> counters, Class<?> entityType) {
+    AtomicLong counter = counters.get(entityType);
+    if (counter == null) {
+      counters.putIfAbsent(entityType, new AtomicLong());
+      counter = counters.get(entityType);
+    }
+    return counter;
+  }
+
+  protected String getKey(Class<?> entityType, String id) {
+    return entityType.getName() + "#" + id;
+  }
+
+  protected int getRevision(DbEntity entity) {
+    if (entity instanceof HasDbRevision) {
+      return ((HasDbRevision) entity).getRevision();
+    }
+    return 0;
+  }
+
+  protected DbEntity copy(DbEntity entity) throws IllegalAccessException {
+    DbEntity copy = ReflectUtil.instantiate(entity.getClass());
+    for (Field field : getCopiedFields(entity.getClass())) {
+      Object value = field.get(entity);
+      if (value instanceof Date) {
+        value = ((Date) value).clone();
+      }
+      field.set(copy, value);
+    }
+    return copy;
+  }
+
+  /**
+   * @return the fields which are part of the serialized state of the entity type
+   */
+  protected List<Field> getCopiedFields(Class<?> entityType) {
+    List<Field> fields = copiedFields.get(entityType);
+    if (fields == null) {
+      fields = new ArrayList<>();
+      for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+        for (Field field : type.getDeclaredFields()) {
+          int modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !Modifier.isFinal(modifiers)) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      copiedFields.putIfAbsent(entityType, fields);
+    }
+    return fields;
+  }
+
+  protected static class CacheEntry {
+
+    protected final DbEntity snapshot;
+    protected final int revision;
+    protected final long typeVersion;
+    protected final long expiresAt;
+
+    public CacheEntry(DbEntity snapshot, int revision, long typeVersion, long expiresAt) {
+      this.snapshot = snapshot;
+      this.revision = revision;
+      this.typeVersion = typeVersion;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+}
@@ -19,11 +19,17 @@ package org.camunda.bpm.engine.impl.db.entitymanager.operation;
 import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.DELETE;
 import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType.INSERT;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
@@ -40,6 +46,12 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.comparator.EntityT
 /**
  * Manages a set of {@link DbOperation database operations}.
  *
+ * <p>Single entity operations are collected in append-only lists per entity type.
+ * The order of the flush is only determined once in {@link #calculateFlush()}: the
+ * entity types are ordered by the precomputed type order of the comparators, the
+ * operations of a type by entity id and, for types with {@link HasDbReferences},
+ * by a topological sort of the references between the entities.
+ *
  * @author Daniel Meyer
  *
  */
@@ -53,16 +65,16 @@ public class DbOperationManager {
   public static Comparator<DbEntityOperation> MODIFICATION_OPERATION_COMPARATOR  = new DbEntityOperationComparator();
   public static Comparator<DbBulkOperation> BULK_OPERATION_COMPARATOR = new DbBulkOperationComparator();
 
-  // pre-sorted operation maps //////////////
+  // operation lists by entity type //////////////
 
   /** INSERTs */
-  public SortedMap<Class<?>, SortedSet<DbEntityOperation>> inserts = new TreeMap<Class<?>, SortedSet<DbEntityOperation>>(INSERT_TYPE_COMPARATOR);
+  protected Map<Class<?>, List<DbEntityOperation>> inserts = new HashMap<Class<?>, List<DbEntityOperation>>();
 
   /** UPDATEs of a single entity */
-  public SortedMap<Class<?>, SortedSet<DbEntityOperation>> updates = new TreeMap<Class<?>, SortedSet<DbEntityOperation>>(MODIFICATION_TYPE_COMPARATOR);
+  protected Map<Class<?>, List<DbEntityOperation>> updates = new HashMap<Class<?>, List<DbEntityOperation>>();
 
   /** DELETEs of a single entity */
-  public SortedMap<Class<?>, SortedSet<DbEntityOperation>> deletes = new TreeMap<Class<?>, SortedSet<DbEntityOperation>>(MODIFICATION_TYPE_COMPARATOR);
+  protected Map<Class<?>, List<DbEntityOperation>> deletes = new HashMap<Class<?>, List<DbEntityOperation>>();
 
   /** bulk modifications (DELETE, UPDATE) on an entity collection */
   public SortedMap<Class<?>, SortedSet<DbBulkOperation>> bulkOperations = new TreeMap<Class<?>, SortedSet<DbBulkOperation>>(MODIFICATION_TYPE_COMPARATOR);
@@ -86,31 +98,25 @@ public class DbOperationManager {
     }
   }
 
-  protected SortedSet<DbEntityOperation> getDeletesByType(Class<? extends DbEntity> type, boolean create) {
-    SortedSet<DbEntityOperation> deletesByType = deletes.get(type);
-    if(deletesByType == null && create) {
-      deletesByType = new TreeSet<DbEntityOperation>(MODIFICATION_OPERATION_COMPARATOR);
-      deletes.put(type, deletesByType);
-    }
-    return deletesByType;
+  protected List<DbEntityOperation> getDeletesByType(Class<? extends DbEntity> type, boolean create) {
+    return getOperationsByType(deletes, type, create);
   }
 
-  protected SortedSet<DbEntityOperation> getUpdatesByType(Class<? extends DbEntity> type, boolean create) {
-    SortedSet<DbEntityOperation> updatesByType = updates.get(type);
-    if(updatesByType == null && create) {
-      updatesByType = new TreeSet<DbEntityOperation>(MODIFICATION_OPERATION_COMPARATOR);
-      updates.put(type, updatesByType);
-    }
-    return updatesByType;
+  protected List<DbEntityOperation> getUpdatesByType(Class<? extends DbEntity> type, boolean create) {
+    return getOperationsByType(updates, type, create);
   }
 
-  protected SortedSet<DbEntityOperation> getInsertsForType(Class<? extends DbEntity> type, boolean create) {
-    SortedSet<DbEntityOperation> insertsByType = inserts.get(type);
-    if(insertsByType == null && create) {
-      insertsByType = new TreeSet<DbEntityOperation>(INSERT_OPERATION_COMPARATOR);
-      inserts.put(type, insertsByType);
+  protected List<DbEntityOperation> getInsertsForType(Class<? extends DbEntity> type, boolean create) {
+    return getOperationsByType(inserts, type, create);
+  }
+
+  protected List<DbEntityOperation> getOperationsByType(Map<Class<?>, List<DbEntityOperation>> operations, Class<? extends DbEntity> type, boolean create) {
+    List<DbEntityOperation> operationsByType = operations.get(type);
+    if(operationsByType == null && create) {
+      operationsByType = new ArrayList<DbEntityOperation>();
+      operations.put(type, operationsByType);
     }
-    return insertsByType;
+    return operationsByType;
   }
 
   public boolean addOperation(DbBulkOperation newOperation) {
@@ -139,15 +145,11 @@ public class DbOperationManager {
   /** Adds the insert operations to the flush (in correct order).
    * @param operationsForFlush */
   protected void addSortedInserts(List<DbOperation> flush) {
-    for (Entry<Class<?>, SortedSet<DbEntityOperation>> operationsForType : inserts.entrySet()) {
+    List<Class<?>> insertedEntityTypes = new ArrayList<Class<?>>(inserts.keySet());
+    Collections.sort(insertedEntityTypes, INSERT_TYPE_COMPARATOR);
 
-      // add inserts to flush
-      if(HasDbReferences.class.isAssignableFrom(operationsForType.getKey())) {
-        // if this type has self references, we need to resolve the reference order
-        flush.addAll(sortByReferences(operationsForType.getValue()));
-      } else {
-        flush.addAll(operationsForType.getValue());
-      }
+    for (Class<?> type : insertedEntityTypes) {
+      addSortedOperationsForType(type, inserts.get(type), INSERT_OPERATION_COMPARATOR, flush);
     }
   }
 
@@ -163,9 +165,9 @@ public class DbOperationManager {
 
     for (Class<?> type : modifiedEntityTypes) {
       // first perform entity UPDATES
-      addSortedModificationsForType(type, updates.get(type), flush);
+      addSortedOperationsForType(type, updates.get(type), MODIFICATION_OPERATION_COMPARATOR, flush);
       // next perform entity DELETES
-      addSortedModificationsForType(type, deletes.get(type), flush);
+      addSortedOperationsForType(type, deletes.get(type), MODIFICATION_OPERATION_COMPARATOR, flush);
       // last perform bulk operations
       SortedSet<DbBulkOperation> bulkOperationsForType = bulkOperations.get(type);
       if(bulkOperationsForType != null) {
@@ -179,68 +181,143 @@ public class DbOperationManager {
     }
   }
 
-  protected void addSortedModificationsForType(Class<?> type, SortedSet<DbEntityOperation> preSortedOperations, List<DbOperation> flush) {
-    if(preSortedOperations != null) {
+  protected void addSortedOperationsForType(Class<?> type, List<DbEntityOperation> operations, Comparator<DbEntityOperation> comparator, List<DbOperation> flush) {
+    if(operations != null) {
+      List<DbEntityOperation> sortedOperations = new ArrayList<DbEntityOperation>(operations);
+      Collections.sort(sortedOperations, comparator);
+
       if(HasDbReferences.class.isAssignableFrom(type)) {
         // if this type has self references, we need to resolve the reference order
-        flush.addAll(sortByReferences(preSortedOperations));
+        flush.addAll(sortByReferences(sortedOperations));
       } else {
-        flush.addAll(preSortedOperations);
+        flush.addAll(sortedOperations);
       }
     }
   }
 
 
   /**
+   * Sorts the operations topologically by the references between their entities. The
+   * given order is kept for operations which do not depend on each other.
+   *
    * Assumptions:
-   * a) all operations in the set work on entities such that the entities implement {@link HasDbReferences}.
-   * b) all operations in the set work on the same type (ie. all operations are INSERTs or DELETEs).
+   * a) all operations in the list work on entities such that the entities implement {@link HasDbReferences}.
+   * b) all operations in the list work on the same type (ie. all operations are INSERTs or DELETEs).
    *
    */
-  protected List<DbEntityOperation> sortByReferences(SortedSet<DbEntityOperation> preSorted) {
-    // copy the pre-sorted set and apply final sorting to list
-    List<DbEntityOperation> opList = new ArrayList<DbEntityOperation>(preSorted);
+  protected List<DbEntityOperation> sortByReferences(List<DbEntityOperation> preSorted) {
+    Map<DbEntityOperation, List<DbEntityOperation>> dependencies = collectDependencies(preSorted);
 
-    for (int i = 0; i < opList.size(); i++) {
+    List<DbEntityOperation> opList = new ArrayList<DbEntityOperation>(preSorted.size());
+    Set<DbEntityOperation> visited = Collections.newSetFromMap(new IdentityHashMap<DbEntityOperation, Boolean>());
 
-      DbEntityOperation currentOperation = opList.get(i);
-      DbEntity currentEntity = currentOperation.getEntity();
-      Set<String> currentReferences = currentOperation.getFlushRelevantEntityReferences();
+    Deque<DbEntityOperation> stack = new ArrayDeque<DbEntityOperation>();
+    Deque<Iterator<DbEntityOperation>> dependencyIterators = new ArrayDeque<Iterator<DbEntityOperation>>();
 
-      // check whether this operation must be placed after another operation
-      int moveTo = i;
-      for(int k = i+1; k < opList.size(); k++) {
-        DbEntityOperation otherOperation = opList.get(k);
-        DbEntity otherEntity = otherOperation.getEntity();
-        Set<String> otherReferences = otherOperation.getFlushRelevantEntityReferences();
+    for (DbEntityOperation operation : preSorted) {
+      if (!visited.add(operation)) {
+        continue;
+      }
 
-        if(currentOperation.getOperationType() == INSERT) {
+      stack.push(operation);
+      dependencyIterators.push(getDependencies(dependencies, operation).iterator());
 
+      // depth-first traversal: an operation is added after all operations it depends on
+      while (!stack.isEmpty()) {
+        Iterator<DbEntityOperation> dependencyIterator = dependencyIterators.peek();
 
-          // if we reference the other entity, we need to be inserted after that entity
-          if(currentReferences != null && currentReferences.contains(otherEntity.getId())) {
-            moveTo = k;
-            break; // we can only reference a single entity
+        if (dependencyIterator.hasNext()) {
+          DbEntityOperation dependency = dependencyIterator.next();
+          if (visited.add(dependency)) {
+            stack.push(dependency);
+            dependencyIterators.push(getDependencies(dependencies, dependency).iterator());
           }
+        }
+        else {
+          dependencyIterators.pop();
+          opList.add(stack.pop());
+        }
+      }
+    }
 
-        } else { // UPDATE or DELETE
+    return opList;
+  }
 
-          // if the other entity has a reference to us, we must be placed after the other entity
-          if(otherReferences != null && otherReferences.contains(currentEntity.getId())) {
-            moveTo = k;
-            // cannot break, there may be another entity further to the right which also references us
-          }
+  /**
+   * An INSERT depends on the INSERTs of the entities it references, an UPDATE or DELETE
+   * depends on the operations of the entities that reference it.
+   */
+  protected Map<DbEntityOperation, List<DbEntityOperation>> collectDependencies(List<DbEntityOperation> operations) {
+    Map<String, DbEntityOperation> operationsByEntityId = new HashMap<String, DbEntityOperation>();
+    for (DbEntityOperation operation : operations) {
+      operationsByEntityId.put(operation.getEntity().getId(), operation);
+    }
 
-        }
+    Map<DbEntityOperation, List<DbEntityOperation>> dependencies = new IdentityHashMap<DbEntityOperation, List<DbEntityOperation>>();
+
+    for (DbEntityOperation operation : operations) {
+      Set<String> references = operation.getFlushRelevantEntityReferences();
+      if (references == null) {
+        continue;
       }
 
-      if(moveTo > i) {
-        opList.remove(i);
-        opList.add(moveTo, currentOperation);
-        i--;
+      String entityId = operation.getEntity().getId();
+      for (String reference : references) {
+        DbEntityOperation referencedOperation = operationsByEntityId.get(reference);
+        if (referencedOperation == null || reference.equals(entityId)) {
+          continue;
+        }
+
+        if (operation.getOperationType() == INSERT) {
+          // if we reference the other entity, we need to be inserted after that entity
+          addDependency(dependencies, operation, referencedOperation);
+        }
+        else {
+          // if we reference the other entity, the other entity must be placed after us
+          addDependency(dependencies, referencedOperation, operation);
+        }
       }
     }
 
-    return opList;
+    return dependencies;
+  }
+
+  protected void addDependency(Map<DbEntityOperation, List<DbEntityOperation>> dependencies, DbEntityOperation operation, DbEntityOperation dependency) {
+    List<DbEntityOperation> operationDependencies = dependencies.get(operation);
+    if (operationDependencies == null) {
+      operationDependencies = new ArrayList<DbEntityOperation>();
+      dependencies.put(operation, operationDependencies);
+    }
+    operationDependencies.add(dependency);
+  }
+
+  protected List<DbEntityOperation> getDependencies(Map<DbEntityOperation, List<DbEntityOperation>> dependencies, DbEntityOperation operation) {
+    List<DbEntityOperation> operationDependencies = dependencies.get(operation);
+    return operationDependencies != null ? operationDependencies : Collections.<DbEntityOperation>emptyList();
+  }
+
+  // getters ////////////////////////////////
+
+  /**
+   * @return the INSERTs by entity type in the order they were added; they are only sorted by
+   * {@link #calculateFlush()}
+   */
+  public Map<Class<?>, List<DbEntityOperation>> getInserts() {
+    return inserts;
+  }
+
+  /**
+   * @return the UPDATEs of a single entity by entity type in the order they were added
+   */
+  public Map<Class<?>, List<DbEntityOperation>> getUpdates() {
+    return updates;
+  }
+
+  /**
+   * @return the DELETEs of a single entity by entity type in the order they were added
+   */
+  public Map<Class<?>, List<DbEntityOperation>> getDeletes() {
+    return deletes;
   }
+
 }
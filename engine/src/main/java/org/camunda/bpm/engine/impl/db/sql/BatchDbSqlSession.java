@@ -22,6 +22,7 @@ import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -34,7 +35,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
-import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 
@@ -54,12 +55,30 @@ public class BatchDbSqlSession extends DbSqlSession {
 
   @Override
   public FlushResult executeDbOperations(List<DbOperation> operations) {
-    for (int i = 0; i < operations.size(); i++) {
+    // the operations of each staged statement; a multi-row INSERT stages multiple operations
+    List<List<DbOperation>> statements = new ArrayList<>();
+    boolean multiRowInsertEnabled = dbSqlSessionFactory.isMultiRowInsertEnabled();
+
+    int i = 0;
+    while (i < operations.size()) {
 
       DbOperation operation = operations.get(i);
 
+      List<DbOperation> insertOperations = null;
+      if (multiRowInsertEnabled) {
+        insertOperations = collectMultiRowInsertOperations(operations, i);
+      }
+
       // stages all operations
-      executeDbOperation(operation);
+      if (insertOperations != null) {
+        executeMultiRowInsert(insertOperations);
+        statements.add(insertOperations);
+        i += insertOperations.size();
+      } else {
+        executeDbOperation(operation);
+        statements.add(Collections.singletonList(operation));
+        i++;
+      }
     }
 
     List<BatchResult> batchResults;
@@ -67,30 +86,109 @@ public class BatchDbSqlSession extends DbSqlSession {
       // applies all operations
       batchResults = flushBatchOperations();
     } catch (RuntimeException e) {
-      return postProcessBatchFailure(operations, e);
+      return postProcessBatchFailure(operations, statements, e);
+    }
+
+    return postProcessBatchSuccess(operations, statements, batchResults);
+  }
+
+  /**
+   * @return the INSERT operations beginning at the given index that can be combined into a
+   * single multi-row INSERT statement or <code>null</code> if the operation at the index cannot be
+   * combined with its successors
+   */
+  protected List<DbOperation> collectMultiRowInsertOperations(List<DbOperation> operations, int startIndex) {
+    DbOperation firstOperation = operations.get(startIndex);
+    if (firstOperation.getOperationType() != DbOperationType.INSERT) {
+      return null;
+    }
+
+    Class<? extends DbEntity> entityType = firstOperation.getEntityType();
+    if (getBulkInsertStatement(entityType) == null) {
+      return null;
+    }
+
+    int maxRows = getMaxRowsPerMultiRowInsert((DbEntityOperation) firstOperation);
+
+    List<DbOperation> insertOperations = new ArrayList<>();
+    for (int i = startIndex; i < operations.size() && insertOperations.size() < maxRows; i++) {
+      DbOperation operation = operations.get(i);
+      if (operation.getOperationType() != DbOperationType.INSERT || operation.getEntityType() != entityType) {
+        break;
+      }
+      insertOperations.add(operation);
+    }
+
+    return insertOperations.size() > 1 ? insertOperations : null;
+  }
+
+  /**
+   * @return the mapped multi-row INSERT statement for the entity type or <code>null</code>
+   * if there is none in the mapping files
+   */
+  protected String getBulkInsertStatement(Class<? extends DbEntity> entityType) {
+    String bulkInsertStatement = dbSqlSessionFactory.getBulkInsertStatement(entityType);
+    bulkInsertStatement = dbSqlSessionFactory.mapStatement(bulkInsertStatement);
+
+    if (sqlSession.getConfiguration().hasStatement(bulkInsertStatement, false)) {
+      return bulkInsertStatement;
+    } else {
+      return null;
     }
+  }
+
+  /**
+   * The number of rows of a multi-row INSERT is limited by the maximum number
+   * of parameters of a prepared statement.
+   */
+  protected int getMaxRowsPerMultiRowInsert(DbEntityOperation operation) {
+    DbEntity dbEntity = operation.getEntity();
 
-    return postProcessBatchSuccess(operations, batchResults);
+    String insertStatement = dbSqlSessionFactory.getInsertStatement(dbEntity);
+    insertStatement = dbSqlSessionFactory.mapStatement(insertStatement);
+
+    int parametersPerRow = sqlSession.getConfiguration()
+      .getMappedStatement(insertStatement)
+      .getBoundSql(dbEntity)
+      .getParameterMappings()
+      .size();
+
+    return DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS / Math.max(parametersPerRow, 1);
   }
 
-  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<BatchResult> batchResults) {
-    Iterator<DbOperation> operationsIt = operations.iterator();
+  protected void executeMultiRowInsert(List<DbOperation> insertOperations) {
+    Class<? extends DbEntity> entityType = insertOperations.get(0).getEntityType();
+    String bulkInsertStatement = getBulkInsertStatement(entityType);
+
+    List<DbEntity> entities = new ArrayList<>();
+    for (DbOperation operation : insertOperations) {
+      DbEntity dbEntity = ((DbEntityOperation) operation).getEntity();
+      LOG.executeDatabaseOperation("INSERT", dbEntity);
+      entities.add(dbEntity);
+    }
+
+    countStatement(bulkInsertStatement);
+    sqlSession.insert(bulkInsertStatement, entities);
+  }
+
+  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<List<DbOperation>> statements, List<BatchResult> batchResults) {
+    Iterator<List<DbOperation>> statementsIt = statements.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
     for (BatchResult successfulBatch : batchResults) {
       // even if all batches are successful, there can be concurrent modification failures
       // (e.g. 0 rows updated)
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     // there should be no more operations remaining
-    if (operationsIt.hasNext()) {
+    if (statementsIt.hasNext()) {
       throw LOG.wrongBatchResultsSizeException(operations);
     }
 
     return FlushResult.withFailures(failedOperations);
   }
 
-  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, RuntimeException e) {
+  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, List<List<DbOperation>> statements, RuntimeException e) {
     BatchExecutorException batchExecutorException = ExceptionUtil.findBatchExecutorException(e);
 
     if (batchExecutorException == null) {
@@ -101,17 +199,20 @@ public class BatchDbSqlSession extends DbSqlSession {
     List<BatchResult> successfulBatches = batchExecutorException.getSuccessfulBatchResults();
     BatchUpdateException cause = batchExecutorException.getBatchUpdateException();
 
-    Iterator<DbOperation> operationsIt = operations.iterator();
+    Iterator<List<DbOperation>> statementsIt = statements.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
 
     for (BatchResult successfulBatch : successfulBatches) {
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     int[] failedBatchUpdateCounts = cause.getUpdateCounts();
-    postProcessJdbcBatchResult(operationsIt, failedBatchUpdateCounts, e, failedOperations);
+    postProcessJdbcBatchResult(statementsIt, failedBatchUpdateCounts, e, failedOperations);
 
-    List<DbOperation> remainingOperations = CollectionUtil.collectInList(operationsIt);
+    List<DbOperation> remainingOperations = new ArrayList<>();
+    while (statementsIt.hasNext()) {
+      remainingOperations.addAll(statementsIt.next());
+    }
     return FlushResult.withFailuresAndRemaining(failedOperations, remainingOperations);
   }
 
@@ -135,7 +236,7 @@ public class BatchDbSqlSession extends DbSqlSession {
    * @return all failed operations
    */
   protected void postProcessJdbcBatchResult(
-      Iterator<DbOperation> operationsIt,
+      Iterator<List<DbOperation>> statementsIt,
       int[] statementResults,
       Exception failure,
       List<DbOperation> failedOperations) {
@@ -145,53 +246,56 @@ public class BatchDbSqlSession extends DbSqlSession {
       int statementResult = statementResults[i];
 
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
-
-      DbOperation operation = operationsIt.next();
-
-      if (statementResult == Statement.SUCCESS_NO_INFO) {
-
-        if (requiresAffectedRows(operation.getOperationType())) {
-          throw LOG.batchingNotSupported(operation);
-        } else {
-          postProcessOperationPerformed(operation, 1, null);
+          statementsIt.hasNext());
+
+      // a multi-row INSERT is a single statement with a single result for all of its operations
+      for (DbOperation operation : statementsIt.next()) {
+
+        if (statementResult == Statement.SUCCESS_NO_INFO) {
+
+          if (requiresAffectedRows(operation.getOperationType())) {
+            throw LOG.batchingNotSupported(operation);
+          } else {
+            postProcessOperationPerformed(operation, 1, null);
+          }
+
+        } else if (statementResult == Statement.EXECUTE_FAILED) {
+
+          /*
+           * All operations are marked with the root failure exception; this is not quite
+           * correct and leads to the situation that we treat all failed operations in the
+           * same way, whereas they might fail for different reasons.
+           *
+           * More precise would be to use BatchUpdateException#getNextException.
+           * E.g. if we have three failed statements in a batch, #getNextException can be used to
+           * access each operation's individual failure. However, this behavior is not
+           * guaranteed by the java.sql javadocs (it doesn't specify that the number
+           * and order of next exceptions matches the number of failures, unlike for row counts),
+           * so we decided to not rely on it.
+           */
+          postProcessOperationPerformed(operation, 0, failure);
+          failureHandled = true;
+        } else { // it is the number of affected rows
+          postProcessOperationPerformed(operation, statementResult, null);
         }
 
-      } else if (statementResult == Statement.EXECUTE_FAILED) {
-
-        /*
-         * All operations are marked with the root failure exception; this is not quite
-         * correct and leads to the situation that we treat all failed operations in the
-         * same way, whereas they might fail for different reasons.
-         *
-         * More precise would be to use BatchUpdateException#getNextException.
-         * E.g. if we have three failed statements in a batch, #getNextException can be used to
-         * access each operation's individual failure. However, this behavior is not
-         * guaranteed by the java.sql javadocs (it doesn't specify that the number
-         * and order of next exceptions matches the number of failures, unlike for row counts),
-         * so we decided to not rely on it.
-         */
-        postProcessOperationPerformed(operation, 0, failure);
-        failureHandled = true;
-      } else { // it is the number of affected rows
-        postProcessOperationPerformed(operation, statementResult, null);
-      }
-
-      if (operation.isFailed()) {
-        failedOperations.add(operation);
+        if (operation.isFailed()) {
+          failedOperations.add(operation);
+        }
       }
     }
 
     /*
-     * case 2: The next operation is the one that failed
+     * case 2: The next statement is the one that failed
      */
     if (failure != null && !failureHandled) {
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
+          statementsIt.hasNext());
 
-      DbOperation failedOperation = operationsIt.next();
-      postProcessOperationPerformed(failedOperation, 0, failure);
-      failedOperations.add(failedOperation);
+      for (DbOperation failedOperation : statementsIt.next()) {
+        postProcessOperationPerformed(failedOperation, 0, failure);
+        failedOperations.add(failedOperation);
+      }
     }
   }
 
@@ -282,9 +386,60 @@ public class BatchDbSqlSession extends DbSqlSession {
     executeDelete(deleteStatement, dbEntity);
   }
 
+  /**
+   * Only counts the statement. Its execution time and affected rows are recorded by
+   * {@link #flushBatchOperations()} once the batch is executed.
+   */
+  @Override
+  protected long writeStatementStarted(String statement) {
+    countStatement(statement);
+    return NOT_SAMPLED;
+  }
+
+  @Override
+  public List<BatchResult> flushBatchOperations() {
+    SqlStatementMetricsRegistry statementMetricsRegistry = dbSqlSessionFactory.getSqlStatementMetricsRegistry();
+    if (statementMetricsRegistry == null) {
+      return super.flushBatchOperations();
+    }
+
+    long startTime = System.nanoTime();
+    List<BatchResult> batchResults = super.flushBatchOperations();
+    batchExecuted(statementMetricsRegistry, batchResults, System.nanoTime() - startTime);
+    return batchResults;
+  }
+
+  /**
+   * Records the sampled executions of the flushed statements per statement id. The JDBC
+   * driver executes all batches within one flush, so the execution time of the flush is
+   * split evenly among the executed statements.
+   */
+  protected void batchExecuted(SqlStatementMetricsRegistry statementMetricsRegistry, List<BatchResult> batchResults, long executionNanos) {
+    int executedStatements = 0;
+    for (BatchResult batchResult : batchResults) {
+      executedStatements += batchResult.getUpdateCounts().length;
+    }
+    if (executedStatements == 0) {
+      return;
+    }
+
+    long statementExecutionNanos = executionNanos / executedStatements;
+    for (BatchResult batchResult : batchResults) {
+      String statement = batchResult.getMappedStatement().getId();
+      for (int rowsAffected : batchResult.getUpdateCounts()) {
+        if (statementMetricsRegistry.isSampled()) {
+          // Statement.SUCCESS_NO_INFO is negative and thus recorded as unknown
+          statementMetricsRegistry.statementExecuted(statement, statementExecutionNanos, rowsAffected);
+        }
+      }
+    }
+  }
+
   @Override
   protected void executeSelectForUpdate(String statement, Object parameter) {
-    sqlSession.selectList(statement, parameter);
+    long startTime = statementStarted(statement);
+    List<Object> resultList = sqlSession.selectList(statement, parameter);
+    statementExecuted(statement, startTime, resultList.size());
   }
 
 }
@@ -37,6 +37,7 @@ import java.util.Map;
 
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -51,6 +52,8 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation.State;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.interceptor.CommandInvocationMetrics;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
@@ -68,6 +71,8 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
+  protected static final long NOT_SAMPLED = Long.MIN_VALUE;
+
   protected SqlSession sqlSession;
   protected DbSqlSessionFactory dbSqlSessionFactory;
 
@@ -93,8 +98,18 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
+    return selectList(statement, parameter, RowBounds.DEFAULT);
+  }
+
+  public List<?> selectList(String statement, Object parameter, int maxRows) {
+    return selectList(statement, parameter, new RowBounds(0, maxRows));
+  }
+
+  protected List<?> selectList(String statement, Object parameter, RowBounds rowBounds) {
     statement = dbSqlSessionFactory.mapStatement(statement);
-    List<Object> resultList = sqlSession.selectList(statement, parameter);
+    long startTime = statementStarted(statement);
+    List<Object> resultList = sqlSession.selectList(statement, parameter, rowBounds);
+    statementExecuted(statement, startTime, resultList.size());
     for (Object object : resultList) {
       fireEntityLoaded(object);
     }
@@ -107,14 +122,18 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
+    long startTime = statementStarted(selectStatement);
     Object result = sqlSession.selectOne(selectStatement, id);
+    statementExecuted(selectStatement, startTime, result != null ? 1 : 0);
     fireEntityLoaded(result);
     return (T) result;
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = statementStarted(statement);
     Object result = sqlSession.selectOne(statement, parameter);
+    statementExecuted(statement, startTime, result != null ? 1 : 0);
     fireEntityLoaded(result);
     return result;
   }
@@ -254,7 +273,9 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   protected void executeInsertEntity(String insertStatement, Object parameter) {
     LOG.executeDatabaseOperation("INSERT", parameter);
-    sqlSession.insert(insertStatement, parameter);
+    long startTime = writeStatementStarted(insertStatement);
+    int rowsAffected = sqlSession.insert(insertStatement, parameter);
+    statementExecuted(insertStatement, startTime, rowsAffected);
   }
 
   protected void entityInsertPerformed(DbEntityOperation operation, int rowsAffected, Exception failure) {
@@ -285,14 +306,20 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
   protected int executeDelete(String deleteStatement, Object parameter) {
     // map the statement
     deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-    return sqlSession.delete(deleteStatement, parameter);
+    long startTime = writeStatementStarted(deleteStatement);
+    int rowsAffected = sqlSession.delete(deleteStatement, parameter);
+    statementExecuted(deleteStatement, startTime, rowsAffected);
+    return rowsAffected;
   }
 
   // update ////////////////////////////////////////
 
   public int executeUpdate(String updateStatement, Object parameter) {
     updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-    return sqlSession.update(updateStatement, parameter);
+    long startTime = writeStatementStarted(updateStatement);
+    int rowsAffected = sqlSession.update(updateStatement, parameter);
+    statementExecuted(updateStatement, startTime, rowsAffected);
+    return rowsAffected;
   }
 
   @Override
@@ -304,7 +331,60 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     if (mappedStatement.getBoundSql(parameter).getSql().isEmpty())
       return 0;
 
-    return sqlSession.update(updateStmt, parameter);
+    long startTime = writeStatementStarted(updateStmt);
+    int rowsAffected = sqlSession.update(updateStmt, parameter);
+    statementExecuted(updateStmt, startTime, rowsAffected);
+    return rowsAffected;
+  }
+
+  /**
+   * Counts a statement execution for the command metrics of the current command
+   * and for the SQL statement metrics, if enabled.
+   *
+   * @return the start time in nanoseconds if the execution is sampled by the SQL
+   *   statement metrics, {@link #NOT_SAMPLED} otherwise
+   */
+  protected long statementStarted(String statement) {
+    if (countStatement(statement)) {
+      return System.nanoTime();
+    }
+    return NOT_SAMPLED;
+  }
+
+  /**
+   * Like {@link #statementStarted(String)} for INSERT, UPDATE and DELETE statements,
+   * which may not be executed before the session is flushed.
+   */
+  protected long writeStatementStarted(String statement) {
+    return statementStarted(statement);
+  }
+
+  /**
+   * Counts a statement execution for the command metrics of the current command
+   * and for the SQL statement metrics, if enabled.
+   *
+   * @return true if the execution is sampled by the SQL statement metrics
+   */
+  protected boolean countStatement(String statement) {
+    CommandInvocationMetrics invocationMetrics = Context.getCommandInvocationMetrics();
+    if (invocationMetrics != null) {
+      invocationMetrics.incrementSqlStatementCount();
+    }
+
+    SqlStatementMetricsRegistry statementMetricsRegistry = dbSqlSessionFactory.getSqlStatementMetricsRegistry();
+    return statementMetricsRegistry != null && statementMetricsRegistry.statementStarted(statement);
+  }
+
+  /**
+   * Records the execution time and row count of a sampled statement execution.
+   *
+   * @param rows the number of returned or affected rows or a negative value if unknown
+   */
+  protected void statementExecuted(String statement, long startTime, long rows) {
+    if (startTime != NOT_SAMPLED) {
+      dbSqlSessionFactory.getSqlStatementMetricsRegistry()
+        .statementExecuted(statement, System.nanoTime() - startTime, rows);
+    }
   }
 
   // flush ////////////////////////////////////////////////////////////////////
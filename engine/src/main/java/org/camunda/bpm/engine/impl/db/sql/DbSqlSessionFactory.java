@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 
 
@@ -43,6 +44,16 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final String POSTGRES = "postgres";
   public static final String MARIADB = "mariadb";
   public static final String[] SUPPORTED_DATABASES = {MSSQL, DB2, ORACLE, H2, MYSQL, POSTGRES, MARIADB};
+  /*
+   * Databases on which rows can be locked at selection time while skipping rows locked by other
+   * transactions, see constant_for_update_skip_locked.
+   */
+  public static final String[] SKIP_LOCKED_SUPPORTING_DATABASES = {ORACLE, MYSQL, POSTGRES, MARIADB};
+  /*
+   * Databases which support multi-row INSERT ... VALUES (...), (...) statements. Oracle only
+   * supports INSERT ALL and always uses single-row inserts.
+   */
+  public static final String[] MULTI_ROW_INSERT_SUPPORTING_DATABASES = {MSSQL, DB2, H2, MYSQL, POSTGRES, MARIADB};
 
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<>();
 
@@ -211,6 +222,7 @@ public class DbSqlSessionFactory implements SessionFactory {
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricIdentityLinksByTaskCaseInstanceIds", "deleteHistoricIdentityLinksByTaskCaseInstanceIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricDecisionInputInstanceByteArraysByDecisionInstanceIds", "deleteHistoricDecisionInputInstanceByteArraysByDecisionInstanceIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricDecisionOutputInstanceByteArraysByDecisionInstanceIds", "deleteHistoricDecisionOutputInstanceByteArraysByDecisionInstanceIds_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricDecisionInstanceValuesByteArraysByIds", "deleteHistoricDecisionInstanceValuesByteArraysByIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricVariableInstanceByIds", "deleteHistoricVariableInstanceByIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricVariableInstanceByteArraysByIds", "deleteHistoricVariableInstanceByteArraysByIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteCommentsByIds", "deleteCommentsByIds_mysql");
@@ -239,6 +251,7 @@ public class DbSqlSessionFactory implements SessionFactory {
       constants.put("constant.event", "'event'");
       constants.put("constant.op_message", "CONCAT(NEW_VALUE_, '_|_', PROPERTY_)");
       constants.put("constant_for_update", "for update");
+      constants.put("constant_for_update_skip_locked", "for update skip locked");
       constants.put("constant.datepart.quarter", "QUARTER");
       constants.put("constant.datepart.month", "MONTH");
       constants.put("constant.datepart.minute", "MINUTE");
@@ -334,6 +347,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant_for_update", "for update");
+    constants.put("constant_for_update_skip_locked", "for update skip locked");
     constants.put("constant.datepart.quarter", "QUARTER");
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.datepart.minute", "MINUTE");
@@ -388,6 +402,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(ORACLE, "selectHistoricDecisionInstanceIdsForCleanup", "selectHistoricDecisionInstanceIdsForCleanup_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricCaseInstanceIdsForCleanup", "selectHistoricCaseInstanceIdsForCleanup_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricBatchIdsForCleanup", "selectHistoricBatchIdsForCleanup_oracle");
+    addDatabaseSpecificStatement(ORACLE, "selectNextJobsToExecuteSkipLocked", "selectNextJobsToExecuteSkipLocked_oracle");
+    addDatabaseSpecificStatement(ORACLE, "selectExternalTasksForExactTopicsSkipLocked", "selectExternalTasksForExactTopicsSkipLocked_oracle");
 
     addDatabaseSpecificStatement(ORACLE, "deleteAttachmentsByRemovalTime", "deleteAttachmentsByRemovalTime_oracle");
     addDatabaseSpecificStatement(ORACLE, "deleteCommentsByRemovalTime", "deleteCommentsByRemovalTime_oracle");
@@ -412,6 +428,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant_for_update", "for update");
+    constants.put("constant_for_update_skip_locked", "for update skip locked");
     constants.put("constant.datepart.quarter", "'Q'");
     constants.put("constant.datepart.month", "'MM'");
     constants.put("constant.datepart.minute", "'MI'");
@@ -590,12 +607,16 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<Class<?>,String>  updateStatements = new ConcurrentHashMap<>();
   protected Map<Class<?>,String>  deleteStatements = new ConcurrentHashMap<>();
   protected Map<Class<?>,String>  selectStatements = new ConcurrentHashMap<>();
+  protected Map<Class<?>,String>  bulkInsertStatements = new ConcurrentHashMap<>();
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
 
   protected boolean jdbcBatchProcessing;
+  protected boolean jdbcBatchMultiRowInserts;
+
+  protected SqlStatementMetricsRegistry sqlStatementMetricsRegistry;
 
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
@@ -633,6 +654,25 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(persistentObjectClass, selectStatements, "select");
   }
 
+  /**
+   * @return the name of the statement which inserts a list of entities of the given type
+   * with a single multi-row INSERT. The statement is only present in the mapping files for
+   * entity types which are inserted in large numbers.
+   */
+  public String getBulkInsertStatement(Class<?> persistentObjectClass) {
+    return getStatement(persistentObjectClass, bulkInsertStatements, "bulkInsert");
+  }
+
+  /**
+   * @return true if INSERTs of the same entity type are combined into multi-row INSERT
+   * statements on flush
+   */
+  public boolean isMultiRowInsertEnabled() {
+    return jdbcBatchProcessing
+        && jdbcBatchMultiRowInserts
+        && Arrays.asList(MULTI_ROW_INSERT_SUPPORTING_DATABASES).contains(databaseType);
+  }
+
   private String getStatement(Class<?> persistentObjectClass, Map<Class<?>,String> cachedStatements, String prefix) {
     String statement = cachedStatements.get(persistentObjectClass);
     if (statement!=null) {
@@ -743,6 +783,25 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.selectStatements = selectStatements;
   }
 
+  public boolean isJdbcBatchMultiRowInserts() {
+    return jdbcBatchMultiRowInserts;
+  }
+
+  public void setJdbcBatchMultiRowInserts(boolean jdbcBatchMultiRowInserts) {
+    this.jdbcBatchMultiRowInserts = jdbcBatchMultiRowInserts;
+  }
+
+  /**
+   * @return the registry of the SQL statement metrics or null if they are disabled
+   */
+  public SqlStatementMetricsRegistry getSqlStatementMetricsRegistry() {
+    return sqlStatementMetricsRegistry;
+  }
+
+  public void setSqlStatementMetricsRegistry(SqlStatementMetricsRegistry sqlStatementMetricsRegistry) {
+    this.sqlStatementMetricsRegistry = sqlStatementMetricsRegistry;
+  }
+
   public boolean isDbIdentityUsed() {
     return isDbIdentityUsed;
   }
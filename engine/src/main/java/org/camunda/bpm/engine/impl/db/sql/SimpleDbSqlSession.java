@@ -47,7 +47,9 @@ public class SimpleDbSqlSession extends DbSqlSession {
 
   @Override
   protected void executeSelectForUpdate(String statement, Object parameter) {
-    sqlSession.update(statement, parameter);
+    long startTime = statementStarted(statement);
+    int rowsAffected = sqlSession.update(statement, parameter);
+    statementExecuted(statement, startTime, rowsAffected);
   }
 
   @Override
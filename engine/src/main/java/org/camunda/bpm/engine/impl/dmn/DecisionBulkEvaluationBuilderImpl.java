@@ -0,0 +1,151 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.dmn.DecisionBulkEvaluationBuilder;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.exception.dmn.DecisionDefinitionNotFoundException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionBulkCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class DecisionBulkEvaluationBuilderImpl implements DecisionBulkEvaluationBuilder {
+
+  private final static DecisionLogger LOG = ProcessEngineLogger.DECISION_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+
+  protected String decisionDefinitionKey;
+  protected String decisionDefinitionId;
+
+  protected Integer version;
+
+  protected String decisionDefinitionTenantId;
+  protected boolean isTenantIdSet = false;
+
+  protected int parallelism = 1;
+  protected boolean skipHistory = false;
+
+  public DecisionBulkEvaluationBuilderImpl(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public DecisionBulkEvaluationBuilder version(Integer version) {
+    this.version = version;
+    return this;
+  }
+
+  public DecisionBulkEvaluationBuilder decisionDefinitionTenantId(String tenantId) {
+    this.decisionDefinitionTenantId = tenantId;
+    isTenantIdSet = true;
+    return this;
+  }
+
+  public DecisionBulkEvaluationBuilder decisionDefinitionWithoutTenantId() {
+    this.decisionDefinitionTenantId = null;
+    isTenantIdSet = true;
+    return this;
+  }
+
+  public DecisionBulkEvaluationBuilder parallelism(int parallelism) {
+    this.parallelism = parallelism;
+    return this;
+  }
+
+  public DecisionBulkEvaluationBuilder skipHistory() {
+    this.skipHistory = true;
+    return this;
+  }
+
+  public List<DmnDecisionResult> evaluate(Stream<? extends Map<String, Object>> variables) {
+    ensureNotNull(NotValidException.class, "variables", variables);
+    return evaluate(variables.collect(Collectors.toList()));
+  }
+
+  public List<DmnDecisionResult> evaluate(List<? extends Map<String, Object>> variables) {
+    ensureOnlyOneNotNull(NotValidException.class, "either decision definition id or key must be set", decisionDefinitionId, decisionDefinitionKey);
+    ensureNotNull(NotValidException.class, "variables", variables);
+
+    if (isTenantIdSet && decisionDefinitionId != null) {
+      throw LOG.exceptionEvaluateDecisionDefinitionByIdAndTenantId();
+    }
+
+    try {
+      return commandExecutor.execute(new EvaluateDecisionBulkCmd(this, variables));
+    }
+    catch (NullValueException e) {
+      throw new NotValidException(e.getMessage(), e);
+    }
+    catch (DecisionDefinitionNotFoundException e) {
+      throw new NotFoundException(e.getMessage(), e);
+    }
+  }
+
+  public static DecisionBulkEvaluationBuilder evaluateDecisionBulkByKey(CommandExecutor commandExecutor, String decisionDefinitionKey) {
+    DecisionBulkEvaluationBuilderImpl builder = new DecisionBulkEvaluationBuilderImpl(commandExecutor);
+    builder.decisionDefinitionKey = decisionDefinitionKey;
+    return builder;
+  }
+
+  public static DecisionBulkEvaluationBuilder evaluateDecisionBulkById(CommandExecutor commandExecutor, String decisionDefinitionId) {
+    DecisionBulkEvaluationBuilderImpl builder = new DecisionBulkEvaluationBuilderImpl(commandExecutor);
+    builder.decisionDefinitionId = decisionDefinitionId;
+    return builder;
+  }
+
+  // getters ////////////////////////////////////
+
+  public String getDecisionDefinitionKey() {
+    return decisionDefinitionKey;
+  }
+
+  public String getDecisionDefinitionId() {
+    return decisionDefinitionId;
+  }
+
+  public Integer getVersion() {
+    return version;
+  }
+
+  public String getDecisionDefinitionTenantId() {
+    return decisionDefinitionTenantId;
+  }
+
+  public boolean isTenantIdSet() {
+    return isTenantIdSet;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public boolean isSkipHistory() {
+    return skipHistory;
+  }
+
+}
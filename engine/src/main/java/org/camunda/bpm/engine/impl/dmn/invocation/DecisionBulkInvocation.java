@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.invocation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngine;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+
+/**
+ * {@link DelegateInvocation} invoking a {@link DecisionDefinition}
+ * once for each of the given {@link VariableContext}s.
+ *
+ * If a parallelism greater than one is given and all expressions of the
+ * decision are FEEL expressions, the decision is evaluated in parallel by
+ * a pool which is shared by all bulk invocations. The parallelism is capped
+ * by the number of available processors. The worker threads have no command
+ * context, which is why decisions with other expression languages, e.g. JUEL
+ * or scripts, are evaluated sequentially by the invoking thread. The decision
+ * evaluation listeners, e.g. for history, are notified by the invoking thread.
+ *
+ * The invocation result is a list of {@link DmnDecisionResult}s in the
+ * order of the variable contexts.
+ */
+public class DecisionBulkInvocation extends DelegateInvocation {
+
+  protected static volatile ForkJoinPool evaluationPool;
+
+  protected DecisionDefinition decisionDefinition;
+  protected List<? extends VariableContext> variableContexts;
+  protected int parallelism;
+
+  public DecisionBulkInvocation(DecisionDefinition decisionDefinition, List<? extends VariableContext> variableContexts, int parallelism) {
+    super(null, (DecisionDefinitionEntity) decisionDefinition);
+    this.decisionDefinition = decisionDefinition;
+    this.variableContexts = variableContexts;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  protected void invoke() throws Exception {
+    DmnEngine dmnEngine = Context.getProcessEngineConfiguration()
+      .getDmnEngine();
+    DmnDecision decision = (DmnDecision) decisionDefinition;
+
+    if (parallelism > 1 && variableContexts.size() > 1 && dmnEngine instanceof DefaultDmnEngine
+        && ((DefaultDmnEngine) dmnEngine).isFeelOnlyDecision(decision)) {
+      ForkJoinPool pool = getEvaluationPool();
+      int cappedParallelism = Math.min(parallelism, pool.getParallelism());
+      invocationResult = ((DefaultDmnEngine) dmnEngine).evaluateDecisions(decision, variableContexts, pool, cappedParallelism);
+    }
+    else {
+      invocationResult = dmnEngine.evaluateDecisions(decision, variableContexts);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<DmnDecisionResult> getInvocationResult() {
+    return (List<DmnDecisionResult>) super.getInvocationResult();
+  }
+
+  public DecisionDefinition getDecisionDefinition() {
+    return decisionDefinition;
+  }
+
+  /**
+   * @return the pool of the parallel evaluations, which has one worker thread per available
+   * processor. Idle worker threads are terminated by the pool.
+   */
+  protected static ForkJoinPool getEvaluationPool() {
+    if (evaluationPool == null) {
+      synchronized (DecisionBulkInvocation.class) {
+        if (evaluationPool == null) {
+          evaluationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+      }
+    }
+    return evaluationPool;
+  }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Collects the topics of the external tasks which became available in a transaction and
+ * notifies the {@link ExternalTaskAvailableListener}s and the external task conditions once
+ * the transaction is committed.
+ */
+public class ExternalTaskAvailableNotification implements TransactionListener {
+
+  protected Set<String> topicNames = new HashSet<String>();
+  protected boolean allTopics = false;
+
+  public void addTopic(String topicName) {
+    if (topicName == null) {
+      allTopics = true;
+    } else {
+      topicNames.add(topicName);
+    }
+  }
+
+  public void execute(CommandContext commandContext) {
+    Set<String> availableTopics = allTopics ? null : Collections.unmodifiableSet(topicNames);
+    for (ExternalTaskAvailableListener listener : ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS) {
+      listener.externalTasksAvailable(availableTopics);
+    }
+
+    ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkOperationBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.ExtendLockOnExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskFailureCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTasksBulkCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class ExternalTaskBulkOperationBuilderImpl implements ExternalTaskBulkOperationBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected String workerId;
+  protected List<HandleExternalTaskCmd> operations = new ArrayList<HandleExternalTaskCmd>();
+
+  public ExternalTaskBulkOperationBuilderImpl(CommandExecutor commandExecutor, String workerId) {
+    this.commandExecutor = commandExecutor;
+    this.workerId = workerId;
+  }
+
+  public ExternalTaskBulkOperationBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    operations.add(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
+    return this;
+  }
+
+  public ExternalTaskBulkOperationBuilder handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryDuration) {
+    operations.add(new HandleExternalTaskFailureCmd(externalTaskId, workerId, errorMessage, errorDetails, retries, retryDuration));
+    return this;
+  }
+
+  public ExternalTaskBulkOperationBuilder extendLock(String externalTaskId, long newLockDuration) {
+    operations.add(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, newLockDuration));
+    return this;
+  }
+
+  public List<ExternalTaskOperationResult> execute() {
+    if (operations.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Map<HandleExternalTaskCmd, ExternalTaskOperationResult> results = new IdentityHashMap<HandleExternalTaskCmd, ExternalTaskOperationResult>();
+    execute(operations, results);
+
+    List<ExternalTaskOperationResult> orderedResults = new ArrayList<ExternalTaskOperationResult>();
+    for (HandleExternalTaskCmd operation : operations) {
+      orderedResults.add(results.get(operation));
+    }
+    return orderedResults;
+  }
+
+  /**
+   * Executes the operations in one transaction. If it fails, the operations are executed again
+   * in one transaction per process instance or, if they belong to a single process instance,
+   * in one transaction per operation.
+   */
+  protected void execute(List<HandleExternalTaskCmd> operations, Map<HandleExternalTaskCmd, ExternalTaskOperationResult> results) {
+    HandleExternalTasksBulkCmd bulkCmd = new HandleExternalTasksBulkCmd(operations);
+
+    try {
+      List<ExternalTaskOperationResult> bulkResults = commandExecutor.execute(bulkCmd);
+      for (int i = 0; i < operations.size(); i++) {
+        results.put(operations.get(i), bulkResults.get(i));
+      }
+    }
+    catch (RuntimeException e) {
+      if (operations.size() == 1) {
+        HandleExternalTaskCmd operation = operations.get(0);
+        results.put(operation, ExternalTaskOperationResultImpl.failed(operation.getExternalTaskId(), e));
+        return;
+      }
+
+      List<List<HandleExternalTaskCmd>> partitions = partitionByProcessInstance(bulkCmd);
+      if (partitions.size() == 1) {
+        partitions = partitionByOperation(operations);
+      }
+
+      for (List<HandleExternalTaskCmd> partition : partitions) {
+        execute(partition, results);
+      }
+    }
+  }
+
+  /**
+   * Operations which were not validated before the command failed form a partition of their own.
+   */
+  protected List<List<HandleExternalTaskCmd>> partitionByProcessInstance(HandleExternalTasksBulkCmd bulkCmd) {
+    Map<String, List<HandleExternalTaskCmd>> operationsPerProcessInstance = new LinkedHashMap<String, List<HandleExternalTaskCmd>>();
+    List<List<HandleExternalTaskCmd>> partitions = new ArrayList<List<HandleExternalTaskCmd>>();
+
+    for (HandleExternalTaskCmd operation : bulkCmd.getOperations()) {
+      String processInstanceId = bulkCmd.getProcessInstanceId(operation);
+
+      if (processInstanceId == null) {
+        partitions.add(Collections.singletonList(operation));
+      }
+      else {
+        List<HandleExternalTaskCmd> partition = operationsPerProcessInstance.get(processInstanceId);
+        if (partition == null) {
+          partition = new ArrayList<HandleExternalTaskCmd>();
+          operationsPerProcessInstance.put(processInstanceId, partition);
+          partitions.add(partition);
+        }
+        partition.add(operation);
+      }
+    }
+
+    return partitions;
+  }
+
+  protected List<List<HandleExternalTaskCmd>> partitionByOperation(List<HandleExternalTaskCmd> operations) {
+    List<List<HandleExternalTaskCmd>> partitions = new ArrayList<List<HandleExternalTaskCmd>>();
+    for (HandleExternalTaskCmd operation : operations) {
+      partitions.add(Collections.singletonList(operation));
+    }
+    return partitions;
+  }
+
+}
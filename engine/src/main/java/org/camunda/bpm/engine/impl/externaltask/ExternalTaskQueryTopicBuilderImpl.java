@@ -25,6 +25,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksCmd;
+import org.camunda.bpm.engine.impl.cmd.FetchExternalTasksForWorkersCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 /**
@@ -60,6 +61,18 @@ public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopic
     return commandExecutor.execute(new FetchExternalTasksCmd(workerId, maxTasks, instructions, usePriority));
   }
 
+  /**
+   * Fetches and locks the external tasks of the configured topics for multiple workers
+   * with a single query. The worker id and maximum number of tasks of this builder are ignored.
+   *
+   * @param maxTasksPerWorker the maximum number of tasks to lock per worker id
+   * @return the locked tasks per worker id
+   */
+  public Map<String, List<LockedExternalTask>> executeForWorkers(Map<String, Integer> maxTasksPerWorker) {
+    submitCurrentInstruction();
+    return commandExecutor.execute(new FetchExternalTasksForWorkersCmd(maxTasksPerWorker, instructions, usePriority));
+  }
+
   public ExternalTaskQueryTopicBuilder topic(String topicName, long lockDuration) {
     submitCurrentInstruction();
     currentInstruction = new TopicFetchInstruction(topicName, lockDuration);
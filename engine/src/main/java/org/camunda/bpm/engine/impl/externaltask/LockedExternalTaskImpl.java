@@ -16,13 +16,20 @@
  */
 package org.camunda.bpm.engine.impl.externaltask;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
 
@@ -140,6 +147,16 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
    * database and variables attached
    */
   public static LockedExternalTaskImpl fromEntity(ExternalTaskEntity externalTaskEntity, List<String> variablesToFetch, boolean isLocal, boolean deserializeVariables) {
+    LockedExternalTaskImpl result = copyFields(externalTaskEntity);
+
+    ExecutionEntity execution = externalTaskEntity.getExecution();
+    result.variables = new VariableMapImpl();
+    execution.collectVariables(result.variables, variablesToFetch, isLocal, deserializeVariables);
+
+    return result;
+  }
+
+  protected static LockedExternalTaskImpl copyFields(ExternalTaskEntity externalTaskEntity) {
     LockedExternalTaskImpl result = new LockedExternalTaskImpl();
     result.id = externalTaskEntity.getId();
     result.topicName = externalTaskEntity.getTopicName();
@@ -160,10 +177,145 @@ public class LockedExternalTaskImpl implements LockedExternalTask {
     result.priority = externalTaskEntity.getPriority();
     result.businessKey = externalTaskEntity.getBusinessKey();
 
-    ExecutionEntity execution = externalTaskEntity.getExecution();
-    result.variables = new VariableMapImpl();
-    execution.collectVariables(result.variables, variablesToFetch, isLocal, deserializeVariables);
+    return result;
+  }
+
+  /**
+   * Construct representations of locked ExternalTasks from the corresponding entities. In contrast to
+   * {@link #fromEntity(ExternalTaskEntity, List, boolean, boolean)}, the variables of all tasks are
+   * selected at once by the ids of their executions and the executions of their parent scopes. The
+   * variables are collected with the same semantics as
+   * {@link org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope#collectVariables(VariableMapImpl, Collection, boolean, boolean)}.
+   *
+   * @param externalTaskEntities - source persistent entities to use for fields
+   * @param fetchInstructions - the fetch instructions by topic name, defining the variables to fetch of each task
+   *
+   * @return objects with all fields copied from the ExternalTaskEntities in the same order and variables attached
+   */
+  public static List<LockedExternalTask> fromEntities(List<ExternalTaskEntity> externalTaskEntities, Map<String, TopicFetchInstruction> fetchInstructions) {
+    List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
+    if (externalTaskEntities.isEmpty()) {
+      return result;
+    }
+
+    Map<String, List<String>> scopeIdsPerTask = resolveScopeIds(externalTaskEntities, fetchInstructions);
+    Map<String, List<VariableInstanceEntity>> variablesPerScope = selectVariables(scopeIdsPerTask, fetchInstructions.values());
+
+    for (ExternalTaskEntity externalTaskEntity : externalTaskEntities) {
+      TopicFetchInstruction fetchInstruction = fetchInstructions.get(externalTaskEntity.getTopicName());
+      List<String> variablesToFetch = fetchInstruction.getVariablesToFetch();
+      boolean collectAll = (variablesToFetch == null);
+
+      LockedExternalTaskImpl lockedExternalTask = copyFields(externalTaskEntity);
+      lockedExternalTask.variables = new VariableMapImpl();
+
+      List<String> scopeIds = scopeIdsPerTask.get(externalTaskEntity.getId());
+      if (scopeIds != null) {
+        for (String scopeId : scopeIds) {
+          List<VariableInstanceEntity> scopeVariables = variablesPerScope.get(scopeId);
+          if (scopeVariables == null) {
+            continue;
+          }
+
+          for (VariableInstanceEntity variable : scopeVariables) {
+            if (!lockedExternalTask.variables.containsKey(variable.getName())
+                && (collectAll || variablesToFetch.contains(variable.getName()))) {
+              lockedExternalTask.variables.put(variable.getName(), variable.getTypedValue(fetchInstruction.isDeserializeVariables()));
+            }
+          }
+        }
+      }
+
+      result.add(lockedExternalTask);
+    }
 
     return result;
   }
+
+  /**
+   * @return the ids of the variable scopes of each task, ordered from the execution of the task to
+   * the process instance; tasks which fetch no variables are not contained
+   */
+  protected static Map<String, List<String>> resolveScopeIds(List<ExternalTaskEntity> externalTaskEntities, Map<String, TopicFetchInstruction> fetchInstructions) {
+    Set<String> processInstanceIds = new HashSet<String>();
+    for (ExternalTaskEntity externalTaskEntity : externalTaskEntities) {
+      TopicFetchInstruction fetchInstruction = fetchInstructions.get(externalTaskEntity.getTopicName());
+      if (fetchesVariables(fetchInstruction)
+          && !fetchInstruction.isLocalVariables()
+          && !externalTaskEntity.getExecutionId().equals(externalTaskEntity.getProcessInstanceId())) {
+        processInstanceIds.add(externalTaskEntity.getProcessInstanceId());
+      }
+    }
+
+    Map<String, String> parentIds = new HashMap<String, String>();
+    if (!processInstanceIds.isEmpty()) {
+      List<ExecutionEntity> executions = Context.getCommandContext()
+        .getExecutionManager()
+        .findExecutionsByProcessInstanceIds(processInstanceIds);
+
+      for (ExecutionEntity execution : executions) {
+        parentIds.put(execution.getId(), execution.getParentId());
+      }
+    }
+
+    Map<String, List<String>> scopeIdsPerTask = new HashMap<String, List<String>>();
+    for (ExternalTaskEntity externalTaskEntity : externalTaskEntities) {
+      TopicFetchInstruction fetchInstruction = fetchInstructions.get(externalTaskEntity.getTopicName());
+      if (!fetchesVariables(fetchInstruction)) {
+        continue;
+      }
+
+      List<String> scopeIds = new ArrayList<String>();
+      String scopeId = externalTaskEntity.getExecutionId();
+      while (scopeId != null) {
+        scopeIds.add(scopeId);
+        scopeId = fetchInstruction.isLocalVariables() ? null : parentIds.get(scopeId);
+      }
+      scopeIdsPerTask.put(externalTaskEntity.getId(), scopeIds);
+    }
+
+    return scopeIdsPerTask;
+  }
+
+  protected static Map<String, List<VariableInstanceEntity>> selectVariables(Map<String, List<String>> scopeIdsPerTask, Collection<TopicFetchInstruction> fetchInstructions) {
+    Map<String, List<VariableInstanceEntity>> variablesPerScope = new HashMap<String, List<VariableInstanceEntity>>();
+
+    Set<String> executionIds = new HashSet<String>();
+    for (List<String> scopeIds : scopeIdsPerTask.values()) {
+      executionIds.addAll(scopeIds);
+    }
+    if (executionIds.isEmpty()) {
+      return variablesPerScope;
+    }
+
+    // null selects all variables
+    Set<String> variableNames = new HashSet<String>();
+    for (TopicFetchInstruction fetchInstruction : fetchInstructions) {
+      if (fetchInstruction.getVariablesToFetch() == null) {
+        variableNames = null;
+        break;
+      }
+      variableNames.addAll(fetchInstruction.getVariablesToFetch());
+    }
+
+    List<VariableInstanceEntity> variables = Context.getCommandContext()
+      .getVariableInstanceManager()
+      .findVariableInstancesByExecutionIdsAndVariableNames(executionIds, variableNames);
+
+    for (VariableInstanceEntity variable : variables) {
+      List<VariableInstanceEntity> scopeVariables = variablesPerScope.get(variable.getExecutionId());
+      if (scopeVariables == null) {
+        scopeVariables = new ArrayList<VariableInstanceEntity>();
+        variablesPerScope.put(variable.getExecutionId(), scopeVariables);
+      }
+      scopeVariables.add(variable);
+    }
+
+    return variablesPerScope;
+  }
+
+  protected static boolean fetchesVariables(TopicFetchInstruction fetchInstruction) {
+    List<String> variablesToFetch = fetchInstruction.getVariablesToFetch();
+    return variablesToFetch == null || !variablesToFetch.isEmpty();
+  }
 }
@@ -50,6 +50,13 @@ public class HistoricDecisionInputInstanceEntity extends HistoryEvent implements
 
   protected Date createTime;
 
+  /**
+   * a transient instance is not persisted as a separate row but as part of the
+   * compact values of its decision instance; thus its byte array value is not
+   * inserted as a separate byte array entity
+   */
+  protected boolean isTransient = false;
+
   public HistoricDecisionInputInstanceEntity() {
     byteArrayField = new ByteArrayField(this, ResourceTypes.HISTORY);
   }
@@ -176,7 +183,7 @@ public class HistoricDecisionInputInstanceEntity extends HistoryEvent implements
 
   @Override
   public void setByteArrayValue(byte[] bytes) {
-    byteArrayField.setByteArrayValue(bytes);
+    byteArrayField.setByteArrayValue(bytes, isTransient);
   }
 
   public void setValue(TypedValue typedValue) {
@@ -215,6 +222,14 @@ public class HistoricDecisionInputInstanceEntity extends HistoryEvent implements
     this.rootProcessInstanceId = rootProcessInstanceId;
   }
 
+  public boolean isTransient() {
+    return isTransient;
+  }
+
+  public void setTransient(boolean isTransient) {
+    this.isTransient = isTransient;
+  }
+
   public void delete() {
     byteArrayField.deleteByteArrayValue();
 
@@ -61,6 +61,12 @@ public class HistoricDecisionInstanceEntity extends HistoryEvent implements Hist
   protected List<HistoricDecisionInputInstance> inputs;
   protected List<HistoricDecisionOutputInstance> outputs;
 
+  /**
+   * id of the byte array which holds the inputs and outputs in the compact format
+   * (null if they are persisted as separate rows)
+   */
+  protected String valuesByteArrayId;
+
   public String getDecisionDefinitionId() {
     return decisionDefinitionId;
   }
@@ -203,4 +209,12 @@ public class HistoricDecisionInstanceEntity extends HistoryEvent implements Hist
   public void setDecisionRequirementsDefinitionKey(String decisionRequirementsDefinitionKey) {
     this.decisionRequirementsDefinitionKey = decisionRequirementsDefinitionKey;
   }
+
+  public String getValuesByteArrayId() {
+    return valuesByteArrayId;
+  }
+
+  public void setValuesByteArrayId(String valuesByteArrayId) {
+    this.valuesByteArrayId = valuesByteArrayId;
+  }
 }
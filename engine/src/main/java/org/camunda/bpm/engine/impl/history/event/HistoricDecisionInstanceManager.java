@@ -24,14 +24,19 @@ import org.camunda.bpm.engine.history.CleanableHistoricDecisionInstanceReportRes
 import org.camunda.bpm.engine.impl.CleanableHistoricDecisionInstanceReportImpl;
 import org.camunda.bpm.engine.impl.HistoricDecisionInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.impl.variable.serializer.AbstractTypedValueSerializer;
+import org.camunda.bpm.engine.repository.ResourceTypes;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -72,6 +77,7 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   }
 
   public void deleteHistoricDecisionInstanceByIds(List<String> decisionInstanceIds) {
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionInstanceValuesByteArraysByIds", decisionInstanceIds);
     getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionInputInstanceByteArraysByDecisionInstanceIds", decisionInstanceIds);
     getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDecisionOutputInstanceByteArraysByDecisionInstanceIds", decisionInstanceIds);
     getDbEntityManager().deletePreserveOrder(HistoricDecisionInputInstanceEntity.class, "deleteHistoricDecisionInputInstanceByDecisionInstanceIds", decisionInstanceIds);
@@ -93,10 +99,65 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   }
 
   protected void insertHistoricDecisionInstance(HistoricDecisionInstanceEntity historicDecisionInstance) {
+    if (isCompactDecisionHistoryEnabled()) {
+      insertHistoricDecisionValues(historicDecisionInstance);
+    }
+
     getDbEntityManager().insert(historicDecisionInstance);
 
-    insertHistoricDecisionInputInstances(historicDecisionInstance.getInputs(), historicDecisionInstance.getId());
-    insertHistoricDecisionOutputInstances(historicDecisionInstance.getOutputs(), historicDecisionInstance.getId());
+    if (historicDecisionInstance.getValuesByteArrayId() != null) {
+      // the inputs and outputs are persisted with the decision instance
+      setDecisionInstanceId(historicDecisionInstance);
+
+    } else {
+      insertHistoricDecisionInputInstances(historicDecisionInstance.getInputs(), historicDecisionInstance.getId());
+      insertHistoricDecisionOutputInstances(historicDecisionInstance.getOutputs(), historicDecisionInstance.getId());
+    }
+  }
+
+  /**
+   * Persists the inputs and outputs of the decision instance in a single byte array
+   * instead of one row per input and output.
+   */
+  protected void insertHistoricDecisionValues(HistoricDecisionInstanceEntity historicDecisionInstance) {
+    List<HistoricDecisionInputInstance> inputs = historicDecisionInstance.getInputs();
+    List<HistoricDecisionOutputInstance> outputs = historicDecisionInstance.getOutputs();
+
+    if (inputs.isEmpty() && outputs.isEmpty()) {
+      return;
+    }
+
+    // the inputs and outputs keep their ids although they are not inserted as entities
+    IdGenerator idGenerator = Context.getProcessEngineConfiguration().getIdGenerator();
+    for (HistoricDecisionInputInstance input : inputs) {
+      HistoricDecisionInputInstanceEntity inputEntity = (HistoricDecisionInputInstanceEntity) input;
+      if (inputEntity.getId() == null) {
+        inputEntity.setId(idGenerator.getNextId());
+      }
+    }
+    for (HistoricDecisionOutputInstance output : outputs) {
+      HistoricDecisionOutputInstanceEntity outputEntity = (HistoricDecisionOutputInstanceEntity) output;
+      if (outputEntity.getId() == null) {
+        outputEntity.setId(idGenerator.getNextId());
+      }
+    }
+
+    byte[] bytes = HistoricDecisionValuesSerializer.serialize(inputs, outputs);
+
+    ByteArrayEntity byteArray = new ByteArrayEntity(HistoricDecisionValuesSerializer.BYTE_ARRAY_NAME, bytes,
+        ResourceTypes.HISTORY, historicDecisionInstance.getRootProcessInstanceId(), historicDecisionInstance.getRemovalTime());
+    getByteArrayManager().insertByteArray(byteArray);
+
+    historicDecisionInstance.setValuesByteArrayId(byteArray.getId());
+  }
+
+  protected void setDecisionInstanceId(HistoricDecisionInstanceEntity historicDecisionInstance) {
+    for (HistoricDecisionInputInstance input : historicDecisionInstance.getInputs()) {
+      ((HistoricDecisionInputInstanceEntity) input).setDecisionInstanceId(historicDecisionInstance.getId());
+    }
+    for (HistoricDecisionOutputInstance output : historicDecisionInstance.getOutputs()) {
+      ((HistoricDecisionOutputInstanceEntity) output).setDecisionInstanceId(historicDecisionInstance.getId());
+    }
   }
 
   protected void insertHistoricDecisionInputInstances(List<HistoricDecisionInputInstance> inputs, String decisionInstanceId) {
@@ -147,15 +208,28 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   public void enrichHistoricDecisionsWithInputsAndOutputs(HistoricDecisionInstanceQueryImpl query, List<HistoricDecisionInstance> decisionInstances) {
     Map<String, HistoricDecisionInstanceEntity> decisionInstancesById =
       new HashMap<>();
+    List<HistoricDecisionInstanceEntity> compactDecisionInstances = new ArrayList<>();
+
     for(HistoricDecisionInstance decisionInstance : decisionInstances) {
-      decisionInstancesById.put(decisionInstance.getId(), (HistoricDecisionInstanceEntity) decisionInstance);
+      HistoricDecisionInstanceEntity decisionInstanceEntity = (HistoricDecisionInstanceEntity) decisionInstance;
+
+      // the inputs and outputs are either persisted as rows or together with the decision instance
+      if (decisionInstanceEntity.getValuesByteArrayId() != null) {
+        compactDecisionInstances.add(decisionInstanceEntity);
+      } else {
+        decisionInstancesById.put(decisionInstance.getId(), decisionInstanceEntity);
+      }
+    }
+
+    if (!compactDecisionInstances.isEmpty() && (query.isIncludeInput() || query.isIncludeOutputs())) {
+      appendHistoricDecisionValues(compactDecisionInstances, query);
     }
 
-    if (!decisionInstances.isEmpty() && query.isIncludeInput()) {
+    if (!decisionInstancesById.isEmpty() && query.isIncludeInput()) {
       appendHistoricDecisionInputInstances(decisionInstancesById, query);
     }
 
-    if(!decisionInstances.isEmpty() && query.isIncludeOutputs()) {
+    if(!decisionInstancesById.isEmpty() && query.isIncludeOutputs()) {
       appendHistoricDecisionOutputInstances(decisionInstancesById, query);
     }
   }
@@ -172,6 +246,66 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
     return (List<String>) getDbEntityManager().selectList("selectHistoricDecisionInstanceIdsForCleanup", parameterObject);
   }
 
+  protected void appendHistoricDecisionValues(List<HistoricDecisionInstanceEntity> decisionInstances, HistoricDecisionInstanceQueryImpl query) {
+    Map<String, ByteArrayEntity> byteArraysById = findHistoricDecisionValuesByteArrays(decisionInstances);
+
+    for (HistoricDecisionInstanceEntity decisionInstance : decisionInstances) {
+      ByteArrayEntity byteArray = byteArraysById.get(decisionInstance.getValuesByteArrayId());
+
+      if (byteArray == null) {
+        // the values have been removed in the meantime
+        if (query.isIncludeInput()) {
+          decisionInstance.setInputs(new ArrayList<HistoricDecisionInputInstance>());
+        }
+        if (query.isIncludeOutputs()) {
+          decisionInstance.setOutputs(new ArrayList<HistoricDecisionOutputInstance>());
+        }
+        continue;
+      }
+
+      HistoricDecisionValuesSerializer.deserialize(byteArray.getBytes(), decisionInstance, query.isIncludeInput(), query.isIncludeOutputs());
+
+      if (query.isIncludeInput()) {
+        for (HistoricDecisionInputInstance decisionInputInstance : decisionInstance.getInputs()) {
+          // do not deserialize values of byte arrays eagerly (unless requested by the user)
+          if (!isBinaryValue(decisionInputInstance) || query.isByteArrayFetchingEnabled()) {
+            fetchVariableValue((HistoricDecisionInputInstanceEntity) decisionInputInstance, query.isCustomObjectDeserializationEnabled());
+          }
+        }
+      }
+
+      if (query.isIncludeOutputs()) {
+        for (HistoricDecisionOutputInstance decisionOutputInstance : decisionInstance.getOutputs()) {
+          // do not deserialize values of byte arrays eagerly (unless requested by the user)
+          if (!isBinaryValue(decisionOutputInstance) || query.isByteArrayFetchingEnabled()) {
+            fetchVariableValue((HistoricDecisionOutputInstanceEntity) decisionOutputInstance, query.isCustomObjectDeserializationEnabled());
+          }
+        }
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Map<String, ByteArrayEntity> findHistoricDecisionValuesByteArrays(List<HistoricDecisionInstanceEntity> decisionInstances) {
+    List<String> byteArrayIds = new ArrayList<>();
+    for (HistoricDecisionInstanceEntity decisionInstance : decisionInstances) {
+      byteArrayIds.add(decisionInstance.getValuesByteArrayId());
+    }
+
+    Map<String, ByteArrayEntity> byteArraysById = new HashMap<>();
+    for (List<String> partition : CollectionUtil.partition(byteArrayIds, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      List<ByteArrayEntity> byteArrays = getDbEntityManager().selectList("selectByteArrays", partition);
+      for (ByteArrayEntity byteArray : byteArrays) {
+        byteArraysById.put(byteArray.getId(), byteArray);
+      }
+    }
+    return byteArraysById;
+  }
+
+  protected boolean isCompactDecisionHistoryEnabled() {
+    return Context.getProcessEngineConfiguration().isCompactDecisionHistoryEnabled();
+  }
+
   protected void appendHistoricDecisionInputInstances(Map<String, HistoricDecisionInstanceEntity> decisionInstancesById, HistoricDecisionInstanceQueryImpl query) {
     List<HistoricDecisionInputInstanceEntity> decisionInputInstances = findHistoricDecisionInputInstancesByDecisionInstanceIds(decisionInstancesById.keySet());
     initializeInputInstances(decisionInstancesById.values());
@@ -55,6 +55,13 @@ public class HistoricDecisionOutputInstanceEntity extends HistoryEvent implement
 
   protected Date createTime;
 
+  /**
+   * a transient instance is not persisted as a separate row but as part of the
+   * compact values of its decision instance; thus its byte array value is not
+   * inserted as a separate byte array entity
+   */
+  protected boolean isTransient = false;
+
   public HistoricDecisionOutputInstanceEntity() {
     byteArrayField = new ByteArrayField(this, ResourceTypes.HISTORY);
   }
@@ -207,7 +214,7 @@ public class HistoricDecisionOutputInstanceEntity extends HistoryEvent implement
 
   @Override
   public void setByteArrayValue(byte[] bytes) {
-    byteArrayField.setByteArrayValue(bytes);
+    byteArrayField.setByteArrayValue(bytes, isTransient);
   }
 
   public void setValue(TypedValue typedValue) {
@@ -246,6 +253,14 @@ public class HistoricDecisionOutputInstanceEntity extends HistoryEvent implement
     this.rootProcessInstanceId = rootProcessInstanceId;
   }
 
+  public boolean isTransient() {
+    return isTransient;
+  }
+
+  public void setTransient(boolean isTransient) {
+    this.isTransient = isTransient;
+  }
+
   public void delete() {
     byteArrayField.deleteByteArrayValue();
 
@@ -0,0 +1,246 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.history.HistoricDecisionInputInstance;
+import org.camunda.bpm.engine.history.HistoricDecisionOutputInstance;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+
+/**
+ * Writes the inputs and outputs of a historic decision instance into a single
+ * byte array and reads them back. The value of each input and output is
+ * stored by its value fields (serializer name, text, long, double and byte
+ * array value), so the values are deserialized by the same serializers as
+ * values which are persisted as separate rows.
+ */
+public class HistoricDecisionValuesSerializer {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final String BYTE_ARRAY_NAME = "decisionInstanceValues";
+
+  protected static final int FORMAT_VERSION = 1;
+
+  public static byte[] serialize(List<HistoricDecisionInputInstance> inputs, List<HistoricDecisionOutputInstance> outputs) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    try {
+      out.writeByte(FORMAT_VERSION);
+
+      out.writeInt(inputs.size());
+      for (HistoricDecisionInputInstance input : inputs) {
+        HistoricDecisionInputInstanceEntity inputEntity = (HistoricDecisionInputInstanceEntity) input;
+        writeString(out, inputEntity.getId());
+        writeString(out, inputEntity.getClauseId());
+        writeString(out, inputEntity.getClauseName());
+        writeDate(out, inputEntity.getCreateTime());
+
+        writeString(out, inputEntity.getSerializerName());
+        writeString(out, inputEntity.getTextValue());
+        writeString(out, inputEntity.getTextValue2());
+        writeLong(out, inputEntity.getLongValue());
+        writeDouble(out, inputEntity.getDoubleValue());
+        writeBytes(out, inputEntity.getByteArrayValue());
+      }
+
+      out.writeInt(outputs.size());
+      for (HistoricDecisionOutputInstance output : outputs) {
+        HistoricDecisionOutputInstanceEntity outputEntity = (HistoricDecisionOutputInstanceEntity) output;
+        writeString(out, outputEntity.getId());
+        writeString(out, outputEntity.getClauseId());
+        writeString(out, outputEntity.getClauseName());
+        writeString(out, outputEntity.getRuleId());
+        writeInteger(out, outputEntity.getRuleOrder());
+        writeString(out, outputEntity.getVariableName());
+        writeDate(out, outputEntity.getCreateTime());
+
+        writeString(out, outputEntity.getSerializerName());
+        writeString(out, outputEntity.getTextValue());
+        writeString(out, outputEntity.getTextValue2());
+        writeLong(out, outputEntity.getLongValue());
+        writeDouble(out, outputEntity.getDoubleValue());
+        writeBytes(out, outputEntity.getByteArrayValue());
+      }
+
+      out.flush();
+
+    } catch (IOException e) {
+      throw LOG.writeHistoricDecisionValuesException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads the inputs and outputs from the given bytes and sets them on the decision instance.
+   * The inputs and outputs are transient, i.e. changing them does not result in database updates.
+   */
+  public static void deserialize(byte[] bytes, HistoricDecisionInstanceEntity decisionInstance, boolean includeInputs, boolean includeOutputs) {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+    try {
+      int formatVersion = in.readByte();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("unsupported format version " + formatVersion);
+      }
+
+      int numberOfInputs = in.readInt();
+      List<HistoricDecisionInputInstance> inputs = new ArrayList<>(numberOfInputs);
+      for (int i = 0; i < numberOfInputs; i++) {
+        HistoricDecisionInputInstanceEntity input = new HistoricDecisionInputInstanceEntity(
+            decisionInstance.getRootProcessInstanceId(), decisionInstance.getRemovalTime());
+        input.setTransient(true);
+        input.setDecisionInstanceId(decisionInstance.getId());
+        input.setTenantId(decisionInstance.getTenantId());
+
+        input.setId(readString(in));
+        input.setClauseId(readString(in));
+        input.setClauseName(readString(in));
+        input.setCreateTime(readDate(in));
+
+        input.setSerializerName(readString(in));
+        input.setTextValue(readString(in));
+        input.setTextValue2(readString(in));
+        input.setLongValue(readLong(in));
+        input.setDoubleValue(readDouble(in));
+        input.setByteArrayValue(readBytes(in));
+
+        inputs.add(input);
+      }
+
+      int numberOfOutputs = in.readInt();
+      List<HistoricDecisionOutputInstance> outputs = new ArrayList<>(numberOfOutputs);
+      for (int i = 0; i < numberOfOutputs; i++) {
+        HistoricDecisionOutputInstanceEntity output = new HistoricDecisionOutputInstanceEntity(
+            decisionInstance.getRootProcessInstanceId(), decisionInstance.getRemovalTime());
+        output.setTransient(true);
+        output.setDecisionInstanceId(decisionInstance.getId());
+        output.setTenantId(decisionInstance.getTenantId());
+
+        output.setId(readString(in));
+        output.setClauseId(readString(in));
+        output.setClauseName(readString(in));
+        output.setRuleId(readString(in));
+        output.setRuleOrder(readInteger(in));
+        output.setVariableName(readString(in));
+        output.setCreateTime(readDate(in));
+
+        output.setSerializerName(readString(in));
+        output.setTextValue(readString(in));
+        output.setTextValue2(readString(in));
+        output.setLongValue(readLong(in));
+        output.setDoubleValue(readDouble(in));
+        output.setByteArrayValue(readBytes(in));
+
+        outputs.add(output);
+      }
+
+      if (includeInputs) {
+        decisionInstance.setInputs(inputs);
+      }
+      if (includeOutputs) {
+        decisionInstance.setOutputs(outputs);
+      }
+
+    } catch (IOException e) {
+      throw LOG.readHistoricDecisionValuesException(decisionInstance.getId(), e);
+    }
+  }
+
+  protected static void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+  }
+
+  protected static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = readBytes(in);
+    return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+  }
+
+  protected static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    if (value != null) {
+      out.writeInt(value.length);
+      out.write(value);
+    } else {
+      out.writeInt(-1);
+    }
+  }
+
+  protected static byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  protected static void writeLong(DataOutputStream out, Long value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value);
+    }
+  }
+
+  protected static Long readLong(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readLong() : null;
+  }
+
+  protected static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  protected static Integer readInteger(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  protected static void writeDouble(DataOutputStream out, Double value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeDouble(value);
+    }
+  }
+
+  protected static Double readDouble(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readDouble() : null;
+  }
+
+  protected static void writeDate(DataOutputStream out, Date value) throws IOException {
+    writeLong(out, value != null ? value.getTime() : null);
+  }
+
+  protected static Date readDate(DataInputStream in) throws IOException {
+    Long time = readLong(in);
+    return time != null ? new Date(time) : null;
+  }
+
+}
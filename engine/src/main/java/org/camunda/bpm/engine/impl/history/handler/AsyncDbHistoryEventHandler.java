@@ -0,0 +1,110 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * <p>History event handler that writes history events to the process engine
+ * database outside of the transaction that produced them.</p>
+ *
+ * <p>The events of a command are buffered until its transaction commits and are then
+ * handed to the {@link HistoryEventWriter} which writes the events of many transactions
+ * in large batches. If the writer uses a spill file, the events are appended to it while
+ * the transaction commits, so that they are not lost if the process terminates before they
+ * are written. Events of transactions which roll back are discarded. History data
+ * becomes visible with a delay, see {@link org.camunda.bpm.engine.management.Metrics#HISTORY_EVENT_WRITE_LAG}.</p>
+ */
+public class AsyncDbHistoryEventHandler implements HistoryEventHandler {
+
+  protected HistoryEventWriter historyEventWriter;
+
+  public AsyncDbHistoryEventHandler(HistoryEventWriter historyEventWriter) {
+    this.historyEventWriter = historyEventWriter;
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+    HistoryEventBuffer historyEventBuffer = commandContext.getSession(HistoryEventBuffer.class);
+
+    if (historyEventBuffer.isEmpty()) {
+      TransactionContext transactionContext = commandContext.getTransactionContext();
+      transactionContext.addTransactionListener(TransactionState.COMMITTING, new HistoryEventsCommittingListener(historyEventBuffer));
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, new HistoryEventsCommittedListener(historyEventBuffer));
+      transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new HistoryEventsRolledBackListener(historyEventBuffer));
+    }
+
+    historyEventBuffer.add(historyEvent);
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  public HistoryEventWriter getHistoryEventWriter() {
+    return historyEventWriter;
+  }
+
+  protected class HistoryEventsCommittingListener implements TransactionListener {
+
+    protected HistoryEventBuffer historyEventBuffer;
+
+    public HistoryEventsCommittingListener(HistoryEventBuffer historyEventBuffer) {
+      this.historyEventBuffer = historyEventBuffer;
+    }
+
+    public void execute(CommandContext commandContext) {
+      historyEventBuffer.setSpillPosition(historyEventWriter.spill(historyEventBuffer.getHistoryEvents()));
+    }
+  }
+
+  protected class HistoryEventsCommittedListener implements TransactionListener {
+
+    protected HistoryEventBuffer historyEventBuffer;
+
+    public HistoryEventsCommittedListener(HistoryEventBuffer historyEventBuffer) {
+      this.historyEventBuffer = historyEventBuffer;
+    }
+
+    public void execute(CommandContext commandContext) {
+      historyEventWriter.enqueue(historyEventBuffer.getHistoryEvents(), historyEventBuffer.getSpillPosition());
+    }
+  }
+
+  protected class HistoryEventsRolledBackListener implements TransactionListener {
+
+    protected HistoryEventBuffer historyEventBuffer;
+
+    public HistoryEventsRolledBackListener(HistoryEventBuffer historyEventBuffer) {
+      this.historyEventBuffer = historyEventBuffer;
+    }
+
+    public void execute(CommandContext commandContext) {
+      historyEventWriter.discard(historyEventBuffer.getSpillPosition());
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>{@link DbHistoryEventHandler} used by the {@link HistoryEventWriter} to write the
+ * buffered history events of multiple transactions in a single command.</p>
+ *
+ * <p>When an event of a later transaction refers to a history entity that is inserted by
+ * an earlier event of the same batch, the properties written by the update statement of the
+ * entity are copied to the inserted entity, so that the row contains the same values as if
+ * the events were written one after another. Properties which are only known to the
+ * initial event, like the start activity of a process instance, are kept. When the entity
+ * is already updated by an earlier event of the batch, the later event replaces it since
+ * it carries the latest state.</p>
+ */
+public class BufferedDbHistoryEventHandler extends DbHistoryEventHandler {
+
+  @Override
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    CachedDbEntity cachedEntity = null;
+    if (!isInitialEvent(historyEvent) && historyEvent.getId() != null) {
+      cachedEntity = getDbEntityManager()
+        .getDbEntityCache()
+        .getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+    }
+
+    if (cachedEntity == null) {
+      super.insertOrUpdate(historyEvent);
+
+    } else if (cachedEntity.getEntityState() == DbEntityState.TRANSIENT) {
+      copyUpdatedProperties(historyEvent, cachedEntity.getEntity());
+
+    } else {
+      if (historyEvent instanceof HistoricScopeInstanceEvent) {
+        HistoricScopeInstanceEvent cachedEvent = (HistoricScopeInstanceEvent) cachedEntity.getEntity();
+        ((HistoricScopeInstanceEvent) historyEvent).setStartTime(cachedEvent.getStartTime());
+      }
+      cachedEntity.setEntity(historyEvent);
+    }
+  }
+
+  /**
+   * Copies the properties which the update statement of the history event would write
+   * to the entity that is inserted by this batch.
+   */
+  protected void copyUpdatedProperties(HistoryEvent historyEvent, DbEntity insertedEntity) {
+    DbSqlSessionFactory dbSqlSessionFactory = Context.getProcessEngineConfiguration().getDbSqlSessionFactory();
+    String updateStatement = dbSqlSessionFactory.mapStatement(dbSqlSessionFactory.getUpdateStatement(historyEvent));
+    MappedStatement mappedStatement = dbSqlSessionFactory
+      .getSqlSessionFactory()
+      .getConfiguration()
+      .getMappedStatement(updateStatement);
+
+    MetaObject updatedEvent = SystemMetaObject.forObject(historyEvent);
+    MetaObject insertedEvent = SystemMetaObject.forObject(insertedEntity);
+
+    for (ParameterMapping parameterMapping : mappedStatement.getBoundSql(historyEvent).getParameterMappings()) {
+      String property = parameterMapping.getProperty();
+      if (!"id".equals(property) && updatedEvent.hasGetter(property) && insertedEvent.hasSetter(property)) {
+        insertedEvent.setValue(property, updatedEvent.getValue(property));
+      }
+    }
+  }
+
+}
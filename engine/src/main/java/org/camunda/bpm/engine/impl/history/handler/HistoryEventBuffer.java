@@ -0,0 +1,62 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+/**
+ * Collects the history events of a command which are handed to the
+ * {@link HistoryEventWriter} once the transaction of the command committed.
+ */
+public class HistoryEventBuffer implements Session {
+
+  protected List<HistoryEvent> historyEvents = new ArrayList<>();
+
+  /** position of the events in the spill file or -1 if they are not spilled */
+  protected long spillPosition = -1;
+
+  public void add(HistoryEvent historyEvent) {
+    historyEvents.add(historyEvent);
+  }
+
+  public boolean isEmpty() {
+    return historyEvents.isEmpty();
+  }
+
+  public List<HistoryEvent> getHistoryEvents() {
+    return historyEvents;
+  }
+
+  public long getSpillPosition() {
+    return spillPosition;
+  }
+
+  public void setSpillPosition(long spillPosition) {
+    this.spillPosition = spillPosition;
+  }
+
+  public void flush() {
+  }
+
+  public void close() {
+  }
+
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+
+/**
+ * <p>Circular journal of the history events of transactions which are about to commit
+ * or are committed, but whose events are not yet written to the database by the
+ * {@link HistoryEventWriter}.</p>
+ *
+ * <p>The events of a transaction are appended as one record and forced to disk before the
+ * transaction commits. Once the events are written to the database, or the transaction is
+ * rolled back, the record is marked as done. The start of the journal advances over done
+ * records, so that their space is reused. Each record holds its length, its state and a
+ * checksum of its content:</p>
+ *
+ * <pre>
+ * header: | append position (8) | start position (8) |
+ * record: | length (4) | state (1) | CRC32 (8) | serialized events (length) |
+ * </pre>
+ *
+ * <p>A length of {@link #WRAP} marks that the next record starts after the header. On
+ * {@link #recover()}, the events of all records which are not done are returned. These
+ * include the records of transactions which were interrupted while committing, since it is
+ * not known whether they committed.</p>
+ */
+public class HistoryEventSpillFile {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final int APPEND_POSITION_OFFSET = 0;
+  protected static final int START_POSITION_OFFSET = 8;
+  protected static final int HEADER_SIZE = 16;
+
+  protected static final int RECORD_HEADER_SIZE = 13;
+  protected static final int STATE_OFFSET = 4;
+  protected static final int CHECKSUM_OFFSET = 5;
+
+  protected static final int WRAP = -1;
+  protected static final byte STATE_PENDING = 1;
+  protected static final byte STATE_DONE = 2;
+
+  protected String path;
+  protected long size;
+
+  protected RandomAccessFile file;
+  protected FileChannel channel;
+
+  protected long appendPosition;
+  protected long startPosition;
+
+  public HistoryEventSpillFile(String path, int size) {
+    this.path = path;
+    this.size = size;
+  }
+
+  public synchronized void open() {
+    try {
+      file = new RandomAccessFile(path, "rw");
+      channel = file.getChannel();
+
+      // a file is never shrunk, since records may wrap at its end
+      size = Math.max(size, file.length());
+      if (file.length() < size) {
+        file.setLength(size);
+      }
+
+      appendPosition = readLong(APPEND_POSITION_OFFSET);
+      startPosition = readLong(START_POSITION_OFFSET);
+
+      if (appendPosition == 0 && startPosition == 0) {
+        // new file
+        reset();
+        channel.force(false);
+      }
+      else if (!isValidPosition(appendPosition) || !isValidPosition(startPosition)) {
+        close();
+        throw LOG.historyEventSpillFileCorrupted(path, 0, "invalid header");
+      }
+    } catch (IOException e) {
+      close();
+      throw LOG.historyEventSpillFileException(path, e);
+    }
+  }
+
+  public synchronized void close() {
+    IoUtil.closeSilently(file);
+    file = null;
+    channel = null;
+    notifyAll();
+  }
+
+  /**
+   * Appends the events as a pending record and forces it to disk. Waits while the file
+   * has no space for the record until earlier records are marked as done.
+   *
+   * @return the position of the record or -1 if the file is closed
+   */
+  public synchronized long append(List<HistoryEvent> historyEvents) throws IOException {
+    if (channel == null) {
+      return -1;
+    }
+
+    byte[] content = serialize(historyEvents);
+    long recordSize = RECORD_HEADER_SIZE + content.length;
+
+    // a record must leave space for the wrap marker behind it and a gap to the start position
+    if (recordSize + 4 >= size - HEADER_SIZE) {
+      throw LOG.historyEventSpillRecordTooLarge(path, recordSize, size - HEADER_SIZE);
+    }
+
+    long recordPosition = getPositionForRecord(recordSize);
+    if (recordPosition < 0) {
+      LOG.historyEventSpillFileFull(path);
+      while (recordPosition < 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for space in the spill file", e);
+        }
+        if (channel == null) {
+          return -1;
+        }
+        recordPosition = getPositionForRecord(recordSize);
+      }
+    }
+
+    if (recordPosition != appendPosition) {
+      writeInt(appendPosition, WRAP);
+    }
+
+    CRC32 checksum = new CRC32();
+    checksum.update(content);
+
+    ByteBuffer record = ByteBuffer.allocate((int) recordSize);
+    record.putInt(content.length);
+    record.put(STATE_PENDING);
+    record.putLong(checksum.getValue());
+    record.put(content);
+    record.flip();
+    write(recordPosition, record);
+
+    appendPosition = recordPosition + recordSize;
+    writeLong(APPEND_POSITION_OFFSET, appendPosition);
+    channel.force(false);
+
+    return recordPosition;
+  }
+
+  /**
+   * Marks the records at the given positions as done, i.e. their events are written to the
+   * database or their transaction is rolled back, and reuses the space of the records at the
+   * start of the file that are done.
+   */
+  public synchronized void markDone(Collection<Long> recordPositions) throws IOException {
+    ensureOpen();
+
+    ByteBuffer state = ByteBuffer.allocate(1);
+    for (Long recordPosition : recordPositions) {
+      state.clear();
+      state.put(STATE_DONE).flip();
+      write(recordPosition + STATE_OFFSET, state);
+    }
+
+    while (startPosition != appendPosition) {
+      int length = readInt(startPosition);
+      if (length == WRAP) {
+        startPosition = HEADER_SIZE;
+      }
+      else if (readByte(startPosition + STATE_OFFSET) == STATE_DONE) {
+        startPosition += RECORD_HEADER_SIZE + length;
+      }
+      else {
+        break;
+      }
+    }
+
+    if (startPosition == appendPosition) {
+      reset();
+    }
+    else {
+      writeLong(START_POSITION_OFFSET, startPosition);
+    }
+    channel.force(false);
+
+    notifyAll();
+  }
+
+  /**
+   * Marks all records as done.
+   */
+  public synchronized void truncate() throws IOException {
+    ensureOpen();
+    reset();
+    channel.force(false);
+    notifyAll();
+  }
+
+  /**
+   * @return the events of all records which are not done, in the order they were appended
+   */
+  public synchronized List<HistoryEvent> recover() {
+    ensureOpen();
+    List<HistoryEvent> historyEvents = new ArrayList<>();
+
+    try {
+      long position = startPosition;
+      boolean wrapped = false;
+      while (position != appendPosition) {
+        int length = readInt(position);
+        if (length == WRAP) {
+          if (wrapped || position == HEADER_SIZE) {
+            throw LOG.historyEventSpillFileCorrupted(path, position, "unexpected wrap marker");
+          }
+          position = HEADER_SIZE;
+          wrapped = true;
+          continue;
+        }
+
+        long recordEnd = position + RECORD_HEADER_SIZE + length;
+        if (length <= 0 || recordEnd > size - 4 || (position < appendPosition && recordEnd > appendPosition)) {
+          throw LOG.historyEventSpillFileCorrupted(path, position, "invalid record length " + length);
+        }
+
+        byte[] content = new byte[length];
+        read(position + RECORD_HEADER_SIZE, ByteBuffer.wrap(content));
+
+        CRC32 checksum = new CRC32();
+        checksum.update(content);
+        if (checksum.getValue() != readLong(position + CHECKSUM_OFFSET)) {
+          if (recordEnd == appendPosition) {
+            // the process terminated while the last record was forced to disk,
+            // so its transaction was not committed
+            LOG.historyEventSpillRecordIncomplete(path, position);
+            break;
+          }
+          throw LOG.historyEventSpillFileCorrupted(path, position, "checksum mismatch");
+        }
+
+        if (readByte(position + STATE_OFFSET) == STATE_PENDING) {
+          try {
+            historyEvents.addAll(deserialize(content));
+          } catch (ClassNotFoundException | IOException e) {
+            throw LOG.historyEventSpillFileCorrupted(path, position, e.getMessage());
+          }
+        }
+
+        position = recordEnd;
+      }
+    } catch (IOException e) {
+      throw LOG.historyEventSpillFileException(path, e);
+    }
+
+    return historyEvents;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * @return the position at which the record is written, or -1 if there is no space
+   */
+  protected long getPositionForRecord(long recordSize) {
+    if (appendPosition >= startPosition) {
+      if (appendPosition + recordSize <= size - 4) {
+        return appendPosition;
+      }
+      // wrap, keeping a gap so that a full file is not mistaken for an empty one
+      return HEADER_SIZE + recordSize < startPosition ? HEADER_SIZE : -1;
+    }
+    else {
+      return appendPosition + recordSize < startPosition ? appendPosition : -1;
+    }
+  }
+
+  protected void ensureOpen() {
+    if (channel == null) {
+      throw LOG.historyEventSpillFileException(path, new IOException("The spill file is closed"));
+    }
+  }
+
+  protected boolean isValidPosition(long position) {
+    return position >= HEADER_SIZE && position <= size - 4;
+  }
+
+  protected void reset() throws IOException {
+    appendPosition = HEADER_SIZE;
+    startPosition = HEADER_SIZE;
+    writeLong(APPEND_POSITION_OFFSET, appendPosition);
+    writeLong(START_POSITION_OFFSET, startPosition);
+  }
+
+  protected byte readByte(long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(1);
+    read(position, buffer);
+    return buffer.get(0);
+  }
+
+  protected int readInt(long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    read(position, buffer);
+    return buffer.getInt(0);
+  }
+
+  protected long readLong(long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(8);
+    read(position, buffer);
+    return buffer.getLong(0);
+  }
+
+  protected void writeInt(long position, int value) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    buffer.putInt(value).flip();
+    write(position, buffer);
+  }
+
+  protected void writeLong(long position, long value) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(8);
+    buffer.putLong(value).flip();
+    write(position, buffer);
+  }
+
+  protected void read(long position, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of file at position " + (position + buffer.position()));
+      }
+    }
+  }
+
+  protected void write(long position, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  protected byte[] serialize(List<HistoryEvent> historyEvents) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    try {
+      out.writeObject(new ArrayList<>(historyEvents));
+    } finally {
+      out.close();
+    }
+    return bytes.toByteArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<HistoryEvent> deserialize(byte[] record) throws IOException, ClassNotFoundException {
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(record));
+    try {
+      return (List<HistoryEvent>) in.readObject();
+    } finally {
+      in.close();
+    }
+  }
+
+}
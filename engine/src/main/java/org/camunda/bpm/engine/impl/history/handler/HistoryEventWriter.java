@@ -0,0 +1,337 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Writes the history events of committed transactions to the database from a
+ * dedicated thread.</p>
+ *
+ * <p>The events of each transaction are put into a bounded queue. Threads committing a
+ * transaction block while the queue is full. The writer thread combines the events of
+ * multiple transactions into a single write until {@link #maxEventsPerWrite} is reached,
+ * so that they are flushed with few JDBC batches. If a {@link HistoryEventSpillFile} is
+ * configured, the events are appended to it by {@link #spill(List)} before the transaction
+ * commits, are marked as done once they are written or the transaction rolls back, and are
+ * recovered from it on {@link #start()}.</p>
+ */
+public class HistoryEventWriter implements Runnable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final long POLL_TIMEOUT_MILLIS = 100;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected HistoryEventHandler historyEventHandler = new BufferedDbHistoryEventHandler();
+
+  protected BlockingQueue<QueuedHistoryEvents> queue;
+  protected int maxEventsPerWrite;
+  protected HistoryEventSpillFile spillFile;
+
+  protected volatile boolean isActive = false;
+  protected Thread writerThread;
+
+  public HistoryEventWriter(ProcessEngineConfigurationImpl processEngineConfiguration, int queueSize, int maxEventsPerWrite, HistoryEventSpillFile spillFile) {
+    this.processEngineConfiguration = processEngineConfiguration;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.maxEventsPerWrite = maxEventsPerWrite;
+    this.spillFile = spillFile;
+  }
+
+  public synchronized void start() {
+    if (isActive) {
+      return;
+    }
+
+    if (spillFile != null) {
+      spillFile.open();
+      recoverSpilledEvents();
+    }
+
+    isActive = true;
+    writerThread = new Thread(this, "camunda-history-event-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  public synchronized void stop() {
+    if (!isActive) {
+      return;
+    }
+
+    // the writer thread writes all queued events before it terminates
+    isActive = false;
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writerThread = null;
+
+    // events of transactions which committed while the writer thread terminated
+    while (!queue.isEmpty()) {
+      write(takeQueuedEvents());
+    }
+
+    if (spillFile != null) {
+      spillFile.close();
+    }
+  }
+
+  /**
+   * Appends the events of a committing transaction to the spill file. Fails the transaction
+   * if the events cannot be appended.
+   *
+   * @return the position of the events in the spill file or -1 if they are not spilled
+   */
+  public long spill(List<HistoryEvent> historyEvents) {
+    if (spillFile == null || !isActive) {
+      return -1;
+    }
+
+    try {
+      return spillFile.append(historyEvents);
+    } catch (IOException e) {
+      throw LOG.historyEventSpillException(spillFile.getPath(), e);
+    }
+  }
+
+  public void enqueue(List<HistoryEvent> historyEvents) {
+    enqueue(historyEvents, -1);
+  }
+
+  /**
+   * Queues the events of a committed transaction.
+   *
+   * @param spillPosition the position returned by {@link #spill(List)}
+   */
+  public void enqueue(List<HistoryEvent> historyEvents, long spillPosition) {
+    QueuedHistoryEvents queuedEvents = new QueuedHistoryEvents(historyEvents, spillPosition);
+
+    if (!isActive) {
+      // e.g. during engine bootstrap
+      write(Collections.singletonList(queuedEvents));
+      return;
+    }
+
+    // the transaction is already committed, so its events must be queued even if the
+    // thread is interrupted; the interrupt is restored once the events are queued
+    boolean interrupted = false;
+    while (true) {
+      try {
+        queue.put(queuedEvents);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Discards the spilled events of a transaction which rolled back.
+   */
+  public void discard(long spillPosition) {
+    if (spillPosition >= 0) {
+      markDone(Collections.singletonList(spillPosition));
+    }
+  }
+
+  public void run() {
+    while (isActive || !queue.isEmpty()) {
+      List<QueuedHistoryEvents> queuedEvents = takeQueuedEvents();
+      if (!queuedEvents.isEmpty()) {
+        write(queuedEvents);
+      }
+    }
+  }
+
+  protected List<QueuedHistoryEvents> takeQueuedEvents() {
+    List<QueuedHistoryEvents> queuedEvents = new ArrayList<>();
+
+    try {
+      QueuedHistoryEvents first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      if (first == null) {
+        return queuedEvents;
+      }
+      queuedEvents.add(first);
+
+      int numberOfEvents = first.getHistoryEvents().size();
+      QueuedHistoryEvents next = queue.peek();
+      while (next != null && numberOfEvents + next.getHistoryEvents().size() <= maxEventsPerWrite) {
+        queuedEvents.add(queue.poll());
+        numberOfEvents += next.getHistoryEvents().size();
+        next = queue.peek();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return queuedEvents;
+  }
+
+  protected void write(List<QueuedHistoryEvents> queuedEvents) {
+    final List<HistoryEvent> historyEvents = new ArrayList<>();
+    for (QueuedHistoryEvents queuedEvent : queuedEvents) {
+      historyEvents.addAll(queuedEvent.getHistoryEvents());
+    }
+
+    boolean written = true;
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          historyEventHandler.handleEvents(historyEvents);
+          return null;
+        }
+      });
+    } catch (RuntimeException e) {
+      if (queuedEvents.size() > 1) {
+        // write the events of each transaction separately to only discard the failing ones
+        for (QueuedHistoryEvents queuedEvent : queuedEvents) {
+          write(Collections.singletonList(queuedEvent));
+        }
+        return;
+      }
+      LOG.historyEventsWriteFailed(historyEvents.size(), e);
+      written = false;
+    }
+
+    // discarded events are not recovered from the spill file either
+    markWritten(queuedEvents, written);
+  }
+
+  protected void markWritten(List<QueuedHistoryEvents> queuedEvents, boolean written) {
+    long now = System.currentTimeMillis();
+    long numberOfEvents = 0;
+    long lag = 0;
+    List<Long> spillPositions = new ArrayList<>();
+
+    for (QueuedHistoryEvents queuedEvent : queuedEvents) {
+      int size = queuedEvent.getHistoryEvents().size();
+      numberOfEvents += size;
+      lag += (now - queuedEvent.getCommitTime()) * size;
+      if (queuedEvent.getSpillPosition() >= 0) {
+        spillPositions.add(queuedEvent.getSpillPosition());
+      }
+    }
+
+    if (!spillPositions.isEmpty()) {
+      markDone(spillPositions);
+    }
+
+    if (written && processEngineConfiguration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      metricsRegistry.markOccurrence(Metrics.HISTORY_EVENT_WRITTEN, numberOfEvents);
+      metricsRegistry.markOccurrence(Metrics.HISTORY_EVENT_WRITE_LAG, lag);
+    }
+  }
+
+  protected void markDone(List<Long> spillPositions) {
+    if (spillFile == null) {
+      return;
+    }
+
+    try {
+      spillFile.markDone(spillPositions);
+    } catch (IOException | ProcessEngineException e) {
+      // the events are written again when they are recovered
+      LOG.historyEventSpillMarkDoneFailed(spillFile.getPath(), e);
+    }
+  }
+
+  protected void recoverSpilledEvents() {
+    List<HistoryEvent> historyEvents = spillFile.recover();
+    if (!historyEvents.isEmpty()) {
+      LOG.historyEventsRecovered(historyEvents.size(), spillFile.getPath());
+
+      for (int i = 0; i < historyEvents.size(); i += maxEventsPerWrite) {
+        List<HistoryEvent> chunk = historyEvents.subList(i, Math.min(i + maxEventsPerWrite, historyEvents.size()));
+        write(Collections.singletonList(new QueuedHistoryEvents(chunk, -1)));
+      }
+    }
+
+    try {
+      spillFile.truncate();
+    } catch (IOException e) {
+      throw LOG.historyEventSpillFileException(spillFile.getPath(), e);
+    }
+  }
+
+  /**
+   * @return the number of transactions whose history events are not yet written
+   */
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  public HistoryEventHandler getHistoryEventHandler() {
+    return historyEventHandler;
+  }
+
+  public void setHistoryEventHandler(HistoryEventHandler historyEventHandler) {
+    this.historyEventHandler = historyEventHandler;
+  }
+
+  protected static class QueuedHistoryEvents {
+
+    protected List<HistoryEvent> historyEvents;
+    protected long spillPosition;
+    protected long commitTime = System.currentTimeMillis();
+
+    public QueuedHistoryEvents(List<HistoryEvent> historyEvents, long spillPosition) {
+      this.historyEvents = historyEvents;
+      this.spillPosition = spillPosition;
+    }
+
+    public List<HistoryEvent> getHistoryEvents() {
+      return historyEvents;
+    }
+
+    public long getSpillPosition() {
+      return spillPosition;
+    }
+
+    public long getCommitTime() {
+      return commitTime;
+    }
+  }
+
+}
@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.DmnHistoryEventProducer;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 
@@ -53,6 +54,11 @@ public class HistoryDecisionEvaluationListener implements DmnDecisionEvaluationL
     if (historyLevel == null) {
       historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
     }
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null && !commandContext.isDecisionHistoryEnabled()) {
+      return null;
+    }
+
     DmnDecision decisionTable = evaluationEvent.getDecisionResult().getDecision();
     if(isDeployedDecisionTable(decisionTable) && historyLevel.isHistoryEventProduced(HistoryEventTypes.DMN_DECISION_EVALUATE, decisionTable)) {
 
@@ -261,6 +261,7 @@ public class DefaultDmnHistoryEventProducer implements DmnHistoryEventProducer {
     for(DmnEvaluatedInput inputClause : evaluationEvent.getInputs()) {
 
       HistoricDecisionInputInstanceEntity inputInstance = new HistoricDecisionInputInstanceEntity(rootProcessInstanceId, removalTime);
+      inputInstance.setTransient(isCompactDecisionHistoryEnabled());
       inputInstance.setClauseId(inputClause.getId());
       inputInstance.setClauseName(inputClause.getName());
       inputInstance.setCreateTime(ClockUtil.getCurrentTime());
@@ -287,6 +288,7 @@ public class DefaultDmnHistoryEventProducer implements DmnHistoryEventProducer {
       for(DmnEvaluatedOutput outputClause : rule.getOutputEntries().values()) {
 
         HistoricDecisionOutputInstanceEntity outputInstance = new HistoricDecisionOutputInstanceEntity(rootProcessInstanceId, removalTime);
+        outputInstance.setTransient(isCompactDecisionHistoryEnabled());
         outputInstance.setClauseId(outputClause.getId());
         outputInstance.setClauseName(outputClause.getName());
         outputInstance.setCreateTime(ClockUtil.getCurrentTime());
@@ -309,6 +311,7 @@ public class DefaultDmnHistoryEventProducer implements DmnHistoryEventProducer {
     event.setInputs(Collections.<HistoricDecisionInputInstance> emptyList());
 
     HistoricDecisionOutputInstanceEntity outputInstance = new HistoricDecisionOutputInstanceEntity(event.getRootProcessInstanceId(), event.getRemovalTime());
+    outputInstance.setTransient(isCompactDecisionHistoryEnabled());
     outputInstance.setVariableName(evaluationEvent.getOutputName());
     outputInstance.setValue(evaluationEvent.getOutputValue());
 
@@ -419,6 +422,15 @@ public class DefaultDmnHistoryEventProducer implements DmnHistoryEventProducer {
       .getHistoryRemovalTimeStrategy();
   }
 
+  /**
+   * If enabled, the byte array values of the inputs and outputs are not inserted as separate
+   * byte arrays since they are persisted together with the decision instance.
+   */
+  protected boolean isCompactDecisionHistoryEnabled() {
+    return Context.getProcessEngineConfiguration()
+      .isCompactDecisionHistoryEnabled();
+  }
+
   protected HistoricProcessInstanceEventEntity getHistoricRootProcessInstance(String rootProcessInstanceId) {
     return Context.getCommandContext().getDbEntityManager()
       .selectById(HistoricProcessInstanceEventEntity.class, rootProcessInstanceId);
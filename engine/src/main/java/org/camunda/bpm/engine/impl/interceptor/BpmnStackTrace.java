@@ -41,6 +41,20 @@ public class BpmnStackTrace {
       return;
     }
 
+    LOG.bpmnStackTrace(getStackTrace(verbose));
+
+    perfromedInvocations.clear();
+  }
+
+  /**
+   * @return the stack trace of the performed invocations or <code>null</code> if no
+   *   invocation was performed
+   */
+  public String getStackTrace(boolean verbose) {
+    if(perfromedInvocations.isEmpty()) {
+      return null;
+    }
+
     StringWriter writer = new StringWriter();
     writer.write("BPMN Stack Trace:\n");
 
@@ -51,9 +65,7 @@ public class BpmnStackTrace {
       logVerbose(writer);
     }
 
-    LOG.bpmnStackTrace(writer.toString());
-
-    perfromedInvocations.clear();
+    return writer.toString();
   }
 
   protected void logNonVerbose(StringWriter writer) {
@@ -108,6 +108,7 @@ public class CommandContext {
   protected boolean authorizationCheckEnabled = true;
   protected boolean userOperationLogEnabled = true;
   protected boolean tenantCheckEnabled = true;
+  protected boolean decisionHistoryEnabled = true;
   protected boolean restrictUserOperationLogToAuthenticatedUsers;
 
   protected TransactionContext transactionContext;
@@ -183,7 +184,20 @@ public class CommandContext {
 
           if (commandInvocationContext.getThrowable() == null) {
             fireCommandContextClose();
-            flushSessions();
+
+            CommandInvocationMetrics invocationMetrics = Context.getCommandInvocationMetrics();
+            if (invocationMetrics != null) {
+              long flushStartTime = System.nanoTime();
+              try {
+                flushSessions();
+              }
+              finally {
+                invocationMetrics.addFlushTime(System.nanoTime() - flushStartTime);
+              }
+            }
+            else {
+              flushSessions();
+            }
           }
 
         } catch (Throwable exception) {
@@ -225,6 +239,11 @@ public class CommandContext {
       commandInvocationContext.trySetThrowable(exception);
     }
 
+    CommandInvocationMetrics invocationMetrics = Context.getCommandInvocationMetrics();
+    if (invocationMetrics != null) {
+      invocationMetrics.setBpmnStackTrace(commandInvocationContext.getBpmnStackTrace());
+    }
+
     // rethrow the original exception if there was one
     commandInvocationContext.rethrow();
   }
@@ -614,6 +633,18 @@ public class CommandContext {
     return tenantCheckEnabled;
   }
 
+  public void enableDecisionHistory() {
+    decisionHistoryEnabled = true;
+  }
+
+  public void disableDecisionHistory() {
+    decisionHistoryEnabled = false;
+  }
+
+  public boolean isDecisionHistoryEnabled() {
+    return decisionHistoryEnabled;
+  }
+
   public JobEntity getCurrentJob() {
     return currentJob;
   }
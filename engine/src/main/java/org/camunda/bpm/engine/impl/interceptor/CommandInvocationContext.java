@@ -162,4 +162,8 @@ public class CommandInvocationContext {
   public ProcessDataContext getProcessDataContext() {
     return processDataContext;
   }
+
+  public BpmnStackTrace getBpmnStackTrace() {
+    return bpmnStackTrace;
+  }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+/**
+ * Collects the measurements of a single top-level command invocation for the
+ * {@link CommandMetricsInterceptor}. Nested commands contribute to the
+ * measurements of the command they are invoked from.
+ */
+public class CommandInvocationMetrics {
+
+  protected long flushNanos;
+  protected long sqlStatementCount;
+  protected BpmnStackTrace bpmnStackTrace;
+
+  public void addFlushTime(long nanos) {
+    flushNanos += nanos;
+  }
+
+  public long getFlushNanos() {
+    return flushNanos;
+  }
+
+  public void incrementSqlStatementCount() {
+    sqlStatementCount++;
+  }
+
+  public long getSqlStatementCount() {
+    return sqlStatementCount;
+  }
+
+  public BpmnStackTrace getBpmnStackTrace() {
+    return bpmnStackTrace;
+  }
+
+  /**
+   * Set on closing a command context; the outermost command context
+   * is closed last, so its stack trace is kept.
+   */
+  public void setBpmnStackTrace(BpmnStackTrace bpmnStackTrace) {
+    this.bpmnStackTrace = bpmnStackTrace;
+  }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+
+/**
+ * <p>Records the execution time, the time spent flushing the database session and the
+ * number of executed SQL statements of each top-level command in the
+ * {@link CommandMetricsRegistry} of the process engine. Commands executed from within
+ * another command are accounted to the outer command.</p>
+ *
+ * <p>Commands taking longer than the configured
+ * {@link ProcessEngineConfigurationImpl#getSlowCommandThreshold() slow command threshold}
+ * are logged together with their BPMN stack trace.</p>
+ *
+ * <p>The interceptor is added in front of the command interceptor chains if
+ * {@link ProcessEngineConfigurationImpl#isCommandMetricsEnabled() command metrics} are enabled.</p>
+ */
+public class CommandMetricsInterceptor extends CommandInterceptor {
+
+  private static final CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected static final String LAMBDA_CLASS_NAME_SEPARATOR = "$$Lambda$";
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public CommandMetricsInterceptor(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  public <T> T execute(Command<T> command) {
+    if (Context.getCommandInvocationMetrics() != null) {
+      // nested command
+      return next.execute(command);
+    }
+
+    CommandInvocationMetrics invocationMetrics = new CommandInvocationMetrics();
+    Context.setCommandInvocationMetrics(invocationMetrics);
+    long startTime = System.nanoTime();
+
+    try {
+      return next.execute(command);
+    }
+    finally {
+      long executionMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+      Context.removeCommandInvocationMetrics();
+
+      recordInvocation(command, invocationMetrics, executionMillis);
+    }
+  }
+
+  protected void recordInvocation(Command<?> command, CommandInvocationMetrics invocationMetrics, long executionMillis) {
+    String commandName = getCommandName(command);
+
+    CommandMetricsRegistry commandMetricsRegistry = processEngineConfiguration.getCommandMetricsRegistry();
+    if (commandMetricsRegistry != null) {
+      commandMetricsRegistry.record(commandName,
+          executionMillis,
+          TimeUnit.NANOSECONDS.toMillis(invocationMetrics.getFlushNanos()),
+          invocationMetrics.getSqlStatementCount());
+    }
+
+    long slowCommandThreshold = processEngineConfiguration.getSlowCommandThreshold();
+    if (slowCommandThreshold > 0 && executionMillis > slowCommandThreshold) {
+      BpmnStackTrace bpmnStackTrace = invocationMetrics.getBpmnStackTrace();
+      String stackTrace = bpmnStackTrace != null
+          ? bpmnStackTrace.getStackTrace(processEngineConfiguration.isBpmnStacktraceVerbose())
+          : null;
+
+      LOG.slowCommand(commandName, executionMillis, invocationMetrics.getSqlStatementCount(), stackTrace);
+    }
+  }
+
+  /**
+   * @return the class name of the command; commands implemented as lambda
+   *   are named after the class declaring the lambda
+   */
+  protected String getCommandName(Command<?> command) {
+    String className = command.getClass().getName();
+    int lambdaIndex = className.indexOf(LAMBDA_CLASS_NAME_SEPARATOR);
+    if (lambdaIndex > 0) {
+      return className.substring(0, lambdaIndex + 2) + "Lambda";
+    }
+    return className;
+  }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor;
 
+import java.util.concurrent.TimeUnit;
+
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -53,6 +55,7 @@ public class ExecuteJobHelper {
 
   public static void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector, Command<Void> cmd,
       ProcessEngineConfigurationImpl configuration) {
+    long startTime = System.nanoTime();
     try {
       commandExecutor.execute(cmd);
     } catch (RuntimeException exception) {
@@ -64,6 +67,8 @@ public class ExecuteJobHelper {
       // wrap the exception and throw it to indicate the ExecuteJobCmd failed
       throw LOG.wrapJobExecutionFailure(jobFailureCollector, exception);
     } finally {
+      jobFailureCollector.setExecutionDuration(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
       // preserve MDC properties before listener invocation and clear MDC for job listener
       ProcessDataContext processDataContext = null;
       if (configuration != null) {
@@ -97,7 +102,7 @@ public class ExecuteJobHelper {
         }
 
       } else {
-        SuccessfulJobListener successListener = createSuccessfulJobListener(commandExecutor);
+        SuccessfulJobListener successListener = createSuccessfulJobListener(commandExecutor, jobFailureCollector);
         commandExecutor.execute(successListener);
       }
     }
@@ -130,8 +135,8 @@ public class ExecuteJobHelper {
     return new FailedJobListener(commandExecutor, jobFailureCollector);
   }
 
-  protected static SuccessfulJobListener createSuccessfulJobListener(CommandExecutor commandExecutor) {
-    return new SuccessfulJobListener();
+  protected static SuccessfulJobListener createSuccessfulJobListener(CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector) {
+    return new SuccessfulJobListener(jobFailureCollector);
   }
 
   public interface ExceptionLoggingHandler {
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.management.Metrics;
 
@@ -90,10 +91,17 @@ public class FailedJobListener implements Command<Void> {
   }
 
   protected void logJobFailure(CommandContext commandContext) {
-    if (commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
-      commandContext.getProcessEngineConfiguration()
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration
               .getMetricsRegistry()
               .markOccurrence(Metrics.JOB_FAILED);
+
+      DimensionalMetricsRegistry dimensionalMetricsRegistry = processEngineConfiguration.getDimensionalMetricsRegistry();
+      if (dimensionalMetricsRegistry != null && jobFailureCollector.getJob() != null) {
+        dimensionalMetricsRegistry.markJobExecution(Metrics.JOB_FAILED,
+            jobFailureCollector.getJob(), jobFailureCollector.getExecutionDuration());
+      }
     }
   }
 
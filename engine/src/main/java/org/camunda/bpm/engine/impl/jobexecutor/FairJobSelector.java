@@ -0,0 +1,196 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+
+/**
+ * <p>Selects the jobs to acquire from a list of candidates, which is ordered as configured for
+ * the acquisition (e.g. by priority or due date).</p>
+ *
+ * <p>Jobs of job definitions or handler types which reached their maximum number of locked
+ * jobs are skipped. The numbers of locked jobs are read once per acquisition and only
+ * account for the jobs selected by this acquisition afterwards, so the maximums are not
+ * enforced against concurrent acquisitions. If the selection is fair, the remaining candidates are grouped by job
+ * definition (or handler type for jobs without job definition) and selected by deficit round
+ * robin: in each round, the deficit of a group is increased by the weight of its handler type
+ * and as many jobs are selected from the group as its deficit allows. Otherwise, the candidates
+ * are selected in their order.</p>
+ *
+ * <p>A selector is used for a single acquisition.</p>
+ */
+public class FairJobSelector {
+
+  protected boolean fair;
+  protected Map<String, Integer> handlerTypeWeights;
+
+  protected int maxLockedJobsPerJobDefinition;
+  protected Map<String, Integer> maxLockedJobsPerHandlerType;
+  protected Map<String, Long> lockedJobsPerJobDefinition;
+  protected Map<String, Long> lockedJobsPerHandlerType;
+
+  protected int numThrottledJobs = 0;
+
+  public FairJobSelector(boolean fair, Map<String, Integer> handlerTypeWeights,
+      int maxLockedJobsPerJobDefinition, Map<String, Long> lockedJobsPerJobDefinition,
+      Map<String, Integer> maxLockedJobsPerHandlerType, Map<String, Long> lockedJobsPerHandlerType) {
+    this.fair = fair;
+    this.handlerTypeWeights = handlerTypeWeights != null ? handlerTypeWeights : Collections.<String, Integer>emptyMap();
+    this.maxLockedJobsPerJobDefinition = maxLockedJobsPerJobDefinition;
+    this.lockedJobsPerJobDefinition = lockedJobsPerJobDefinition != null ? lockedJobsPerJobDefinition : new HashMap<String, Long>();
+    this.maxLockedJobsPerHandlerType = maxLockedJobsPerHandlerType != null ? maxLockedJobsPerHandlerType : Collections.<String, Integer>emptyMap();
+    this.lockedJobsPerHandlerType = lockedJobsPerHandlerType != null ? lockedJobsPerHandlerType : new HashMap<String, Long>();
+  }
+
+  public List<AcquirableJobEntity> selectJobs(List<AcquirableJobEntity> candidates, int numJobsToAcquire) {
+    if (fair) {
+      return selectByDeficitRoundRobin(candidates, numJobsToAcquire);
+    } else {
+      return selectInOrder(candidates, numJobsToAcquire);
+    }
+  }
+
+  protected List<AcquirableJobEntity> selectInOrder(List<AcquirableJobEntity> candidates, int numJobsToAcquire) {
+    List<AcquirableJobEntity> selectedJobs = new ArrayList<AcquirableJobEntity>();
+
+    for (AcquirableJobEntity candidate : candidates) {
+      if (selectedJobs.size() >= numJobsToAcquire) {
+        break;
+      }
+      select(candidate, selectedJobs);
+    }
+
+    return selectedJobs;
+  }
+
+  protected List<AcquirableJobEntity> selectByDeficitRoundRobin(List<AcquirableJobEntity> candidates, int numJobsToAcquire) {
+    // groups in the order of their first candidate
+    Map<String, Deque<AcquirableJobEntity>> groups = new LinkedHashMap<String, Deque<AcquirableJobEntity>>();
+    for (AcquirableJobEntity candidate : candidates) {
+      String groupKey = getGroupKey(candidate);
+      Deque<AcquirableJobEntity> group = groups.get(groupKey);
+      if (group == null) {
+        group = new ArrayDeque<AcquirableJobEntity>();
+        groups.put(groupKey, group);
+      }
+      group.add(candidate);
+    }
+
+    List<AcquirableJobEntity> selectedJobs = new ArrayList<AcquirableJobEntity>();
+    Map<String, Integer> deficits = new HashMap<String, Integer>();
+
+    while (!groups.isEmpty() && selectedJobs.size() < numJobsToAcquire) {
+      Iterator<Entry<String, Deque<AcquirableJobEntity>>> groupIterator = groups.entrySet().iterator();
+
+      while (groupIterator.hasNext() && selectedJobs.size() < numJobsToAcquire) {
+        Entry<String, Deque<AcquirableJobEntity>> entry = groupIterator.next();
+        Deque<AcquirableJobEntity> group = entry.getValue();
+
+        Integer previousDeficit = deficits.get(entry.getKey());
+        int deficit = (previousDeficit != null ? previousDeficit : 0) + getWeight(group.peek());
+
+        while (deficit > 0 && !group.isEmpty() && selectedJobs.size() < numJobsToAcquire) {
+          if (select(group.poll(), selectedJobs)) {
+            deficit--;
+          }
+        }
+
+        if (group.isEmpty()) {
+          groupIterator.remove();
+          deficits.remove(entry.getKey());
+        } else {
+          deficits.put(entry.getKey(), deficit);
+        }
+      }
+    }
+
+    return selectedJobs;
+  }
+
+  /**
+   * @return true if the job was selected, false if it was throttled
+   */
+  protected boolean select(AcquirableJobEntity job, List<AcquirableJobEntity> selectedJobs) {
+    String jobDefinitionId = job.getJobDefinitionId();
+    String handlerType = job.getJobHandlerType();
+
+    if (isLimitReached(jobDefinitionId, handlerType)) {
+      numThrottledJobs++;
+      return false;
+    }
+
+    selectedJobs.add(job);
+    increment(lockedJobsPerJobDefinition, jobDefinitionId);
+    increment(lockedJobsPerHandlerType, handlerType);
+    return true;
+  }
+
+  protected boolean isLimitReached(String jobDefinitionId, String handlerType) {
+    if (maxLockedJobsPerJobDefinition > 0 && jobDefinitionId != null
+        && getCount(lockedJobsPerJobDefinition, jobDefinitionId) >= maxLockedJobsPerJobDefinition) {
+      return true;
+    }
+
+    Integer maxLockedJobs = maxLockedJobsPerHandlerType.get(handlerType);
+    return maxLockedJobs != null && getCount(lockedJobsPerHandlerType, handlerType) >= maxLockedJobs;
+  }
+
+  protected String getGroupKey(AcquirableJobEntity job) {
+    if (job.getJobDefinitionId() != null) {
+      return job.getJobDefinitionId();
+    }
+    return job.getJobHandlerType();
+  }
+
+  protected int getWeight(AcquirableJobEntity job) {
+    Integer weight = handlerTypeWeights.get(job.getJobHandlerType());
+    if (weight == null) {
+      return 1;
+    }
+    return Math.max(weight, 1);
+  }
+
+  protected long getCount(Map<String, Long> counts, String key) {
+    Long count = counts.get(key);
+    return count != null ? count : 0;
+  }
+
+  protected void increment(Map<String, Long> counts, String key) {
+    if (key != null) {
+      counts.put(key, getCount(counts, key) + 1);
+    }
+  }
+
+  /**
+   * @return the number of candidates which were not selected because a limit was reached
+   */
+  public int getNumThrottledJobs() {
+    return numThrottledJobs;
+  }
+
+}
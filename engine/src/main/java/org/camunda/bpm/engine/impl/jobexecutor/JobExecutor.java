@@ -96,12 +96,13 @@ public abstract class JobExecutor {
   }
 
   protected void ensureInitialization() {
-    acquireJobsCmdFactory = new DefaultAcquireJobsCommandFactory(this);
+    if (acquireJobsCmdFactory == null) {
+      acquireJobsCmdFactory = new DefaultAcquireJobsCommandFactory(this);
+    }
     acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
   }
 
   protected void ensureCleanup() {
-    acquireJobsCmdFactory = null;
     acquireJobsRunnable = null;
   }
 
@@ -133,6 +134,15 @@ public abstract class JobExecutor {
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * Executes the jobs and passes them to the given handler instead of the configured
+   * {@link RejectedJobsHandler} if they are rejected. Job executors that do not override
+   * this method handle rejected jobs as in {@link #executeJobs(List, ProcessEngineImpl)}.
+   */
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine, RejectedJobsHandler rejectedJobsHandler) {
+    executeJobs(jobIds, processEngine);
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -192,4 +192,24 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void debugHandingOffJobsToJobExecutor(Collection<String> jobIds) {
+    logDebug(
+        "029", "Handing off jobs to the job executor after commit: {}", jobIds);
+  }
+
+  public void executingJobsOnVirtualThreads() {
+    logInfo(
+        "030", "Executing jobs on virtual threads");
+  }
+
+  public void virtualThreadsNotAvailable(Exception e) {
+    logInfo(
+        "031", "Virtual threads are not available on this JVM, executing jobs on platform threads: {}", e.toString());
+  }
+
+  public void debugUnlockingRejectedHandedOffJobs(Collection<String> jobIds) {
+    logDebug(
+        "032", "Handed off jobs were rejected by the job executor, unlocking them for acquisition: {}", jobIds);
+  }
+
 }
@@ -26,6 +26,7 @@ public class JobFailureCollector implements CommandContextListener {
   protected JobEntity job;
   protected String jobId;
   protected String failedActivityId;
+  protected Long executionDuration;
 
   public JobFailureCollector(String jobId) {
     this.jobId = jobId;
@@ -72,4 +73,16 @@ public class JobFailureCollector implements CommandContextListener {
     this.failedActivityId = activityId;
   }
 
+  /**
+   * @return the time in milliseconds it took to execute the job or
+   *   <code>null</code> if the job was not executed yet
+   */
+  public Long getExecutionDuration() {
+    return executionDuration;
+  }
+
+  public void setExecutionDuration(Long executionDuration) {
+    this.executionDuration = executionDuration;
+  }
+
 }
\ No newline at end of file
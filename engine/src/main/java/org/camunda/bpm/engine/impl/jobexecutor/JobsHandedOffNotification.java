@@ -0,0 +1,100 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Hands jobs that were created and locked in a transaction directly to the
+ * local job executor once the transaction is committed, without acquiring
+ * them from the database first.
+ *
+ * <p>Exclusive jobs of the same process instance are handed off as one batch,
+ * so that they are executed sequentially by the same thread. If the job executor
+ * rejects the jobs, they are unlocked so that they are picked up by the regular
+ * acquisition instead of being executed by the committing thread.
+ */
+public class JobsHandedOffNotification implements TransactionListener {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected final JobExecutor jobExecutor;
+  protected final ProcessEngineImpl processEngine;
+
+  protected List<String> nonExclusiveJobIds = new ArrayList<String>();
+  protected Map<String, List<String>> exclusiveJobIdsByProcessInstance = new LinkedHashMap<String, List<String>>();
+
+  public JobsHandedOffNotification(JobExecutor jobExecutor, ProcessEngineImpl processEngine) {
+    this.jobExecutor = jobExecutor;
+    this.processEngine = processEngine;
+  }
+
+  public void addJob(JobEntity job) {
+    if (job.isExclusive()) {
+      List<String> jobIds = exclusiveJobIdsByProcessInstance.get(job.getProcessInstanceId());
+      if (jobIds == null) {
+        jobIds = new ArrayList<String>();
+        exclusiveJobIdsByProcessInstance.put(job.getProcessInstanceId(), jobIds);
+      }
+      jobIds.add(job.getId());
+    }
+    else {
+      nonExclusiveJobIds.add(job.getId());
+    }
+  }
+
+  public void execute(CommandContext commandContext) {
+    int numJobs = 0;
+
+    for (String jobId : nonExclusiveJobIds) {
+      handOff(Collections.singletonList(jobId));
+      numJobs++;
+    }
+
+    for (List<String> jobIds : exclusiveJobIdsByProcessInstance.values()) {
+      handOff(jobIds);
+      numJobs += jobIds.size();
+    }
+
+    logJobsHandedOff(commandContext, numJobs);
+  }
+
+  protected void handOff(List<String> jobIds) {
+    LOG.debugHandingOffJobsToJobExecutor(jobIds);
+    jobExecutor.executeJobs(new ArrayList<String>(jobIds), processEngine, new UnlockRejectedJobsHandler());
+  }
+
+  protected void logJobsHandedOff(CommandContext commandContext, int numJobs) {
+    if (commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
+      commandContext.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(Metrics.JOB_HANDED_OFF, numJobs);
+    }
+  }
+
+}
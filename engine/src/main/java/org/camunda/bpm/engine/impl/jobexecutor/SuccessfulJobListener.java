@@ -17,7 +17,9 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
 import org.camunda.bpm.engine.management.Metrics;
 
 /**
@@ -26,6 +28,15 @@ import org.camunda.bpm.engine.management.Metrics;
  */
 public class SuccessfulJobListener implements Command<Void> {
 
+  protected JobFailureCollector jobFailureCollector;
+
+  public SuccessfulJobListener() {
+  }
+
+  public SuccessfulJobListener(JobFailureCollector jobFailureCollector) {
+    this.jobFailureCollector = jobFailureCollector;
+  }
+
   public Void execute(CommandContext commandContext) {
     logJobSuccess(commandContext);
 
@@ -33,10 +44,17 @@ public class SuccessfulJobListener implements Command<Void> {
   }
 
   protected void logJobSuccess(CommandContext commandContext) {
-    if (commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
-      commandContext.getProcessEngineConfiguration()
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration
         .getMetricsRegistry()
         .markOccurrence(Metrics.JOB_SUCCESSFUL);
+
+      DimensionalMetricsRegistry dimensionalMetricsRegistry = processEngineConfiguration.getDimensionalMetricsRegistry();
+      if (dimensionalMetricsRegistry != null && jobFailureCollector != null && jobFailureCollector.getJob() != null) {
+        dimensionalMetricsRegistry.markJobExecution(Metrics.JOB_SUCCESSFUL,
+            jobFailureCollector.getJob(), jobFailureCollector.getExecutionDuration());
+      }
     }
   }
 
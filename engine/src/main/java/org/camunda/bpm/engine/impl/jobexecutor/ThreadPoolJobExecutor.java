@@ -39,6 +39,10 @@ public class ThreadPoolJobExecutor extends JobExecutor {
   }
 
   public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    executeJobs(jobIds, processEngine, rejectedJobsHandler);
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine, RejectedJobsHandler rejectedJobsHandler) {
     try {
       threadPoolExecutor.execute(getExecuteJobsRunnable(jobIds, processEngine));
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * <p>Unlocks jobs that were handed off to the job executor after commit but
+ * were rejected, so that they are acquired again by the job acquisition
+ * instead of staying locked until their lock expires.</p>
+ *
+ * <p>The jobs are unlocked in a new transaction since the handler is invoked
+ * while the transaction that created the jobs is being closed.</p>
+ */
+public class UnlockRejectedJobsHandler implements RejectedJobsHandler {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public void jobsRejected(final List<String> jobIds, ProcessEngineImpl processEngine, final JobExecutor jobExecutor) {
+    LOG.debugUnlockingRejectedHandedOffJobs(jobIds);
+
+    processEngine.getProcessEngineConfiguration()
+      .getCommandExecutorTxRequiresNew()
+      .execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          for (String jobId : jobIds) {
+            JobEntity job = commandContext.getJobManager().findJobById(jobId);
+
+            // the job may have been deleted or acquired by another job executor meanwhile
+            if (job != null && jobExecutor.getLockOwner().equals(job.getLockOwner())) {
+              job.unlock();
+            }
+          }
+          return null;
+        }
+      });
+
+    jobExecutor.jobWasAdded();
+  }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.util.ImmutablePair;
+
+/**
+ * <p>{@link JobExecutor} which executes each batch of acquired jobs on its own thread.
+ * On JVMs supporting virtual threads (Java 21+), the threads are virtual threads, so
+ * that jobs blocking on I/O do not occupy a platform thread. Otherwise, a new platform
+ * thread is used for each batch.</p>
+ *
+ * <p>The number of jobs handed to the threads is limited by {@link #maxConcurrentJobs}.
+ * A batch holds one permit per job until the job is executed. Once the limit is reached,
+ * further batches are rejected and handed to the {@link RejectedJobsHandler}, which
+ * throttles the acquisition. A batch larger than the limit takes all permits. In addition,
+ * the number of concurrently executed jobs of a single job definition can be limited by
+ * {@link #maxConcurrentJobsPerJobDefinition}. Each job waits for a permit of its job
+ * definition on the thread of its batch, while the remaining jobs of the batch keep their lock.</p>
+ *
+ * <p>Jobs which are handed to the job executor before it is started are rejected.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int maxConcurrentJobs = 1000;
+  protected int maxConcurrentJobsPerJobDefinition = 0;
+
+  protected volatile ExecutorService executorService;
+  protected volatile Semaphore concurrentJobs;
+  protected Map<String, Semaphore> jobDefinitionPermits = new ConcurrentHashMap<String, Semaphore>();
+
+  protected void startExecutingJobs() {
+    if (executorService == null || executorService.isShutdown()) {
+      // the permits are published before the executor service, see #executeJobs
+      concurrentJobs = new Semaphore(maxConcurrentJobs);
+      executorService = createExecutorService();
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    executeJobs(jobIds, processEngine, rejectedJobsHandler);
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine, RejectedJobsHandler rejectedJobsHandler) {
+    ExecutorService executorService = this.executorService;
+    if (executorService == null) {
+      // not started yet
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    int permits = Math.min(jobIds.size(), maxConcurrentJobs);
+    if (!concurrentJobs.tryAcquire(permits)) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    try {
+      executorService.execute(new PermitsExecuteJobsRunnable(jobIds, processEngine, permits));
+
+    } catch (RejectedExecutionException e) {
+      concurrentJobs.release(permits);
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+    }
+  }
+
+  protected Map<String, String> findJobDefinitionIds(final List<String> jobIds, ProcessEngineImpl processEngine) {
+    List<ImmutablePair<String, String>> mappings = processEngine.getProcessEngineConfiguration()
+      .getCommandExecutorTxRequired()
+      .execute(new Command<List<ImmutablePair<String, String>>>() {
+        public List<ImmutablePair<String, String>> execute(CommandContext commandContext) {
+          return commandContext.getJobManager().findJobDefinitionIdMappingsByJobIds(jobIds);
+        }
+      });
+
+    Map<String, String> jobDefinitionIds = new HashMap<String, String>();
+    for (ImmutablePair<String, String> mapping : mappings) {
+      jobDefinitionIds.put(mapping.getLeft(), mapping.getRight());
+    }
+    return jobDefinitionIds;
+  }
+
+  protected Semaphore getJobDefinitionPermits(String jobDefinitionId) {
+    Semaphore permits = jobDefinitionPermits.get(jobDefinitionId);
+    if (permits == null) {
+      jobDefinitionPermits.putIfAbsent(jobDefinitionId, new Semaphore(maxConcurrentJobsPerJobDefinition));
+      permits = jobDefinitionPermits.get(jobDefinitionId);
+    }
+    return permits;
+  }
+
+  /**
+   * Executes the jobs of a batch and releases the permits of the batch. Each job, including
+   * exclusive jobs which are added to the batch while it is executed, waits for a permit of
+   * its job definition before it is executed.
+   */
+  protected class PermitsExecuteJobsRunnable extends ExecuteJobsRunnable {
+
+    protected int heldPermits;
+    protected Map<String, String> jobDefinitionIds;
+
+    public PermitsExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine, int permits) {
+      super(jobIds, processEngine);
+      this.heldPermits = permits;
+    }
+
+    public void run() {
+      try {
+        if (maxConcurrentJobsPerJobDefinition > 0) {
+          jobDefinitionIds = findJobDefinitionIds(jobIds, processEngine);
+        }
+        super.run();
+
+      } finally {
+        concurrentJobs.release(heldPermits);
+      }
+    }
+
+    protected void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector) {
+      Semaphore permits = null;
+      try {
+        if (maxConcurrentJobsPerJobDefinition > 0) {
+          String jobDefinitionId = getJobDefinitionId(nextJobId);
+          if (jobDefinitionId != null) {
+            permits = getJobDefinitionPermits(jobDefinitionId);
+            try {
+              permits.acquire();
+            } catch (InterruptedException e) {
+              permits = null;
+              Thread.currentThread().interrupt();
+              // the job can be acquired again right away
+              unlockJob(nextJobId, commandExecutor);
+              return;
+            }
+          }
+        }
+
+        super.executeJob(nextJobId, commandExecutor, jobFailureCollector);
+
+      } finally {
+        if (permits != null) {
+          permits.release();
+        }
+        // the permit of the last job is released once the batch is done
+        if (heldPermits > 1) {
+          heldPermits--;
+          concurrentJobs.release();
+        }
+      }
+    }
+
+    protected String getJobDefinitionId(String jobId) {
+      if (!jobDefinitionIds.containsKey(jobId)) {
+        // an exclusive job which was added while the batch is executed
+        Map<String, String> addedJobDefinitionIds = findJobDefinitionIds(Collections.singletonList(jobId), processEngine);
+        jobDefinitionIds.put(jobId, addedJobDefinitionIds.get(jobId));
+      }
+      return jobDefinitionIds.get(jobId);
+    }
+  }
+
+  protected ExecutorService createExecutorService() {
+    try {
+      Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      ExecutorService virtualThreadExecutor = (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+      LOG.executingJobsOnVirtualThreads();
+      return virtualThreadExecutor;
+
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      // e.g. before Java 21 or on Java 19 and 20 without preview features
+      LOG.virtualThreadsNotAvailable(e);
+      return Executors.newCachedThreadPool(new ThreadFactory() {
+        protected final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-job-executor-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public int getMaxConcurrentJobsPerJobDefinition() {
+    return maxConcurrentJobsPerJobDefinition;
+  }
+
+  /**
+   * @param maxConcurrentJobsPerJobDefinition the maximum number of concurrently executed jobs of
+   * a single job definition or 0 if the jobs of a job definition are not limited
+   */
+  public void setMaxConcurrentJobsPerJobDefinition(int maxConcurrentJobsPerJobDefinition) {
+    this.maxConcurrentJobsPerJobDefinition = maxConcurrentJobsPerJobDefinition;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+}
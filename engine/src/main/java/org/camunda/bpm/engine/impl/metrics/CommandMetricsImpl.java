@@ -0,0 +1,107 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+/**
+ * Live statistics of a command class which are updated concurrently
+ * by all threads executing the command.
+ */
+public class CommandMetricsImpl implements CommandMetrics {
+
+  protected final String commandName;
+  protected final LatencyHistogram executionTime = new LatencyHistogram();
+  protected final LatencyHistogram flushTime = new LatencyHistogram();
+  protected final LongAdder sqlStatementCount = new LongAdder();
+  protected final LongAccumulator sqlStatementCountMax = new LongAccumulator(Math::max, 0);
+
+  public CommandMetricsImpl(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public void record(long executionMillis, long flushMillis, long sqlStatements) {
+    executionTime.record(executionMillis);
+    flushTime.record(flushMillis);
+    sqlStatementCount.add(sqlStatements);
+    sqlStatementCountMax.accumulate(sqlStatements);
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public long getCount() {
+    return executionTime.getCount();
+  }
+
+  public long getExecutionTimeTotal() {
+    return executionTime.getTotalMillis();
+  }
+
+  public long getExecutionTimeMax() {
+    return executionTime.getMaxMillis();
+  }
+
+  public long getExecutionTimeMedian() {
+    return executionTime.getValueAtPercentile(50);
+  }
+
+  public long getExecutionTime99thPercentile() {
+    return executionTime.getValueAtPercentile(99);
+  }
+
+  public long getFlushTimeTotal() {
+    return flushTime.getTotalMillis();
+  }
+
+  public long getFlushTimeMax() {
+    return flushTime.getMaxMillis();
+  }
+
+  public long getSqlStatementCountTotal() {
+    return sqlStatementCount.sum();
+  }
+
+  public long getSqlStatementCountMax() {
+    return sqlStatementCountMax.get();
+  }
+
+  public LatencyHistogram getExecutionTime() {
+    return executionTime;
+  }
+
+  public LatencyHistogram getFlushTime() {
+    return flushTime;
+  }
+
+  @Override
+  public String toString() {
+    return "CommandMetricsImpl["
+        + "commandName=" + commandName
+        + ", count=" + getCount()
+        + ", executionTimeTotal=" + getExecutionTimeTotal()
+        + ", executionTimeMax=" + getExecutionTimeMax()
+        + ", flushTimeTotal=" + getFlushTimeTotal()
+        + ", sqlStatementCountTotal=" + getSqlStatementCountTotal()
+        + "]";
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+/**
+ * In-memory registry of {@link CommandMetrics} per command class, filled by the
+ * {@link org.camunda.bpm.engine.impl.interceptor.CommandMetricsInterceptor}.
+ */
+public class CommandMetricsRegistry {
+
+  protected ConcurrentMap<String, CommandMetricsImpl> commandMetrics = new ConcurrentHashMap<>();
+
+  public void record(String commandName, long executionMillis, long flushMillis, long sqlStatements) {
+    CommandMetricsImpl metrics = commandMetrics.get(commandName);
+    if (metrics == null) {
+      CommandMetricsImpl newMetrics = new CommandMetricsImpl(commandName);
+      metrics = commandMetrics.putIfAbsent(commandName, newMetrics);
+      if (metrics == null) {
+        metrics = newMetrics;
+      }
+    }
+    metrics.record(executionMillis, flushMillis, sqlStatements);
+  }
+
+  public CommandMetricsImpl getCommandMetrics(String commandName) {
+    return commandMetrics.get(commandName);
+  }
+
+  /**
+   * @return the metrics of all executed commands, ordered by descending total execution time
+   */
+  public List<CommandMetrics> getCommandMetrics() {
+    // sort by a snapshot since the totals change concurrently
+    final Map<CommandMetrics, Long> executionTimeTotals = new IdentityHashMap<>();
+    for (CommandMetricsImpl metrics : commandMetrics.values()) {
+      executionTimeTotals.put(metrics, metrics.getExecutionTimeTotal());
+    }
+
+    List<CommandMetrics> result = new ArrayList<>(executionTimeTotals.keySet());
+    Collections.sort(result, (first, second) -> Long.compare(executionTimeTotals.get(second), executionTimeTotals.get(first)));
+    return result;
+  }
+
+  public void clear() {
+    commandMetrics.clear();
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * <p>In-memory registry of metrics broken down by tags like the process definition
+ * key, activity type, job handler type and tenant.</p>
+ *
+ * <p>In contrast to the {@link MetricsRegistry}, the values of this registry are
+ * never reported to the database. They can be read at any time, e.g. by a
+ * monitoring system, and are reset on engine restart only. Meters are created
+ * lazily on first occurrence of a tag combination; registered
+ * {@link MeterListener}s are notified about each new meter.</p>
+ */
+public class DimensionalMetricsRegistry {
+
+  public static final String TAG_PROCESS_DEFINITION_KEY = "processDefinitionKey";
+  public static final String TAG_ACTIVITY_TYPE = "activityType";
+  public static final String TAG_JOB_HANDLER_TYPE = "jobHandlerType";
+  public static final String TAG_TENANT_ID = "tenantId";
+
+  /**
+   * Name of the histogram of job execution latencies.
+   */
+  public static final String JOB_EXECUTION_LATENCY = "job-execution-latency";
+
+  protected ConcurrentMap<MeterId, LongAdder> counters = new ConcurrentHashMap<>();
+  protected ConcurrentMap<MeterId, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  protected List<MeterListener> listeners = new CopyOnWriteArrayList<>();
+
+  public void markOccurrence(MeterId id) {
+    markOccurrence(id, 1);
+  }
+
+  public void markOccurrence(MeterId id, long times) {
+    LongAdder counter = counters.get(id);
+    if (counter == null) {
+      counter = createCounter(id);
+    }
+    counter.add(times);
+  }
+
+  public void recordLatency(MeterId id, long millis) {
+    LatencyHistogram histogram = histograms.get(id);
+    if (histogram == null) {
+      histogram = createHistogram(id);
+    }
+    histogram.record(millis);
+  }
+
+  /**
+   * Counts an execution of the job with the given metric name and records its latency
+   * if known. Both are tagged by job handler type, process definition key and tenant.
+   */
+  public void markJobExecution(String metricsName, JobEntity job, Long durationMillis) {
+    markOccurrence(createJobMeterId(metricsName, job));
+
+    if (durationMillis != null) {
+      recordLatency(createJobMeterId(JOB_EXECUTION_LATENCY, job), durationMillis);
+    }
+  }
+
+  protected MeterId createJobMeterId(String name, JobEntity job) {
+    return new MeterId(name,
+        TAG_JOB_HANDLER_TYPE, job.getJobHandlerType(),
+        TAG_PROCESS_DEFINITION_KEY, job.getProcessDefinitionKey(),
+        TAG_TENANT_ID, job.getTenantId());
+  }
+
+  protected LongAdder createCounter(MeterId id) {
+    LongAdder counter = new LongAdder();
+    LongAdder existingCounter = counters.putIfAbsent(id, counter);
+    if (existingCounter != null) {
+      return existingCounter;
+    }
+
+    for (MeterListener listener : listeners) {
+      listener.counterCreated(id, counter);
+    }
+    return counter;
+  }
+
+  protected LatencyHistogram createHistogram(MeterId id) {
+    LatencyHistogram histogram = new LatencyHistogram();
+    LatencyHistogram existingHistogram = histograms.putIfAbsent(id, histogram);
+    if (existingHistogram != null) {
+      return existingHistogram;
+    }
+
+    for (MeterListener listener : listeners) {
+      listener.histogramCreated(id, histogram);
+    }
+    return histogram;
+  }
+
+  /**
+   * @return the current value of the counter or 0 if it does not exist yet
+   */
+  public long getCount(MeterId id) {
+    LongAdder counter = counters.get(id);
+    return counter != null ? counter.sum() : 0;
+  }
+
+  public LatencyHistogram getHistogram(MeterId id) {
+    return histograms.get(id);
+  }
+
+  public Map<MeterId, LongAdder> getCounters() {
+    return Collections.unmodifiableMap(counters);
+  }
+
+  public Map<MeterId, LatencyHistogram> getHistograms() {
+    return Collections.unmodifiableMap(histograms);
+  }
+
+  /**
+   * Adds a listener and notifies it about all meters which exist already.
+   * A meter created concurrently may be reported twice.
+   */
+  public void addListener(MeterListener listener) {
+    listeners.add(listener);
+
+    for (Map.Entry<MeterId, LongAdder> counter : counters.entrySet()) {
+      listener.counterCreated(counter.getKey(), counter.getValue());
+    }
+    for (Map.Entry<MeterId, LatencyHistogram> histogram : histograms.entrySet()) {
+      listener.histogramCreated(histogram.getKey(), histogram.getValue());
+    }
+  }
+
+  public void removeListener(MeterListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Callback for exporting the meters of the registry, e.g. to a monitoring
+   * system. Invoked by the thread which first records a tag combination, so
+   * implementations must not block.
+   */
+  public interface MeterListener {
+
+    void counterCreated(MeterId id, LongAdder counter);
+
+    void histogramCreated(MeterId id, LatencyHistogram histogram);
+
+  }
+
+}
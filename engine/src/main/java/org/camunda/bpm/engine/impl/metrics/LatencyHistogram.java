@@ -0,0 +1,114 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in milliseconds with fixed bucket bounds.
+ * Concurrent recordings are spread over the cells of {@link LongAdder}s, so
+ * that threads executing jobs in parallel do not contend on a single counter.
+ */
+public class LatencyHistogram {
+
+  /**
+   * Inclusive upper bounds of the buckets in milliseconds. Latencies above the
+   * last bound are only reflected by the count, total and max.
+   */
+  public static final long[] BUCKET_BOUNDS = {
+      1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000 };
+
+  protected final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length];
+  protected final LongAdder count = new LongAdder();
+  protected final LongAdder totalMillis = new LongAdder();
+  protected final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+  public LatencyHistogram() {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  public void record(long millis) {
+    if (millis < 0) {
+      millis = 0;
+    }
+
+    for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+      if (millis <= BUCKET_BOUNDS[i]) {
+        buckets[i].increment();
+        break;
+      }
+    }
+
+    count.increment();
+    totalMillis.add(millis);
+    maxMillis.accumulate(millis);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotalMillis() {
+    return totalMillis.sum();
+  }
+
+  public long getMaxMillis() {
+    return maxMillis.get();
+  }
+
+  /**
+   * Estimates the latency below which the given percentage of recorded latencies
+   * fall. The estimate is the upper bound of the bucket containing the percentile,
+   * capped by the maximum latency.
+   *
+   * @param percentile a value between 0 and 100
+   * @return the estimated latency in milliseconds or 0 if nothing was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    long totalCount = getCount();
+    if (totalCount == 0) {
+      return 0;
+    }
+
+    long maxValue = getMaxMillis();
+    long targetCount = (long) Math.ceil(totalCount * percentile / 100);
+    long cumulativeCount = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      cumulativeCount += buckets[i].sum();
+      if (cumulativeCount >= targetCount) {
+        return Math.min(BUCKET_BOUNDS[i], maxValue);
+      }
+    }
+    return maxValue;
+  }
+
+  /**
+   * @return the number of recorded latencies less than or equal to
+   *   the bucket bound with the given index
+   */
+  public long getCumulativeCount(int bucketIndex) {
+    long cumulativeCount = 0;
+    for (int i = 0; i <= bucketIndex; i++) {
+      cumulativeCount += buckets[i].sum();
+    }
+    return cumulativeCount;
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Identifies a meter of the {@link DimensionalMetricsRegistry} by its name and
+ * its tags. The tags are given as alternating keys and values; two ids are only
+ * equal if their tags are given in the same order.
+ */
+public class MeterId {
+
+  protected final String name;
+  protected final String[] tags;
+  protected final int hashCode;
+
+  public MeterId(String name, String... tags) {
+    if (tags.length % 2 != 0) {
+      throw new IllegalArgumentException("Tags of meter '" + name + "' must be given as key value pairs");
+    }
+    this.name = name;
+    this.tags = tags;
+    this.hashCode = 31 * name.hashCode() + Arrays.hashCode(tags);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the tags of the meter in their given order; a value is
+   *   <code>null</code> if the tag does not apply, e.g. the tenant id
+   *   of a process definition without tenant
+   */
+  public Map<String, String> getTags() {
+    Map<String, String> tagMap = new LinkedHashMap<>();
+    for (int i = 0; i < tags.length; i += 2) {
+      tagMap.put(tags[i], tags[i + 1]);
+    }
+    return Collections.unmodifiableMap(tagMap);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    MeterId other = (MeterId) obj;
+    return hashCode == other.hashCode
+        && name.equals(other.name)
+        && Arrays.equals(tags, other.tags);
+  }
+
+  @Override
+  public String toString() {
+    return name + getTags();
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.management.SqlStatementMetrics;
+
+/**
+ * Live statistics of a MyBatis statement which are updated concurrently
+ * by all threads executing the statement.
+ */
+public class SqlStatementMetricsImpl implements SqlStatementMetrics {
+
+  protected final String statementId;
+  protected final LongAdder count = new LongAdder();
+  protected final LatencyHistogram executionTime = new LatencyHistogram();
+  // most statements complete in less than a millisecond, so the total is summed up exactly
+  protected final LongAdder executionTimeTotalNanos = new LongAdder();
+  protected final LongAdder rowCount = new LongAdder();
+  protected final LongAccumulator rowCountMax = new LongAccumulator(Math::max, 0);
+
+  public SqlStatementMetricsImpl(String statementId) {
+    this.statementId = statementId;
+  }
+
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Records a sampled execution.
+   *
+   * @param rows the number of returned or affected rows, or a negative value
+   *   if the number is not known (e.g. if the JDBC driver does not report it for
+   *   batched statements)
+   */
+  public void record(long executionNanos, long rows) {
+    executionTime.record(TimeUnit.NANOSECONDS.toMillis(executionNanos));
+    executionTimeTotalNanos.add(executionNanos);
+    if (rows >= 0) {
+      rowCount.add(rows);
+      rowCountMax.accumulate(rows);
+    }
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getSampledCount() {
+    return executionTime.getCount();
+  }
+
+  public long getExecutionTimeTotal() {
+    return TimeUnit.NANOSECONDS.toMillis(getExecutionTimeTotalNanos());
+  }
+
+  public long getExecutionTimeTotalNanos() {
+    return executionTimeTotalNanos.sum();
+  }
+
+  public long getExecutionTimeMax() {
+    return executionTime.getMaxMillis();
+  }
+
+  public long getExecutionTimeMedian() {
+    return executionTime.getValueAtPercentile(50);
+  }
+
+  public long getExecutionTime99thPercentile() {
+    return executionTime.getValueAtPercentile(99);
+  }
+
+  public long getRowCountTotal() {
+    return rowCount.sum();
+  }
+
+  public long getRowCountMax() {
+    return rowCountMax.get();
+  }
+
+  public LatencyHistogram getExecutionTime() {
+    return executionTime;
+  }
+
+  @Override
+  public String toString() {
+    return "SqlStatementMetricsImpl["
+        + "statementId=" + statementId
+        + ", count=" + getCount()
+        + ", sampledCount=" + getSampledCount()
+        + ", executionTimeTotal=" + getExecutionTimeTotal()
+        + ", executionTimeMax=" + getExecutionTimeMax()
+        + ", rowCountTotal=" + getRowCountTotal()
+        + "]";
+  }
+
+}
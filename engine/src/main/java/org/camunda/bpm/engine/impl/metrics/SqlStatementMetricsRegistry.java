@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.camunda.bpm.engine.management.SqlStatementMetrics;
+
+/**
+ * In-memory registry of {@link SqlStatementMetrics} per MyBatis statement id, filled by the
+ * {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSession}.
+ *
+ * <p>Every execution is counted. Execution time and row count are recorded for one out of
+ * <code>sampleRate</code> executions on average, so that the overhead of taking the time
+ * can be limited on engines executing a large number of statements.</p>
+ */
+public class SqlStatementMetricsRegistry {
+
+  protected ConcurrentMap<String, SqlStatementMetricsImpl> statementMetrics = new ConcurrentHashMap<>();
+  protected int sampleRate;
+
+  public SqlStatementMetricsRegistry() {
+    this(1);
+  }
+
+  public SqlStatementMetricsRegistry(int sampleRate) {
+    this.sampleRate = Math.max(sampleRate, 1);
+  }
+
+  /**
+   * Counts an execution of the given statement.
+   *
+   * @return true if the execution should be sampled
+   */
+  public boolean statementStarted(String statementId) {
+    getOrCreate(statementId).increment();
+    return isSampled();
+  }
+
+  /**
+   * @return true if an execution should be sampled
+   */
+  public boolean isSampled() {
+    return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  /**
+   * Records the execution time and row count of a sampled execution.
+   *
+   * @param rows the number of returned or affected rows or a negative value if unknown
+   */
+  public void statementExecuted(String statementId, long executionNanos, long rows) {
+    getOrCreate(statementId).record(executionNanos, rows);
+  }
+
+  protected SqlStatementMetricsImpl getOrCreate(String statementId) {
+    SqlStatementMetricsImpl metrics = statementMetrics.get(statementId);
+    if (metrics == null) {
+      SqlStatementMetricsImpl newMetrics = new SqlStatementMetricsImpl(statementId);
+      metrics = statementMetrics.putIfAbsent(statementId, newMetrics);
+      if (metrics == null) {
+        metrics = newMetrics;
+      }
+    }
+    return metrics;
+  }
+
+  public SqlStatementMetricsImpl getStatementMetrics(String statementId) {
+    return statementMetrics.get(statementId);
+  }
+
+  /**
+   * @return the metrics of the statements with the highest total execution time,
+   *   ordered by descending total execution time
+   */
+  public List<SqlStatementMetrics> getTopStatementMetrics(int maxResults) {
+    // sort by a snapshot since the totals change concurrently
+    final Map<SqlStatementMetrics, Long> executionTimeTotals = new IdentityHashMap<>();
+    for (SqlStatementMetricsImpl metrics : statementMetrics.values()) {
+      executionTimeTotals.put(metrics, metrics.getExecutionTimeTotalNanos());
+    }
+
+    List<SqlStatementMetrics> result = new ArrayList<>(executionTimeTotals.keySet());
+    Collections.sort(result, (first, second) -> Long.compare(executionTimeTotals.get(second), executionTimeTotals.get(first)));
+    return result.size() > maxResults ? new ArrayList<>(result.subList(0, maxResults)) : result;
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  public void clear() {
+    statementMetrics.clear();
+  }
+
+}
@@ -20,7 +20,14 @@ import java.util.function.Function;
 
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.MeterId;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 
 /**
  * @author Daniel Meyer
@@ -43,10 +50,26 @@ public class MetricsExecutionListener implements ExecutionListener {
 
   public void notify(DelegateExecution execution) throws Exception {
     if (condition.apply(execution)) {
-      Context.getProcessEngineConfiguration()
+      ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+      processEngineConfiguration
           .getMetricsRegistry()
           .markOccurrence(metricsName);
+
+      DimensionalMetricsRegistry dimensionalMetricsRegistry = processEngineConfiguration.getDimensionalMetricsRegistry();
+      if (dimensionalMetricsRegistry != null && execution instanceof ExecutionEntity) {
+        dimensionalMetricsRegistry.markOccurrence(createMeterId((ExecutionEntity) execution));
+      }
     }
   }
 
+  protected MeterId createMeterId(ExecutionEntity execution) {
+    ProcessDefinitionEntity processDefinition = execution.getProcessDefinition();
+    ActivityImpl activity = execution.getActivity();
+
+    return new MeterId(metricsName,
+        DimensionalMetricsRegistry.TAG_PROCESS_DEFINITION_KEY, processDefinition != null ? processDefinition.getKey() : null,
+        DimensionalMetricsRegistry.TAG_ACTIVITY_TYPE, activity != null ? activity.getProperties().get(BpmnProperties.TYPE) : null,
+        DimensionalMetricsRegistry.TAG_TENANT_ID, execution.getTenantId());
+  }
+
 }
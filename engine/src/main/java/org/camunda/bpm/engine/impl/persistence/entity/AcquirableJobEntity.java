@@ -35,6 +35,8 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
   protected Date duedate;
 
   protected String processInstanceId = null;
+  protected String jobDefinitionId = null;
+  protected String jobHandlerType = null;
 
   protected boolean isExclusive = DEFAULT_EXCLUSIVE;
 
@@ -107,6 +109,22 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     this.processInstanceId = processInstanceId;
   }
 
+  public String getJobDefinitionId() {
+    return jobDefinitionId;
+  }
+
+  public void setJobDefinitionId(String jobDefinitionId) {
+    this.jobDefinitionId = jobDefinitionId;
+  }
+
+  public String getJobHandlerType() {
+    return jobHandlerType;
+  }
+
+  public void setJobHandlerType(String jobHandlerType) {
+    this.jobHandlerType = jobHandlerType;
+  }
+
   public boolean isExclusive() {
     return isExclusive;
   }
@@ -68,6 +68,8 @@ public class ByteArrayManager extends AbstractManager {
       .updatePreserveOrder(ByteArrayEntity.class, "updateDecisionInputsByteArraysByProcessInstanceId", parameters);
     getDbEntityManager()
       .updatePreserveOrder(ByteArrayEntity.class, "updateDecisionOutputsByteArraysByProcessInstanceId", parameters);
+    getDbEntityManager()
+      .updatePreserveOrder(ByteArrayEntity.class, "updateDecisionValuesByteArraysByProcessInstanceId", parameters);
     getDbEntityManager()
       .updatePreserveOrder(ByteArrayEntity.class, "updateJobLogByteArraysByProcessInstanceId", parameters);
     getDbEntityManager()
@@ -56,6 +56,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.AtomicOperationInvocation;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.util.FormPropertyStartContext;
@@ -1296,9 +1297,16 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
    * multiple roundtrips carrying small chucks of data vs. a single roundtrip
    * carrying more data.
    *
+   * With the {@link ProcessEngineConfigurationImpl#EXECUTION_TREE_PREFETCH_PROFILE_FULL full}
+   * prefetch profile, the variables, event subscriptions, jobs, tasks, incidents and external
+   * tasks of the process instance are fetched as well, with one query per entity type. This
+   * avoids a query per execution when the referenced entities of many executions are accessed,
+   * e.g. for parallel multi-instance activities.
+   *
    */
   protected void ensureExecutionTreeInitialized() {
-    List<ExecutionEntity> executions = Context.getCommandContext()
+    CommandContext commandContext = Context.getCommandContext();
+    List<ExecutionEntity> executions = commandContext
       .getExecutionManager()
       .findExecutionsByProcessInstanceId(processInstanceId);
 
@@ -1312,7 +1320,26 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
     }
 
-    processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    if (isExecutionTreeReferencesPrefetchEnabled()) {
+      processInstance.restoreProcessInstance(executions,
+          commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstanceId),
+          commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstanceId),
+          commandContext.getTaskManager().findTasksByProcessInstanceId(processInstanceId),
+          commandContext.getJobManager().findJobsByProcessInstanceId(processInstanceId),
+          commandContext.getIncidentManager().findIncidentsByProcessInstance(processInstanceId),
+          commandContext.getExternalTaskManager().findExternalTasksByProcessInstanceId(processInstanceId));
+
+    } else {
+      processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    }
+  }
+
+  /**
+   * @return true if the entities referenced by the executions are fetched together with the execution tree
+   */
+  protected boolean isExecutionTreeReferencesPrefetchEnabled() {
+    return ProcessEngineConfigurationImpl.EXECUTION_TREE_PREFETCH_PROFILE_FULL
+        .equals(Context.getProcessEngineConfiguration().getExecutionTreePrefetchProfile());
   }
 
   /**
@@ -1330,6 +1357,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
    * @param jobs
    * @param tasks
    * @param incidents
+   *
+   * The referenced entities are only added to executions whose references of the respective
+   * type are not yet initialized, since initialized references may already contain changes of
+   * the current command.
    */
   public void restoreProcessInstance(Collection<ExecutionEntity> executions,
       Collection<EventSubscriptionEntity> eventSubscriptions,
@@ -1356,6 +1387,12 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
     }
 
+    Set<String> restoredEventSubscriptions = new HashSet<>();
+    Set<String> restoredJobs = new HashSet<>();
+    Set<String> restoredTasks = new HashSet<>();
+    Set<String> restoredIncidents = new HashSet<>();
+    Set<String> restoredExternalTasks = new HashSet<>();
+
     // restore execution tree
     for (ExecutionEntity execution : executions) {
       if (execution.executions == null) {
@@ -1363,6 +1400,23 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
       if(execution.eventSubscriptions == null && eventSubscriptions != null) {
         execution.eventSubscriptions = new ArrayList<>();
+        restoredEventSubscriptions.add(execution.getId());
+      }
+      if (execution.jobs == null && jobs != null) {
+        execution.jobs = new ArrayList<>();
+        restoredJobs.add(execution.getId());
+      }
+      if (execution.tasks == null && tasks != null) {
+        execution.tasks = new ArrayList<>();
+        restoredTasks.add(execution.getId());
+      }
+      if (execution.incidents == null && incidents != null) {
+        execution.incidents = new ArrayList<>();
+        restoredIncidents.add(execution.getId());
+      }
+      if (execution.externalTasks == null && externalTasks != null) {
+        execution.externalTasks = new ArrayList<>();
+        restoredExternalTasks.add(execution.getId());
       }
       if(variables != null) {
         execution.variableStore.setVariablesProvider(
@@ -1390,7 +1444,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
         ExecutionEntity executionEntity = executionsMap.get(eventSubscription.getExecutionId());
         if (executionEntity != null) {
-          executionEntity.addEventSubscription(eventSubscription);
+          if (restoredEventSubscriptions.contains(executionEntity.getId())) {
+            executionEntity.addEventSubscription(eventSubscription);
+          }
         }
         else {
           throw LOG.executionNotFoundException(eventSubscription.getExecutionId());
@@ -1400,16 +1456,20 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
     if (jobs != null) {
       for (JobEntity job : jobs) {
-        ExecutionEntity execution = executionsMap.get(job.getExecutionId());
-        job.setExecution(execution);
+        if (restoredJobs.contains(job.getExecutionId())) {
+          ExecutionEntity execution = executionsMap.get(job.getExecutionId());
+          job.setExecution(execution);
+        }
       }
     }
 
     if (tasks != null) {
       for (TaskEntity task : tasks) {
-        ExecutionEntity execution = executionsMap.get(task.getExecutionId());
-        task.setExecution(execution);
-        execution.addTask(task);
+        if (restoredTasks.contains(task.getExecutionId())) {
+          ExecutionEntity execution = executionsMap.get(task.getExecutionId());
+          task.setExecution(execution);
+          execution.addTask(task);
+        }
 
         if(variables != null) {
           task.variableStore.setVariablesProvider(new VariableCollectionProvider<>(variablesByScope.get(task.id)));
@@ -1420,16 +1480,20 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
     if (incidents != null) {
       for (IncidentEntity incident : incidents) {
-        ExecutionEntity execution = executionsMap.get(incident.getExecutionId());
-        incident.setExecution(execution);
+        if (restoredIncidents.contains(incident.getExecutionId())) {
+          ExecutionEntity execution = executionsMap.get(incident.getExecutionId());
+          incident.setExecution(execution);
+        }
       }
     }
 
     if (externalTasks != null) {
       for (ExternalTaskEntity externalTask : externalTasks) {
-        ExecutionEntity execution = executionsMap.get(externalTask.getExecutionId());
-        externalTask.setExecution(execution);
-        execution.addExternalTask(externalTask);
+        if (restoredExternalTasks.contains(externalTask.getExecutionId())) {
+          ExecutionEntity execution = executionsMap.get(externalTask.getExecutionId());
+          externalTask.setExecution(execution);
+          execution.addExternalTask(externalTask);
+        }
       }
     }
   }
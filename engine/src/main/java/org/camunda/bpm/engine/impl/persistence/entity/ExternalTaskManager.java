@@ -19,23 +19,25 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryImpl;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryProperty;
-import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
-import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableNotification;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
-import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
@@ -48,13 +50,18 @@ public class ExternalTaskManager extends AbstractManager {
 
   public static QueryOrderingProperty EXT_TASK_PRIORITY_ORDERING_PROPERTY = new QueryOrderingProperty(ExternalTaskQueryProperty.PRIORITY, Direction.DESCENDING);
 
+  /**
+   * Collects the topics of the external tasks that become available in the current transaction
+   */
+  protected ExternalTaskAvailableNotification externalTaskAvailableNotification;
+
   public ExternalTaskEntity findExternalTaskById(String id) {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -91,9 +98,52 @@ public class ExternalTaskManager extends AbstractManager {
     configureQuery(parameter);
 
     DbEntityManager manager = getDbEntityManager();
+    if (isExactTopicFetch(queryFilters, parameter)) {
+      Set<String> topicNames = new HashSet<>();
+      for (TopicFetchInstruction queryFilter : queryFilters) {
+        topicNames.add(queryFilter.getTopicName());
+      }
+      parameters.put("topicNames", topicNames);
+
+      return manager.selectListFetchingMaxResults("selectExternalTasksForExactTopicsSkipLocked", parameter);
+    }
+
     return manager.selectList("selectExternalTasksForTopics", parameter);
   }
 
+  /**
+   * @return true if the external tasks can be fetched by topic name only and locked with
+   * <code>SELECT ... FOR UPDATE SKIP LOCKED</code>
+   */
+  protected boolean isExactTopicFetch(Collection<TopicFetchInstruction> queryFilters, ListQueryParameterObject parameter) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (!configuration.isExternalTaskFetchWithSkipLocked()
+        || !configuration.isDatabaseSkipLockedSupported()) {
+      return false;
+    }
+
+    // the statement has no authorization check, whose joined rows must not be locked anyway
+    AuthorizationCheck authCheck = parameter.getAuthCheck();
+    if (authCheck.getShouldPerformAuthorizatioCheck() && authCheck.getAuthUserId() != null) {
+      return false;
+    }
+
+    for (TopicFetchInstruction queryFilter : queryFilters) {
+      if (queryFilter.getBusinessKey() != null
+          || queryFilter.getProcessDefinitionId() != null
+          || queryFilter.getProcessDefinitionIds() != null
+          || queryFilter.getProcessDefinitionKey() != null
+          || queryFilter.getProcessDefinitionKeys() != null
+          || queryFilter.getProcessDefinitionVersionTag() != null
+          || queryFilter.isTenantIdSet()
+          || !queryFilter.getFilterVariables().isEmpty()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   @SuppressWarnings("unchecked")
   public List<ExternalTask> findExternalTasksByQueryCriteria(ExternalTaskQueryImpl externalTaskQuery) {
     configureQuery(externalTaskQuery);
@@ -170,14 +220,22 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public void fireExternalTaskAvailableEvent() {
-    Context.getCommandContext()
-      .getTransactionContext()
-      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
-        @Override
-        public void execute(CommandContext commandContext) {
-          ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
-        }
-      });
+    fireExternalTaskAvailableEvent(null);
+  }
+
+  /**
+   * Notifies the listeners about the available external task once the transaction is committed.
+   *
+   * @param topicName the topic of the available external task or <code>null</code> if unknown
+   */
+  public void fireExternalTaskAvailableEvent(String topicName) {
+    if (externalTaskAvailableNotification == null) {
+      externalTaskAvailableNotification = new ExternalTaskAvailableNotification();
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, externalTaskAvailableNotification);
+    }
+    externalTaskAvailableNotification.addTopic(topicName);
   }
 }
 
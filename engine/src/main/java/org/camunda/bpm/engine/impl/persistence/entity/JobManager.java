@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.JobQueryImpl;
 import org.camunda.bpm.engine.impl.JobQueryProperty;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionListener;
@@ -40,11 +41,13 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobsHandedOffNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerExecuteNestedActivityJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
@@ -67,6 +70,12 @@ public class JobManager extends AbstractManager {
     JOB_DUEDATE_ORDERING_PROPERTY.setDirection(Direction.ASCENDING);
   }
 
+  /**
+   * Collects the jobs of the current transaction that are handed off
+   * to the job executor after commit
+   */
+  protected JobsHandedOffNotification jobsHandedOffNotification;
+
   public void updateJob(JobEntity job) {
     getDbEntityManager().merge(job);
   }
@@ -150,6 +159,13 @@ public class JobManager extends AbstractManager {
       job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
       job.setLockOwner(jobExecutor.getLockOwner());
       transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
+    } else if (isHandOffApplicable(job, jobExecutor)) {
+      // lock job & hand it to the local job executor after commit
+      Date currentTime = ClockUtil.getCurrentTime();
+      job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
+      job.setLockOwner(jobExecutor.getLockOwner());
+      getJobsHandedOffNotification(jobExecutor).addJob(job);
+      return;
     } else {
       // reset Acquisition strategy and notify the JobExecutor that
       // a new Job is available for execution on future runs
@@ -160,6 +176,58 @@ public class JobManager extends AbstractManager {
       .addTransactionListener(TransactionState.COMMITTED, transactionListener);
   }
 
+  /**
+   * A job can be handed off to the local job executor if it is inserted in this transaction,
+   * can be executed right away and may be executed on this node. Exclusive jobs are only handed
+   * off if their process instance is created in the same transaction, since otherwise another
+   * exclusive job of the process instance may be executed concurrently.
+   */
+  protected boolean isHandOffApplicable(JobEntity job, JobExecutor jobExecutor) {
+    ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
+    if (!engineConfiguration.isJobExecutorHandOffJobs()
+        || !jobExecutor.hasRegisteredEngine(engineConfiguration.getProcessEngine())
+        || job.isSuspended()
+        || !isJobDue(job)
+        || !getDbEntityManager().getDbEntityCache().isTransient(job)) {
+      return false;
+    }
+
+    if (!engineConfiguration.isHistoryCleanupEnabled()
+        && HistoryCleanupJobHandler.TYPE.equals(job.getJobHandlerType())) {
+      return false;
+    }
+
+    if (engineConfiguration.isJobExecutorDeploymentAware()
+        && job.getDeploymentId() != null
+        && !engineConfiguration.getRegisteredDeployments().contains(job.getDeploymentId())) {
+      return false;
+    }
+
+    if (job.isExclusive()) {
+      String processInstanceId = job.getProcessInstanceId();
+      if (processInstanceId == null) {
+        return false;
+      }
+
+      ExecutionEntity processInstance = getDbEntityManager().getCachedEntity(ExecutionEntity.class, processInstanceId);
+      return processInstance != null && getDbEntityManager().getDbEntityCache().isTransient(processInstance);
+    }
+
+    return true;
+  }
+
+  protected JobsHandedOffNotification getJobsHandedOffNotification(JobExecutor jobExecutor) {
+    if (jobsHandedOffNotification == null) {
+      ProcessEngineImpl processEngine = Context.getProcessEngineConfiguration().getProcessEngine();
+      jobsHandedOffNotification = new JobsHandedOffNotification(jobExecutor, processEngine);
+
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, jobsHandedOffNotification);
+    }
+    return jobsHandedOffNotification;
+  }
+
   protected boolean areInSameProcessInstance(JobEntity job1, JobEntity job2) {
     if (job1 == null || job2 == null) {
       return false;
@@ -188,6 +256,27 @@ public class JobManager extends AbstractManager {
 
   @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    Map<String, Object> params = createNextJobsToExecuteParameters();
+    return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+  }
+
+  /**
+   * Selects the next jobs to execute and locks the selected rows in the database,
+   * skipping rows that are currently locked by a concurrent acquisition. On databases
+   * that do not support skipping locked rows, this behaves like {@link #findNextJobsToExecute(Page)}.
+   */
+  @SuppressWarnings("unchecked")
+  public List<AcquirableJobEntity> findNextJobsToExecuteSkipLocked(Page page) {
+    if (!Context.getProcessEngineConfiguration().isDatabaseSkipLockedSupported()) {
+      return findNextJobsToExecute(page);
+    }
+
+    Map<String, Object> params = createNextJobsToExecuteParameters();
+    ListQueryParameterObject parameter = new ListQueryParameterObject(params, page.getFirstResult(), page.getMaxResults());
+    return getDbEntityManager().selectListFetchingMaxResults("selectNextJobsToExecuteSkipLocked", parameter);
+  }
+
+  protected Map<String, Object> createNextJobsToExecuteParameters() {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -219,7 +308,7 @@ public class JobManager extends AbstractManager {
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
 
-    return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    return params;
   }
 
   @SuppressWarnings("unchecked")
@@ -265,6 +354,45 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobDeploymentIdMappingsByQueryCriteria", jobQuery);
   }
 
+  /**
+   * @return pairs of job id and job definition id for the given jobs
+   */
+  @SuppressWarnings("unchecked")
+  public List<ImmutablePair<String, String>> findJobDefinitionIdMappingsByJobIds(List<String> jobIds) {
+    return getDbEntityManager().selectList("selectJobDefinitionIdMappingsByJobIds", new ListQueryParameterObject(jobIds, 0, Integer.MAX_VALUE));
+  }
+
+  /**
+   * The counts are read without locking, so they do not include jobs which are locked by
+   * concurrent, uncommitted acquisitions.
+   *
+   * @return the number of jobs with a lock that did not yet expire, by job definition id
+   */
+  public Map<String, Long> findLockedJobCountsByJobDefinition() {
+    return findLockedJobCounts("selectLockedJobCountsByJobDefinition");
+  }
+
+  /**
+   * The counts are read without locking, see {@link #findLockedJobCountsByJobDefinition()}.
+   *
+   * @return the number of jobs with a lock that did not yet expire, by job handler type
+   */
+  public Map<String, Long> findLockedJobCountsByHandlerType() {
+    return findLockedJobCounts("selectLockedJobCountsByHandlerType");
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Map<String, Long> findLockedJobCounts(String statement) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(ClockUtil.getCurrentTime(), 0, Integer.MAX_VALUE);
+    List<ImmutablePair<String, Long>> counts = getDbEntityManager().selectList(statement, parameter);
+
+    Map<String, Long> lockedJobCounts = new HashMap<>();
+    for (ImmutablePair<String, Long> count : counts) {
+      lockedJobCounts.put(count.getLeft(), count.getRight());
+    }
+    return lockedJobCounts;
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByConfiguration(String jobHandlerType, String jobHandlerConfiguration, String tenantId) {
     Map<String, String> params = new HashMap<>();
@@ -16,12 +16,16 @@
  */
 package org.camunda.bpm.engine.impl.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableResultImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.BaseCallableElement;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.dmn.invocation.DecisionBulkInvocation;
 import org.camunda.bpm.engine.impl.dmn.invocation.DecisionInvocation;
 import org.camunda.bpm.engine.impl.dmn.invocation.VariableScopeContext;
 import org.camunda.bpm.engine.impl.dmn.result.CollectEntriesDecisionResultMapper;
@@ -94,6 +98,19 @@ public class DecisionEvaluationUtil {
     return DmnDecisionTableResultImpl.wrap(decisionResult);
   }
 
+  public static List<DmnDecisionResult> evaluateDecisions(DecisionDefinition decisionDefinition, List<VariableMap> variables, int parallelism) throws Exception {
+    List<VariableContext> variableContexts = new ArrayList<>(variables.size());
+    for (VariableMap variableMap : variables) {
+      variableContexts.add(variableMap.asVariableContext());
+    }
+
+    DecisionBulkInvocation invocation = new DecisionBulkInvocation(decisionDefinition, variableContexts, parallelism);
+    Context.getProcessEngineConfiguration()
+      .getDelegateInterceptor()
+      .handleInvocation(invocation);
+    return invocation.getInvocationResult();
+  }
+
   protected static void invoke(DecisionInvocation invocation) throws Exception {
     Context.getProcessEngineConfiguration()
       .getDelegateInterceptor()
@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * Execution statistics of a command class, collected in memory since the
+ * process engine was started if command metrics are enabled.
+ * Latency percentiles are estimated from histogram buckets.
+ *
+ * @see ManagementService#getCommandMetrics()
+ */
+public interface CommandMetrics {
+
+  /**
+   * @return the fully qualified class name of the command
+   */
+  String getCommandName();
+
+  /**
+   * @return the number of executions of the command
+   */
+  long getCount();
+
+  /**
+   * @return the sum of all execution times in milliseconds
+   */
+  long getExecutionTimeTotal();
+
+  /**
+   * @return the longest execution time in milliseconds
+   */
+  long getExecutionTimeMax();
+
+  /**
+   * @return the estimated median execution time in milliseconds
+   */
+  long getExecutionTimeMedian();
+
+  /**
+   * @return the estimated 99th percentile of execution times in milliseconds
+   */
+  long getExecutionTime99thPercentile();
+
+  /**
+   * @return the sum of the times spent flushing the database session in milliseconds
+   */
+  long getFlushTimeTotal();
+
+  /**
+   * @return the longest time spent flushing the database session in milliseconds
+   */
+  long getFlushTimeMax();
+
+  /**
+   * @return the number of SQL statements executed by all executions of the command
+   */
+  long getSqlStatementCountTotal();
+
+  /**
+   * @return the highest number of SQL statements executed by a single execution of the command
+   */
+  long getSqlStatementCountMax();
+
+}
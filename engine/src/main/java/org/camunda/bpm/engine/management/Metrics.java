@@ -46,6 +46,13 @@ public class Metrics {
    */
   public final static String JOB_EXECUTION_REJECTED = "job-execution-rejected";
 
+  /**
+   * Number of jobs that were selected for acquisition but not acquired because their job
+   * definition or handler type reached the maximum number of locked jobs, as seen by
+   * the acquisition
+   */
+  public final static String JOB_ACQUISITION_THROTTLED = "job-acquisition-throttled";
+
   public final static String JOB_SUCCESSFUL = "job-successful";
   public final static String JOB_FAILED = "job-failed";
 
@@ -55,6 +62,25 @@ public class Metrics {
    */
   public final static String JOB_LOCKED_EXCLUSIVE = "job-locked-exclusive";
 
+  /**
+   * Number of jobs that are locked when they are created and handed
+   * to the job executor of the same node after the transaction commits
+   */
+  public final static String JOB_HANDED_OFF = "job-handed-off";
+
+  /**
+   * Number of history events written to the database after the transaction
+   * that produced them committed
+   */
+  public final static String HISTORY_EVENT_WRITTEN = "history-event-written";
+
+  /**
+   * Sum of the milliseconds between the commit of the transactions that produced the
+   * history events and the writing of the events to the database. Divided by
+   * {@link #HISTORY_EVENT_WRITTEN}, this is the average history lag.
+   */
+  public final static String HISTORY_EVENT_WRITE_LAG = "history-event-write-lag";
+
   /**
    * Number of executed Root Process Instance executions.
    */
@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * Execution statistics of a MyBatis statement, collected in memory since the
+ * process engine was started if SQL statement metrics are enabled.
+ * Execution times and row counts are only recorded for sampled executions;
+ * latency percentiles are estimated from histogram buckets.
+ *
+ * @see ManagementService#getSqlStatementMetrics(int)
+ */
+public interface SqlStatementMetrics {
+
+  /**
+   * @return the id of the mapped statement, e.g. <code>selectExternalTasksForTopics</code>
+   */
+  String getStatementId();
+
+  /**
+   * @return the number of executions of the statement
+   */
+  long getCount();
+
+  /**
+   * @return the number of executions for which execution time and row count were recorded
+   */
+  long getSampledCount();
+
+  /**
+   * @return the sum of the execution times of all sampled executions in milliseconds
+   */
+  long getExecutionTimeTotal();
+
+  /**
+   * @return the longest execution time of a sampled execution in milliseconds
+   */
+  long getExecutionTimeMax();
+
+  /**
+   * @return the estimated median execution time in milliseconds
+   */
+  long getExecutionTimeMedian();
+
+  /**
+   * @return the estimated 99th percentile of execution times in milliseconds
+   */
+  long getExecutionTime99thPercentile();
+
+  /**
+   * @return the number of rows returned or affected by all sampled executions
+   */
+  long getRowCountTotal();
+
+  /**
+   * @return the highest number of rows returned or affected by a single sampled execution
+   */
+  long getRowCountMax();
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.query;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.exception.NotValidException;
+
+/**
+ * A query whose results can be fetched page by page with keyset pagination.
+ */
+public interface KeysetPaginatedQuery<T extends Query< ? , ? >, U extends Object> extends Query<T, U> {
+
+  /**
+   * Executes the query and returns the results which follow the result with the given id
+   * (keyset pagination). In contrast to {@link Query#listPage(int, int)}, the database does not
+   * have to skip the results of the previous pages, so fetching a page takes equally long
+   * regardless of how many results precede it.
+   *
+   * The results are ordered by id. Pass the id of the last result of a page to fetch the
+   * next page.
+   *
+   * @param lastId the id of the last result of the previous page or <code>null</code> to
+   *   fetch the first page
+   * @param maxResults the maximum number of results
+   * @return a list of results
+   * @throws NotValidException
+   *   When the query specifies an ordering, as the results are always ordered by id.
+   * @throws BadUserRequestException
+   *   When {@param maxResults} exceeds the maximum results limit.
+   */
+  List<U> listAfter(String lastId, int maxResults);
+
+}
@@ -19,12 +19,12 @@ package org.camunda.bpm.engine.runtime;
 import java.io.Serializable;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
-import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
 
 /**
  * @author roman.smirnov
  */
-public interface VariableInstanceQuery extends Query<VariableInstanceQuery, VariableInstance> {
+public interface VariableInstanceQuery extends KeysetPaginatedQuery<VariableInstanceQuery, VariableInstance> {
 
   /** Only select the variable with the given Id
    * @param the id of the variable to select
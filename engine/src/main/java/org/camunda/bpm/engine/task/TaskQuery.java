@@ -23,7 +23,7 @@ import java.util.List;
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
-import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.KeysetPaginatedQuery;
 import org.camunda.bpm.engine.variable.type.ValueType;
 
 /**
@@ -32,7 +32,7 @@ import org.camunda.bpm.engine.variable.type.ValueType;
  * @author Joram Barrez
  * @author Falko Menge
  */
-public interface TaskQuery extends Query<TaskQuery, Task>{
+public interface TaskQuery extends KeysetPaginatedQuery<TaskQuery, Task>{
 
   /**
    * Only select tasks with the given task id (in practice, there will be
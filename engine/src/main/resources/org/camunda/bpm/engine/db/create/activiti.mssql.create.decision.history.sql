@@ -38,6 +38,7 @@ create table ACT_HI_DECINST (
     DEC_REQ_ID_ nvarchar(64),
     DEC_REQ_KEY_ nvarchar(255),
     TENANT_ID_ nvarchar(64),
+    VALUES_ID_ nvarchar(64),
     primary key (ID_)
 );
 
@@ -77,6 +77,7 @@ drop index ACT_RE_PROCDEF.ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_TENANT_ID;
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_PRIORITY;
+drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_TOPIC_LOCK;
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_ERR_DETAILS;
 drop index ACT_RU_INCIDENT.ACT_IDX_INC_TENANT_ID;
 drop index ACT_RU_JOBDEF.ACT_IDX_JOBDEF_TENANT_ID;
@@ -141,6 +141,7 @@ drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK;
 drop index ACT_IDX_EXT_TASK_PRIORITY on ACT_RU_EXT_TASK;
+drop index ACT_IDX_EXT_TASK_TOPIC_LOCK on ACT_RU_EXT_TASK;
 drop index ACT_IDX_EXT_TASK_ERR_DETAILS on ACT_RU_EXT_TASK;
 drop index ACT_IDX_INC_TENANT_ID ON ACT_RU_INCIDENT;
 drop index ACT_IDX_JOBDEF_TENANT_ID ON ACT_RU_JOBDEF;
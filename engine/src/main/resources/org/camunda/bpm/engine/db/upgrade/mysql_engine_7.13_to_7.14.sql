@@ -16,4 +16,9 @@
 --
 
 insert into ACT_GE_SCHEMA_LOG
-values ('300', CURRENT_TIMESTAMP, '7.14.0');
\ No newline at end of file
+values ('300', CURRENT_TIMESTAMP, '7.14.0');
+
+create index ACT_IDX_EXT_TASK_TOPIC_LOCK on ACT_RU_EXT_TASK(TOPIC_NAME_, LOCK_EXP_TIME_, PRIORITY_);
+
+ALTER TABLE ACT_HI_DECINST
+  ADD COLUMN VALUES_ID_ varchar(64);
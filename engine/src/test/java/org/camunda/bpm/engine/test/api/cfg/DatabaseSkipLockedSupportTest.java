@@ -0,0 +1,67 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.junit.Test;
+
+public class DatabaseSkipLockedSupportTest {
+
+  protected VersionCheckingConfiguration configuration = new VersionCheckingConfiguration();
+
+  @Test
+  public void shouldSupportSkipLockedOnMySql8() {
+    assertThat(configuration.isVersionAtLeast("8.0.1", 8, 0, 1)).isTrue();
+    assertThat(configuration.isVersionAtLeast("8.0.23-log", 8, 0, 1)).isTrue();
+    assertThat(configuration.isVersionAtLeast("8.1.0", 8, 0, 1)).isTrue();
+  }
+
+  @Test
+  public void shouldNotSupportSkipLockedBeforeMySql8() {
+    assertThat(configuration.isVersionAtLeast("5.7.33-log", 8, 0, 1)).isFalse();
+    assertThat(configuration.isVersionAtLeast("8.0.0-dmr", 8, 0, 1)).isFalse();
+  }
+
+  @Test
+  public void shouldSupportSkipLockedOnMariaDb106() {
+    assertThat(configuration.isVersionAtLeast("10.6.4-MariaDB-1:10.6.4+maria~focal", 10, 6, 0)).isTrue();
+    assertThat(configuration.isVersionAtLeast("5.5.5-10.6.4-MariaDB", 10, 6, 0)).isTrue();
+    assertThat(configuration.isVersionAtLeast("11.0", 10, 6, 0)).isTrue();
+  }
+
+  @Test
+  public void shouldNotSupportSkipLockedBeforeMariaDb106() {
+    assertThat(configuration.isVersionAtLeast("10.5.12-MariaDB", 10, 6, 0)).isFalse();
+    assertThat(configuration.isVersionAtLeast("5.5.5-10.3.31-MariaDB", 10, 6, 0)).isFalse();
+  }
+
+  @Test
+  public void shouldNotSupportSkipLockedOnUnknownVersion() {
+    assertThat(configuration.isVersionAtLeast(null, 8, 0, 1)).isFalse();
+    assertThat(configuration.isVersionAtLeast("unknown", 8, 0, 1)).isFalse();
+  }
+
+  public static class VersionCheckingConfiguration extends StandaloneInMemProcessEngineConfiguration {
+
+    public boolean isVersionAtLeast(String databaseProductVersion, int major, int minor, int patch) {
+      return super.isVersionAtLeast(databaseProductVersion, major, minor, patch);
+    }
+  }
+
+}
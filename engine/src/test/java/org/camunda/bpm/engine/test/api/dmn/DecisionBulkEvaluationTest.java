@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.dmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@Deployment(resources = DecisionBulkEvaluationTest.DMN_DECISION_TABLE)
+public class DecisionBulkEvaluationTest {
+
+  protected static final String DMN_DECISION_TABLE = "org/camunda/bpm/engine/test/api/dmn/Example.dmn";
+  protected static final String DMN_DECISION_TABLE_V2 = "org/camunda/bpm/engine/test/api/dmn/Example_v2.dmn";
+  protected static final String DMN_JUEL_LITERAL_EXPRESSION = "org/camunda/bpm/engine/test/api/dmn/DecisionBulkEvaluationTest.juelLiteralExpression.dmn";
+
+  protected static final String DECISION_DEFINITION_KEY = "decision";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected DecisionService decisionService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    decisionService = engineRule.getDecisionService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  public void shouldEvaluateDecisionForEachInput() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBulkByKey(DECISION_DEFINITION_KEY)
+      .evaluate(Arrays.asList(
+          createVariables("silver", 723),
+          createVariables("bronze", 10),
+          createVariables("silver", 1000)));
+
+    // then
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).getSingleResult().<String>getEntry("result")).isEqualTo("ok");
+    assertThat(results.get(1).getSingleResult().<String>getEntry("result")).isEqualTo("notok");
+    assertThat(results.get(2).getSingleResult().<String>getEntry("result")).isEqualTo("notok");
+  }
+
+  @Test
+  public void shouldEvaluateDecisionInParallel() {
+    // given
+    List<Map<String, Object>> variables = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      variables.add(createVariables("silver", i * 20));
+    }
+
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBulkByKey(DECISION_DEFINITION_KEY)
+      .parallelism(4)
+      .evaluate(variables.stream());
+
+    // then
+    assertThat(results).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(results.get(i).getSingleResult().<String>getEntry("result")).isEqualTo(i * 20 < 1000 ? "ok" : "notok");
+    }
+  }
+
+  @Test
+  @Deployment(resources = {DMN_DECISION_TABLE, DMN_JUEL_LITERAL_EXPRESSION})
+  public void shouldEvaluateJuelDecisionWithParallelism() {
+    // given
+    List<Map<String, Object>> variables = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      variables.add(createVariables("status" + i, i));
+    }
+
+    // when the JUEL expressions are evaluated by the calling thread, which has a command context
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBulkByKey("juelDecision")
+      .parallelism(4)
+      .evaluate(variables);
+
+    // then
+    assertThat(results).hasSize(10);
+    for (int i = 0; i < 10; i++) {
+      assertThat(results.get(i).getSingleResult().<String>getEntry("result")).isEqualTo("status" + i);
+    }
+  }
+
+  @Test
+  public void shouldEvaluateDecisionOfVersion() {
+    // given
+    testRule.deploy(DMN_DECISION_TABLE_V2);
+
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBulkByKey(DECISION_DEFINITION_KEY)
+      .version(1)
+      .evaluate(Arrays.asList(createVariables("silver", 723)));
+
+    // then
+    assertThat(results.get(0).getSingleResult().<String>getEntry("result")).isEqualTo("ok");
+  }
+
+  @Test
+  public void shouldFailForUnknownDecisionDefinition() {
+    assertThatThrownBy(() -> decisionService.evaluateDecisionBulkById("unknown")
+      .evaluate(Arrays.asList(createVariables("silver", 723))))
+      .isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldWriteHistoryOfEachEvaluation() {
+    // when
+    decisionService.evaluateDecisionBulkByKey(DECISION_DEFINITION_KEY)
+      .parallelism(2)
+      .evaluate(Arrays.asList(createVariables("silver", 723), createVariables("gold", 5000)));
+
+    // then
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo(2);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldSkipHistory() {
+    // when
+    List<DmnDecisionResult> results = decisionService.evaluateDecisionBulkByKey(DECISION_DEFINITION_KEY)
+      .skipHistory()
+      .evaluate(Arrays.asList(createVariables("silver", 723), createVariables("gold", 5000)));
+
+    // then
+    assertThat(results).hasSize(2);
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isZero();
+
+    // and the history of other evaluations is written
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY).variables(createVariables("silver", 723)).evaluate();
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isEqualTo(1);
+  }
+
+  protected Map<String, Object> createVariables(String status, int sum) {
+    return Variables.createVariables().putValue("status", status).putValue("sum", sum);
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskOperationResult;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+public class ExternalTaskBulkOperationTest {
+
+  protected static final String PROCESS_DEFINITION_KEY = "oneExternalTaskProcess";
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCompleteTasks() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    }
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(3, WORKER_ID).topic(TOPIC_NAME, LOCK_TIME).execute();
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.bulkOperation(WORKER_ID)
+      .complete(tasks.get(0).getId(), Variables.createVariables().putValue("var", 1), null)
+      .complete(tasks.get(1).getId(), null, null)
+      .complete(tasks.get(2).getId(), null, null)
+      .execute();
+
+    // then
+    assertThat(results).hasSize(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i).getExternalTaskId()).isEqualTo(tasks.get(i).getId());
+      assertThat(results.get(i).isSuccessful()).isTrue();
+      assertThat(results.get(i).getException()).isNull();
+    }
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldReportFailedValidationPerOperation() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+
+    LockedExternalTask firstTask = externalTaskService.fetchAndLock(1, WORKER_ID).topic(TOPIC_NAME, LOCK_TIME).execute().get(0);
+    LockedExternalTask secondTask = externalTaskService.fetchAndLock(1, WORKER_ID).topic(TOPIC_NAME, LOCK_TIME).execute().get(0);
+    LockedExternalTask otherWorkerTask = externalTaskService.fetchAndLock(1, "anotherWorkerId").topic(TOPIC_NAME, LOCK_TIME).execute().get(0);
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.bulkOperation(WORKER_ID)
+      .complete(firstTask.getId(), null, null)
+      .complete("unknownExternalTaskId", null, null)
+      .handleFailure(secondTask.getId(), "anErrorMessage", "anErrorDetails", 0, 0)
+      .extendLock(otherWorkerTask.getId(), LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(results).hasSize(4);
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(1).isSuccessful()).isFalse();
+    assertThat(results.get(1).getException()).isInstanceOf(NotFoundException.class);
+    assertThat(results.get(2).isSuccessful()).isTrue();
+    assertThat(results.get(3).isSuccessful()).isFalse();
+    assertThat(results.get(3).getException()).isInstanceOf(BadUserRequestException.class);
+
+    assertThat(externalTaskService.createExternalTaskQuery().externalTaskId(firstTask.getId()).count()).isZero();
+
+    ExternalTask failedTask = externalTaskService.createExternalTaskQuery().externalTaskId(secondTask.getId()).singleResult();
+    assertThat(failedTask.getRetries()).isEqualTo(0);
+    assertThat(failedTask.getErrorMessage()).isEqualTo("anErrorMessage");
+  }
+
+  @Test
+  public void shouldIsolateOperationFailingOnExecution() {
+    // given
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+
+    LockedExternalTask shortLockedTask = externalTaskService.fetchAndLock(1, WORKER_ID).topic(TOPIC_NAME, 1000L).execute().get(0);
+    LockedExternalTask longLockedTask = externalTaskService.fetchAndLock(1, WORKER_ID).topic(TOPIC_NAME, LOCK_TIME).execute().get(0);
+
+    // the lock of the first task expires
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 5000L));
+
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.bulkOperation(WORKER_ID)
+      .complete(longLockedTask.getId(), null, null)
+      .extendLock(shortLockedTask.getId(), LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).getExternalTaskId()).isEqualTo(longLockedTask.getId());
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(1).getExternalTaskId()).isEqualTo(shortLockedTask.getId());
+    assertThat(results.get(1).isSuccessful()).isFalse();
+    assertThat(results.get(1).getException()).isInstanceOf(BadUserRequestException.class);
+
+    assertThat(externalTaskService.createExternalTaskQuery().externalTaskId(longLockedTask.getId()).count()).isZero();
+    assertThat(externalTaskService.createExternalTaskQuery().externalTaskId(shortLockedTask.getId()).count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnNoResultsWithoutOperations() {
+    // when
+    List<ExternalTaskOperationResult> results = externalTaskService.bulkOperation(WORKER_ID).execute();
+
+    // then
+    assertThat(results).isEmpty();
+  }
+
+}
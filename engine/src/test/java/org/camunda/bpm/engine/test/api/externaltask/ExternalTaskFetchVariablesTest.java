@@ -0,0 +1,185 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/ExternalTaskVariablesTest.testExternalTaskVariablesLocal.bpmn20.xml")
+public class ExternalTaskFetchVariablesTest {
+
+  protected static final String PROCESS_DEFINITION_KEY = "oneExternalTaskProcess";
+  protected static final String TOPIC_NAME = "testTopic";
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+  }
+
+  @Test
+  public void shouldFetchVariablesOfEachTask() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, Variables.createVariables().putValue("processVar", i));
+    }
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(3, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(3);
+    for (LockedExternalTask task : tasks) {
+      Object expectedValue = runtimeService.getVariable(task.getProcessInstanceId(), "processVar");
+
+      assertThat(task.getVariables()).hasSize(2);
+      assertThat(task.getVariables().get("processVar")).isEqualTo(expectedValue);
+      assertThat(task.getVariables().get("localVar")).isEqualTo("localVal");
+    }
+  }
+
+  @Test
+  public void shouldPreferVariablesOfInnerScope() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, Variables.createVariables().putValue("localVar", "processVal"));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(tasks.get(0).getVariables()).hasSize(1);
+    assertThat(tasks.get(0).getVariables().get("localVar")).isEqualTo("localVal");
+  }
+
+  @Test
+  public void shouldFetchLocalVariables() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, Variables.createVariables().putValue("processVar", 42));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .localVariables()
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(tasks.get(0).getVariables()).hasSize(1);
+    assertThat(tasks.get(0).getVariables().get("localVar")).isEqualTo("localVal");
+  }
+
+  @Test
+  public void shouldFetchVariablesByName() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, Variables.createVariables()
+      .putValue("processVar", 42)
+      .putValue("anotherProcessVar", 43));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .variables("processVar", "localVar")
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(tasks.get(0).getVariables()).hasSize(2);
+    assertThat(tasks.get(0).getVariables().get("processVar")).isEqualTo(42);
+    assertThat(tasks.get(0).getVariables().get("localVar")).isEqualTo("localVal");
+  }
+
+  @Test
+  public void shouldFetchNoVariables() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, Variables.createVariables().putValue("processVar", 42));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .variables()
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(tasks.get(0).getVariables()).isEmpty();
+  }
+
+  @Test
+  public void shouldFetchVariablesForWorkers() {
+    // given
+    ProcessInstance firstInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY,
+        Variables.createVariables().putValue("processVar", 1));
+    ProcessInstance secondInstance = runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY,
+        Variables.createVariables().putValue("processVar", 2));
+
+    Map<String, Integer> maxTasksPerWorker = new LinkedHashMap<>();
+    maxTasksPerWorker.put(WORKER_ID, 1);
+    maxTasksPerWorker.put("anotherWorkerId", 1);
+
+    // when
+    Map<String, List<LockedExternalTask>> tasksPerWorker = ((ExternalTaskQueryTopicBuilderImpl) externalTaskService
+      .fetchAndLock(2, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME))
+      .executeForWorkers(maxTasksPerWorker);
+
+    // then
+    for (List<LockedExternalTask> workerTasks : tasksPerWorker.values()) {
+      assertThat(workerTasks).hasSize(1);
+
+      LockedExternalTask task = workerTasks.get(0);
+      int expectedValue = task.getProcessInstanceId().equals(firstInstance.getId()) ? 1 : 2;
+      assertThat(task.getProcessInstanceId()).isIn(firstInstance.getId(), secondInstance.getId());
+      assertThat(task.getVariables().get("processVar")).isEqualTo(expectedValue);
+      assertThat(task.getVariables().get("localVar")).isEqualTo("localVal");
+    }
+  }
+
+}
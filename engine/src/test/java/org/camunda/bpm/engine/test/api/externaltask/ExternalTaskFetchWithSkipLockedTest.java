@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExternalTaskFetchWithSkipLockedTest {
+
+  protected static final String PROCESS_DEFINITION_KEY = "oneExternalTaskProcess";
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+  protected IdentityService identityService;
+
+  @Before
+  public void setUp() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+    identityService = engineRule.getIdentityService();
+
+    configuration.setExternalTaskFetchWithSkipLocked(true);
+  }
+
+  @After
+  public void tearDown() {
+    configuration.setExternalTaskFetchWithSkipLocked(false);
+    configuration.setAuthorizationEnabled(false);
+    configuration.setAuthorizationCheckRevokes(ProcessEngineConfiguration.AUTHORIZATION_CHECK_REVOKE_AUTO);
+    identityService.clearAuthentication();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void shouldFetchAndLockByExactTopicName() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, "businessKey" + i);
+    }
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(2, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(2);
+    for (LockedExternalTask task : tasks) {
+      assertThat(task.getWorkerId()).isEqualTo(WORKER_ID);
+      assertThat(task.getBusinessKey()).startsWith("businessKey");
+      assertThat(externalTaskService.createExternalTaskQuery().externalTaskId(task.getId()).singleResult().getWorkerId())
+        .isEqualTo(WORKER_ID);
+    }
+
+    // and the locked tasks are not fetched again
+    assertThat(externalTaskService.fetchAndLock(5, WORKER_ID).topic(TOPIC_NAME, LOCK_TIME).execute()).hasSize(1);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void shouldNotMatchTopicNameAsPattern() {
+    Assume.assumeTrue(configuration.isDatabaseSkipLockedSupported());
+
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic("externalTask%", LOCK_TIME)
+      .execute();
+
+    // then
+    assertThat(tasks).isEmpty();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void shouldFetchAndLockWithFilter() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, "aBusinessKey");
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, "anotherBusinessKey");
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .businessKey("aBusinessKey")
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(1);
+    assertThat(tasks.get(0).getBusinessKey()).isEqualTo("aBusinessKey");
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void shouldCheckAuthorizationWithRevokeCheckEnabled() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+
+    configuration.setAuthorizationEnabled(true);
+    configuration.setAuthorizationCheckRevokes(ProcessEngineConfiguration.AUTHORIZATION_CHECK_REVOKE_ALWAYS);
+    identityService.setAuthenticatedUserId("aUserId");
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then the user has no permission to fetch the task
+    assertThat(tasks).isEmpty();
+  }
+
+}
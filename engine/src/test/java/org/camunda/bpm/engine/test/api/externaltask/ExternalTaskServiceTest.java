@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +51,7 @@ import org.camunda.bpm.engine.history.HistoricExternalTaskLog;
 import org.camunda.bpm.engine.history.HistoricIncident;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -134,6 +136,36 @@ public class ExternalTaskServiceTest extends PluggableProcessEngineTestCase {
     assertEquals(WORKER_ID, task.getWorkerId());
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchForWorkers() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    }
+
+    Map<String, Integer> maxTasksPerWorker = new LinkedHashMap<String, Integer>();
+    maxTasksPerWorker.put("worker1", 2);
+    maxTasksPerWorker.put("worker2", 2);
+
+    // when
+    ExternalTaskQueryTopicBuilderImpl fetchBuilder = (ExternalTaskQueryTopicBuilderImpl) externalTaskService
+      .fetchAndLock(0, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME);
+    Map<String, List<LockedExternalTask>> tasksPerWorker = fetchBuilder.executeForWorkers(maxTasksPerWorker);
+
+    // then the tasks are spread across the workers
+    assertEquals(2, tasksPerWorker.get("worker1").size());
+    assertEquals(1, tasksPerWorker.get("worker2").size());
+
+    for (Map.Entry<String, List<LockedExternalTask>> workerTasks : tasksPerWorker.entrySet()) {
+      for (LockedExternalTask task : workerTasks.getValue()) {
+        assertEquals(workerTasks.getKey(), task.getWorkerId());
+        assertEquals(workerTasks.getKey(), externalTaskService.createExternalTaskQuery()
+          .externalTaskId(task.getId()).singleResult().getWorkerId());
+      }
+    }
+  }
+
 
   @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/twoExternalTaskWithPriorityProcess.bpmn20.xml")
   public void testFetchWithPriority() {
@@ -0,0 +1,204 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsImpl;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+import org.camunda.bpm.engine.management.CommandMetrics;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+public class CommandMetricsTest {
+
+  protected static final String CMD_LOGGER = "org.camunda.bpm.engine.cmd";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("sleepingTask")
+        .camundaClass(SleepingDelegate.class.getName())
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setCommandMetricsEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule()
+      .watch(CMD_LOGGER)
+      .level(Level.WARN);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected IdentityService identityService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    identityService = engineRule.getIdentityService();
+
+    testRule.deploy(PROCESS);
+    processEngineConfiguration.getCommandMetricsRegistry().clear();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setSlowCommandThreshold(10000);
+    identityService.clearAuthentication();
+  }
+
+  @Test
+  public void shouldRecordTopLevelCommand() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    CommandMetricsImpl metrics = processEngineConfiguration.getCommandMetricsRegistry()
+        .getCommandMetrics(StartProcessInstanceCmd.class.getName());
+    assertThat(metrics.getCount()).isEqualTo(1);
+    assertThat(metrics.getExecutionTimeTotal()).isGreaterThanOrEqualTo(SleepingDelegate.SLEEP_MILLIS);
+    assertThat(metrics.getExecutionTimeMax()).isEqualTo(metrics.getExecutionTimeTotal());
+    assertThat(metrics.getFlushTimeTotal()).isLessThanOrEqualTo(metrics.getExecutionTimeTotal());
+    assertThat(metrics.getSqlStatementCountTotal()).isGreaterThan(0);
+    assertThat(metrics.getSqlStatementCountMax()).isEqualTo(metrics.getSqlStatementCountTotal());
+  }
+
+  @Test
+  public void shouldAccountNestedCommandsToOuterCommand() {
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext ->
+        runtimeService.startProcessInstanceByKey("process"));
+
+    // then
+    assertThat(processEngineConfiguration.getCommandMetricsRegistry()
+        .getCommandMetrics(StartProcessInstanceCmd.class.getName())).isNull();
+    assertThat(processEngineConfiguration.getCommandMetricsRegistry().getCommandMetrics()).hasSize(1);
+    assertThat(processEngineConfiguration.getCommandMetricsRegistry().getCommandMetrics().get(0).getCommandName())
+        .isEqualTo(CommandMetricsTest.class.getName() + "$$Lambda");
+  }
+
+  @Test
+  public void shouldGetCommandMetrics() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    List<CommandMetrics> commandMetrics = managementService.getCommandMetrics();
+
+    // then
+    assertThat(commandMetrics).extracting("commandName").contains(StartProcessInstanceCmd.class.getName());
+    assertThat(commandMetrics.get(0).getCommandName()).isEqualTo(StartProcessInstanceCmd.class.getName());
+  }
+
+  @Test
+  public void shouldRequireCamundaAdminToGetCommandMetrics() {
+    // given
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    identityService.setAuthenticatedUserId("notAnAdmin");
+
+    try {
+      // when/then
+      assertThatThrownBy(() -> managementService.getCommandMetrics())
+          .isInstanceOf(AuthorizationException.class);
+    }
+    finally {
+      processEngineConfiguration.setAuthorizationEnabled(false);
+    }
+  }
+
+  @Test
+  public void shouldLogSlowCommandWithBpmnStackTrace() {
+    // given
+    processEngineConfiguration.setSlowCommandThreshold(1);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    List<ILoggingEvent> log = loggingRule.getFilteredLog(CMD_LOGGER, "Command '" + StartProcessInstanceCmd.class.getName() + "' took");
+    assertThat(log).hasSize(1);
+    assertThat(log.get(0).getFormattedMessage()).contains("BPMN Stack Trace", "sleepingTask");
+  }
+
+  @Test
+  public void shouldNotLogFastCommand() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertThat(loggingRule.getFilteredLog(CMD_LOGGER, "took")).isEmpty();
+  }
+
+  @Test
+  public void shouldFailIfDisabled() {
+    // given
+    processEngineConfiguration.setCommandMetricsRegistry(null);
+
+    try {
+      // when/then
+      assertThatThrownBy(() -> managementService.getCommandMetrics())
+          .isInstanceOf(ProcessEngineException.class)
+          .hasMessageContaining("Command metrics are disabled");
+    }
+    finally {
+      processEngineConfiguration.setCommandMetricsRegistry(new CommandMetricsRegistry());
+    }
+  }
+
+  public static class SleepingDelegate implements JavaDelegate {
+
+    public static final long SLEEP_MILLIS = 20;
+
+    public void execute(DelegateExecution execution) throws Exception {
+      Thread.sleep(SLEEP_MILLIS);
+    }
+  }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.ActivityTypes;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry.MeterListener;
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
+import org.camunda.bpm.engine.impl.metrics.MeterId;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DimensionalMetricsTest extends AbstractMetricsTest {
+
+  protected static final String PROCESS_DEFINITION_KEY = "asyncServiceTaskProcess";
+
+  protected DimensionalMetricsRegistry dimensionalMetricsRegistry;
+
+  @Before
+  public void enableDimensionalMetrics() {
+    dimensionalMetricsRegistry = new DimensionalMetricsRegistry();
+    processEngineConfiguration.setDimensionalMetricsRegistry(dimensionalMetricsRegistry);
+  }
+
+  @After
+  public void disableDimensionalMetrics() {
+    processEngineConfiguration.setDimensionalMetricsRegistry(null);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void shouldCountActivityInstancesPerProcessDefinitionAndActivityType() {
+    // when
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+
+    // then
+    assertThat(dimensionalMetricsRegistry.getCount(activityMeterId(Metrics.ACTIVTY_INSTANCE_START, ActivityTypes.START_EVENT)))
+      .isEqualTo(2);
+    assertThat(dimensionalMetricsRegistry.getCount(activityMeterId(Metrics.ACTIVTY_INSTANCE_END, ActivityTypes.START_EVENT)))
+      .isEqualTo(2);
+    assertThat(dimensionalMetricsRegistry.getCount(activityMeterId(Metrics.ACTIVTY_INSTANCE_START, ActivityTypes.TASK_SERVICE)))
+      .isZero();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void shouldRecordJobExecutionsPerJobHandlerType() {
+    // given
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY, Variables.createVariables().putValue("fail", true));
+
+    // when
+    for (Job job : managementService.createJobQuery().list()) {
+      try {
+        managementService.executeJob(job.getId());
+      } catch (ProcessEngineException e) {
+        // expected for the failing instance
+      }
+    }
+
+    // then
+    assertThat(dimensionalMetricsRegistry.getCount(jobMeterId(Metrics.JOB_SUCCESSFUL))).isEqualTo(1);
+    assertThat(dimensionalMetricsRegistry.getCount(jobMeterId(Metrics.JOB_FAILED))).isEqualTo(1);
+    assertThat(dimensionalMetricsRegistry.getCount(activityMeterId(Metrics.ACTIVTY_INSTANCE_END, ActivityTypes.END_EVENT_NONE)))
+      .isEqualTo(1);
+
+    LatencyHistogram latencies = dimensionalMetricsRegistry.getHistogram(jobMeterId(DimensionalMetricsRegistry.JOB_EXECUTION_LATENCY));
+    assertThat(latencies.getCount()).isEqualTo(2);
+    assertThat(latencies.getMaxMillis()).isLessThanOrEqualTo(latencies.getTotalMillis());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void shouldNotifyListenerOnceAboutNewMeter() {
+    // given
+    final LongAdder createdCounters = new LongAdder();
+    dimensionalMetricsRegistry.addListener(new MeterListener() {
+      public void counterCreated(MeterId id, LongAdder counter) {
+        createdCounters.increment();
+      }
+      public void histogramCreated(MeterId id, LatencyHistogram histogram) {
+        fail("no job is executed");
+      }
+    });
+
+    // when
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+    runtimeService.startProcessInstanceByKey(PROCESS_DEFINITION_KEY);
+
+    // then
+    assertThat(createdCounters.sum()).isEqualTo(dimensionalMetricsRegistry.getCounters().size());
+  }
+
+  @Test
+  public void shouldRecordLatenciesInCumulativeBuckets() {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // when
+    histogram.record(0);
+    histogram.record(7);
+    histogram.record(120000);
+
+    // then
+    assertThat(histogram.getCount()).isEqualTo(3);
+    assertThat(histogram.getTotalMillis()).isEqualTo(120007);
+    assertThat(histogram.getMaxMillis()).isEqualTo(120000);
+    assertThat(histogram.getCumulativeCount(0)).isEqualTo(1);
+    assertThat(histogram.getCumulativeCount(2)).isEqualTo(2);
+    assertThat(histogram.getCumulativeCount(LatencyHistogram.BUCKET_BOUNDS.length - 1)).isEqualTo(2);
+  }
+
+  protected MeterId activityMeterId(String metricsName, String activityType) {
+    return new MeterId(metricsName,
+        DimensionalMetricsRegistry.TAG_PROCESS_DEFINITION_KEY, PROCESS_DEFINITION_KEY,
+        DimensionalMetricsRegistry.TAG_ACTIVITY_TYPE, activityType,
+        DimensionalMetricsRegistry.TAG_TENANT_ID, null);
+  }
+
+  protected MeterId jobMeterId(String metricsName) {
+    return new MeterId(metricsName,
+        DimensionalMetricsRegistry.TAG_JOB_HANDLER_TYPE, AsyncContinuationJobHandler.TYPE,
+        DimensionalMetricsRegistry.TAG_PROCESS_DEFINITION_KEY, PROCESS_DEFINITION_KEY,
+        DimensionalMetricsRegistry.TAG_TENANT_ID, null);
+  }
+
+}
@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.test.api.mgmt.metrics;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.ArrayBlockingQueue;
@@ -30,6 +32,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.CallerRunsRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.concurrency.ConcurrencyTestCase.ThreadControl;
@@ -191,6 +194,38 @@ public class JobExecutorMetricsTest extends AbstractMetricsTest {
     assertEquals(3, exclusiveFollowupJobs);
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  @Test
+  public void testJobHandedOffMetricReporting() {
+    // given
+    processEngineConfiguration.setJobExecutorHandOffJobs(true);
+    processEngineConfiguration.getJobExecutor().start();
+
+    try {
+      // when
+      for (int i = 0; i < 3; i++) {
+        runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+      }
+      testRule.waitForJobExecutorToProcessAllJobs(5000);
+    }
+    finally {
+      processEngineConfiguration.setJobExecutorHandOffJobs(false);
+    }
+
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    long jobsSuccessful = managementService.createMetricsQuery().name(Metrics.JOB_SUCCESSFUL).sum();
+    assertEquals(3, jobsSuccessful);
+
+    // the jobs have been locked on insert and executed without acquisition
+    long handedOffJobs = managementService.createMetricsQuery().name(Metrics.JOB_HANDED_OFF).sum();
+    assertEquals(3, handedOffJobs);
+
+    long acquiredJobs = managementService.createMetricsQuery().name(Metrics.JOB_ACQUIRED_SUCCESS).sum();
+    assertEquals(0, acquiredJobs);
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
   @Test
   public void testJobRejectedExecutionMetricReporting() {
@@ -213,6 +248,41 @@ public class JobExecutorMetricsTest extends AbstractMetricsTest {
     assertEquals(3, numRejectedJobs);
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  @Test
+  public void testRejectedHandedOffJobIsUnlocked() {
+    // given an active job executor that rejects all jobs and does not acquire jobs
+    NonAcquiringRejectingJobExecutor rejectingExecutor = new NonAcquiringRejectingJobExecutor();
+    processEngineConfiguration.setJobExecutor(rejectingExecutor);
+    rejectingExecutor.registerProcessEngine((ProcessEngineImpl) processEngine);
+    rejectingExecutor.start();
+    processEngineConfiguration.setJobExecutorHandOffJobs(true);
+
+    try {
+      // when a job is handed off
+      runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    }
+    finally {
+      processEngineConfiguration.setJobExecutorHandOffJobs(false);
+      rejectingExecutor.shutdown();
+    }
+
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then the job was handed off and rejected
+    long handedOffJobs = managementService.createMetricsQuery().name(Metrics.JOB_HANDED_OFF).sum();
+    assertEquals(1, handedOffJobs);
+
+    long numRejectedJobs = managementService.createMetricsQuery().name(Metrics.JOB_EXECUTION_REJECTED).sum();
+    assertEquals(1, numRejectedJobs);
+
+    // and it is neither executed by the calling thread nor left locked
+    JobEntity job = (JobEntity) managementService.createJobQuery().singleResult();
+    assertNotNull(job);
+    assertNull(job.getLockOwner());
+    assertNull(job.getLockExpirationTime());
+  }
+
   public static class RejectingJobExecutor extends DefaultJobExecutor {
 
     public RejectingJobExecutor() {
@@ -230,4 +300,16 @@ public class JobExecutorMetricsTest extends AbstractMetricsTest {
     }
   }
 
+  /**
+   * Rejecting job executor without an acquisition thread, so that rejected jobs stay in the database.
+   */
+  public static class NonAcquiringRejectingJobExecutor extends RejectingJobExecutor {
+
+    protected void startExecutingJobs() {
+    }
+
+    protected void stopExecutingJobs() {
+    }
+  }
+
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsImpl;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
+import org.camunda.bpm.engine.management.SqlStatementMetrics;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SqlStatementMetricsTest {
+
+  protected static final String SELECT_PROCESS_INSTANCES = "selectProcessInstanceByQueryCriteria";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setSqlStatementMetricsEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected IdentityService identityService;
+  protected SqlStatementMetricsRegistry registry;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    identityService = engineRule.getIdentityService();
+
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    registry = processEngineConfiguration.getSqlStatementMetricsRegistry();
+    registry.clear();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.getDbSqlSessionFactory().setSqlStatementMetricsRegistry(registry);
+    processEngineConfiguration.setSqlStatementMetricsRegistry(registry);
+    identityService.clearAuthentication();
+  }
+
+  @Test
+  public void shouldRecordSelectStatement() {
+    // when
+    runtimeService.createProcessInstanceQuery().list();
+    runtimeService.createProcessInstanceQuery().processDefinitionKey("unknown").list();
+
+    // then
+    SqlStatementMetricsImpl metrics = registry.getStatementMetrics(SELECT_PROCESS_INSTANCES);
+    assertThat(metrics.getCount()).isEqualTo(2);
+    assertThat(metrics.getSampledCount()).isEqualTo(2);
+    assertThat(metrics.getRowCountTotal()).isEqualTo(3);
+    assertThat(metrics.getRowCountMax()).isEqualTo(3);
+    assertThat(metrics.getExecutionTimeTotal()).isGreaterThanOrEqualTo(metrics.getExecutionTimeMax());
+  }
+
+  @Test
+  public void shouldRecordUpdateStatement() {
+    // when
+    runtimeService.suspendProcessInstanceByProcessDefinitionKey("process");
+
+    // then
+    SqlStatementMetricsImpl metrics = registry.getStatementMetrics("updateExecutionSuspensionStateByParameters");
+    assertThat(metrics.getCount()).isEqualTo(1);
+    assertThat(metrics.getSampledCount()).isEqualTo(1);
+    assertThat(metrics.getRowCountTotal()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldRecordInsertStatementWhenExecuted() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    SqlStatementMetricsImpl metrics = registry.getStatementMetrics("insertExecution");
+    assertThat(metrics.getCount()).isGreaterThanOrEqualTo(1);
+    // with JDBC batch processing, the executions are sampled when the batch is flushed
+    assertThat(metrics.getSampledCount()).isEqualTo(metrics.getCount());
+    assertThat(metrics.getExecutionTimeTotal()).isGreaterThanOrEqualTo(metrics.getExecutionTimeMax());
+  }
+
+  @Test
+  public void shouldOnlyCountExecutionsWhichAreNotSampled() {
+    // given
+    SqlStatementMetricsRegistry unsampledRegistry = new SqlStatementMetricsRegistry(Integer.MAX_VALUE);
+    processEngineConfiguration.getDbSqlSessionFactory().setSqlStatementMetricsRegistry(unsampledRegistry);
+
+    // when
+    runtimeService.createProcessInstanceQuery().list();
+
+    // then
+    SqlStatementMetricsImpl metrics = unsampledRegistry.getStatementMetrics(SELECT_PROCESS_INSTANCES);
+    assertThat(metrics.getCount()).isEqualTo(1);
+    assertThat(metrics.getSampledCount()).isZero();
+    assertThat(metrics.getRowCountTotal()).isZero();
+  }
+
+  @Test
+  public void shouldGetTopStatementsOrderedByTotalExecutionTime() {
+    // given
+    runtimeService.createProcessInstanceQuery().list();
+    runtimeService.createProcessInstanceQuery().count();
+    runtimeService.suspendProcessInstanceByProcessDefinitionKey("process");
+
+    // when
+    List<SqlStatementMetrics> statementMetrics = managementService.getSqlStatementMetrics(2);
+
+    // then
+    assertThat(statementMetrics).hasSize(2);
+    assertThat(statementMetrics.get(0).getExecutionTimeTotal())
+        .isGreaterThanOrEqualTo(statementMetrics.get(1).getExecutionTimeTotal());
+    assertThat(managementService.getSqlStatementMetrics(Integer.MAX_VALUE))
+        .extracting("statementId")
+        .contains(SELECT_PROCESS_INSTANCES, "selectProcessInstanceCountByQueryCriteria");
+  }
+
+  @Test
+  public void shouldRequireCamundaAdminToGetSqlStatementMetrics() {
+    // given
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    identityService.setAuthenticatedUserId("notAnAdmin");
+
+    try {
+      // when/then
+      assertThatThrownBy(() -> managementService.getSqlStatementMetrics(10))
+          .isInstanceOf(AuthorizationException.class);
+    }
+    finally {
+      processEngineConfiguration.setAuthorizationEnabled(false);
+    }
+  }
+
+  @Test
+  public void shouldFailIfDisabled() {
+    // given
+    processEngineConfiguration.setSqlStatementMetricsRegistry(null);
+
+    // when/then
+    assertThatThrownBy(() -> managementService.getSqlStatementMetrics(10))
+        .isInstanceOf(ProcessEngineException.class)
+        .hasMessageContaining("SQL statement metrics are disabled");
+  }
+
+}
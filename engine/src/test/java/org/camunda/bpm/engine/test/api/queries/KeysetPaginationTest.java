@@ -0,0 +1,196 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class KeysetPaginationTest {
+
+  protected static final int NUMBER_OF_INSTANCES = 5;
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testHelper);
+
+  protected HistoryService historyService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected BpmnModelInstance simpleProcess = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @Before
+  public void setUp() {
+    historyService = engineRule.getHistoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    testHelper.deploy(simpleProcess);
+    for (int i = 0; i < NUMBER_OF_INSTANCES; i++) {
+      runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("aVariable", i));
+    }
+  }
+
+  @Test
+  public void shouldPageThroughTasks() {
+    // given
+    List<String> expectedIds = new ArrayList<>();
+    for (Task task : taskService.createTaskQuery().list()) {
+      expectedIds.add(task.getId());
+    }
+
+    // when
+    List<String> ids = new ArrayList<>();
+    List<Task> page = taskService.createTaskQuery().listAfter(null, 2);
+    while (!page.isEmpty()) {
+      assertThat(page.size()).isLessThanOrEqualTo(2);
+      for (Task task : page) {
+        ids.add(task.getId());
+      }
+      page = taskService.createTaskQuery().listAfter(ids.get(ids.size() - 1), 2);
+    }
+
+    // then
+    assertThat(ids).hasSize(NUMBER_OF_INSTANCES);
+    assertThat(ids).isEqualTo(expectedIds);
+  }
+
+  @Test
+  public void shouldApplyFiltersWhenPagingThroughTasks() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+
+    // when
+    List<Task> firstPage = taskService.createTaskQuery().processInstanceId(processInstance.getId()).listAfter(null, 2);
+    List<Task> secondPage = taskService.createTaskQuery().processInstanceId(processInstance.getId()).listAfter(task.getId(), 2);
+
+    // then
+    assertThat(firstPage).extracting("id").containsExactly(task.getId());
+    assertThat(secondPage).isEmpty();
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldPageThroughHistoricProcessInstances() {
+    // given
+    List<HistoricProcessInstance> instances = historyService.createHistoricProcessInstanceQuery().list();
+
+    // when
+    List<HistoricProcessInstance> firstPage = historyService.createHistoricProcessInstanceQuery().listAfter(null, 3);
+    List<HistoricProcessInstance> secondPage = historyService.createHistoricProcessInstanceQuery()
+        .listAfter(firstPage.get(2).getId(), 3);
+
+    // then
+    assertThat(firstPage).extracting("id")
+      .containsExactly(instances.get(0).getId(), instances.get(1).getId(), instances.get(2).getId());
+    assertThat(secondPage).extracting("id")
+      .containsExactly(instances.get(3).getId(), instances.get(4).getId());
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldPageThroughHistoricActivityInstances() {
+    // given
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery().list();
+
+    // when
+    List<HistoricActivityInstance> page = historyService.createHistoricActivityInstanceQuery()
+        .listAfter(activityInstances.get(0).getId(), activityInstances.size());
+
+    // then
+    assertThat(page).hasSize(activityInstances.size() - 1);
+    assertThat(page.get(0).getId()).isEqualTo(activityInstances.get(1).getId());
+  }
+
+  @Test
+  public void shouldPageThroughVariableInstances() {
+    // given
+    List<VariableInstance> variables = runtimeService.createVariableInstanceQuery().list();
+
+    // when
+    List<VariableInstance> page = runtimeService.createVariableInstanceQuery()
+        .listAfter(variables.get(1).getId(), 2);
+
+    // then
+    assertThat(page).extracting("id").containsExactly(variables.get(2).getId(), variables.get(3).getId());
+  }
+
+  @Test
+  public void shouldNotRestrictLaterExecutions() {
+    // given
+    TaskQuery query = taskService.createTaskQuery();
+    List<Task> tasks = query.list();
+
+    // when
+    query.listAfter(tasks.get(0).getId(), 1);
+
+    // then
+    assertThat(query.count()).isEqualTo(NUMBER_OF_INSTANCES);
+    assertThat(query.list()).hasSize(NUMBER_OF_INSTANCES);
+  }
+
+  @Test
+  public void shouldRejectOrdering() {
+    // given
+    TaskQuery query = taskService.createTaskQuery().orderByTaskName().asc();
+
+    try {
+      // when
+      query.listAfter(null, 2);
+      fail("exception expected");
+    }
+    catch (NotValidException e) {
+      // then
+      assertThat(e.getMessage()).contains("keyset pagination");
+    }
+  }
+
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_CLEANUP_STRATEGY_END_TIME_BASED;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_NONE;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventSpillFile;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventWriter;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class AsyncDbHistoryEventHandlerTest {
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setHistoryEventAsyncWrite(true);
+      return configuration;
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected IdentityService identityService;
+  protected HistoryEventWriter historyEventWriter;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    identityService = engineRule.getIdentityService();
+    historyEventWriter = processEngineConfiguration.getHistoryEventWriter();
+  }
+
+  @After
+  public void resetMetrics() {
+    engineRule.getManagementService().deleteMetrics(null);
+  }
+
+  @Test
+  public void shouldWriteHistoryOfCommittedTransactions() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+    writePendingHistoryEvents();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+    assertThat(historicProcessInstance.getStartTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+    assertThat(historyService.createHistoricActivityInstanceQuery().finished().count()).isEqualTo(3);
+    assertThat(historyService.createHistoricTaskInstanceQuery().finished().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWriteHistoryOfMultipleTransactionsTogether() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+    for (String taskId : taskIds()) {
+      taskService.complete(taskId);
+    }
+    writePendingHistoryEvents();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(10);
+    assertThat(historyService.createHistoricActivityInstanceQuery().unfinished().count()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldKeepStartPropertiesOfInstanceStartedAndEndedInOneBatch() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .startEvent("start")
+        .endEvent("end")
+        .done());
+
+    // when
+    identityService.setAuthenticatedUserId("aUserId");
+    try {
+      runtimeService.startProcessInstanceByKey("process");
+    } finally {
+      identityService.clearAuthentication();
+    }
+    writePendingHistoryEvents();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getStartActivityId()).isEqualTo("start");
+    assertThat(historicProcessInstance.getStartUserId()).isEqualTo("aUserId");
+    assertThat(historicProcessInstance.getStartTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndActivityId()).isEqualTo("end");
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+
+    HistoricActivityInstance startActivity = historyService.createHistoricActivityInstanceQuery().activityId("start").singleResult();
+    assertThat(startActivity.getActivityType()).isEqualTo("startEvent");
+    assertThat(startActivity.getStartTime()).isNotNull();
+    assertThat(startActivity.getEndTime()).isNotNull();
+  }
+
+  @Test
+  public void shouldReportWrittenHistoryEvents() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+    long writtenBefore = engineRule.getManagementService().createMetricsQuery().name(Metrics.HISTORY_EVENT_WRITTEN).sum();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+    writePendingHistoryEvents();
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    long written = engineRule.getManagementService().createMetricsQuery().name(Metrics.HISTORY_EVENT_WRITTEN).sum();
+    assertThat(written).isGreaterThan(writtenBefore);
+  }
+
+  @Test
+  public void shouldCleanUpHistoryByEndTime() {
+    // given
+    assertThat(processEngineConfiguration.getHistoryRemovalTimeStrategy()).isEqualTo(HISTORY_REMOVAL_TIME_STRATEGY_NONE);
+    assertThat(processEngineConfiguration.getHistoryCleanupStrategy()).isEqualTo(HISTORY_CLEANUP_STRATEGY_END_TIME_BASED);
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+        .camundaHistoryTimeToLive(5)
+        .startEvent()
+        .endEvent()
+        .done());
+    runtimeService.startProcessInstanceByKey("process");
+    writePendingHistoryEvents();
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(new Date(), 6));
+    try {
+      // when
+      String jobId = historyService.cleanUpHistoryAsync(true).getId();
+      engineRule.getManagementService().executeJob(jobId);
+      writePendingHistoryEvents();
+    }
+    finally {
+      ClockUtil.reset();
+      deleteHistoryCleanupJobs();
+    }
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(0);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRejectRemovalTimeStrategy() {
+    // given
+    processEngineConfiguration.setHistoryRemovalTimeStrategy(HISTORY_REMOVAL_TIME_STRATEGY_END);
+
+    try {
+      // when
+      processEngineConfiguration.initHistoryRemovalTime();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("history removal time strategy must be set to 'none' if history events are written asynchronously");
+    }
+    finally {
+      processEngineConfiguration.setHistoryRemovalTimeStrategy(HISTORY_REMOVAL_TIME_STRATEGY_NONE);
+    }
+  }
+
+  @Test
+  public void shouldRecoverPendingRecordsFromSpillFile() throws IOException {
+    // given
+    String path = spillFilePath();
+    HistoryEventSpillFile spillFile = new HistoryEventSpillFile(path, 64 * 1024);
+    spillFile.open();
+    spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("first")));
+    long position = spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("second")));
+    spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("third")));
+
+    // when
+    spillFile.markDone(Arrays.asList(position));
+    spillFile.close();
+
+    spillFile = new HistoryEventSpillFile(path, 64 * 1024);
+    spillFile.open();
+    List<HistoryEvent> recoveredEvents = spillFile.recover();
+    spillFile.close();
+
+    // then
+    assertThat(recoveredEvents).extracting("id").containsExactly("first", "third");
+  }
+
+  @Test
+  public void shouldReuseSpaceOfDoneRecords() throws IOException {
+    // given a spill file which only holds a few records
+    String path = spillFilePath();
+    HistoryEventSpillFile spillFile = new HistoryEventSpillFile(path, 16 * 1024);
+    spillFile.open();
+
+    // when appending more records than fit into the file while the previous record is pending
+    long previousPosition = spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("event0")));
+    for (int i = 1; i < 100; i++) {
+      long position = spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("event" + i)));
+      spillFile.markDone(Arrays.asList(previousPosition));
+      previousPosition = position;
+    }
+    spillFile.close();
+
+    spillFile = new HistoryEventSpillFile(path, 16 * 1024);
+    spillFile.open();
+    List<HistoryEvent> recoveredEvents = spillFile.recover();
+    spillFile.close();
+
+    // then
+    assertThat(recoveredEvents).extracting("id").containsExactly("event99");
+  }
+
+  @Test
+  public void shouldRejectRecordLargerThanSpillFile() throws IOException {
+    // given
+    HistoryEventSpillFile spillFile = new HistoryEventSpillFile(spillFilePath(), 32);
+    spillFile.open();
+
+    try {
+      // when
+      spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("first")));
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("do not fit into history event spill file");
+    }
+    finally {
+      spillFile.close();
+    }
+  }
+
+  @Test
+  public void shouldFailOnCorruptedRecordLength() throws IOException {
+    // given
+    String path = spillFilePath();
+    HistoryEventSpillFile spillFile = new HistoryEventSpillFile(path, 64 * 1024);
+    spillFile.open();
+    long position = spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("first")));
+    spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("second")));
+    spillFile.close();
+
+    overwriteInt(path, position, Integer.MAX_VALUE);
+
+    spillFile = new HistoryEventSpillFile(path, 64 * 1024);
+    spillFile.open();
+
+    try {
+      // when
+      spillFile.recover();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("is corrupted at position " + position);
+    }
+    finally {
+      spillFile.close();
+    }
+  }
+
+  @Test
+  public void shouldDiscardIncompleteLastRecord() throws IOException {
+    // given a last record whose content was not completely forced to disk
+    String path = spillFilePath();
+    HistoryEventSpillFile spillFile = new HistoryEventSpillFile(path, 64 * 1024);
+    spillFile.open();
+    spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("first")));
+    long position = spillFile.append(Arrays.<HistoryEvent>asList(historicProcessInstanceEvent("second")));
+    spillFile.close();
+
+    overwriteInt(path, position + 20, 0);
+
+    // when
+    spillFile = new HistoryEventSpillFile(path, 64 * 1024);
+    spillFile.open();
+    List<HistoryEvent> recoveredEvents = spillFile.recover();
+    spillFile.close();
+
+    // then
+    assertThat(recoveredEvents).extracting("id").containsExactly("first");
+  }
+
+  @Test
+  public void shouldWriteSpilledEventsWhichWereNotQueued() {
+    // given events which were spilled while their transaction committed,
+    // but the process terminated before they were queued
+    String path = spillFilePath();
+    HistoryEventWriter writer = new HistoryEventWriter(processEngineConfiguration, 10, 10, new HistoryEventSpillFile(path, 64 * 1024));
+    writer.start();
+    writer.spill(Arrays.<HistoryEvent>asList(finishedProcessInstanceEvent("committed")));
+    writer.discard(writer.spill(Arrays.<HistoryEvent>asList(finishedProcessInstanceEvent("rolledBack"))));
+    writer.stop();
+
+    // when
+    writer = new HistoryEventWriter(processEngineConfiguration, 10, 10, new HistoryEventSpillFile(path, 64 * 1024));
+    writer.start();
+    writer.stop();
+
+    // then
+    try {
+      assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId("committed").count()).isEqualTo(1);
+      assertThat(historyService.createHistoricProcessInstanceQuery().processInstanceId("rolledBack").count()).isEqualTo(0);
+    }
+    finally {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getHistoricProcessInstanceManager().deleteHistoricProcessInstanceByIds(Arrays.asList("committed"));
+          return null;
+        }
+      });
+    }
+  }
+
+  protected void writePendingHistoryEvents() {
+    // stopping the writer writes all queued events
+    historyEventWriter.stop();
+    historyEventWriter.start();
+  }
+
+  protected void deleteHistoryCleanupJobs() {
+    final List<Job> jobs = historyService.findHistoryCleanupJobs();
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (Job job : jobs) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(job.getId());
+        }
+        return null;
+      }
+    });
+  }
+
+  protected String[] taskIds() {
+    return taskService.createTaskQuery().list().stream()
+        .map(task -> task.getId())
+        .toArray(String[]::new);
+  }
+
+  protected String spillFilePath() {
+    return new File(temporaryFolder.getRoot(), "history-events").getAbsolutePath();
+  }
+
+  protected void overwriteInt(String path, long position, int value) throws IOException {
+    RandomAccessFile file = new RandomAccessFile(path, "rw");
+    try {
+      file.seek(position);
+      file.writeInt(value);
+    } finally {
+      file.close();
+    }
+  }
+
+  protected HistoricProcessInstanceEventEntity finishedProcessInstanceEvent(String id) {
+    HistoricProcessInstanceEventEntity historyEvent = historicProcessInstanceEvent(id);
+    historyEvent.setProcessInstanceId(id);
+    historyEvent.setProcessDefinitionId("aProcessDefinitionId");
+    historyEvent.setEventType(HistoryEventTypes.PROCESS_INSTANCE_START.getEventName());
+    historyEvent.setStartTime(new Date());
+    historyEvent.setEndTime(new Date());
+    historyEvent.setState(HistoricProcessInstance.STATE_COMPLETED);
+    return historyEvent;
+  }
+
+  protected HistoricProcessInstanceEventEntity historicProcessInstanceEvent(String id) {
+    HistoricProcessInstanceEventEntity historyEvent = new HistoricProcessInstanceEventEntity();
+    historyEvent.setId(id);
+    return historyEvent;
+  }
+
+}
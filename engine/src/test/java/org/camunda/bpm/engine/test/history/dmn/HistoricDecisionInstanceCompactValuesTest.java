@@ -0,0 +1,227 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history.dmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.engine.DecisionService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.history.HistoricDecisionInputInstance;
+import org.camunda.bpm.engine.history.HistoricDecisionInstance;
+import org.camunda.bpm.engine.history.HistoricDecisionOutputInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInputInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionOutputInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.api.variables.JavaSerializable;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ResetDmnConfigUtil;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoricDecisionInstanceCompactValuesTest {
+
+  protected static final String DECISION_SINGLE_OUTPUT_DMN = "org/camunda/bpm/engine/test/history/HistoricDecisionInstanceTest.decisionSingleOutput.dmn11.xml";
+  protected static final String DECISION_MULTIPLE_INPUT_DMN = "org/camunda/bpm/engine/test/history/HistoricDecisionInstanceTest.decisionMultipleInput.dmn11.xml";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected DecisionService decisionService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    decisionService = engineRule.getDecisionService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+
+    configuration.setCompactDecisionHistoryEnabled(true);
+
+    DefaultDmnEngineConfiguration dmnEngineConfiguration = configuration.getDmnEngineConfiguration();
+    ResetDmnConfigUtil.reset(dmnEngineConfiguration)
+        .enableFeelLegacyBehavior(true)
+        .init();
+  }
+
+  @After
+  public void tearDown() {
+    configuration.setCompactDecisionHistoryEnabled(false);
+
+    DefaultDmnEngineConfiguration dmnEngineConfiguration = configuration.getDmnEngineConfiguration();
+    ResetDmnConfigUtil.reset(dmnEngineConfiguration)
+        .enableFeelLegacyBehavior(false)
+        .init();
+  }
+
+  @Test
+  @Deployment(resources = DECISION_MULTIPLE_INPUT_DMN)
+  public void shouldNotInsertInputAndOutputRows() {
+    // when
+    evaluateDecision(Variables.createVariables()
+        .putValue("input1", "a")
+        .putValue("input2", 1L));
+
+    // then
+    assertThat(getTableCount(HistoricDecisionInputInstanceEntity.class)).isZero();
+    assertThat(getTableCount(HistoricDecisionOutputInstanceEntity.class)).isZero();
+
+    HistoricDecisionInstance decisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .singleResult();
+
+    List<HistoricDecisionInputInstance> inputs = decisionInstance.getInputs();
+    assertThat(inputs).hasSize(2);
+    assertThat(inputs.get(0).getId()).isNotNull();
+    assertThat(inputs.get(0).getDecisionInstanceId()).isEqualTo(decisionInstance.getId());
+    assertThat(inputs.get(0).getClauseId()).isEqualTo("in1");
+    assertThat(inputs.get(0).getClauseName()).isEqualTo("input1");
+    assertThat(inputs.get(0).getTypeName()).isEqualTo("string");
+    assertThat(inputs.get(0).getValue()).isEqualTo("a");
+    assertThat(inputs.get(1).getClauseId()).isEqualTo("in2");
+    assertThat(inputs.get(1).getTypeName()).isEqualTo("long");
+    assertThat(inputs.get(1).getValue()).isEqualTo(1L);
+
+    List<HistoricDecisionOutputInstance> outputs = decisionInstance.getOutputs();
+    assertThat(outputs).hasSize(1);
+    assertThat(outputs.get(0).getId()).isNotNull();
+    assertThat(outputs.get(0).getDecisionInstanceId()).isEqualTo(decisionInstance.getId());
+    assertThat(outputs.get(0).getClauseId()).isEqualTo("out1");
+    assertThat(outputs.get(0).getRuleId()).isEqualTo("rule1");
+    assertThat(outputs.get(0).getRuleOrder()).isEqualTo(1);
+    assertThat(outputs.get(0).getVariableName()).isEqualTo("result1");
+    assertThat(outputs.get(0).getValue()).isEqualTo("okay");
+  }
+
+  @Test
+  @Deployment(resources = DECISION_SINGLE_OUTPUT_DMN)
+  public void shouldStoreByteArrayValuesWithDecisionInstance() {
+    // given
+    long byteArrays = getByteArrayCount();
+    JavaSerializable value = new JavaSerializable("foo");
+
+    // when
+    evaluateDecision(Variables.createVariables().putValue("input1", value));
+
+    // then the input and output values share a single byte array
+    assertThat(getByteArrayCount()).isEqualTo(byteArrays + 1);
+
+    HistoricDecisionInstance decisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .singleResult();
+
+    assertThat(decisionInstance.getInputs().get(0).getTypeName()).isEqualTo("object");
+    assertThat(decisionInstance.getInputs().get(0).getValue()).isEqualTo(value);
+    assertThat(decisionInstance.getOutputs().get(0).getValue()).isEqualTo(value);
+  }
+
+  @Test
+  @Deployment(resources = DECISION_SINGLE_OUTPUT_DMN)
+  public void shouldNotFetchByteArrayValuesIfDisabled() {
+    // given
+    evaluateDecision(Variables.createVariables().putValue("input1", "object".getBytes()));
+
+    // when
+    HistoricDecisionInstance decisionInstance = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .disableBinaryFetching()
+        .singleResult();
+
+    // then
+    assertThat(decisionInstance.getInputs()).hasSize(1);
+    assertThat(decisionInstance.getInputs().get(0).getTypeName()).isEqualTo("bytes");
+  }
+
+  @Test
+  @Deployment(resources = DECISION_SINGLE_OUTPUT_DMN)
+  public void shouldDeleteValuesWithDecisionInstance() {
+    // given
+    long byteArrays = getByteArrayCount();
+    evaluateDecision(Variables.createVariables().putValue("input1", "a"));
+
+    String decisionInstanceId = historyService.createHistoricDecisionInstanceQuery().singleResult().getId();
+
+    // when
+    historyService.deleteHistoricDecisionInstanceByInstanceId(decisionInstanceId);
+
+    // then
+    assertThat(historyService.createHistoricDecisionInstanceQuery().count()).isZero();
+    assertThat(getByteArrayCount()).isEqualTo(byteArrays);
+  }
+
+  @Test
+  @Deployment(resources = DECISION_SINGLE_OUTPUT_DMN)
+  public void shouldQueryCompactAndRowBasedValues() {
+    // given
+    configuration.setCompactDecisionHistoryEnabled(false);
+    evaluateDecision(Variables.createVariables().putValue("input1", "a"));
+
+    configuration.setCompactDecisionHistoryEnabled(true);
+    evaluateDecision(Variables.createVariables().putValue("input1", "b"));
+
+    // when
+    List<HistoricDecisionInstance> decisionInstances = historyService.createHistoricDecisionInstanceQuery()
+        .includeInputs()
+        .includeOutputs()
+        .list();
+
+    // then
+    assertThat(decisionInstances).hasSize(2);
+    for (HistoricDecisionInstance decisionInstance : decisionInstances) {
+      assertThat(decisionInstance.getInputs()).hasSize(1);
+      assertThat(decisionInstance.getOutputs()).hasSize(1);
+      assertThat(decisionInstance.getOutputs().get(0).getValue()).isEqualTo(decisionInstance.getInputs().get(0).getValue());
+    }
+    assertThat(getTableCount(HistoricDecisionInputInstanceEntity.class)).isEqualTo(1L);
+  }
+
+  protected void evaluateDecision(VariableMap variables) {
+    decisionService.evaluateDecisionTableByKey("testDecision", variables);
+  }
+
+  protected long getByteArrayCount() {
+    return getTableCount(ByteArrayEntity.class);
+  }
+
+  protected long getTableCount(Class<?> entityClass) {
+    return managementService.getTableCount().get(managementService.getTableName(entityClass));
+  }
+
+}
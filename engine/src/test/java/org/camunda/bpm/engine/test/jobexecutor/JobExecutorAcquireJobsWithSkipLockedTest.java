@@ -0,0 +1,105 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.camunda.bpm.engine.test.util.ClockTestUtil.incrementClock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsWithSkipLockedCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.SkipLockedAcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.junit.Test;
+
+public class JobExecutorAcquireJobsWithSkipLockedTest extends AbstractJobExecutorAcquireJobsTest {
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testAcquireAndLockJobs() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("simpleAsyncProcess");
+    }
+    JobExecutor jobExecutor = configuration.getJobExecutor();
+
+    // when
+    AcquiredJobs acquiredJobs = configuration.getCommandExecutorTxRequired()
+        .execute(new SkipLockedAcquireJobsCommandFactory(jobExecutor).getCommand(5));
+
+    // then
+    assertEquals(3, acquiredJobs.size());
+
+    List<Job> jobs = managementService.createJobQuery().list();
+    assertEquals(3, jobs.size());
+    for (Job job : jobs) {
+      assertTrue(acquiredJobs.contains(job.getId()));
+    }
+
+    // and the acquired jobs cannot be acquired again
+    assertEquals(0, configuration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsWithSkipLockedCmd(jobExecutor, 5)).size());
+  }
+
+  @Test
+  @Deployment(resources = {
+    "org/camunda/bpm/engine/test/jobexecutor/jobPrioProcess.bpmn20.xml",
+    "org/camunda/bpm/engine/test/jobexecutor/timerJobPrioProcess.bpmn20.xml"
+  })
+  public void testAcquisitionByPriority() {
+    // given
+    configuration.setJobExecutorAcquireByPriority(true);
+
+    // jobs with priority 5
+    startProcess("jobPrioProcess", "task2", 5);
+
+    // jobs with priority 8
+    startProcess("timerJobPrioProcess", "timer1", 5);
+
+    // make timers due
+    incrementClock(61);
+
+    // when
+    List<AcquirableJobEntity> acquirableJobs = configuration.getCommandExecutorTxRequired().execute(new Command<List<AcquirableJobEntity>>() {
+
+      @Override
+      public List<AcquirableJobEntity> execute(CommandContext commandContext) {
+        return commandContext
+          .getJobManager()
+          .findNextJobsToExecuteSkipLocked(new Page(0, 7));
+      }
+    });
+
+    // then
+    assertEquals(7, acquirableJobs.size());
+    for (int i = 0; i < 5; i++) {
+      Job job = managementService.createJobQuery().jobId(acquirableJobs.get(i).getId()).singleResult();
+      assertNotNull(job);
+      assertEquals(8, job.getPriority());
+    }
+  }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.util.ClockTestUtil;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class JobExecutorFairAcquisitionTest extends AbstractJobExecutorAcquireJobsTest {
+
+  protected static final String FLOOD_PROCESS = "floodProcess";
+  protected static final String OTHER_PROCESS = "otherProcess";
+
+  @Rule
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(rule);
+
+  protected boolean fairAcquisition;
+  protected Map<String, Integer> fairAcquisitionWeights;
+  protected int maxLockedJobsPerJobDefinition;
+  protected Map<String, Integer> maxLockedJobsPerHandlerType;
+
+  @Before
+  public void saveFairAcquisitionConfiguration() {
+    fairAcquisition = configuration.isJobExecutorFairAcquisition();
+    fairAcquisitionWeights = configuration.getJobExecutorFairAcquisitionWeights();
+    maxLockedJobsPerJobDefinition = configuration.getJobExecutorMaxLockedJobsPerJobDefinition();
+    maxLockedJobsPerHandlerType = configuration.getJobExecutorMaxLockedJobsPerHandlerType();
+  }
+
+  @Before
+  public void deployProcesses() {
+    testRule.deploy(createAsyncProcess(FLOOD_PROCESS), createAsyncProcess(OTHER_PROCESS));
+
+    // the jobs of the flood process are due first
+    configuration.setEnsureJobDueDateNotNull(true);
+    configuration.setJobExecutorAcquireByDueDate(true);
+    for (int i = 0; i < 10; i++) {
+      runtimeService.startProcessInstanceByKey(FLOOD_PROCESS);
+      ClockTestUtil.incrementClock(1);
+    }
+    for (int i = 0; i < 2; i++) {
+      runtimeService.startProcessInstanceByKey(OTHER_PROCESS);
+      ClockTestUtil.incrementClock(1);
+    }
+  }
+
+  @After
+  public void restoreFairAcquisitionConfiguration() {
+    configuration.setJobExecutorFairAcquisition(fairAcquisition);
+    configuration.setJobExecutorFairAcquisitionWeights(fairAcquisitionWeights);
+    configuration.setJobExecutorMaxLockedJobsPerJobDefinition(maxLockedJobsPerJobDefinition);
+    configuration.setJobExecutorMaxLockedJobsPerHandlerType(maxLockedJobsPerHandlerType);
+  }
+
+  @After
+  public void cleanUpMetrics() {
+    managementService.deleteMetrics(null);
+  }
+
+  @Test
+  public void shouldAcquireJobsInDueDateOrder() {
+    // when
+    AcquiredJobs acquiredJobs = acquireJobs(4);
+
+    // then only jobs of the flood process are acquired
+    assertThat(countAcquiredJobs(acquiredJobs, FLOOD_PROCESS)).isEqualTo(4);
+    assertThat(countAcquiredJobs(acquiredJobs, OTHER_PROCESS)).isZero();
+  }
+
+  @Test
+  public void shouldDistributeAcquiredJobsAcrossJobDefinitions() {
+    // given
+    configuration.setJobExecutorFairAcquisition(true);
+
+    // when
+    AcquiredJobs acquiredJobs = acquireJobs(4);
+
+    // then
+    assertThat(countAcquiredJobs(acquiredJobs, FLOOD_PROCESS)).isEqualTo(2);
+    assertThat(countAcquiredJobs(acquiredJobs, OTHER_PROCESS)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAcquireJobsAccordingToWeights() {
+    // given
+    configuration.setJobExecutorFairAcquisition(true);
+    Map<String, Integer> weights = new HashMap<>();
+    weights.put(AsyncContinuationJobHandler.TYPE, 3);
+    configuration.setJobExecutorFairAcquisitionWeights(weights);
+
+    // when
+    AcquiredJobs acquiredJobs = acquireJobs(4);
+
+    // then the flood process gets three jobs in the first round
+    assertThat(countAcquiredJobs(acquiredJobs, FLOOD_PROCESS)).isEqualTo(3);
+    assertThat(countAcquiredJobs(acquiredJobs, OTHER_PROCESS)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotAcquireJobsOfJobDefinitionWithMaxLockedJobs() {
+    // given
+    configuration.setJobExecutorMaxLockedJobsPerJobDefinition(2);
+    acquireJobs(2);
+
+    // when
+    AcquiredJobs acquiredJobs = acquireJobs(4);
+
+    // then
+    assertThat(countAcquiredJobs(acquiredJobs, FLOOD_PROCESS)).isZero();
+    assertThat(countAcquiredJobs(acquiredJobs, OTHER_PROCESS)).isEqualTo(2);
+
+    configuration.getDbMetricsReporter().reportNow();
+    assertThat(managementService.createMetricsQuery().name(Metrics.JOB_ACQUISITION_THROTTLED).sum()).isEqualTo(8L);
+  }
+
+  @Test
+  public void shouldNotAcquireJobsOfHandlerTypeWithMaxLockedJobs() {
+    // given
+    configuration.setJobExecutorMaxLockedJobsPerHandlerType(Collections.singletonMap(AsyncContinuationJobHandler.TYPE, 5));
+    acquireJobs(3);
+
+    // when
+    AcquiredJobs acquiredJobs = acquireJobs(4);
+
+    // then
+    assertThat(acquiredJobs.size()).isEqualTo(2);
+  }
+
+  protected AcquiredJobs acquireJobs(int numJobs) {
+    return configuration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(configuration.getJobExecutor(), numJobs));
+  }
+
+  protected int countAcquiredJobs(AcquiredJobs acquiredJobs, String processDefinitionKey) {
+    int count = 0;
+    for (Job job : managementService.createJobQuery().processDefinitionKey(processDefinitionKey).list()) {
+      if (acquiredJobs.contains(job.getId())) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  protected static BpmnModelInstance createAsyncProcess(String processDefinitionKey) {
+    return Bpmn.createExecutableProcess(processDefinitionKey)
+        .startEvent()
+        .serviceTask()
+          .camundaExpression("${true}")
+          .camundaAsyncBefore()
+        .endEvent()
+        .done();
+  }
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+      .camundaClass(ConcurrencyRecordingDelegate.class.getName())
+      .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance TWO_ASYNC_TASKS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("first")
+      .camundaClass(ConcurrencyRecordingDelegate.class.getName())
+      .camundaAsyncBefore()
+      .serviceTask("second")
+      .camundaClass(ConcurrencyRecordingDelegate.class.getName())
+      .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance PARALLEL_ASYNC_TASKS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+      .serviceTask("first")
+      .camundaClass(ConcurrencyRecordingDelegate.class.getName())
+      .camundaAsyncBefore()
+      .endEvent()
+      .moveToNode("fork")
+      .serviceTask("second")
+      .camundaClass(ConcurrencyRecordingDelegate.class.getName())
+      .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+      jobExecutor.setMaxJobsPerAcquisition(1);
+      jobExecutor.setMaxConcurrentJobsPerJobDefinition(1);
+      return configuration.setJobExecutor(jobExecutor);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected VirtualThreadJobExecutor jobExecutor;
+
+  @Before
+  public void resetDelegate() {
+    ConcurrencyRecordingDelegate.reset();
+    jobExecutor = (VirtualThreadJobExecutor) engineRule.getProcessEngineConfiguration().getJobExecutor();
+  }
+
+  @After
+  public void resetJobExecutor() {
+    jobExecutor.setMaxJobsPerAcquisition(1);
+    jobExecutor.setMaxConcurrentJobs(1000);
+    jobExecutor.setMaxConcurrentJobsPerJobDefinition(1);
+  }
+
+  @Test
+  public void shouldExecuteJobs() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 5; i++) {
+      engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000L);
+
+    // then
+    assertThat(engineRule.getRuntimeService().createProcessInstanceQuery().count()).isZero();
+    assertThat(ConcurrencyRecordingDelegate.executions.get()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldLimitConcurrentJobsPerJobDefinition() {
+    // given
+    testRule.deploy(ASYNC_TASK);
+    for (int i = 0; i < 5; i++) {
+      engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000L);
+
+    // then the jobs of the job definition were executed one after another
+    assertThat(ConcurrencyRecordingDelegate.executions.get()).isEqualTo(5);
+    assertThat(ConcurrencyRecordingDelegate.maxConcurrentExecutions.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLimitConcurrentJobsPerJobDefinitionOfExclusiveFollowUpJobs() {
+    // given
+    testRule.deploy(TWO_ASYNC_TASKS);
+    for (int i = 0; i < 5; i++) {
+      engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    }
+
+    // when the job of the second task is executed in the batch of the first one
+    testRule.waitForJobExecutorToProcessAllJobs(20000L);
+
+    // then
+    assertThat(ConcurrencyRecordingDelegate.executions.get()).isEqualTo(10);
+    assertThat(ConcurrencyRecordingDelegate.maxConcurrentExecutionsByActivity.get("first").get()).isEqualTo(1);
+    assertThat(ConcurrencyRecordingDelegate.maxConcurrentExecutionsByActivity.get("second").get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldLimitConcurrentJobs() {
+    // given
+    jobExecutor.setMaxJobsPerAcquisition(10);
+    jobExecutor.setMaxConcurrentJobs(2);
+    jobExecutor.setMaxConcurrentJobsPerJobDefinition(0);
+
+    testRule.deploy(PARALLEL_ASYNC_TASKS);
+    for (int i = 0; i < 4; i++) {
+      engineRule.getRuntimeService().startProcessInstanceByKey("process");
+    }
+
+    // when the two exclusive jobs of each process instance are acquired as one batch
+    testRule.waitForJobExecutorToProcessAllJobs(20000L);
+
+    // then
+    assertThat(ConcurrencyRecordingDelegate.executions.get()).isEqualTo(8);
+    assertThat(ConcurrencyRecordingDelegate.maxConcurrentExecutions.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  public void shouldRejectJobsBeforeStart() {
+    // given
+    VirtualThreadJobExecutor notStartedJobExecutor = new VirtualThreadJobExecutor();
+    final List<String> rejectedJobIds = new ArrayList<String>();
+    RejectedJobsHandler rejectedJobsHandler = new RejectedJobsHandler() {
+      public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+        rejectedJobIds.addAll(jobIds);
+      }
+    };
+
+    // when
+    notStartedJobExecutor.executeJobs(Collections.singletonList("aJobId"),
+        (ProcessEngineImpl) engineRule.getProcessEngine(), rejectedJobsHandler);
+
+    // then
+    assertThat(rejectedJobIds).containsExactly("aJobId");
+  }
+
+  public static class ConcurrencyRecordingDelegate implements JavaDelegate {
+
+    protected static final AtomicInteger executions = new AtomicInteger();
+    protected static final AtomicInteger concurrentExecutions = new AtomicInteger();
+    protected static final AtomicInteger maxConcurrentExecutions = new AtomicInteger();
+    protected static final Map<String, AtomicInteger> concurrentExecutionsByActivity = new ConcurrentHashMap<>();
+    protected static final Map<String, AtomicInteger> maxConcurrentExecutionsByActivity = new ConcurrentHashMap<>();
+
+    public static void reset() {
+      executions.set(0);
+      concurrentExecutions.set(0);
+      maxConcurrentExecutions.set(0);
+      concurrentExecutionsByActivity.clear();
+      maxConcurrentExecutionsByActivity.clear();
+    }
+
+    public void execute(DelegateExecution execution) throws Exception {
+      String activityId = execution.getCurrentActivityId();
+      AtomicInteger concurrentActivityExecutions = counter(concurrentExecutionsByActivity, activityId);
+
+      int concurrent = concurrentExecutions.incrementAndGet();
+      int concurrentOfActivity = concurrentActivityExecutions.incrementAndGet();
+      try {
+        recordMax(maxConcurrentExecutions, concurrent);
+        recordMax(counter(maxConcurrentExecutionsByActivity, activityId), concurrentOfActivity);
+        Thread.sleep(50L);
+        executions.incrementAndGet();
+      } finally {
+        concurrentActivityExecutions.decrementAndGet();
+        concurrentExecutions.decrementAndGet();
+      }
+    }
+
+    protected static AtomicInteger counter(Map<String, AtomicInteger> counters, String activityId) {
+      counters.putIfAbsent(activityId, new AtomicInteger());
+      return counters.get(activityId);
+    }
+
+    protected static void recordMax(AtomicInteger maxCounter, int value) {
+      int max = maxCounter.get();
+      while (value > max && !maxCounter.compareAndSet(max, value)) {
+        max = maxCounter.get();
+      }
+    }
+  }
+
+}
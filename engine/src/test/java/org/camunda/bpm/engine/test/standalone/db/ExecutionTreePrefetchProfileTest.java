@@ -0,0 +1,214 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.SqlStatementMetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.management.SqlStatementMetrics;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExecutionTreePrefetchProfileTest {
+
+  protected static final int NUMBER_OF_INSTANCES = 20;
+
+  protected static final BpmnModelInstance MULTI_INSTANCE_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("task")
+          .multiInstance()
+          .parallel()
+          .cardinality(String.valueOf(NUMBER_OF_INSTANCES))
+          .multiInstanceDone()
+        .endEvent()
+      .moveToNode("fork")
+        .receiveTask("receiveTask")
+          .message("message")
+          .boundaryEvent("timer")
+          .timerWithDuration("PT1H")
+        .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setExecutionTreePrefetchProfile(ProcessEngineConfigurationImpl.EXECUTION_TREE_PREFETCH_PROFILE_FULL);
+      configuration.setSqlStatementMetricsEnabled(true);
+      return configuration;
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    testRule.deploy(MULTI_INSTANCE_PROCESS);
+  }
+
+  @Test
+  public void shouldPrefetchReferencedEntities() {
+    // given
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.setVariableLocal(task.getId(), "taskVariable", task.getId());
+    }
+    final long numberOfExecutions = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).count();
+    final long numberOfVariables = runtimeService.createVariableInstanceQuery().processInstanceIdIn(processInstance.getId()).count();
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+        execution.getExecutions();
+
+        // then
+        DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+        assertThat(dbEntityManager.getCachedEntitiesByType(ExecutionEntity.class)).hasSize((int) numberOfExecutions);
+        assertThat(dbEntityManager.getCachedEntitiesByType(TaskEntity.class)).hasSize(NUMBER_OF_INSTANCES);
+        assertThat(dbEntityManager.getCachedEntitiesByType(VariableInstanceEntity.class)).hasSize((int) numberOfVariables);
+        assertThat(dbEntityManager.getCachedEntitiesByType(EventSubscriptionEntity.class)).hasSize(1);
+        assertThat(dbEntityManager.getCachedEntitiesByType(JobEntity.class)).hasSize(1);
+        return null;
+      }
+    });
+  }
+
+  @Test
+  public void shouldReduceNumberOfSelects() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+    long selectsWithExecutionsProfile = countSelectsToAccessExecutionTree(processInstance.getId(),
+        ProcessEngineConfigurationImpl.EXECUTION_TREE_PREFETCH_PROFILE_EXECUTIONS);
+
+    // when
+    long selectsWithFullProfile = countSelectsToAccessExecutionTree(processInstance.getId(),
+        ProcessEngineConfigurationImpl.EXECUTION_TREE_PREFETCH_PROFILE_FULL);
+
+    // then the number of selects does not depend on the number of executions
+    assertThat(selectsWithExecutionsProfile).isGreaterThan(NUMBER_OF_INSTANCES);
+    assertThat(selectsWithFullProfile).isLessThan(NUMBER_OF_INSTANCES);
+  }
+
+  @Test
+  public void shouldRejectUnknownProfile() {
+    assertThatThrownBy(() -> processEngineConfiguration.setExecutionTreePrefetchProfile("unknown"))
+        .isInstanceOf(ProcessEngineException.class)
+        .hasMessageContaining("executionTreePrefetchProfile");
+
+    assertThat(processEngineConfiguration.getExecutionTreePrefetchProfile())
+        .isEqualTo(ProcessEngineConfigurationImpl.EXECUTION_TREE_PREFETCH_PROFILE_FULL);
+  }
+
+  @Test
+  public void shouldRestoreReferencedEntities() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.correlateMessage("message");
+    List<Task> tasks = taskService.createTaskQuery().list();
+    for (Task task : tasks) {
+      taskService.complete(task.getId());
+    }
+
+    // then
+    testRule.assertProcessEnded(processInstance.getId());
+    assertThat(engineRule.getManagementService().createJobQuery().count()).isEqualTo(0);
+  }
+
+  /**
+   * @return the number of selects of a command which accesses the entities referenced by all executions
+   */
+  protected long countSelectsToAccessExecutionTree(final String processInstanceId, String prefetchProfile) {
+    SqlStatementMetricsRegistry registry = processEngineConfiguration.getSqlStatementMetricsRegistry();
+    processEngineConfiguration.setExecutionTreePrefetchProfile(prefetchProfile);
+    registry.clear();
+
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+          processInstance.getExecutions();
+
+          for (ExecutionEntity execution : commandContext.getDbEntityManager().getCachedEntitiesByType(ExecutionEntity.class)) {
+            execution.getVariablesLocal();
+            execution.getEventSubscriptions();
+            execution.getJobs();
+            execution.getTasks();
+            execution.getIncidents();
+          }
+          return null;
+        }
+      });
+    }
+    finally {
+      processEngineConfiguration.setExecutionTreePrefetchProfile(ProcessEngineConfigurationImpl.EXECUTION_TREE_PREFETCH_PROFILE_FULL);
+    }
+
+    long selects = 0;
+    for (SqlStatementMetrics statementMetrics : registry.getTopStatementMetrics(Integer.MAX_VALUE)) {
+      if (statementMetrics.getStatementId().startsWith("select")) {
+        selects += statementMetrics.getCount();
+      }
+    }
+    return selects;
+  }
+
+}
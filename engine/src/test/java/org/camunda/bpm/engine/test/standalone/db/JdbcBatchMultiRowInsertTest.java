@@ -0,0 +1,190 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JdbcBatchMultiRowInsertTest {
+
+  protected static final int NUMBER_OF_ENTITIES = 150;
+
+  protected static final BpmnModelInstance ONE_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance ASYNC_MULTI_INSTANCE_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+        .multiInstance()
+        .parallel()
+        .cardinality(String.valueOf(NUMBER_OF_ENTITIES))
+        .camundaAsyncBefore()
+        .multiInstanceDone()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance MULTI_INSTANCE_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+        .multiInstance()
+        .parallel()
+        .cardinality(String.valueOf(NUMBER_OF_ENTITIES))
+        .multiInstanceDone()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJdbcBatchMultiRowInserts(true);
+      return configuration;
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @Test
+  public void shouldInsertVariables() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", createVariables());
+
+    // then
+    List<VariableInstance> variables = runtimeService.createVariableInstanceQuery()
+        .processInstanceIdIn(processInstance.getId())
+        .list();
+    assertThat(variables).hasSize(NUMBER_OF_ENTITIES);
+
+    for (VariableInstance variable : variables) {
+      assertThat(variable.getValue()).isEqualTo(variable.getName());
+    }
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldInsertHistoricVariablesAndDetails() {
+    // given
+    testRule.deploy(ONE_TASK_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", createVariables());
+
+    // then
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count()).isEqualTo(NUMBER_OF_ENTITIES);
+
+    assertThat(historyService.createHistoricDetailQuery()
+        .processInstanceId(processInstance.getId())
+        .variableUpdates()
+        .count()).isEqualTo(NUMBER_OF_ENTITIES);
+  }
+
+  @Test
+  public void shouldInsertJobs() {
+    // given
+    testRule.deploy(ASYNC_MULTI_INSTANCE_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    List<Job> jobs = managementService.createJobQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+    assertThat(jobs).hasSize(NUMBER_OF_ENTITIES);
+
+    // and the jobs can be executed
+    for (Job job : jobs) {
+      managementService.executeJob(job.getId());
+    }
+    assertThat(runtimeService.createExecutionQuery()
+        .processInstanceId(processInstance.getId())
+        .activityId("task")
+        .count()).isEqualTo(NUMBER_OF_ENTITIES);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldInsertHistoricActivityInstances() {
+    // given
+    testRule.deploy(MULTI_INSTANCE_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertThat(historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .activityId("task")
+        .count()).isEqualTo(NUMBER_OF_ENTITIES);
+  }
+
+  protected VariableMap createVariables() {
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < NUMBER_OF_ENTITIES; i++) {
+      String name = "var" + i;
+      variables.putValue(name, name);
+    }
+    return variables;
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+  protected static final int ID_BLOCK_SIZE = 100;
+
+  protected InMemoryIdGenerator idGenerator;
+
+  @Before
+  public void createIdGenerator() {
+    idGenerator = new InMemoryIdGenerator();
+    idGenerator.setIdBlockSize(ID_BLOCK_SIZE);
+    idGenerator.setMaxIdBlockSize(10 * ID_BLOCK_SIZE);
+    idGenerator.setTargetBlockDuration(TimeUnit.HOURS.toMillis(1));
+  }
+
+  @After
+  public void closeIdGenerator() {
+    idGenerator.close();
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws InterruptedException {
+    // given
+    final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread() {
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      });
+    }
+
+    // when
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertThat(ids).hasSize(80000);
+  }
+
+  @Test
+  public void shouldPrefetchNextBlock() throws InterruptedException {
+    // given
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i <= ID_BLOCK_SIZE / 2; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    // when
+    awaitFetchedBlocks(2);
+    for (int i = 0; i < ID_BLOCK_SIZE; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    // then
+    assertThat(ids).hasSize(ID_BLOCK_SIZE + ID_BLOCK_SIZE / 2 + 1);
+    assertThat(idGenerator.fetchingThreads.get(1)).isEqualTo("camunda-id-block-prefetcher");
+  }
+
+  @Test
+  public void shouldGrowBlocksWhenConsumedFast() {
+    // when
+    for (int i = 0; i < 100 * ID_BLOCK_SIZE; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then
+    assertThat(idGenerator.getCurrentBlockSize()).isEqualTo(10 * ID_BLOCK_SIZE);
+  }
+
+  @Test
+  public void shouldShrinkBlocksWhenConsumedSlowly() {
+    // given
+    for (int i = 0; i < 100 * ID_BLOCK_SIZE; i++) {
+      idGenerator.getNextId();
+    }
+
+    // when
+    idGenerator.setTargetBlockDuration(-1);
+    for (int i = 0; i < 100 * ID_BLOCK_SIZE; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then
+    assertThat(idGenerator.getCurrentBlockSize()).isEqualTo(ID_BLOCK_SIZE);
+  }
+
+  @Test
+  public void shouldFetchNewBlockAfterReset() {
+    // given
+    idGenerator.getNextId();
+
+    // when
+    idGenerator.reset();
+    String id = idGenerator.getNextId();
+
+    // then
+    assertThat(id).isEqualTo(String.valueOf(ID_BLOCK_SIZE));
+  }
+
+  protected void awaitFetchedBlocks(int numberOfBlocks) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (idGenerator.fetchingThreads.size() < numberOfBlocks && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Hands out blocks of ids like the property table of the database.
+   */
+  protected static class InMemoryIdGenerator extends PrefetchingDbIdGenerator {
+
+    protected long nextDbId = 0;
+    protected List<String> fetchingThreads = new CopyOnWriteArrayList<String>();
+
+    @Override
+    protected synchronized IdBlock fetchNewBlock() {
+      fetchingThreads.add(Thread.currentThread().getName());
+      IdBlock idBlock = new IdBlock(nextDbId, nextDbId + getCurrentBlockSize() - 1);
+      nextDbId += getCurrentBlockSize();
+      return idBlock;
+    }
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SecondLevelEntityCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SecondLevelEntityCacheTest {
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setSecondLevelEntityCacheEnabled(true);
+      return configuration;
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected SecondLevelEntityCache secondLevelEntityCache;
+
+  protected String jobDefinitionId;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    secondLevelEntityCache = processEngineConfiguration.getSecondLevelEntityCache();
+    secondLevelEntityCache.clear();
+
+    testRule.deploy(ASYNC_PROCESS);
+    jobDefinitionId = managementService.createJobDefinitionQuery().singleResult().getId();
+  }
+
+  @Test
+  public void shouldCacheEntitySelectedById() {
+    // when
+    JobDefinitionEntity jobDefinition = findJobDefinitionById(jobDefinitionId);
+
+    // then
+    JobDefinitionEntity cachedJobDefinition = secondLevelEntityCache.get(JobDefinitionEntity.class, jobDefinitionId);
+    assertThat(cachedJobDefinition).isNotNull();
+    assertThat(cachedJobDefinition.getActivityId()).isEqualTo(jobDefinition.getActivityId());
+    assertThat(cachedJobDefinition.getRevision()).isEqualTo(jobDefinition.getRevision());
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedEntity() {
+    // given
+    JobDefinitionEntity jobDefinition = findJobDefinitionById(jobDefinitionId);
+
+    // when
+    JobDefinitionEntity cachedJobDefinition = findJobDefinitionById(jobDefinitionId);
+
+    // then
+    assertThat(cachedJobDefinition).isNotSameAs(jobDefinition);
+    assertThat(cachedJobDefinition.getId()).isEqualTo(jobDefinitionId);
+  }
+
+  @Test
+  public void shouldInvalidateUpdatedEntity() {
+    // given
+    findJobDefinitionById(jobDefinitionId);
+
+    // when
+    managementService.setOverridingJobPriorityForJobDefinition(jobDefinitionId, 42);
+
+    // then
+    assertThat(secondLevelEntityCache.get(JobDefinitionEntity.class, jobDefinitionId)).isNull();
+    assertThat(findJobDefinitionById(jobDefinitionId).getOverridingJobPriority()).isEqualTo(42L);
+  }
+
+  @Test
+  public void shouldInvalidateEntitiesOfBulkUpdate() {
+    // given
+    findJobDefinitionById(jobDefinitionId);
+
+    // when
+    managementService.suspendJobDefinitionByProcessDefinitionKey("process");
+
+    // then
+    assertThat(secondLevelEntityCache.get(JobDefinitionEntity.class, jobDefinitionId)).isNull();
+    assertThat(findJobDefinitionById(jobDefinitionId).isSuspended()).isTrue();
+  }
+
+  @Test
+  public void shouldExpireEntries() {
+    // given
+    SecondLevelEntityCache cache = new SecondLevelEntityCache(SecondLevelEntityCache.defaultCacheableEntityTypes(), 10, -1);
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.setId("jobDefinitionId");
+
+    // when
+    cache.put(jobDefinition);
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "jobDefinitionId")).isNull();
+  }
+
+  @Test
+  public void shouldInvalidateEntryOfLowerRevision() {
+    // given
+    SecondLevelEntityCache cache = new SecondLevelEntityCache(SecondLevelEntityCache.defaultCacheableEntityTypes(), 10, 60000);
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.setId("jobDefinitionId");
+    jobDefinition.setRevision(1);
+    cache.put(jobDefinition);
+
+    // when
+    JobDefinitionEntity updatedJobDefinition = new JobDefinitionEntity();
+    updatedJobDefinition.setId("jobDefinitionId");
+    updatedJobDefinition.setRevision(2);
+    cache.validate(updatedJobDefinition);
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "jobDefinitionId")).isNull();
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntries() {
+    // given
+    SecondLevelEntityCache cache = new SecondLevelEntityCache(SecondLevelEntityCache.defaultCacheableEntityTypes(), 2, 60000);
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+      jobDefinition.setId("jobDefinition" + i);
+      cache.put(jobDefinition);
+    }
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "jobDefinition0")).isNull();
+    assertThat(cache.get(JobDefinitionEntity.class, "jobDefinition2")).isNotNull();
+  }
+
+  @Test
+  public void shouldNotCacheEntityInvalidatedWhileSelected() {
+    // given
+    SecondLevelEntityCache cache = new SecondLevelEntityCache(SecondLevelEntityCache.defaultCacheableEntityTypes(), 10, 60000);
+    long invalidationStamp = cache.getInvalidationStamp(JobDefinitionEntity.class);
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.setId("jobDefinitionId");
+
+    // when
+    cache.invalidate(JobDefinitionEntity.class, "jobDefinitionId");
+    cache.put(jobDefinition, invalidationStamp);
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "jobDefinitionId")).isNull();
+  }
+
+  @Test
+  public void shouldNotCacheEntityOfTypeInvalidatedWhileSelected() {
+    // given
+    SecondLevelEntityCache cache = new SecondLevelEntityCache(SecondLevelEntityCache.defaultCacheableEntityTypes(), 10, 60000);
+    long invalidationStamp = cache.getInvalidationStamp(JobDefinitionEntity.class);
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.setId("jobDefinitionId");
+
+    // when
+    cache.invalidateType(JobDefinitionEntity.class);
+    cache.put(jobDefinition, invalidationStamp);
+
+    // then
+    assertThat(cache.get(JobDefinitionEntity.class, "jobDefinitionId")).isNull();
+  }
+
+  @Test
+  public void shouldNotChangeCachedEntityWhenCopyIsModified() {
+    // given
+    SecondLevelEntityCache cache = new SecondLevelEntityCache(SecondLevelEntityCache.defaultCacheableEntityTypes(), 10, 60000);
+    JobDefinitionEntity jobDefinition = new JobDefinitionEntity();
+    jobDefinition.setId("jobDefinitionId");
+    jobDefinition.setActivityId("activityId");
+    cache.put(jobDefinition);
+
+    // when
+    jobDefinition.setActivityId("changedActivityId");
+    cache.get(JobDefinitionEntity.class, "jobDefinitionId").setActivityId("changedActivityId");
+
+    // then
+    JobDefinitionEntity cachedJobDefinition = cache.get(JobDefinitionEntity.class, "jobDefinitionId");
+    assertThat(cachedJobDefinition.getId()).isEqualTo("jobDefinitionId");
+    assertThat(cachedJobDefinition.getActivityId()).isEqualTo("activityId");
+  }
+
+  protected JobDefinitionEntity findJobDefinitionById(final String jobDefinitionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<JobDefinitionEntity>() {
+      public JobDefinitionEntity execute(CommandContext commandContext) {
+        return commandContext.getJobDefinitionManager().findById(jobDefinitionId);
+      }
+    });
+  }
+
+}
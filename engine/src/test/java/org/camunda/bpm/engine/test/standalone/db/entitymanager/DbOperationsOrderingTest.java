@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.test.standalone.db.entitymanager;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
@@ -217,6 +218,65 @@ public class DbOperationsOrderingTest {
     assertHappensBefore(execution1, execution2, deleteOperations);
   }
 
+  @Test
+  public void testInsertReferenceOrderingLargeTree() {
+    // given a chain of executions where each execution is the parent of the execution with the next smaller id
+    List<ExecutionEntity> executions = createExecutionChain(1000);
+
+    for (ExecutionEntity execution : executions) {
+      entityManager.insert(execution);
+    }
+
+    // when
+    entityManager.flushEntityCache();
+    List<DbOperation> insertOperations = entityManager.getDbOperationManager().calculateFlush();
+
+    // then each parent is inserted before its child
+    assertEquals(executions.size(), insertOperations.size());
+    for (int i = 1; i < executions.size(); i++) {
+      assertHappensAfter(executions.get(i - 1), executions.get(i), insertOperations);
+    }
+  }
+
+  @Test
+  public void testDeleteReferenceOrderingLargeTree() {
+    // given
+    List<ExecutionEntity> executions = createExecutionChain(1000);
+
+    for (ExecutionEntity execution : executions) {
+      entityManager.getDbEntityCache().putPersistent(execution);
+    }
+
+    // when
+    for (ExecutionEntity execution : executions) {
+      entityManager.delete(execution);
+    }
+
+    entityManager.flushEntityCache();
+    List<DbOperation> deleteOperations = entityManager.getDbOperationManager().calculateFlush();
+
+    // then each child is deleted before its parent
+    assertEquals(executions.size(), deleteOperations.size());
+    for (int i = 1; i < executions.size(); i++) {
+      assertHappensBefore(executions.get(i - 1), executions.get(i), deleteOperations);
+    }
+  }
+
+  protected List<ExecutionEntity> createExecutionChain(int size) {
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+    ExecutionEntity parent = null;
+    for (int i = 0; i < size; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(String.valueOf(100000 - i));
+      if (parent != null) {
+        parent.setParentExecution(execution);
+      }
+      executions.add(execution);
+      parent = execution;
+    }
+    return executions;
+  }
+
   protected void assertHappensAfter(DbEntity entity1, DbEntity entity2, List<DbOperation> operations) {
     int idx1 = indexOfEntity(entity1, operations);
     int idx2 = indexOfEntity(entity2, operations);
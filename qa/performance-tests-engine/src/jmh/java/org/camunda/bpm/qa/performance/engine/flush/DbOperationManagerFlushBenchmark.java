@@ -0,0 +1,130 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.flush;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbReferences;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of calculating the flush of a {@link DbOperationManager} for
+ * a growing number of operations. The operations insert an execution tree (as created
+ * by a multi-instance activity) and one variable per execution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbOperationManagerFlushBenchmark {
+
+  protected static final int CHILD_EXECUTIONS_PER_EXECUTION = 10;
+
+  @Param({"10", "1000", "50000"})
+  public int numberOfOperations;
+
+  protected List<DbEntityOperation> insertOperations;
+  protected List<DbEntityOperation> deleteOperations;
+
+  @Setup
+  public void setUp() {
+    int numberOfExecutions = Math.max(1, numberOfOperations / 2);
+
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+    List<DbEntity> entities = new ArrayList<DbEntity>();
+
+    for (int i = 0; i < numberOfExecutions; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(String.valueOf(i));
+      if (i > 0) {
+        execution.setParentExecution(executions.get((i - 1) / CHILD_EXECUTIONS_PER_EXECUTION));
+      }
+      executions.add(execution);
+      entities.add(execution);
+    }
+
+    for (int i = numberOfExecutions; i < numberOfOperations; i++) {
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId(String.valueOf(i));
+      variable.setExecution(executions.get(i % numberOfExecutions));
+      entities.add(variable);
+    }
+
+    // entities are usually not registered in the order of their ids
+    Collections.shuffle(entities, new Random(42));
+
+    insertOperations = createOperations(entities, DbOperationType.INSERT);
+    deleteOperations = createOperations(entities, DbOperationType.DELETE);
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateInsertFlush() {
+    return calculateFlush(insertOperations);
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateDeleteFlush() {
+    return calculateFlush(deleteOperations);
+  }
+
+  protected List<DbOperation> calculateFlush(List<DbEntityOperation> operations) {
+    DbOperationManager operationManager = new DbOperationManager();
+    for (DbEntityOperation operation : operations) {
+      operationManager.addOperation(operation);
+    }
+    return operationManager.calculateFlush();
+  }
+
+  protected List<DbEntityOperation> createOperations(List<DbEntity> entities, DbOperationType operationType) {
+    List<DbEntityOperation> operations = new ArrayList<DbEntityOperation>();
+    for (DbEntity entity : entities) {
+      DbEntityOperation operation = new DbEntityOperation();
+      operation.setEntity(entity);
+      operation.setEntityType(entity.getClass());
+      operation.setOperationType(operationType);
+      if (entity instanceof HasDbReferences) {
+        operation.setFlushRelevantEntityReferences(((HasDbReferences) entity).getReferencedEntityIds());
+      }
+      operations.add(operation);
+    }
+    return operations;
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry.MeterListener;
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
+import org.camunda.bpm.engine.impl.metrics.MeterId;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the meters of the engine's {@link DimensionalMetricsRegistry} to Micrometer.
+ * The Micrometer meters read the engine's counters on each scrape, so recording a
+ * metric neither touches Micrometer nor the database.
+ */
+public class ProcessEngineMetricsBinder implements MeterBinder {
+
+  public static final String METER_NAME_PREFIX = "camunda.";
+  public static final String NO_TAG_VALUE = "none";
+
+  private final DimensionalMetricsRegistry dimensionalMetricsRegistry;
+
+  public ProcessEngineMetricsBinder(DimensionalMetricsRegistry dimensionalMetricsRegistry) {
+    this.dimensionalMetricsRegistry = dimensionalMetricsRegistry;
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    if (dimensionalMetricsRegistry == null) {
+      // dimensional metrics are disabled
+      return;
+    }
+
+    dimensionalMetricsRegistry.addListener(new MeterListener() {
+
+      @Override
+      public void counterCreated(MeterId id, LongAdder counter) {
+        FunctionCounter.builder(getMeterName(id), counter, LongAdder::sum)
+          .tags(getTags(id))
+          .register(registry);
+      }
+
+      @Override
+      public void histogramCreated(MeterId id, LatencyHistogram histogram) {
+        String name = getMeterName(id);
+        List<Tag> tags = getTags(id);
+
+        FunctionTimer.builder(name, histogram, LatencyHistogram::getCount, LatencyHistogram::getTotalMillis, TimeUnit.MILLISECONDS)
+          .tags(tags)
+          .register(registry);
+
+        Gauge.builder(name + ".max", histogram, LatencyHistogram::getMaxMillis)
+          .tags(tags)
+          .baseUnit("milliseconds")
+          .register(registry);
+
+        for (int i = 0; i < LatencyHistogram.BUCKET_BOUNDS.length; i++) {
+          final int bucketIndex = i;
+          FunctionCounter.builder(name + ".bucket", histogram, h -> h.getCumulativeCount(bucketIndex))
+            .tags(tags)
+            .tag("le", String.valueOf(LatencyHistogram.BUCKET_BOUNDS[i]))
+            .register(registry);
+        }
+      }
+    });
+  }
+
+  protected String getMeterName(MeterId id) {
+    return METER_NAME_PREFIX + id.getName().replace('-', '.');
+  }
+
+  protected List<Tag> getTags(MeterId id) {
+    List<Tag> tags = new ArrayList<>();
+    for (Map.Entry<String, String> tag : id.getTags().entrySet()) {
+      tags.add(Tag.of(tag.getKey(), tag.getValue() != null ? tag.getValue() : NO_TAG_VALUE));
+    }
+    return tags;
+  }
+
+}
@@ -35,5 +35,6 @@ public class DefaultMetricsConfiguration extends AbstractCamundaConfiguration im
   public void preInit(final SpringProcessEngineConfiguration configuration) {
     configuration.setMetricsEnabled(metrics.isEnabled());
     configuration.setDbMetricsReporterActivate(metrics.isDbReporterActivate());
+    configuration.setDimensionalMetricsEnabled(metrics.isDimensionalEnabled());
   }
 }
@@ -47,6 +47,13 @@ public class JobExecutionProperty {
   private Integer backoffDecreaseThreshold;
   private Float waitIncreaseFactor;
 
+  /**
+   * executes jobs on virtual threads (Java 21+) instead of the thread pool
+   */
+  private boolean virtualThreads;
+  private Integer maxConcurrentJobs;
+  private Integer maxConcurrentJobsPerJobDefinition;
+
   public boolean isEnabled() {
     return enabled;
   }
@@ -159,6 +166,30 @@ public class JobExecutionProperty {
     this.waitIncreaseFactor = waitIncreaseFactor;
   }
 
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  public Integer getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(Integer maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public Integer getMaxConcurrentJobsPerJobDefinition() {
+    return maxConcurrentJobsPerJobDefinition;
+  }
+
+  public void setMaxConcurrentJobsPerJobDefinition(Integer maxConcurrentJobsPerJobDefinition) {
+    this.maxConcurrentJobsPerJobDefinition = maxConcurrentJobsPerJobDefinition;
+  }
+
   @Override
   public String toString() {
     return joinOn(this.getClass())
@@ -176,6 +207,9 @@ public class JobExecutionProperty {
       .add("maxBackoff=" + maxBackoff)
       .add("backoffDecreaseThreshold=" + backoffDecreaseThreshold)
       .add("waitIncreaseFactor=" + waitIncreaseFactor)
+      .add("virtualThreads=" + virtualThreads)
+      .add("maxConcurrentJobs=" + maxConcurrentJobs)
+      .add("maxConcurrentJobsPerJobDefinition=" + maxConcurrentJobsPerJobDefinition)
       .toString();
   }
 
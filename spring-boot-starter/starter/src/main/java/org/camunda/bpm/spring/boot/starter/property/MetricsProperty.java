@@ -22,6 +22,7 @@ public class MetricsProperty {
 
   private boolean enabled = Defaults.INSTANCE.isMetricsEnabled();
   private boolean dbReporterActivate = Defaults.INSTANCE.isDbMetricsReporterActivate();
+  private boolean dimensionalEnabled = Defaults.INSTANCE.isDimensionalMetricsEnabled();
 
   public boolean isEnabled() {
     return enabled;
@@ -39,11 +40,20 @@ public class MetricsProperty {
     this.dbReporterActivate = dbReporterActivate;
   }
 
+  public boolean isDimensionalEnabled() {
+    return dimensionalEnabled;
+  }
+
+  public void setDimensionalEnabled(boolean dimensionalEnabled) {
+    this.dimensionalEnabled = dimensionalEnabled;
+  }
+
   @Override
   public String toString() {
     return joinOn(this.getClass())
       .add("enabled=" + enabled)
       .add("dbReporterActivate=" + dbReporterActivate)
+      .add("dimensionalEnabled=" + dimensionalEnabled)
       .toString();
   }
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.spring.boot.starter.actuator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.metrics.DimensionalMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.MeterId;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ProcessEngineMetricsBinderTest {
+
+  private static final MeterId COUNTER_ID = new MeterId("job-successful",
+      DimensionalMetricsRegistry.TAG_JOB_HANDLER_TYPE, "async-continuation",
+      DimensionalMetricsRegistry.TAG_TENANT_ID, null);
+
+  private static final MeterId HISTOGRAM_ID = new MeterId(DimensionalMetricsRegistry.JOB_EXECUTION_LATENCY,
+      DimensionalMetricsRegistry.TAG_JOB_HANDLER_TYPE, "async-continuation");
+
+  private DimensionalMetricsRegistry dimensionalMetricsRegistry;
+  private SimpleMeterRegistry meterRegistry;
+
+  @Before
+  public void setUp() {
+    dimensionalMetricsRegistry = new DimensionalMetricsRegistry();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  public void shouldBindExistingCounter() {
+    // given
+    dimensionalMetricsRegistry.markOccurrence(COUNTER_ID, 3);
+
+    // when
+    new ProcessEngineMetricsBinder(dimensionalMetricsRegistry).bindTo(meterRegistry);
+
+    // then
+    FunctionCounter counter = meterRegistry.get("camunda.job.successful")
+      .tag("jobHandlerType", "async-continuation")
+      .tag("tenantId", ProcessEngineMetricsBinder.NO_TAG_VALUE)
+      .functionCounter();
+    assertThat(counter.count()).isEqualTo(3);
+
+    // and the value is read on access
+    dimensionalMetricsRegistry.markOccurrence(COUNTER_ID);
+    assertThat(counter.count()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldBindCreatedHistogram() {
+    // given
+    new ProcessEngineMetricsBinder(dimensionalMetricsRegistry).bindTo(meterRegistry);
+
+    // when
+    dimensionalMetricsRegistry.recordLatency(HISTOGRAM_ID, 20);
+    dimensionalMetricsRegistry.recordLatency(HISTOGRAM_ID, 40);
+
+    // then
+    FunctionTimer timer = meterRegistry.get("camunda.job.execution.latency").functionTimer();
+    assertThat(timer.count()).isEqualTo(2);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(60);
+
+    assertThat(meterRegistry.get("camunda.job.execution.latency.max").gauge().value()).isEqualTo(40);
+    assertThat(meterRegistry.get("camunda.job.execution.latency.bucket").tag("le", "25").functionCounter().count())
+      .isEqualTo(1);
+    assertThat(meterRegistry.get("camunda.job.execution.latency.bucket").tag("le", "50").functionCounter().count())
+      .isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotBindWithoutRegistry() {
+    // when
+    new ProcessEngineMetricsBinder(null).bindTo(meterRegistry);
+
+    // then
+    assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+}
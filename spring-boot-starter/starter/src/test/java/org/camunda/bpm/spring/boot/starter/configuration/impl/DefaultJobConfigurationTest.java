@@ -28,7 +28,9 @@ import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
 import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
+import org.camunda.bpm.spring.boot.starter.configuration.impl.DefaultJobConfiguration.JobConfiguration;
 import org.camunda.bpm.spring.boot.starter.property.CamundaBpmProperties;
 import org.camunda.bpm.spring.boot.starter.test.nonpa.TestApplication;
 import org.junit.Before;
@@ -90,4 +92,24 @@ public class DefaultJobConfigurationTest {
     assertThat(rejectedJobsHandler).isInstanceOf(NotifyAcquisitionRejectedJobsHandler.class);
   }
 
+  @Test
+  public void shouldCreateVirtualThreadJobExecutor() {
+    // given
+    properties.getJobExecution().setVirtualThreads(true);
+    properties.getJobExecution().setMaxConcurrentJobs(50);
+    properties.getJobExecution().setMaxConcurrentJobsPerJobDefinition(5);
+    properties.getJobExecution().setLockTimeInMillis(1000);
+
+    // when
+    JobExecutor jobExecutor = JobConfiguration.jobExecutor(null, properties);
+
+    // then
+    assertThat(jobExecutor).isInstanceOf(VirtualThreadJobExecutor.class);
+    VirtualThreadJobExecutor virtualThreadJobExecutor = (VirtualThreadJobExecutor) jobExecutor;
+    assertThat(virtualThreadJobExecutor.getMaxConcurrentJobs()).isEqualTo(50);
+    assertThat(virtualThreadJobExecutor.getMaxConcurrentJobsPerJobDefinition()).isEqualTo(5);
+    assertThat(virtualThreadJobExecutor.getLockTimeInMillis()).isEqualTo(1000);
+    assertThat(virtualThreadJobExecutor.getRejectedJobsHandler()).isInstanceOf(NotifyAcquisitionRejectedJobsHandler.class);
+  }
+
 }
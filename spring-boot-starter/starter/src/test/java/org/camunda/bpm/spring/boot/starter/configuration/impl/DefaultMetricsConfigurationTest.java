@@ -65,4 +65,18 @@ public class DefaultMetricsConfigurationTest {
     defaultMetricsConfiguration.preInit(configuration);
     assertThat(configuration.isDbMetricsReporterActivate()).isTrue();
   }
+
+  @Test
+  public void dimensionalEnabled() {
+    assertThat(configuration.isDimensionalMetricsEnabled()).isFalse();
+    assertThat(camundaBpmProperties.getMetrics().isDimensionalEnabled()).isFalse();
+
+    camundaBpmProperties.getMetrics().setDimensionalEnabled(true);
+    defaultMetricsConfiguration.preInit(configuration);
+    assertThat(configuration.isDimensionalMetricsEnabled()).isTrue();
+
+    camundaBpmProperties.getMetrics().setDimensionalEnabled(false);
+    defaultMetricsConfiguration.preInit(configuration);
+    assertThat(configuration.isDimensionalMetricsEnabled()).isFalse();
+  }
 }
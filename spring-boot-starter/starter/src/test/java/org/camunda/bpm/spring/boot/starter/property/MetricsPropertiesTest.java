@@ -21,12 +21,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Test;
 import org.springframework.test.context.TestPropertySource;
 
-@TestPropertySource(properties = {"camunda.bpm.metrics.enabled=false", "camunda.bpm.metrics.db-reporter-activate=false"})
+@TestPropertySource(properties = {"camunda.bpm.metrics.enabled=false", "camunda.bpm.metrics.db-reporter-activate=false",
+    "camunda.bpm.metrics.dimensional-enabled=true"})
 public class MetricsPropertiesTest extends ParsePropertiesHelper {
 
   @Test
   public void verifyCorrectProperties() throws Exception {
     assertThat(metrics.isEnabled()).isFalse();
     assertThat(metrics.isDbReporterActivate()).isFalse();
+    assertThat(metrics.isDimensionalEnabled()).isTrue();
   }
 }